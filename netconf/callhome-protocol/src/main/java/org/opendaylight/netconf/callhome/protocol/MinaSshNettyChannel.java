@@ -145,7 +145,8 @@ class MinaSshNettyChannel extends AbstractServerChannel {
 
     @Override
     protected void doBeginRead() throws Exception {
-        // Intentional NOOP - read is started by AsyncSshHandlerReader
+        // Read is started by AsyncSshHandlerReader, it only needs to be resumed if auto read was turned off
+        sshReadHandler.resume();
     }
 
     @Override
@@ -158,6 +159,11 @@ class MinaSshNettyChannel extends AbstractServerChannel {
         public void onMessageRead(ByteBuf msg) {
             pipeline().fireChannelRead(msg);
         }
+
+        @Override
+        public boolean continueReading() {
+            return config().isAutoRead();
+        }
     }
 
     private final class ConnectionClosedDuringRead implements AutoCloseable {
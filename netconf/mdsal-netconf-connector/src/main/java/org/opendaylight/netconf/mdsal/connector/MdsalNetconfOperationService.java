@@ -8,11 +8,13 @@
 
 package org.opendaylight.netconf.mdsal.connector;
 
+import com.google.common.base.Optional;
 import java.util.Set;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
+import org.opendaylight.netconf.mdsal.connector.ops.get.GetConfigCache;
 
 public class MdsalNetconfOperationService implements NetconfOperationService {
 
@@ -21,8 +23,15 @@ public class MdsalNetconfOperationService implements NetconfOperationService {
     public MdsalNetconfOperationService(final CurrentSchemaContext schemaContext,
                                         final String netconfSessionIdForReporting,
                                         final DOMDataBroker dataBroker, final DOMRpcService rpcService) {
+        this(schemaContext, netconfSessionIdForReporting, dataBroker, rpcService, Optional.absent());
+    }
+
+    public MdsalNetconfOperationService(final CurrentSchemaContext schemaContext,
+                                        final String netconfSessionIdForReporting,
+                                        final DOMDataBroker dataBroker, final DOMRpcService rpcService,
+                                        final Optional<GetConfigCache> getConfigCache) {
         this.operationProvider = new OperationProvider(netconfSessionIdForReporting, schemaContext, dataBroker,
-                rpcService);
+                rpcService, getConfigCache);
     }
 
     @Override
@@ -25,6 +25,7 @@ import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.netconf.api.monitoring.CapabilityListener;
 import org.opendaylight.netconf.mapping.api.NetconfOperationServiceFactory;
 import org.opendaylight.netconf.mapping.api.NetconfOperationServiceFactoryListener;
+import org.opendaylight.netconf.mdsal.connector.ops.get.GetConfigCache;
 import org.opendaylight.yangtools.yang.common.SimpleDateFormatUtil;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -42,6 +43,7 @@ public class MdsalNetconfOperationServiceFactory implements NetconfOperationServ
 
     private final DOMDataBroker dataBroker;
     private final DOMRpcService rpcService;
+    private final Optional<GetConfigCache> getConfigCache;
 
     private final CurrentSchemaContext currentSchemaContext;
     private final SchemaSourceProvider<YangTextSchemaSource> rootSchemaSourceProviderDependency;
@@ -53,9 +55,27 @@ public class MdsalNetconfOperationServiceFactory implements NetconfOperationServ
             final NetconfOperationServiceFactoryListener netconfOperationServiceFactoryListener,
             final DOMDataBroker dataBroker,
             final DOMRpcService rpcService) {
+        this(schemaService, rootSchemaSourceProviderDependency, netconfOperationServiceFactoryListener, dataBroker,
+                rpcService, 0);
+    }
+
+    /**
+     * Create the factory with get-config replies on the running datastore cached for all sessions.
+     *
+     * @param getConfigCacheSize maximum number of cached get-config replies, 0 disables the cache
+     */
+    public MdsalNetconfOperationServiceFactory(
+            final SchemaService schemaService,
+            final SchemaSourceProvider<YangTextSchemaSource> rootSchemaSourceProviderDependency,
+            final NetconfOperationServiceFactoryListener netconfOperationServiceFactoryListener,
+            final DOMDataBroker dataBroker,
+            final DOMRpcService rpcService,
+            final int getConfigCacheSize) {
 
         this.dataBroker = dataBroker;
         this.rpcService = rpcService;
+        this.getConfigCache = dataBroker == null ? Optional.absent()
+                : GetConfigCache.create(dataBroker, getConfigCacheSize);
 
         this.rootSchemaSourceProviderDependency = rootSchemaSourceProviderDependency;
         this.currentSchemaContext = new CurrentSchemaContext(Preconditions.checkNotNull(schemaService),
@@ -68,7 +88,7 @@ public class MdsalNetconfOperationServiceFactory implements NetconfOperationServ
     public MdsalNetconfOperationService createService(final String netconfSessionIdForReporting) {
         Preconditions.checkState(dataBroker != null, "MD-SAL provider not yet initialized");
         return new MdsalNetconfOperationService(currentSchemaContext, netconfSessionIdForReporting, dataBroker,
-                rpcService);
+                rpcService, getConfigCache);
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -76,6 +96,9 @@ public class MdsalNetconfOperationServiceFactory implements NetconfOperationServ
     public void close() {
         try {
             currentSchemaContext.close();
+            if (getConfigCache.isPresent()) {
+                getConfigCache.get().close();
+            }
             if (netconfOperationServiceFactoryListener != null) {
                 netconfOperationServiceFactoryListener.onRemoveNetconfOperationServiceFactory(this);
             }
@@ -8,6 +8,7 @@
 
 package org.opendaylight.netconf.mdsal.connector;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableSet;
 import java.util.Set;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
@@ -21,22 +22,24 @@ import org.opendaylight.netconf.mdsal.connector.ops.RuntimeRpc;
 import org.opendaylight.netconf.mdsal.connector.ops.Unlock;
 import org.opendaylight.netconf.mdsal.connector.ops.get.Get;
 import org.opendaylight.netconf.mdsal.connector.ops.get.GetConfig;
+import org.opendaylight.netconf.mdsal.connector.ops.get.GetConfigCache;
 
 final class OperationProvider {
 
     private final Set<NetconfOperation> operations;
 
     OperationProvider(final String netconfSessionIdForReporting, final CurrentSchemaContext schemaContext,
-                      final DOMDataBroker dataBroker, final DOMRpcService rpcService) {
+                      final DOMDataBroker dataBroker, final DOMRpcService rpcService,
+                      final Optional<GetConfigCache> getConfigCache) {
         final TransactionProvider transactionProvider = new TransactionProvider(dataBroker,
-            netconfSessionIdForReporting);
+            netconfSessionIdForReporting, getConfigCache);
 
         this.operations = ImmutableSet.of(
             new Commit(netconfSessionIdForReporting, transactionProvider),
             new DiscardChanges(netconfSessionIdForReporting, transactionProvider),
             new EditConfig(netconfSessionIdForReporting, schemaContext, transactionProvider),
             new Get(netconfSessionIdForReporting, schemaContext, transactionProvider),
-            new GetConfig(netconfSessionIdForReporting, schemaContext, transactionProvider),
+            new GetConfig(netconfSessionIdForReporting, schemaContext, transactionProvider, getConfigCache),
             new Lock(netconfSessionIdForReporting),
             new Unlock(netconfSessionIdForReporting),
             new RuntimeRpc(netconfSessionIdForReporting, schemaContext, rpcService));
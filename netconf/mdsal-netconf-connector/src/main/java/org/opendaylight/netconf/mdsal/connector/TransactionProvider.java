@@ -10,16 +10,23 @@ package org.opendaylight.netconf.mdsal.connector;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
-import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorSeverity;
 import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorTag;
 import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorType;
-import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
+import org.opendaylight.netconf.mdsal.connector.ops.get.GetConfigCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,9 +35,13 @@ public class TransactionProvider implements AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(TransactionProvider.class);
 
     private final DOMDataBroker dataBroker;
+    private final Optional<GetConfigCache> getConfigCache;
 
     private DOMDataReadWriteTransaction candidateTransaction = null;
     private DOMDataReadWriteTransaction runningTransaction = null;
+    // Last submitted commit, transactions created afterwards have to wait for it
+    @GuardedBy("this")
+    private ListenableFuture<Void> pendingCommit = null;
     private final List<DOMDataReadWriteTransaction> allOpenReadWriteTransactions = new ArrayList<>();
 
     private final String netconfSessionIdForReporting;
@@ -38,8 +49,14 @@ public class TransactionProvider implements AutoCloseable {
     private static final String NO_TRANSACTION_FOUND_FOR_SESSION = "No candidateTransaction found for session ";
 
     public TransactionProvider(final DOMDataBroker dataBroker, final String netconfSessionIdForReporting) {
+        this(dataBroker, netconfSessionIdForReporting, Optional.absent());
+    }
+
+    public TransactionProvider(final DOMDataBroker dataBroker, final String netconfSessionIdForReporting,
+                               final Optional<GetConfigCache> getConfigCache) {
         this.dataBroker = dataBroker;
         this.netconfSessionIdForReporting = netconfSessionIdForReporting;
+        this.getConfigCache = Preconditions.checkNotNull(getConfigCache);
     }
 
     @Override
@@ -59,38 +76,73 @@ public class TransactionProvider implements AutoCloseable {
         return Optional.of(candidateTransaction);
     }
 
-    public synchronized DOMDataReadWriteTransaction getOrCreateTransaction() {
-        if (getCandidateTransaction().isPresent()) {
-            return getCandidateTransaction().get();
+    public DOMDataReadWriteTransaction getOrCreateTransaction() {
+        awaitPendingCommit();
+        synchronized (this) {
+            if (getCandidateTransaction().isPresent()) {
+                return getCandidateTransaction().get();
+            }
+
+            candidateTransaction = dataBroker.newReadWriteTransaction();
+            allOpenReadWriteTransactions.add(candidateTransaction);
+            return candidateTransaction;
         }
+    }
 
-        candidateTransaction = dataBroker.newReadWriteTransaction();
-        allOpenReadWriteTransactions.add(candidateTransaction);
-        return candidateTransaction;
+    public boolean commitTransaction() throws DocumentedException {
+        try {
+            submitTransaction().get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DocumentedException("Interrupted while waiting for commit of " + netconfSessionIdForReporting,
+                    e, ErrorType.APPLICATION, ErrorTag.OPERATION_FAILED, ErrorSeverity.ERROR);
+        } catch (final ExecutionException e) {
+            Throwables.propagateIfInstanceOf(e.getCause(), DocumentedException.class);
+            throw Throwables.propagate(e.getCause());
+        }
+        return true;
     }
 
-    public synchronized boolean commitTransaction() throws DocumentedException {
+    /**
+     * Submit the candidate transaction without waiting for the commit to finish. Transactions created afterwards wait
+     * for the commit, so that they see its data.
+     *
+     * @return future completed once the commit finishes, failed with {@link DocumentedException} if the commit failed
+     */
+    public synchronized ListenableFuture<Void> submitTransaction() {
         if (!getCandidateTransaction().isPresent()) {
             //making empty commit without prior opened transaction, just return true
             LOG.debug("Making commit without open candidate transaction for session {}", netconfSessionIdForReporting);
-            return true;
+            return Futures.immediateFuture(null);
         }
 
-        final CheckedFuture<Void, TransactionCommitFailedException> future = candidateTransaction.submit();
-        try {
-            future.checkedGet();
-        } catch (final TransactionCommitFailedException e) {
-            LOG.debug("Transaction {} failed on", candidateTransaction, e);
-            final String cause = e.getCause() != null ? (" Cause: " + e.getCause().getMessage()) : "";
-            throw new DocumentedException(
-                    "Transaction commit failed on " + e.getMessage() + " " + netconfSessionIdForReporting + cause,
-                    ErrorType.APPLICATION, ErrorTag.OPERATION_FAILED, ErrorSeverity.ERROR);
-        } finally {
-            allOpenReadWriteTransactions.remove(candidateTransaction);
-            candidateTransaction = null;
-        }
+        final DOMDataReadWriteTransaction transaction = candidateTransaction;
+        allOpenReadWriteTransactions.remove(candidateTransaction);
+        candidateTransaction = null;
 
-        return true;
+        final SettableFuture<Void> result = SettableFuture.create();
+        Futures.addCallback(transaction.submit(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void value) {
+                // Cached replies are dropped before the commit is confirmed, so that the session reads its changes
+                if (getConfigCache.isPresent()) {
+                    getConfigCache.get().invalidateAll();
+                }
+                result.set(null);
+            }
+
+            @Override
+            public void onFailure(final Throwable throwable) {
+                LOG.debug("Transaction {} failed on", transaction, throwable);
+                final String cause = throwable.getCause() != null
+                        ? (" Cause: " + throwable.getCause().getMessage()) : "";
+                result.setException(new DocumentedException(
+                        "Transaction commit failed on " + throwable.getMessage() + " " + netconfSessionIdForReporting
+                                + cause, ErrorType.APPLICATION, ErrorTag.OPERATION_FAILED, ErrorSeverity.ERROR));
+            }
+        });
+        pendingCommit = result;
+        return result;
     }
 
     public synchronized void abortTransaction() {
@@ -105,10 +157,34 @@ public class TransactionProvider implements AutoCloseable {
         candidateTransaction = null;
     }
 
-    public synchronized DOMDataReadWriteTransaction createRunningTransaction() {
-        runningTransaction = dataBroker.newReadWriteTransaction();
-        allOpenReadWriteTransactions.add(runningTransaction);
-        return runningTransaction;
+    public DOMDataReadWriteTransaction createRunningTransaction() {
+        awaitPendingCommit();
+        synchronized (this) {
+            runningTransaction = dataBroker.newReadWriteTransaction();
+            allOpenReadWriteTransactions.add(runningTransaction);
+            return runningTransaction;
+        }
+    }
+
+    /**
+     * Wait for the commit submitted last by this session, if it did not finish yet. Reads served without a transaction
+     * of this provider call it, so that they see data committed by the session.
+     */
+    public void awaitPendingCommit() {
+        final ListenableFuture<Void> commit;
+        synchronized (this) {
+            commit = pendingCommit;
+        }
+        if (commit == null || commit.isDone()) {
+            return;
+        }
+
+        try {
+            Uninterruptibles.getUninterruptibly(commit);
+        } catch (final ExecutionException e) {
+            // Failure was reported by the commit already
+            LOG.trace("Previous commit of session {} failed", netconfSessionIdForReporting, e);
+        }
     }
 
     public synchronized void abortRunningTransaction(final DOMDataReadWriteTransaction tx) {
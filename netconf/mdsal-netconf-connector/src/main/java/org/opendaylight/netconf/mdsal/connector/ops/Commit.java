@@ -9,9 +9,11 @@
 package org.opendaylight.netconf.mdsal.connector.ops;
 
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.ListenableFuture;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.DeferredNetconfReply;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.mdsal.connector.TransactionProvider;
 import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
@@ -39,10 +41,14 @@ public class Commit extends AbstractSingletonNetconfOperation {
     protected Element handleWithNoSubsequentOperations(final Document document, final XmlElement operationElement)
             throws DocumentedException {
 
-        boolean commitStatus = transactionProvider.commitTransaction();
-        LOG.trace("Commit completed successfully {}", commitStatus);
+        final ListenableFuture<Void> commit = transactionProvider.submitTransaction();
+        LOG.trace("Commit submitted");
 
-        return XmlUtil.createElement(document, XmlNetconfConstants.OK, Optional.absent());
+        // Reply is sent once the commit finishes, ok has to be in the base namespace so that it is not copied
+        final Element ok = XmlUtil.createElement(document, XmlNetconfConstants.OK,
+                Optional.of(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0));
+        DeferredNetconfReply.attachCompletion(ok, commit);
+        return ok;
     }
 
     @Override
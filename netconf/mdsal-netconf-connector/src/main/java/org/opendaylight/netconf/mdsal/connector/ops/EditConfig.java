@@ -15,9 +15,11 @@ import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.xml.transform.dom.DOMSource;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
@@ -109,13 +111,24 @@ public class EditConfig extends AbstractSingletonNetconfOperation {
         final List<DataTreeChange> aa = changeTracker.getDataTreeChanges();
         final ListIterator<DataTreeChange> iterator = aa.listIterator(aa.size());
 
+        ExistenceChecks existenceChecks;
+        try {
+            existenceChecks = ExistenceChecks.read(rwTx, aa);
+        } catch (final ReadFailedException e) {
+            LOG.warn("Read from datastore failed when checking existence of data, checking each change", e);
+            existenceChecks = ExistenceChecks.empty();
+        }
+
+        // Parents of list entries and augmentations are created once for all their children
+        final Set<YangInstanceIdentifier> mergedMixins = new HashSet<>();
         while (iterator.hasPrevious()) {
             final DataTreeChange dtc = iterator.previous();
-            executeChange(rwTx, dtc);
+            executeChange(rwTx, dtc, existenceChecks, mergedMixins);
         }
     }
 
-    private void executeChange(final DOMDataReadWriteTransaction rwtx, final DataTreeChange change)
+    private void executeChange(final DOMDataReadWriteTransaction rwtx, final DataTreeChange change,
+                               final ExistenceChecks existenceChecks, final Set<YangInstanceIdentifier> mergedMixins)
             throws DocumentedException {
         final YangInstanceIdentifier path = YangInstanceIdentifier.create(change.getPath());
         final NormalizedNode<?, ?> changeData = change.getChangeRoot();
@@ -123,51 +136,62 @@ public class EditConfig extends AbstractSingletonNetconfOperation {
             case NONE:
                 return;
             case MERGE:
-                mergeParentMixin(rwtx, path, changeData);
+                mergeParentMixin(rwtx, path, changeData, mergedMixins);
                 rwtx.merge(LogicalDatastoreType.CONFIGURATION, path, changeData);
                 break;
             case CREATE:
                 try {
-                    final Optional<NormalizedNode<?, ?>> readResult =
-                            rwtx.read(LogicalDatastoreType.CONFIGURATION, path).checkedGet();
-                    if (readResult.isPresent()) {
+                    if (dataExists(rwtx, existenceChecks, path)) {
                         throw new DocumentedException("Data already exists, cannot execute CREATE operation",
                             ErrorType.PROTOCOL, ErrorTag.DATA_EXISTS, ErrorSeverity.ERROR);
                     }
-                    mergeParentMixin(rwtx, path, changeData);
+                    mergeParentMixin(rwtx, path, changeData, mergedMixins);
                     rwtx.put(LogicalDatastoreType.CONFIGURATION, path, changeData);
                 } catch (final ReadFailedException e) {
                     LOG.warn("Read from datastore failed when trying to read data for create operation", change, e);
                 }
                 break;
             case REPLACE:
-                mergeParentMixin(rwtx, path, changeData);
+                mergeParentMixin(rwtx, path, changeData, mergedMixins);
                 rwtx.put(LogicalDatastoreType.CONFIGURATION, path, changeData);
                 break;
             case DELETE:
                 try {
-                    final Optional<NormalizedNode<?, ?>> readResult =
-                            rwtx.read(LogicalDatastoreType.CONFIGURATION, path).checkedGet();
-                    if (!readResult.isPresent()) {
+                    if (!dataExists(rwtx, existenceChecks, path)) {
                         throw new DocumentedException("Data is missing, cannot execute DELETE operation",
                             ErrorType.PROTOCOL, ErrorTag.DATA_MISSING, ErrorSeverity.ERROR);
                     }
                     rwtx.delete(LogicalDatastoreType.CONFIGURATION, path);
+                    mergedMixins.clear();
                 } catch (final ReadFailedException e) {
                     LOG.warn("Read from datastore failed when trying to read data for delete operation", change, e);
                 }
                 break;
             case REMOVE:
                 rwtx.delete(LogicalDatastoreType.CONFIGURATION, path);
+                mergedMixins.clear();
                 break;
             default:
                 LOG.warn("Unknown/not implemented operation, not executing");
         }
     }
 
+    private static boolean dataExists(final DOMDataReadWriteTransaction rwtx, final ExistenceChecks existenceChecks,
+                                      final YangInstanceIdentifier path) throws ReadFailedException {
+        final Optional<Boolean> checked = existenceChecks.exists(path);
+        if (checked.isPresent()) {
+            return checked.get();
+        }
+        return rwtx.read(LogicalDatastoreType.CONFIGURATION, path).checkedGet().isPresent();
+    }
+
     private void mergeParentMixin(final DOMDataReadWriteTransaction rwtx, final YangInstanceIdentifier path,
-                                final NormalizedNode change) {
+                                final NormalizedNode change, final Set<YangInstanceIdentifier> mergedMixins) {
         final YangInstanceIdentifier parentNodeYid = path.getParent();
+        if (!mergedMixins.add(parentNodeYid)) {
+            // Already merged for a sibling and not deleted since
+            return;
+        }
         if (change instanceof MapEntryNode) {
             final SchemaNode schemaNode = SchemaContextUtil.findNodeInSchemaContext(
                     schemaContext.getCurrentContext(),
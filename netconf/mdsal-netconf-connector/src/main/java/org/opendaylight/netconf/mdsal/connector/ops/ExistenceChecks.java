@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.mdsal.connector.ops;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.CheckedFuture;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataReadTransaction;
+import org.opendaylight.netconf.mdsal.connector.ops.DataTreeChangeTracker.DataTreeChange;
+import org.opendaylight.yangtools.yang.data.api.ModifyAction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+
+/**
+ * Existence of data targeted by CREATE and DELETE changes of an edit-config, read before the changes are executed.
+ * Paths sharing a parent are checked by a single read of the parent and all reads are issued at once.
+ *
+ * <p>
+ * Changes are executed from the last one, so parents are written before their children. A path is checked up front
+ * only if no other change can be executed before it on the same path or replace or delete one of its parents,
+ * existence of other paths has to be read when their change is executed.
+ */
+final class ExistenceChecks {
+
+    private static final Set<ModifyAction> CHECKED_ACTIONS = EnumSet.of(ModifyAction.CREATE, ModifyAction.DELETE);
+    private static final Set<ModifyAction> OVERWRITING_ACTIONS = EnumSet.of(ModifyAction.CREATE,
+            ModifyAction.REPLACE, ModifyAction.DELETE, ModifyAction.REMOVE);
+    private static final ExistenceChecks EMPTY = new ExistenceChecks(Collections.emptyMap());
+
+    private final Map<YangInstanceIdentifier, Boolean> existence;
+
+    private ExistenceChecks(final Map<YangInstanceIdentifier, Boolean> existence) {
+        this.existence = existence;
+    }
+
+    /**
+     * Check existence of data targeted by changes.
+     *
+     * @param tx transaction the changes are executed in
+     * @param changes changes in the order recorded by {@link DataTreeChangeTracker}
+     * @return checked existence
+     * @throws ReadFailedException if any of the reads failed
+     */
+    static ExistenceChecks read(final DOMDataReadTransaction tx, final List<DataTreeChange> changes)
+            throws ReadFailedException {
+        final Map<YangInstanceIdentifier, Integer> changedPaths = new HashMap<>();
+        final Set<YangInstanceIdentifier> overwrittenPaths = new HashSet<>();
+        for (final DataTreeChange change : changes) {
+            final YangInstanceIdentifier path = YangInstanceIdentifier.create(change.getPath());
+            changedPaths.merge(path, 1, Integer::sum);
+            if (OVERWRITING_ACTIONS.contains(change.getAction())) {
+                overwrittenPaths.add(path);
+            }
+        }
+
+        final Map<YangInstanceIdentifier, List<YangInstanceIdentifier>> pathsByParent = new LinkedHashMap<>();
+        for (final DataTreeChange change : changes) {
+            if (!CHECKED_ACTIONS.contains(change.getAction())) {
+                continue;
+            }
+            final YangInstanceIdentifier path = YangInstanceIdentifier.create(change.getPath());
+            if (changedPaths.get(path) == 1 && !hasOverwrittenParent(path, overwrittenPaths)) {
+                final YangInstanceIdentifier parent = path.getParent();
+                pathsByParent.computeIfAbsent(parent != null ? parent : path, key -> new ArrayList<>()).add(path);
+            }
+        }
+        if (pathsByParent.isEmpty()) {
+            return EMPTY;
+        }
+
+        final Map<YangInstanceIdentifier, CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>> reads =
+                new LinkedHashMap<>();
+        for (final Map.Entry<YangInstanceIdentifier, List<YangInstanceIdentifier>> entry : pathsByParent.entrySet()) {
+            final List<YangInstanceIdentifier> paths = entry.getValue();
+            final YangInstanceIdentifier readPath = paths.size() == 1 ? paths.get(0) : entry.getKey();
+            reads.put(readPath, tx.read(LogicalDatastoreType.CONFIGURATION, readPath));
+        }
+
+        final Map<YangInstanceIdentifier, Boolean> existence = new HashMap<>();
+        for (final Map.Entry<YangInstanceIdentifier, List<YangInstanceIdentifier>> entry : pathsByParent.entrySet()) {
+            final List<YangInstanceIdentifier> paths = entry.getValue();
+            if (paths.size() == 1) {
+                existence.put(paths.get(0), reads.get(paths.get(0)).checkedGet().isPresent());
+                continue;
+            }
+
+            final Optional<NormalizedNode<?, ?>> parent = reads.get(entry.getKey()).checkedGet();
+            for (final YangInstanceIdentifier path : paths) {
+                existence.put(path, parent.isPresent()
+                        && NormalizedNodes.getDirectChild(parent.get(), path.getLastPathArgument()).isPresent());
+            }
+        }
+        return new ExistenceChecks(existence);
+    }
+
+    /**
+     * Create checks which do not know existence of any data.
+     *
+     * @return empty checks
+     */
+    static ExistenceChecks empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Get existence of data checked up front.
+     *
+     * @param path path of the data
+     * @return existence of the data, absent if it was not checked and has to be read
+     */
+    Optional<Boolean> exists(final YangInstanceIdentifier path) {
+        return Optional.fromNullable(existence.get(path));
+    }
+
+    private static boolean hasOverwrittenParent(final YangInstanceIdentifier path,
+                                                final Set<YangInstanceIdentifier> overwrittenPaths) {
+        for (YangInstanceIdentifier parent = path.getParent(); parent != null; parent = parent.getParent()) {
+            if (overwrittenPaths.contains(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -8,20 +8,27 @@
 
 package org.opendaylight.netconf.mdsal.connector.ops.get;
 
-import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.CheckedFuture;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.dom.DOMResult;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
-import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorSeverity;
-import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorTag;
-import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorType;
 import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataReadTransaction;
+import org.opendaylight.netconf.api.StreamedNetconfMessage;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.mdsal.connector.CurrentSchemaContext;
 import org.opendaylight.netconf.mdsal.connector.ops.Datastore;
@@ -42,9 +49,9 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
 public abstract class AbstractGet extends AbstractSingletonNetconfOperation {
+    protected static final String FILTER = "filter";
     private static final XMLOutputFactory XML_OUTPUT_FACTORY;
     private static final YangInstanceIdentifier ROOT = YangInstanceIdentifier.EMPTY;
-    private static final String FILTER = "filter";
 
     static {
         XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
@@ -66,13 +73,18 @@ public abstract class AbstractGet extends AbstractSingletonNetconfOperation {
 
         final XMLStreamWriter xmlWriter = getXmlStreamWriter(result);
 
+        writeNormalizedNode(xmlWriter, data, dataRoot);
+        return result.getNode();
+    }
+
+    private void writeNormalizedNode(final XMLStreamWriter xmlWriter, final NormalizedNode<?, ?> data,
+                                     final YangInstanceIdentifier dataRoot) {
         final NormalizedNodeStreamWriter nnStreamWriter = XMLStreamNormalizedNodeStreamWriter.create(xmlWriter,
                 schemaContext.getCurrentContext(), getSchemaPath(dataRoot));
 
         final NormalizedNodeWriter nnWriter = NormalizedNodeWriter.forStreamWriter(nnStreamWriter, true);
 
         writeRootElement(xmlWriter, nnWriter, (ContainerNode) data);
-        return result.getNode();
     }
 
     private XMLStreamWriter getXmlStreamWriter(final DOMResult result) {
@@ -116,38 +128,242 @@ public abstract class AbstractGet extends AbstractSingletonNetconfOperation {
     }
 
     /**
-     * Obtain data root according to filter from operation element.
+     * Serialize data read from the datastore, applying subtree filter of the operation on the normalized nodes first,
+     * so that data not selected by the filter are not serialized at all. Unfiltered data are streamed to the session
+     * if the session supports it, see {@link StreamedNetconfMessage}.
+     *
+     * @param document document to create the data element in
+     * @param operationElement operation element
+     * @param dataRoot location the data were read from
+     * @param node data read from the datastore
+     * @return data element
+     */
+    protected Element serializeFilteredNode(final Document document, final XmlElement operationElement,
+                                            final YangInstanceIdentifier dataRoot, final NormalizedNode<?, ?> node) {
+        return serializeFilteredNode(document, operationElement, dataRoot, node,
+                StreamedNetconfMessage.isStreamingEnabled(operationElement.getDomElement().getOwnerDocument()));
+    }
+
+    /**
+     * Serialize data read from the datastore like {@link #serializeFilteredNode(Document, XmlElement,
+     * YangInstanceIdentifier, NormalizedNode)}, streaming unfiltered data only if allowed.
+     *
+     * @param document document to create the data element in
+     * @param operationElement operation element
+     * @param dataRoot location the data were read from
+     * @param node data read from the datastore
+     * @param streaming true if unfiltered data may be streamed, false to build the whole data element
+     * @return data element
+     */
+    protected Element serializeFilteredNode(final Document document, final XmlElement operationElement,
+                                            final YangInstanceIdentifier dataRoot, final NormalizedNode<?, ?> node,
+                                            final boolean streaming) {
+        final Optional<XmlElement> filterElement = operationElement.getOnlyChildElementOptionally(FILTER);
+        if (!filterElement.isPresent() && streaming) {
+            return streamNodeWithParentStructure(document, dataRoot, node);
+        }
+
+        final Optional<FilterProjection> projection = filterElement.isPresent()
+                ? FilterProjection.compile(filterElement.get()) : Optional.absent();
+        if (!projection.isPresent()) {
+            return serializeNodeWithParentStructure(document, dataRoot, node);
+        }
+
+        final NormalizedNode<?, ?> data = dataRoot.equals(ROOT) ? node
+                : ImmutableNodes.fromInstanceId(schemaContext.getCurrentContext(), dataRoot, node);
+        final Optional<NormalizedNode<?, ?>> projected = projection.get().apply(data);
+        if (!projected.isPresent()) {
+            return XmlUtil.createElement(document, XmlNetconfConstants.DATA_KEY, Optional.<String>absent());
+        }
+        return (Element) transformNormalizedNode(document, projected.get(), ROOT);
+    }
+
+    /**
+     * Create data element whose content is written directly to the session when the reply is sent, instead of being
+     * serialized into the document.
+     */
+    private Element streamNodeWithParentStructure(final Document document, final YangInstanceIdentifier dataRoot,
+                                                  final NormalizedNode<?, ?> node) {
+        final NormalizedNode<?, ?> data = dataRoot.equals(ROOT) ? node
+                : ImmutableNodes.fromInstanceId(schemaContext.getCurrentContext(), dataRoot, node);
+        // Data element has to be in the base namespace, so that it is not copied when the reply is built
+        final Element dataElement = XmlUtil.createElement(document, XmlNetconfConstants.DATA_KEY,
+                Optional.of(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0));
+        StreamedNetconfMessage.attachContent(dataElement, xmlWriter -> writeNormalizedNode(xmlWriter, data, ROOT));
+        return dataElement;
+    }
+
+    /**
+     * Encode data read from the datastore as the content of a data element, applying subtree filter of the operation
+     * like {@link #serializeFilteredNode(Document, XmlElement, YangInstanceIdentifier, NormalizedNode)}.
+     *
+     * @param operationElement operation element
+     * @param dataRoot location the data were read from
+     * @param node data read from the datastore
+     * @return UTF-8 encoded content of the data element
+     */
+    protected byte[] encodeFilteredNode(final XmlElement operationElement, final YangInstanceIdentifier dataRoot,
+                                        final NormalizedNode<?, ?> node) {
+        NormalizedNode<?, ?> data = dataRoot.equals(ROOT) ? node
+                : ImmutableNodes.fromInstanceId(schemaContext.getCurrentContext(), dataRoot, node);
+        final Optional<XmlElement> filterElement = operationElement.getOnlyChildElementOptionally(FILTER);
+        final Optional<FilterProjection> projection = filterElement.isPresent()
+                ? FilterProjection.compile(filterElement.get()) : Optional.absent();
+        if (projection.isPresent()) {
+            final Optional<NormalizedNode<?, ?>> projected = projection.get().apply(data);
+            if (!projected.isPresent()) {
+                return new byte[0];
+            }
+            data = projected.get();
+        }
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            final XMLStreamWriter xmlWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(output,
+                    StandardCharsets.UTF_8.name());
+            writeNormalizedNode(xmlWriter, data, ROOT);
+            xmlWriter.close();
+        } catch (final XMLStreamException e) {
+            throw new IllegalStateException("Failed to encode " + data, e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Create data element with encoded content, see {@link #encodeFilteredNode(XmlElement, YangInstanceIdentifier,
+     * NormalizedNode)}. The content of an unfiltered reply is copied to the session as is if the session streams
+     * the reply, otherwise it is decoded into the document. Filtered replies are always decoded, the session applies
+     * the subtree filter once more on the reply document and would see an empty data element otherwise.
      *
+     * @param document document to create the data element in
      * @param operationElement operation element
-     * @return if filter is present and not empty returns Optional of the InstanceIdentifier to the read location
-     *      in datastore. Empty filter returns Optional.absent() which should equal an empty &lt;data/&gt;
-     *      container in the response. If filter is not present we want to read the entire datastore - return ROOT.
+     * @param encoded encoded content of the data element
+     * @return data element
+     */
+    protected static Element createDataElement(final Document document, final XmlElement operationElement,
+                                               final byte[] encoded) {
+        // Data element has to be in the base namespace, so that it is not copied when the reply is built
+        final Element dataElement = XmlUtil.createElement(document, XmlNetconfConstants.DATA_KEY,
+                Optional.of(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0));
+        if (encoded.length == 0) {
+            return dataElement;
+        }
+
+        final StreamedNetconfMessage.Content content = StreamedNetconfMessage.encodedContent(encoded);
+        if (!operationElement.getOnlyChildElementOptionally(FILTER).isPresent()
+                && StreamedNetconfMessage.isStreamingEnabled(operationElement.getDomElement().getOwnerDocument())) {
+            StreamedNetconfMessage.attachContent(dataElement, content);
+            return dataElement;
+        }
+
+        try {
+            final XMLStreamWriter xmlWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(new DOMResult(dataElement));
+            content.writeTo(xmlWriter);
+            xmlWriter.flush();
+        } catch (final XMLStreamException e) {
+            throw new IllegalStateException("Failed to decode content of " + dataElement, e);
+        }
+        return dataElement;
+    }
+
+    /**
+     * Obtain data roots according to filter from operation element.
+     *
+     * @param operationElement operation element
+     * @return if filter is present and not empty returns Optional of the InstanceIdentifiers of the read locations
+     *      in datastore, one for each filter root. Empty filter returns Optional.absent() which should equal an empty
+     *      &lt;data/&gt; container in the response. If filter is not present we want to read the entire datastore -
+     *      return ROOT.
      * @throws DocumentedException if not possible to get identifier from filter
      */
-    protected Optional<YangInstanceIdentifier> getDataRootFromFilter(final XmlElement operationElement)
+    protected Optional<List<YangInstanceIdentifier>> getDataRootsFromFilter(final XmlElement operationElement)
             throws DocumentedException {
         final Optional<XmlElement> filterElement = operationElement.getOnlyChildElementOptionally(FILTER);
         if (filterElement.isPresent()) {
-            if (filterElement.get().getChildElements().size() == 0) {
+            final List<XmlElement> roots = filterElement.get().getChildElements();
+            if (roots.isEmpty()) {
                 return Optional.absent();
             }
-            return Optional.of(getInstanceIdentifierFromFilter(filterElement.get()));
+
+            final List<YangInstanceIdentifier> dataRoots = new ArrayList<>(roots.size());
+            for (final XmlElement root : roots) {
+                dataRoots.add(validator.validate(root));
+            }
+            return Optional.of(dataRoots);
         }
 
-        return Optional.of(ROOT);
+        return Optional.of(Collections.singletonList(ROOT));
     }
 
-    @VisibleForTesting
-    protected YangInstanceIdentifier getInstanceIdentifierFromFilter(final XmlElement filterElement)
-            throws DocumentedException {
+    /**
+     * Read data roots from the datastore. All the reads are issued before waiting for any of them, so that they are
+     * executed concurrently. Data read from multiple roots are merged into a single datastore root node.
+     *
+     * @param tx transaction to read from
+     * @param datastoreType datastore to read from
+     * @param dataRoots locations to read
+     * @return data read including their parent structure, absent if there are no data at any of the locations
+     * @throws ReadFailedException if any of the reads failed
+     */
+    protected Optional<NormalizedNode<?, ?>> readDataRoots(final DOMDataReadTransaction tx,
+            final LogicalDatastoreType datastoreType, final List<YangInstanceIdentifier> dataRoots)
+            throws ReadFailedException {
+        return mergeDataRoots(dataRoots, readEachDataRoot(tx, datastoreType, dataRoots));
+    }
+
+    /**
+     * Read data roots from the datastore concurrently, like {@link #readDataRoots(DOMDataReadTransaction,
+     * LogicalDatastoreType, List)}, without merging them.
+     *
+     * @param tx transaction to read from
+     * @param datastoreType datastore to read from
+     * @param dataRoots locations to read
+     * @return data read from each location, in the order of the locations
+     * @throws ReadFailedException if any of the reads failed
+     */
+    protected List<Optional<NormalizedNode<?, ?>>> readEachDataRoot(final DOMDataReadTransaction tx,
+            final LogicalDatastoreType datastoreType, final List<YangInstanceIdentifier> dataRoots)
+            throws ReadFailedException {
+        final List<CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>> reads =
+                new ArrayList<>(dataRoots.size());
+        for (final YangInstanceIdentifier dataRoot : dataRoots) {
+            reads.add(tx.read(datastoreType, dataRoot));
+        }
 
-        if (filterElement.getChildElements().size() != 1) {
-            throw new DocumentedException("Multiple filter roots not supported yet",
-                    ErrorType.APPLICATION, ErrorTag.OPERATION_NOT_SUPPORTED, ErrorSeverity.ERROR);
+        final List<Optional<NormalizedNode<?, ?>>> data = new ArrayList<>(dataRoots.size());
+        for (final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read : reads) {
+            data.add(read.checkedGet());
         }
+        return data;
+    }
 
-        final XmlElement element = filterElement.getOnlyChildElement();
-        return validator.validate(element);
+    /**
+     * Merge data read from data roots into a single datastore root node.
+     *
+     * @param dataRoots locations the data were read from
+     * @param nodes data read from each location, in the order of the locations
+     * @return data including their parent structure, absent if there are no data at any of the locations
+     */
+    protected Optional<NormalizedNode<?, ?>> mergeDataRoots(final List<YangInstanceIdentifier> dataRoots,
+            final List<Optional<NormalizedNode<?, ?>>> nodes) {
+        final List<NormalizedNode<?, ?>> data = new ArrayList<>(dataRoots.size());
+        for (int i = 0; i < nodes.size(); ++i) {
+            final Optional<NormalizedNode<?, ?>> node = nodes.get(i);
+            if (node.isPresent()) {
+                final YangInstanceIdentifier dataRoot = dataRoots.get(i);
+                data.add(dataRoot.equals(ROOT) ? node.get()
+                        : ImmutableNodes.fromInstanceId(schemaContext.getCurrentContext(), dataRoot, node.get()));
+            }
+        }
+
+        switch (data.size()) {
+            case 0:
+                return Optional.absent();
+            case 1:
+                return Optional.of(data.get(0));
+            default:
+                return Optional.of(DataRootMerger.merge(data));
+        }
     }
 
     protected static final class GetConfigExecution {
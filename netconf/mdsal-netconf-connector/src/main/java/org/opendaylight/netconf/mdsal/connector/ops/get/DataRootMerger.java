@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.mdsal.connector.ops.get;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Merges data read from several data roots into a single datastore root node. Data read from overlapping roots
+ * are merged recursively, so that every node appears in the result once.
+ */
+final class DataRootMerger {
+
+    private static final NodeIdentifier ROOT_IDENTIFIER = new NodeIdentifier(SchemaContext.NAME);
+
+    private DataRootMerger() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Merge data including their parent structure into one datastore root node.
+     *
+     * @param data top level nodes or datastore root nodes
+     * @return datastore root node
+     */
+    static ContainerNode merge(final Collection<NormalizedNode<?, ?>> data) {
+        final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children = new LinkedHashMap<>();
+        for (final NormalizedNode<?, ?> node : data) {
+            if (node.getNodeType().equals(SchemaContext.NAME)) {
+                for (final DataContainerChild<? extends PathArgument, ?> child : ((ContainerNode) node).getValue()) {
+                    putChild(children, child);
+                }
+            } else {
+                putChild(children, (DataContainerChild<? extends PathArgument, ?>) node);
+            }
+        }
+
+        final DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> builder =
+                Builders.containerBuilder().withNodeIdentifier(ROOT_IDENTIFIER);
+        for (final DataContainerChild<? extends PathArgument, ?> child : children.values()) {
+            builder.withChild(child);
+        }
+        return builder.build();
+    }
+
+    private static void putChild(final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children,
+                                 final DataContainerChild<? extends PathArgument, ?> child) {
+        final DataContainerChild<? extends PathArgument, ?> existing = children.get(child.getIdentifier());
+        children.put(child.getIdentifier(),
+                existing == null ? child : (DataContainerChild<? extends PathArgument, ?>) merge(existing, child));
+    }
+
+    private static NormalizedNode<?, ?> merge(final NormalizedNode<?, ?> first, final NormalizedNode<?, ?> second) {
+        if (first instanceof DataContainerNode && second instanceof DataContainerNode) {
+            final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children = new LinkedHashMap<>();
+            for (final DataContainerChild<? extends PathArgument, ?> child
+                    : ((DataContainerNode<?>) first).getValue()) {
+                children.put(child.getIdentifier(), child);
+            }
+            for (final DataContainerChild<? extends PathArgument, ?> child
+                    : ((DataContainerNode<?>) second).getValue()) {
+                putChild(children, child);
+            }
+            return FilterProjection.rebuild((DataContainerNode<?>) first, new ArrayList<>(children.values()));
+        }
+
+        if (first instanceof MapNode && second instanceof MapNode) {
+            final Map<PathArgument, MapEntryNode> entries = new LinkedHashMap<>();
+            for (final MapEntryNode entry : ((MapNode) first).getValue()) {
+                entries.put(entry.getIdentifier(), entry);
+            }
+            for (final MapEntryNode entry : ((MapNode) second).getValue()) {
+                final MapEntryNode existing = entries.get(entry.getIdentifier());
+                entries.put(entry.getIdentifier(), existing == null ? entry : (MapEntryNode) merge(existing, entry));
+            }
+
+            final CollectionNodeBuilder<MapEntryNode, ? extends MapNode> builder = first instanceof OrderedMapNode
+                    ? Builders.orderedMapBuilder() : Builders.mapBuilder();
+            builder.withNodeIdentifier(((MapNode) first).getIdentifier());
+            for (final MapEntryNode entry : entries.values()) {
+                builder.withChild(entry);
+            }
+            return builder.build();
+        }
+
+        // Leaves and lists without keys cannot be merged, both reads returned the same data anyway
+        return second;
+    }
+}
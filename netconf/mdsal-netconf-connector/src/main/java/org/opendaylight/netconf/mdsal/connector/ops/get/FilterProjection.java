@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.mdsal.connector.ops.get;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.w3c.dom.Attr;
+
+/**
+ * Subtree filter compiled into a projection of normalized nodes. Projection is applied to the data read from
+ * the datastore, before they are serialized, so data not selected by the filter are never turned into XML.
+ *
+ * <p>
+ * Projection never removes data the subtree filter would select. Cases which cannot be decided on normalized
+ * nodes (attribute matching, content matching of non-trivial types, repeated selection of the same node)
+ * keep the whole node, the exact result is then produced by the subtree filtering of the reply.
+ */
+final class FilterProjection {
+
+    private final String name;
+    private final Optional<String> namespace;
+    private final Optional<String> content;
+    private final boolean selectAll;
+    private final List<FilterProjection> children;
+
+    private FilterProjection(final String name, final Optional<String> namespace, final Optional<String> content,
+                             final boolean selectAll, final List<FilterProjection> children) {
+        this.name = name;
+        this.namespace = namespace;
+        this.content = content;
+        this.selectAll = selectAll;
+        this.children = children;
+    }
+
+    /**
+     * Compile subtree filter element into a projection.
+     *
+     * @param filterElement filter element of get or get-config operation
+     * @return projection, absent if the filter is not a subtree filter
+     */
+    static Optional<FilterProjection> compile(final XmlElement filterElement) {
+        if (!isSubtree(filterElement)) {
+            return Optional.absent();
+        }
+        return Optional.of(new FilterProjection(null, Optional.absent(), Optional.absent(), false,
+                compileChildren(filterElement)));
+    }
+
+    private static boolean isSubtree(final XmlElement filterElement) {
+        return "subtree".equals(filterElement.getAttribute("type"))
+                || "subtree".equals(filterElement.getAttribute("type",
+                XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0));
+    }
+
+    private static List<FilterProjection> compileChildren(final XmlElement element) {
+        final List<XmlElement> childElements = element.getChildElements();
+        final List<FilterProjection> compiled = new ArrayList<>(childElements.size());
+        for (final XmlElement child : childElements) {
+            compiled.add(compileElement(child));
+        }
+        return ImmutableList.copyOf(compiled);
+    }
+
+    private static FilterProjection compileElement(final XmlElement element) {
+        final List<FilterProjection> children = compileChildren(element);
+        final Optional<String> content = children.isEmpty()
+                ? element.getOnlyTextContentOptionally() : Optional.absent();
+        // Attribute matching is not supported on normalized nodes, such nodes are selected as a whole
+        final boolean selectAll = (children.isEmpty() && !content.isPresent()) || hasMatchAttributes(element);
+        return new FilterProjection(element.getName(), element.getNamespaceOptionally(), content, selectAll,
+                children);
+    }
+
+    private static boolean hasMatchAttributes(final XmlElement element) {
+        for (final Attr attr : element.getAttributes().values()) {
+            if (!XmlUtil.XMLNS_URI.equals(attr.getNamespaceURI())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Apply the projection to data read from the datastore.
+     *
+     * @param data data including their parent structure, either the datastore root or a top level node
+     * @return projected data, absent if the filter selects nothing
+     */
+    Optional<NormalizedNode<?, ?>> apply(final NormalizedNode<?, ?> data) {
+        if (data.getNodeType().equals(SchemaContext.NAME)) {
+            final ContainerNode root = (ContainerNode) data;
+            final List<DataContainerChild<? extends PathArgument, ?>> projected = projectChildren(root, children);
+            return projected.isEmpty() ? Optional.absent()
+                    : Optional.of(rebuild(Builders.containerBuilder(), root.getIdentifier(), projected));
+        }
+
+        final List<FilterProjection> matching = matching(children, data.getNodeType());
+        return matching.isEmpty() ? Optional.absent() : project(data, matching);
+    }
+
+    private boolean matches(final QName qname) {
+        return name.equals(qname.getLocalName())
+                && (!namespace.isPresent() || namespace.get().equals(qname.getNamespace().toString()));
+    }
+
+    private static List<FilterProjection> matching(final List<FilterProjection> selectors, final QName qname) {
+        List<FilterProjection> matching = ImmutableList.of();
+        for (final FilterProjection selector : selectors) {
+            if (selector.matches(qname)) {
+                if (matching.isEmpty()) {
+                    matching = new ArrayList<>(1);
+                }
+                matching.add(selector);
+            }
+        }
+        return matching;
+    }
+
+    private static Optional<NormalizedNode<?, ?>> project(final NormalizedNode<?, ?> node,
+                                                          final List<FilterProjection> selectors) {
+        for (final FilterProjection selector : selectors) {
+            if (selector.selectAll) {
+                return Optional.of(node);
+            }
+        }
+
+        if (node instanceof MapNode) {
+            final MapNode map = (MapNode) node;
+            final CollectionNodeBuilder<MapEntryNode, ? extends MapNode> builder = node instanceof OrderedMapNode
+                    ? Builders.orderedMapBuilder() : Builders.mapBuilder();
+            builder.withNodeIdentifier(map.getIdentifier());
+            boolean empty = true;
+            for (final MapEntryNode entry : map.getValue()) {
+                final Optional<NormalizedNode<?, ?>> projected = projectEntry(entry, selectors);
+                if (projected.isPresent()) {
+                    builder.withChild((MapEntryNode) projected.get());
+                    empty = false;
+                }
+            }
+            return empty ? Optional.absent() : Optional.of(builder.build());
+        }
+        if (node instanceof UnkeyedListNode) {
+            final UnkeyedListNode list = (UnkeyedListNode) node;
+            final CollectionNodeBuilder<UnkeyedListEntryNode, UnkeyedListNode> builder =
+                    Builders.unkeyedListBuilder().withNodeIdentifier(list.getIdentifier());
+            boolean empty = true;
+            for (final UnkeyedListEntryNode entry : list.getValue()) {
+                final Optional<NormalizedNode<?, ?>> projected = projectEntry(entry, selectors);
+                if (projected.isPresent()) {
+                    builder.withChild((UnkeyedListEntryNode) projected.get());
+                    empty = false;
+                }
+            }
+            return empty ? Optional.absent() : Optional.of(builder.build());
+        }
+        if (selectors.size() > 1) {
+            // Several selections of a single node would have to be merged, keep the node as a whole
+            return Optional.of(node);
+        }
+
+        final FilterProjection selector = selectors.get(0);
+        if (node instanceof LeafNode) {
+            return !selector.content.isPresent() || contentMatches((LeafNode<?>) node, selector.content.get())
+                    ? Optional.of(node) : Optional.absent();
+        }
+        if (node instanceof DataContainerNode) {
+            return selector.projectContainer((DataContainerNode<?>) node);
+        }
+        // Leaf-lists and anyxml are not projected
+        return Optional.of(node);
+    }
+
+    private static Optional<NormalizedNode<?, ?>> projectEntry(final DataContainerNode<?> entry,
+                                                               final List<FilterProjection> selectors) {
+        Optional<NormalizedNode<?, ?>> result = Optional.absent();
+        for (final FilterProjection selector : selectors) {
+            final Optional<NormalizedNode<?, ?>> projected = selector.projectContainer(entry);
+            if (projected.isPresent()) {
+                if (result.isPresent()) {
+                    // Entry is selected by multiple filter entries
+                    return Optional.of(entry);
+                }
+                result = projected;
+            }
+        }
+        return result;
+    }
+
+    private Optional<NormalizedNode<?, ?>> projectContainer(final DataContainerNode<?> node) {
+        if (children.isEmpty()) {
+            return Optional.of(node);
+        }
+
+        boolean onlyContentMatches = true;
+        for (final FilterProjection child : children) {
+            if (child.content.isPresent()) {
+                final Optional<LeafNode<?>> leaf = findLeaf(node, child);
+                if (leaf.isPresent() && !contentMatches(leaf.get(), child.content.get())) {
+                    return Optional.absent();
+                }
+            } else {
+                onlyContentMatches = false;
+            }
+        }
+        if (onlyContentMatches) {
+            // Subtree filter selects the whole node when it contains content match nodes only
+            return Optional.of(node);
+        }
+
+        final List<DataContainerChild<? extends PathArgument, ?>> projected = projectChildren(node, children);
+        return projected.isEmpty() ? Optional.absent() : Optional.of(rebuild(node, projected));
+    }
+
+    private static List<DataContainerChild<? extends PathArgument, ?>> projectChildren(
+            final DataContainerNode<?> node, final List<FilterProjection> selectors) {
+        final List<DataContainerChild<? extends PathArgument, ?>> projected = new ArrayList<>();
+        for (final DataContainerChild<? extends PathArgument, ?> child : node.getValue()) {
+            if (child instanceof AugmentationNode || child instanceof ChoiceNode) {
+                // Augmentations and choices are not visible in XML, their children are matched directly
+                final DataContainerNode<?> transparent = (DataContainerNode<?>) child;
+                final List<DataContainerChild<? extends PathArgument, ?>> inner =
+                        projectChildren(transparent, selectors);
+                if (!inner.isEmpty()) {
+                    projected.add((DataContainerChild<? extends PathArgument, ?>) rebuild(transparent, inner));
+                }
+                continue;
+            }
+
+            final List<FilterProjection> matching = matching(selectors, child.getNodeType());
+            if (!matching.isEmpty()) {
+                final Optional<NormalizedNode<?, ?>> result = project(child, matching);
+                if (result.isPresent()) {
+                    projected.add((DataContainerChild<? extends PathArgument, ?>) result.get());
+                }
+            }
+        }
+        return projected;
+    }
+
+    private static Optional<LeafNode<?>> findLeaf(final DataContainerNode<?> node, final FilterProjection selector) {
+        for (final DataContainerChild<? extends PathArgument, ?> child : node.getValue()) {
+            if (child instanceof AugmentationNode || child instanceof ChoiceNode) {
+                final Optional<LeafNode<?>> found = findLeaf((DataContainerNode<?>) child, selector);
+                if (found.isPresent()) {
+                    return found;
+                }
+            } else if (child instanceof LeafNode && selector.matches(child.getNodeType())) {
+                return Optional.of((LeafNode<?>) child);
+            }
+        }
+        return Optional.absent();
+    }
+
+    /**
+     * Compare leaf value to content of a content match node. Only values whose XML representation is their string
+     * representation are compared, anything else is considered to be a match.
+     */
+    private static boolean contentMatches(final LeafNode<?> leaf, final String content) {
+        final Object value = leaf.getValue();
+        if (value instanceof String || value instanceof Boolean || value instanceof Byte || value instanceof Short
+                || value instanceof Integer || value instanceof Long || value instanceof BigInteger) {
+            return content.equals(value.toString());
+        }
+        return true;
+    }
+
+    /**
+     * Create a copy of a data container node with the specified children.
+     *
+     * @param node node to copy
+     * @param children children of the copy
+     * @return copy of the node, the node itself if its type is not known
+     */
+    static NormalizedNode<?, ?> rebuild(final DataContainerNode<?> node,
+                                        final List<DataContainerChild<? extends PathArgument, ?>> children) {
+        if (node instanceof ContainerNode) {
+            return rebuild(Builders.containerBuilder(), ((ContainerNode) node).getIdentifier(), children);
+        } else if (node instanceof MapEntryNode) {
+            return rebuild(Builders.mapEntryBuilder(), ((MapEntryNode) node).getIdentifier(), children);
+        } else if (node instanceof UnkeyedListEntryNode) {
+            return rebuild(Builders.unkeyedListEntryBuilder(), ((UnkeyedListEntryNode) node).getIdentifier(),
+                    children);
+        } else if (node instanceof AugmentationNode) {
+            return rebuild(Builders.augmentationBuilder(), ((AugmentationNode) node).getIdentifier(), children);
+        } else if (node instanceof ChoiceNode) {
+            return rebuild(Builders.choiceBuilder(), ((ChoiceNode) node).getIdentifier(), children);
+        }
+        // Unknown container type, keep it as a whole
+        return node;
+    }
+
+    private static <I extends PathArgument, R extends DataContainerNode<I>> R rebuild(
+            final DataContainerNodeBuilder<I, R> builder, final I identifier,
+            final List<DataContainerChild<? extends PathArgument, ?>> children) {
+        builder.withNodeIdentifier(identifier);
+        for (final DataContainerChild<? extends PathArgument, ?> child : children) {
+            builder.withChild(child);
+        }
+        return builder.build();
+    }
+}
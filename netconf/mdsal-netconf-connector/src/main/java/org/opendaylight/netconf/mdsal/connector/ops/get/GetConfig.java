@@ -10,6 +10,7 @@ package org.opendaylight.netconf.mdsal.connector.ops.get;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import java.util.List;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorSeverity;
 import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorTag;
@@ -19,6 +20,7 @@ import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
+import org.opendaylight.netconf.api.StreamedNetconfMessage;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.mdsal.connector.CurrentSchemaContext;
 import org.opendaylight.netconf.mdsal.connector.TransactionProvider;
@@ -36,11 +38,18 @@ public class GetConfig extends AbstractGet {
 
     private static final String OPERATION_NAME = "get-config";
     private final TransactionProvider transactionProvider;
+    private final Optional<GetConfigCache> cache;
 
     public GetConfig(final String netconfSessionIdForReporting, final CurrentSchemaContext schemaContext,
                      final TransactionProvider transactionProvider) {
+        this(netconfSessionIdForReporting, schemaContext, transactionProvider, Optional.absent());
+    }
+
+    public GetConfig(final String netconfSessionIdForReporting, final CurrentSchemaContext schemaContext,
+                     final TransactionProvider transactionProvider, final Optional<GetConfigCache> cache) {
         super(netconfSessionIdForReporting, schemaContext);
         this.transactionProvider = transactionProvider;
+        this.cache = Preconditions.checkNotNull(cache);
     }
 
     @Override
@@ -55,21 +64,64 @@ public class GetConfig extends AbstractGet {
             throw e;
         }
 
-        final Optional<YangInstanceIdentifier> dataRootOptional = getDataRootFromFilter(operationElement);
-        if (!dataRootOptional.isPresent()) {
+        final Optional<List<YangInstanceIdentifier>> dataRootsOptional = getDataRootsFromFilter(operationElement);
+        if (!dataRootsOptional.isPresent()) {
             return XmlUtil.createElement(document, XmlNetconfConstants.DATA_KEY, Optional.<String>absent());
         }
 
-        final YangInstanceIdentifier dataRoot = dataRootOptional.get();
+        final List<YangInstanceIdentifier> dataRoots = dataRootsOptional.get();
 
         // Proper exception should be thrown
         Preconditions.checkState(getConfigExecution.getDatastore().isPresent(), "Source element missing from request");
 
-        final DOMDataReadWriteTransaction rwTx = getTransaction(getConfigExecution.getDatastore().get());
+        final Datastore datastore = getConfigExecution.getDatastore().get();
+        final boolean streaming = !operationElement.getOnlyChildElementOptionally(FILTER).isPresent()
+                && StreamedNetconfMessage.isStreamingEnabled(operationElement.getDomElement().getOwnerDocument());
+        if (datastore == Datastore.running && cache.isPresent() && !streaming) {
+            // Streamed replies are never cached, the data they contain are not meant to be held in memory.
+            // Cached entries are dropped once a commit finishes, so the commit of this session has to finish first.
+            transactionProvider.awaitPendingCommit();
+            final byte[] encoded = cache.get().get(schemaContext.getCurrentContext(), operationElement, dataRoots,
+                    new GetConfigCache.Loader() {
+                        @Override
+                        public List<Optional<NormalizedNode<?, ?>>> read() throws DocumentedException {
+                            return readRunning(dataRoots);
+                        }
+
+                        @Override
+                        public byte[] encode(final List<Optional<NormalizedNode<?, ?>>> data) {
+                            final Optional<NormalizedNode<?, ?>> merged = mergeDataRoots(dataRoots, data);
+                            return merged.isPresent() ? encodeFilteredNode(operationElement,
+                                    YangInstanceIdentifier.EMPTY, merged.get()) : new byte[0];
+                        }
+                    });
+            return createDataElement(document, operationElement, encoded);
+        }
+        return readAndSerialize(document, operationElement, datastore, dataRoots, streaming);
+    }
+
+    private List<Optional<NormalizedNode<?, ?>>> readRunning(final List<YangInstanceIdentifier> dataRoots)
+            throws DocumentedException {
+        final DOMDataReadWriteTransaction rwTx = getTransaction(Datastore.running);
+        try {
+            final List<Optional<NormalizedNode<?, ?>>> data = readEachDataRoot(rwTx,
+                    LogicalDatastoreType.CONFIGURATION, dataRoots);
+            transactionProvider.abortRunningTransaction(rwTx);
+            return data;
+        } catch (final ReadFailedException e) {
+            LOG.warn("Unable to read data: {}", dataRoots, e);
+            throw new IllegalStateException("Unable to read data " + dataRoots, e);
+        }
+    }
+
+    private Element readAndSerialize(final Document document, final XmlElement operationElement,
+                                     final Datastore datastore, final List<YangInstanceIdentifier> dataRoots,
+                                     final boolean streaming) throws DocumentedException {
+        final DOMDataReadWriteTransaction rwTx = getTransaction(datastore);
         try {
-            final Optional<NormalizedNode<?, ?>> normalizedNodeOptional = rwTx.read(
-                    LogicalDatastoreType.CONFIGURATION, dataRoot).checkedGet();
-            if (getConfigExecution.getDatastore().get() == Datastore.running) {
+            final Optional<NormalizedNode<?, ?>> normalizedNodeOptional = readDataRoots(rwTx,
+                    LogicalDatastoreType.CONFIGURATION, dataRoots);
+            if (datastore == Datastore.running) {
                 transactionProvider.abortRunningTransaction(rwTx);
             }
 
@@ -77,10 +129,11 @@ public class GetConfig extends AbstractGet {
                 return XmlUtil.createElement(document, XmlNetconfConstants.DATA_KEY, Optional.<String>absent());
             }
 
-            return serializeNodeWithParentStructure(document, dataRoot, normalizedNodeOptional.get());
+            return serializeFilteredNode(document, operationElement, YangInstanceIdentifier.EMPTY,
+                    normalizedNodeOptional.get(), streaming);
         } catch (final ReadFailedException e) {
-            LOG.warn("Unable to read data: {}", dataRoot, e);
-            throw new IllegalStateException("Unable to read data " + dataRoot, e);
+            LOG.warn("Unable to read data: {}", dataRoots, e);
+            throw new IllegalStateException("Unable to read data " + dataRoots, e);
         }
     }
 
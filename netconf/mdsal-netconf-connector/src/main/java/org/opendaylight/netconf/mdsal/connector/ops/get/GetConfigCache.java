@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.mdsal.connector.ops.get;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeService;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Encoded content of data elements of get-config replies on the running datastore, shared by all sessions and keyed
+ * by the filter of the request. Each filtered subtree is watched by a data tree change listener, an entry is served
+ * only until the data under any of its subtrees change. Commits made through netconf drop all entries once they
+ * finish, before the change listeners are notified. A session reads its own changes only if it waits for its pending
+ * commit before looking up the cache.
+ */
+@ThreadSafe
+public final class GetConfigCache implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(GetConfigCache.class);
+
+    /**
+     * Reading and encoding of data on a cache miss.
+     */
+    interface Loader {
+        /**
+         * Read data of all data roots.
+         *
+         * @return data read from each data root, in the order of the data roots
+         * @throws DocumentedException if the data cannot be read
+         */
+        List<Optional<NormalizedNode<?, ?>>> read() throws DocumentedException;
+
+        /**
+         * Encode content of the data element.
+         *
+         * @param data data returned by {@link #read()}
+         * @return UTF-8 encoded content of the data element
+         */
+        byte[] encode(List<Optional<NormalizedNode<?, ?>>> data);
+    }
+
+    private final DOMDataTreeChangeService changeService;
+    private final int maxEntries;
+
+    @GuardedBy("this")
+    private final Map<String, Entry> entries;
+    @GuardedBy("this")
+    private final Map<YangInstanceIdentifier, SubtreeWatch> watches = new HashMap<>();
+    @GuardedBy("this")
+    private long generation;
+
+    private GetConfigCache(final DOMDataTreeChangeService changeService, final int maxEntries) {
+        this.changeService = changeService;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                if (size() <= GetConfigCache.this.maxEntries) {
+                    return false;
+                }
+                release(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Create a cache, if enabled and supported by the data broker.
+     *
+     * @param dataBroker data broker
+     * @param maxEntries maximum number of cached replies, 0 disables the cache
+     * @return cache, absent if disabled
+     */
+    public static Optional<GetConfigCache> create(final DOMDataBroker dataBroker, final int maxEntries) {
+        Preconditions.checkArgument(maxEntries >= 0, "Number of entries cannot be negative");
+        if (maxEntries == 0) {
+            return Optional.absent();
+        }
+
+        final DOMDataTreeChangeService changeService =
+                (DOMDataTreeChangeService) dataBroker.getSupportedExtensions().get(DOMDataTreeChangeService.class);
+        if (changeService == null) {
+            LOG.warn("Data broker {} does not support data tree change listeners, get-config cache disabled",
+                    dataBroker);
+            return Optional.absent();
+        }
+        return Optional.of(new GetConfigCache(changeService, maxEntries));
+    }
+
+    /**
+     * Drop all entries, called once a commit made through netconf finishes.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+    }
+
+    /**
+     * Get encoded content of data element of a get-config reply on the running datastore from the cache, or load
+     * and cache it.
+     *
+     * @param schemaContext schema context the data are serialized with
+     * @param operationElement get-config element
+     * @param dataRoots roots of the data selected by the filter
+     * @param loader reading and encoding of the data on a cache miss
+     * @return UTF-8 encoded content of the data element, not to be modified
+     * @throws DocumentedException if the data cannot be loaded
+     */
+    byte[] get(final SchemaContext schemaContext, final XmlElement operationElement,
+               final List<YangInstanceIdentifier> dataRoots, final Loader loader) throws DocumentedException {
+        final String key = toKey(operationElement);
+        final List<SubtreeWatch> entryWatches = new ArrayList<>(dataRoots.size());
+        final long[] versions = new long[dataRoots.size()];
+        final long entryGeneration;
+        synchronized (this) {
+            final Entry entry = entries.get(key);
+            if (entry != null && entry.isCurrent(schemaContext, generation)) {
+                LOG.trace("Serving get-config from cache for {}", key);
+                return entry.encoded;
+            }
+
+            // Versions are taken before the data are read, any change after this point invalidates the new entry
+            for (int i = 0; i < versions.length; i++) {
+                final SubtreeWatch watch = watch(dataRoots.get(i));
+                entryWatches.add(watch);
+                versions[i] = watch.getVersion();
+            }
+            entryGeneration = generation;
+        }
+
+        try {
+            final List<Optional<NormalizedNode<?, ?>>> data = loader.read();
+            final byte[] encoded = loader.encode(data);
+            synchronized (this) {
+                for (int i = 0; i < versions.length; i++) {
+                    versions[i] = entryWatches.get(i).onLoaded(versions[i], data.get(i));
+                }
+                final Entry entry = new Entry(schemaContext, entryGeneration, encoded, entryWatches, versions);
+                for (final SubtreeWatch watch : entryWatches) {
+                    watch.references++;
+                }
+                final Entry previous = entries.put(key, entry);
+                if (previous != null) {
+                    release(previous);
+                }
+            }
+            return encoded;
+        } finally {
+            // The entry holds its own references by now, so the watches stay registered
+            synchronized (this) {
+                entryWatches.forEach(this::releaseWatch);
+            }
+        }
+    }
+
+    @GuardedBy("this")
+    private SubtreeWatch watch(final YangInstanceIdentifier dataRoot) {
+        SubtreeWatch watch = watches.get(dataRoot);
+        if (watch == null) {
+            watch = new SubtreeWatch(dataRoot);
+            watch.registration = changeService.registerDataTreeChangeListener(
+                    new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION, dataRoot), watch);
+            watches.put(dataRoot, watch);
+        }
+        // Held by the loading request until the entry is stored
+        watch.references++;
+        return watch;
+    }
+
+    @GuardedBy("this")
+    private void release(final Entry entry) {
+        entry.watches.forEach(this::releaseWatch);
+    }
+
+    @GuardedBy("this")
+    private void releaseWatch(final SubtreeWatch watch) {
+        if (--watch.references == 0) {
+            watches.remove(watch.dataRoot);
+            watch.registration.close();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        for (final SubtreeWatch watch : watches.values()) {
+            watch.registration.close();
+        }
+        watches.clear();
+        entries.clear();
+    }
+
+    /**
+     * Create a key of a get-config request, which does not depend on prefixes, attribute order and whitespace used
+     * by the filter of the request.
+     */
+    static String toKey(final XmlElement operationElement) {
+        final StringBuilder sb = new StringBuilder();
+        final Optional<XmlElement> filter = operationElement.getOnlyChildElementOptionally("filter");
+        if (filter.isPresent()) {
+            appendElement(sb, filter.get().getDomElement());
+        }
+        return sb.toString();
+    }
+
+    private static void appendElement(final StringBuilder sb, final Element element) {
+        sb.append('{').append(element.getNamespaceURI()).append('}').append(element.getLocalName());
+
+        final NamedNodeMap attributes = element.getAttributes();
+        final Map<String, String> sortedAttributes = new TreeMap<>();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            final Attr attr = (Attr) attributes.item(i);
+            if (!"http://www.w3.org/2000/xmlns/".equals(attr.getNamespaceURI())) {
+                sortedAttributes.put("{" + attr.getNamespaceURI() + "}" + attr.getLocalName(),
+                        resolvePrefix(element, attr.getValue()));
+            }
+        }
+        sb.append(sortedAttributes);
+
+        sb.append('(');
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                appendElement(sb, (Element) child);
+            } else if (child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+                final String text = child.getNodeValue().trim();
+                if (!text.isEmpty()) {
+                    sb.append('"').append(resolvePrefix(element, text)).append('"');
+                }
+            }
+        }
+        sb.append(')');
+    }
+
+    // Values such as identities in content match nodes are prefixed, the prefix is replaced by its namespace
+    private static String resolvePrefix(final Element element, final String value) {
+        final int colon = value.indexOf(':');
+        if (colon <= 0) {
+            return value;
+        }
+        final String namespace = element.lookupNamespaceURI(value.substring(0, colon));
+        return namespace == null ? value : "{" + namespace + "}" + value.substring(colon + 1);
+    }
+
+    /**
+     * Listener counting changes of a subtree. A listener is first notified of the data present when it registers,
+     * such notification does not count as a change for loads started after the registration, if they read the same
+     * data.
+     */
+    private static final class SubtreeWatch implements DOMDataTreeChangeListener {
+        private final YangInstanceIdentifier dataRoot;
+        private ListenerRegistration<SubtreeWatch> registration;
+        private int references;
+
+        @GuardedBy("this")
+        private long version;
+        @GuardedBy("this")
+        private boolean notified;
+        // Data read by the first load, until the first notification
+        @GuardedBy("this")
+        private Optional<NormalizedNode<?, ?>> loadedData;
+        // Data of the first notification, if it may be the initial one, until the next notification
+        @GuardedBy("this")
+        private NormalizedNode<?, ?> initialData;
+
+        SubtreeWatch(final YangInstanceIdentifier dataRoot) {
+            this.dataRoot = dataRoot;
+        }
+
+        synchronized long getVersion() {
+            return version;
+        }
+
+        @Override
+        public synchronized void onDataTreeChanged(final Collection<DataTreeCandidate> changes) {
+            final Optional<NormalizedNode<?, ?>> initial = notified ? Optional.absent() : initialData(changes);
+            final boolean loaded = loadedData != null && initial.isPresent() && sameData(loadedData, initial.get());
+            notified = true;
+            loadedData = null;
+            initialData = initial.orNull();
+            if (!loaded) {
+                version++;
+            }
+        }
+
+        /**
+         * Account for the initial notification in the version a load started at.
+         *
+         * @param loadVersion version taken before the load
+         * @param data data read by the load
+         * @return version the data correspond to
+         */
+        synchronized long onLoaded(final long loadVersion, final Optional<NormalizedNode<?, ?>> data) {
+            if (loadVersion != 0) {
+                return loadVersion;
+            }
+            if (!notified) {
+                if (loadedData == null) {
+                    loadedData = data;
+                }
+                return loadVersion;
+            }
+            return version == 1 && initialData != null && sameData(data, initialData) ? version : loadVersion;
+        }
+
+        private static Optional<NormalizedNode<?, ?>> initialData(final Collection<DataTreeCandidate> changes) {
+            if (changes.size() != 1) {
+                return Optional.absent();
+            }
+            final DataTreeCandidateNode node = changes.iterator().next().getRootNode();
+            return node.getModificationType() == ModificationType.WRITE && !node.getDataBefore().isPresent()
+                    ? node.getDataAfter() : Optional.absent();
+        }
+
+        // Unchanged data are usually the same instance, equality is checked only if they are not
+        private static boolean sameData(final Optional<NormalizedNode<?, ?>> data, final NormalizedNode<?, ?> other) {
+            return data.isPresent() && (data.get() == other || data.get().equals(other));
+        }
+    }
+
+    private static final class Entry {
+        private final SchemaContext schemaContext;
+        private final long generation;
+        private final byte[] encoded;
+        private final List<SubtreeWatch> watches;
+        private final long[] versions;
+
+        Entry(final SchemaContext schemaContext, final long generation, final byte[] encoded,
+              final List<SubtreeWatch> watches, final long[] versions) {
+            this.schemaContext = schemaContext;
+            this.generation = generation;
+            this.encoded = encoded;
+            this.watches = watches;
+            this.versions = versions;
+        }
+
+        boolean isCurrent(final SchemaContext currentSchemaContext, final long currentGeneration) {
+            if (schemaContext != currentSchemaContext || generation != currentGeneration) {
+                return false;
+            }
+            for (int i = 0; i < versions.length; i++) {
+                if (watches.get(i).getVersion() != versions[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
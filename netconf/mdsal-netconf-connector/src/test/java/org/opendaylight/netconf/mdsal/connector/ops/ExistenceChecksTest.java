@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.mdsal.connector.ops;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Futures;
+import java.util.ArrayList;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataReadTransaction;
+import org.opendaylight.netconf.mdsal.connector.ops.DataTreeChangeTracker.DataTreeChange;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.ModifyAction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class ExistenceChecksTest {
+
+    private static final String NAMESPACE = "urn:opendaylight:existence:checks";
+    private static final QName TOP = QName.create(NAMESPACE, "top");
+    private static final QName USERS = QName.create(NAMESPACE, "users");
+    private static final QName NAME = QName.create(NAMESPACE, "name");
+    private static final YangInstanceIdentifier TOP_PATH = YangInstanceIdentifier.of(TOP);
+    private static final YangInstanceIdentifier USERS_PATH = TOP_PATH.node(USERS);
+
+    private DOMDataReadTransaction tx;
+
+    @Before
+    public void setUp() throws Exception {
+        tx = mock(DOMDataReadTransaction.class);
+        final MapNode users = Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(USERS))
+                .withChild(user("a")).build();
+        doReturn(Futures.immediateCheckedFuture(Optional.of(users)))
+                .when(tx).read(LogicalDatastoreType.CONFIGURATION, USERS_PATH);
+        doReturn(Futures.immediateCheckedFuture(Optional.absent()))
+                .when(tx).read(LogicalDatastoreType.CONFIGURATION, USERS_PATH.node(userId("c")));
+    }
+
+    @Test
+    public void testSiblingsReadOnce() throws Exception {
+        final ExistenceChecks checks = ExistenceChecks.read(tx, ImmutableList.of(
+                change(ModifyAction.CREATE, "a"), change(ModifyAction.CREATE, "b"), change(ModifyAction.DELETE, "c"),
+                change(ModifyAction.MERGE, TOP_PATH)));
+
+        assertEquals(Optional.of(true), checks.exists(USERS_PATH.node(userId("a"))));
+        assertEquals(Optional.of(false), checks.exists(USERS_PATH.node(userId("b"))));
+        assertEquals(Optional.of(false), checks.exists(USERS_PATH.node(userId("c"))));
+        verify(tx, times(1)).read(any(LogicalDatastoreType.class), any(YangInstanceIdentifier.class));
+    }
+
+    @Test
+    public void testSingleChildReadDirectly() throws Exception {
+        final ExistenceChecks checks = ExistenceChecks.read(tx, ImmutableList.of(change(ModifyAction.DELETE, "c")));
+
+        assertEquals(Optional.of(false), checks.exists(USERS_PATH.node(userId("c"))));
+        verify(tx).read(LogicalDatastoreType.CONFIGURATION, USERS_PATH.node(userId("c")));
+    }
+
+    @Test
+    public void testOverwrittenParentNotChecked() throws Exception {
+        final ExistenceChecks checks = ExistenceChecks.read(tx, ImmutableList.of(
+                change(ModifyAction.CREATE, "a"), change(ModifyAction.CREATE, "b"),
+                change(ModifyAction.REPLACE, TOP_PATH)));
+
+        assertFalse(checks.exists(USERS_PATH.node(userId("a"))).isPresent());
+        assertFalse(checks.exists(USERS_PATH.node(userId("b"))).isPresent());
+        verify(tx, times(0)).read(any(LogicalDatastoreType.class), any(YangInstanceIdentifier.class));
+    }
+
+    private static DataTreeChange change(final ModifyAction action, final String name) {
+        return new DataTreeChange(user(name), action, reversed(USERS_PATH.node(userId(name))));
+    }
+
+    private static DataTreeChange change(final ModifyAction action, final YangInstanceIdentifier path) {
+        return new DataTreeChange(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(TOP)).build(),
+                action, reversed(path));
+    }
+
+    private static ArrayList<YangInstanceIdentifier.PathArgument> reversed(final YangInstanceIdentifier path) {
+        // Tracker records paths from the deepest argument
+        return new ArrayList<>(Lists.reverse(path.getPathArguments()));
+    }
+
+    private static NodeIdentifierWithPredicates userId(final String name) {
+        return new NodeIdentifierWithPredicates(USERS, NAME, name);
+    }
+
+    private static MapEntryNode user(final String name) {
+        return Builders.mapEntryBuilder()
+                .withNodeIdentifier(userId(name))
+                .withChild(ImmutableNodes.leafNode(NAME, name))
+                .build();
+    }
+}
@@ -15,14 +15,18 @@ import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 
+import com.google.common.base.Optional;
 import com.google.common.io.ByteSource;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
 import java.io.InputStream;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
@@ -46,15 +50,26 @@ import org.opendaylight.controller.config.util.xml.DocumentedException.ErrorType
 import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.store.impl.InMemoryDOMDataStoreFactory;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.controller.sal.core.spi.data.DOMStore;
+import org.opendaylight.netconf.api.DeferredNetconfReply;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.StreamedNetconfMessage;
+import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
+import org.opendaylight.netconf.api.monitoring.SessionListener;
+import org.opendaylight.netconf.impl.NetconfServerSession;
+import org.opendaylight.netconf.impl.NetconfServerSessionListener;
+import org.opendaylight.netconf.impl.osgi.NetconfOperationRouter;
 import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
 import org.opendaylight.netconf.mdsal.connector.CurrentSchemaContext;
 import org.opendaylight.netconf.mdsal.connector.TransactionProvider;
 import org.opendaylight.netconf.mdsal.connector.ops.get.Get;
 import org.opendaylight.netconf.mdsal.connector.ops.get.GetConfig;
+import org.opendaylight.netconf.mdsal.connector.ops.get.GetConfigCache;
 import org.opendaylight.netconf.util.test.NetconfXmlUnitRecursiveQualifier;
 import org.opendaylight.netconf.util.test.XmlFileLoader;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
@@ -81,11 +96,14 @@ public class NetconfMDSalMappingTest {
     private static final String TARGET_KEY = "target";
     private static final String RPC_REPLY_ELEMENT = "rpc-reply";
     private static final String DATA_ELEMENT = "data";
-    private static final String FILTER_NODE = "filter";
     private static final String GET_CONFIG = "get-config";
     private static final QName TOP = QName.create("urn:opendaylight:mdsal:mapping:test", "2015-02-26", "top");
     private static final QName USERS = QName.create("urn:opendaylight:mdsal:mapping:test", "2015-02-26", "users");
     private static final QName USER = QName.create("urn:opendaylight:mdsal:mapping:test", "2015-02-26", "user");
+    private static final QName MAPPING_NODES = QName.create("urn:opendaylight:mdsal:mapping:test", "2015-02-26",
+            "mapping-nodes");
+    private static final QName MULTIPLE_KEYS = QName.create("urn:opendaylight:mdsal:mapping:test", "2015-02-26",
+            "multiple-keys");
     private static final QName MODULES = QName.create("urn:opendaylight:mdsal:mapping:test", "2015-02-26", "modules");
     private static final QName AUGMENTED_CONTAINER = QName.create("urn:opendaylight:mdsal:mapping:test",
             "2015-02-26", "augmented-container");
@@ -110,6 +128,7 @@ public class NetconfMDSalMappingTest {
     private CurrentSchemaContext currentSchemaContext = null;
     private SchemaContext schemaContext = null;
     private TransactionProvider transactionProvider = null;
+    private DOMDataBroker dataBroker = null;
 
     @Mock
     private SchemaSourceProvider<YangTextSchemaSource> sourceProvider;
@@ -148,6 +167,7 @@ public class NetconfMDSalMappingTest {
                 16, 16, "CommitFutures");
 
         final ConcurrentDOMDataBroker cdb = new ConcurrentDOMDataBroker(datastores, listenableFutureExecutor);
+        this.dataBroker = cdb;
         this.transactionProvider = new TransactionProvider(cdb, SESSION_ID_FOR_REPORTING);
 
         doAnswer(invocationOnMock -> {
@@ -233,6 +253,98 @@ public class NetconfMDSalMappingTest {
         deleteDatastore();
     }
 
+    @Test
+    public void testCachedGetConfigRunning() throws Exception {
+        final GetConfigCache cache = GetConfigCache.create(dataBroker, 4).get();
+        final TransactionProvider otherSession = transactionProvider;
+        transactionProvider = new TransactionProvider(dataBroker, SESSION_ID_FOR_REPORTING, Optional.of(cache));
+        final GetConfig getConfig = new GetConfig(SESSION_ID_FOR_REPORTING, currentSchemaContext, transactionProvider,
+                Optional.of(cache));
+
+        assertEmptyDatastore(executeOperation(getConfig, "messages/mapping/getConfig.xml"));
+        assertEmptyDatastore(executeOperation(getConfig, "messages/mapping/getConfig.xml"));
+
+        // Own commit is visible as soon as it is confirmed
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_merge_n1.xml"), RPC_REPLY_OK);
+        verifyResponse(commit(), RPC_REPLY_OK);
+        final Document control = XmlFileLoader.xmlFileToDocument(
+                "messages/mapping/editConfigs/editConfig_merge_n1_control.xml");
+        verifyResponse(executeOperation(getConfig, "messages/mapping/getConfig.xml"), control);
+        verifyResponse(executeOperation(getConfig, "messages/mapping/getConfig.xml"), control);
+
+        // Commits of other sessions are seen once the change listener is notified
+        transactionProvider = otherSession;
+        deleteDatastore();
+        final long deadline = System.currentTimeMillis() + 5000;
+        Document response = executeOperation(getConfig, "messages/mapping/getConfig.xml");
+        while (response.getDocumentElement().getFirstChild().hasChildNodes()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            response = executeOperation(getConfig, "messages/mapping/getConfig.xml");
+        }
+        assertEmptyDatastore(response);
+        cache.close();
+    }
+
+    @Test
+    public void testCachedFilteredGetConfigOnStreamingSession() throws Exception {
+        final GetConfigCache cache = GetConfigCache.create(dataBroker, 4).get();
+        transactionProvider = new TransactionProvider(dataBroker, SESSION_ID_FOR_REPORTING, Optional.of(cache));
+        final GetConfig getConfig = new GetConfig(SESSION_ID_FOR_REPORTING, currentSchemaContext, transactionProvider,
+                Optional.of(cache));
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig-filtering-setup.xml"), RPC_REPLY_OK);
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_merge_multiple_keys_1.xml"), RPC_REPLY_OK);
+        verifyResponse(commit(), RPC_REPLY_OK);
+
+        final NetconfOperationRouter router = Mockito.mock(NetconfOperationRouter.class);
+        doAnswer(invocation -> getConfig.handle((Document) invocation.getArguments()[0],
+                NetconfOperationChainedExecution.EXECUTION_TERMINATION_POINT))
+                .when(router).onNetconfMessage(any(), any());
+        final NetconfMonitoringService monitoring = Mockito.mock(NetconfMonitoringService.class);
+        Mockito.doReturn(Mockito.mock(SessionListener.class)).when(monitoring).getSessionListener();
+        final NetconfServerSessionListener listener = new NetconfServerSessionListener(router, monitoring,
+                Mockito.mock(AutoCloseable.class));
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        final NetconfServerSession session = new NetconfServerSession(listener, channel, 1L, null);
+
+        // The listener enables streaming only if the channel can stream, embedded channel cannot
+        final Document request = XmlFileLoader.xmlFileToDocument(
+                "messages/mapping/filters/get-config-filter-multiple-roots.xml");
+        StreamedNetconfMessage.enableStreaming(request);
+        final Document expected = XmlFileLoader.xmlFileToDocument(
+                "messages/mapping/filters/response-multiple-roots.xml");
+        // The first reply is encoded and cached, the second one is served from the cache
+        for (int i = 0; i < 2; ++i) {
+            listener.onMessage(session, new NetconfMessage(request));
+            channel.runPendingTasks();
+            verifyResponse(((NetconfMessage) channel.readOutbound()).getDocument(), expected);
+        }
+
+        deleteDatastore();
+        cache.close();
+    }
+
+    @Test
+    public void testCachedGetConfigAfterPipelinedCommit() throws Exception {
+        final GetConfigCache cache = GetConfigCache.create(dataBroker, 4).get();
+        transactionProvider = new TransactionProvider(dataBroker, SESSION_ID_FOR_REPORTING, Optional.of(cache));
+        final GetConfig getConfig = new GetConfig(SESSION_ID_FOR_REPORTING, currentSchemaContext, transactionProvider,
+                Optional.of(cache));
+        assertEmptyDatastore(executeOperation(getConfig, "messages/mapping/getConfig.xml"));
+        assertEmptyDatastore(executeOperation(getConfig, "messages/mapping/getConfig.xml"));
+
+        // The session processes get-config right after commit, without waiting for the commit to finish
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_merge_n1.xml"), RPC_REPLY_OK);
+        final Document commitResponse = executeOperation(new Commit(SESSION_ID_FOR_REPORTING, transactionProvider),
+                "messages/mapping/commit.xml");
+        verifyResponse(executeOperation(getConfig, "messages/mapping/getConfig.xml"),
+                XmlFileLoader.xmlFileToDocument("messages/mapping/editConfigs/editConfig_merge_n1_control.xml"));
+        DeferredNetconfReply.getCompletion(commitResponse).get().get();
+
+        deleteDatastore();
+        cache.close();
+    }
+
     @Test
     public void testKeyOrder() throws Exception {
         verifyResponse(edit("messages/mapping/editConfigs/editConfig_merge_multiple_keys_1.xml"), RPC_REPLY_OK);
@@ -420,6 +532,22 @@ public class NetconfMDSalMappingTest {
         verifyResponse(discardChanges(), RPC_REPLY_OK);
     }
 
+    @Test
+    public void testEditWithCreateEntries() throws Exception {
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_create_entries.xml"), RPC_REPLY_OK);
+
+        try {
+            edit("messages/mapping/editConfigs/editConfig_create_entries_existing.xml");
+            fail("Create should have failed - data already exists");
+        } catch (final DocumentedException e) {
+            assertTrue(e.getErrorSeverity() == ErrorSeverity.ERROR);
+            assertTrue(e.getErrorTag() == ErrorTag.DATA_EXISTS);
+            assertTrue(e.getErrorType() == ErrorType.PROTOCOL);
+        }
+
+        verifyResponse(discardChanges(), RPC_REPLY_OK);
+    }
+
     @Test
     public void testDeleteNonExisting() throws Exception {
         assertEmptyDatastore(getConfigCandidate());
@@ -691,13 +819,36 @@ public class NetconfMDSalMappingTest {
 
     }
 
-    private void verifyFilterIdentifier(final String resource, final YangInstanceIdentifier identifier)
+    @Test
+    public void testFilteringMultipleRoots() throws Exception {
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig-filtering-setup.xml"), RPC_REPLY_OK);
+        verifyResponse(edit("messages/mapping/editConfigs/editConfig_merge_multiple_keys_1.xml"), RPC_REPLY_OK);
+        verifyResponse(commit(), RPC_REPLY_OK);
+
+        verifyFilterIdentifier("messages/mapping/filters/get-config-filter-multiple-roots.xml",
+                YangInstanceIdentifier.builder().node(TOP).node(USERS).build(),
+                YangInstanceIdentifier.builder().node(MAPPING_NODES).node(MULTIPLE_KEYS).build());
+        verifyResponse(getConfigWithFilter("messages/mapping/filters/get-config-filter-multiple-roots.xml"),
+                XmlFileLoader.xmlFileToDocument("messages/mapping/filters/response-multiple-roots.xml"));
+
+        // get reads operational data, mirror the configuration there
+        final DOMDataReadWriteTransaction tx = dataBroker.newReadWriteTransaction();
+        tx.put(LogicalDatastoreType.OPERATIONAL, YangInstanceIdentifier.EMPTY,
+                tx.read(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.EMPTY).checkedGet().get());
+        tx.submit().checkedGet();
+        verifyResponse(getWithFilter("messages/mapping/filters/get-filter-multiple-roots.xml"),
+                XmlFileLoader.xmlFileToDocument("messages/mapping/filters/response-multiple-roots.xml"));
+
+        deleteDatastore();
+    }
+
+    private void verifyFilterIdentifier(final String resource, final YangInstanceIdentifier... identifiers)
             throws Exception {
         final TestingGetConfig getConfig = new TestingGetConfig(SESSION_ID_FOR_REPORTING, currentSchemaContext,
                 transactionProvider);
         final Document request = XmlFileLoader.xmlFileToDocument(resource);
-        final YangInstanceIdentifier iid = getConfig.getInstanceIdentifierFromDocument(request);
-        assertEquals(identifier, iid);
+        final List<YangInstanceIdentifier> dataRoots = getConfig.getDataRootsFromDocument(request);
+        assertEquals(Arrays.asList(identifiers), dataRoots);
     }
 
     private class TestingGetConfig extends GetConfig {
@@ -706,10 +857,9 @@ public class NetconfMDSalMappingTest {
             super(sessionId, schemaContext, transactionProvider);
         }
 
-        YangInstanceIdentifier getInstanceIdentifierFromDocument(final Document request) throws DocumentedException {
-            final XmlElement filterElement = XmlElement.fromDomDocument(request).getOnlyChildElement(GET_CONFIG)
-                    .getOnlyChildElement(FILTER_NODE);
-            return getInstanceIdentifierFromFilter(filterElement);
+        List<YangInstanceIdentifier> getDataRootsFromDocument(final Document request) throws DocumentedException {
+            final XmlElement operationElement = XmlElement.fromDomDocument(request).getOnlyChildElement(GET_CONFIG);
+            return getDataRootsFromFilter(operationElement).get();
         }
     }
 
@@ -747,7 +897,17 @@ public class NetconfMDSalMappingTest {
 
     private Document commit() throws Exception {
         final Commit commit = new Commit(SESSION_ID_FOR_REPORTING, transactionProvider);
-        return executeOperation(commit, "messages/mapping/commit.xml");
+        final Document response = executeOperation(commit, "messages/mapping/commit.xml");
+
+        // Commit does not wait for the datastore, the session sends the reply once the commit finishes
+        final Optional<ListenableFuture<?>> completion = DeferredNetconfReply.getCompletion(response);
+        assertTrue(completion.isPresent());
+        try {
+            completion.get().get();
+        } catch (final ExecutionException e) {
+            throw (DocumentedException) e.getCause();
+        }
+        return response;
     }
 
     private Document discardChanges() throws Exception {
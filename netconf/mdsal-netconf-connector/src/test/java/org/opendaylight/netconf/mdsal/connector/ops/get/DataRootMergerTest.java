@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.mdsal.connector.ops.get;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class DataRootMergerTest {
+
+    private static final String NAMESPACE = "urn:opendaylight:data:root:merger";
+    private static final QName TOP = QName.create(NAMESPACE, "top");
+    private static final QName OTHER = QName.create(NAMESPACE, "other");
+    private static final QName USERS = QName.create(NAMESPACE, "users");
+    private static final QName NAME = QName.create(NAMESPACE, "name");
+
+    @Test
+    public void testMergeOverlappingRoots() {
+        final ContainerNode first = top(user("a"));
+        final ContainerNode second = top(user("b"));
+        final ContainerNode other = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(OTHER)).build();
+
+        final ContainerNode root = DataRootMerger.merge(ImmutableList.of(first, second, other));
+        assertEquals(SchemaContext.NAME, root.getNodeType());
+        assertEquals(2, root.getValue().size());
+
+        final ContainerNode top = (ContainerNode) root.getChild(new NodeIdentifier(TOP)).get();
+        final MapNode users = (MapNode) top.getChild(new NodeIdentifier(USERS)).get();
+        assertEquals(2, users.getValue().size());
+        assertEquals(other, root.getChild(new NodeIdentifier(OTHER)).get());
+    }
+
+    private static ContainerNode top(final MapEntryNode user) {
+        return Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(TOP))
+                .withChild(Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(USERS)).withChild(user).build())
+                .build();
+    }
+
+    private static MapEntryNode user(final String name) {
+        return Builders.mapEntryBuilder()
+                .withNodeIdentifier(new NodeIdentifierWithPredicates(USERS, NAME, name))
+                .withChild(ImmutableNodes.leafNode(NAME, name))
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.mdsal.connector.ops.get;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Optional;
+import org.junit.Test;
+import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class FilterProjectionTest {
+
+    private static final String NAMESPACE = "urn:opendaylight:filter:projection";
+    private static final QName TOP = QName.create(NAMESPACE, "top");
+    private static final QName USERS = QName.create(NAMESPACE, "users");
+    private static final QName NAME = QName.create(NAMESPACE, "name");
+    private static final QName TYPE = QName.create(NAMESPACE, "type");
+    private static final QName EXTRA = QName.create(NAMESPACE, "extra");
+
+    private static final ContainerNode DATA = Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(TOP))
+            .withChild(Builders.mapBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(USERS))
+                    .withChild(user("a"))
+                    .withChild(user("b"))
+                    .build())
+            .withChild(ImmutableNodes.leafNode(EXTRA, "top-extra"))
+            .build();
+
+    @Test
+    public void testListEntrySelection() throws Exception {
+        final Optional<NormalizedNode<?, ?>> projected = compile("<top xmlns=\"" + NAMESPACE + "\">"
+                + "<users><name>a</name><type/></users></top>").apply(DATA);
+
+        assertTrue(projected.isPresent());
+        final ContainerNode top = (ContainerNode) projected.get();
+        assertFalse(top.getChild(new NodeIdentifier(EXTRA)).isPresent());
+
+        final MapNode users = (MapNode) top.getChild(new NodeIdentifier(USERS)).get();
+        assertEquals(1, users.getValue().size());
+        final MapEntryNode entry = users.getValue().iterator().next();
+        assertEquals("a", entry.getChild(new NodeIdentifier(NAME)).get().getValue());
+        assertTrue(entry.getChild(new NodeIdentifier(TYPE)).isPresent());
+        assertFalse(entry.getChild(new NodeIdentifier(EXTRA)).isPresent());
+    }
+
+    @Test
+    public void testContentMatchOnlySelectsWholeEntry() throws Exception {
+        final Optional<NormalizedNode<?, ?>> projected = compile("<top xmlns=\"" + NAMESPACE + "\">"
+                + "<users><name>b</name></users></top>").apply(DATA);
+
+        final MapNode users = (MapNode) ((ContainerNode) projected.get()).getChild(new NodeIdentifier(USERS)).get();
+        assertEquals(user("b"), users.getValue().iterator().next());
+    }
+
+    @Test
+    public void testNoMatch() throws Exception {
+        assertFalse(compile("<top xmlns=\"" + NAMESPACE + "\"><users><name>c</name></users></top>").apply(DATA)
+                .isPresent());
+        assertFalse(compile("<top xmlns=\"urn:other\"/>").apply(DATA).isPresent());
+    }
+
+    @Test
+    public void testNonSubtreeFilter() throws Exception {
+        final XmlElement filter = XmlElement.fromDomDocument(XmlUtil.readXmlToDocument(
+                "<filter xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" type=\"xpath\"/>"));
+        assertFalse(FilterProjection.compile(filter).isPresent());
+    }
+
+    private static FilterProjection compile(final String content) throws Exception {
+        final XmlElement filter = XmlElement.fromDomDocument(XmlUtil.readXmlToDocument(
+                "<filter xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" type=\"subtree\">" + content
+                        + "</filter>"));
+        return FilterProjection.compile(filter).get();
+    }
+
+    private static MapEntryNode user(final String name) {
+        return Builders.mapEntryBuilder()
+                .withNodeIdentifier(new NodeIdentifierWithPredicates(USERS, NAME, name))
+                .withChild(ImmutableNodes.leafNode(NAME, name))
+                .withChild(ImmutableNodes.leafNode(TYPE, "admin"))
+                .withChild(ImmutableNodes.leafNode(EXTRA, "extra-" + name))
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.mdsal.connector.ops.get;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeService;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class GetConfigCacheTest {
+
+    private static final String FILTER_A = "<get-config xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">"
+            + "<source><running/></source>"
+            + "<filter type=\"subtree\" xmlns:t=\"urn:test\"><t:top><t:users>\n  <t:user><t:name>a</t:name></t:user>"
+            + "</t:users></t:top></filter></get-config>";
+    private static final String FILTER_B = "<nc:get-config xmlns:nc=\"urn:ietf:params:xml:ns:netconf:base:1.0\">"
+            + "<nc:source><nc:running/></nc:source>"
+            + "<nc:filter type=\"subtree\"><top xmlns=\"urn:test\"><users><user><name>  a  </name></user>"
+            + "</users></top></nc:filter></nc:get-config>";
+    private static final String FILTER_C = "<get-config xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">"
+            + "<source><running/></source>"
+            + "<filter type=\"subtree\"><top xmlns=\"urn:test\"><users><user><name>b</name></user>"
+            + "</users></top></filter></get-config>";
+
+    @Test
+    public void testKeyIgnoresPrefixesAndWhitespace() throws Exception {
+        assertEquals(key(FILTER_A), key(FILTER_B));
+        assertNotEquals(key(FILTER_A), key(FILTER_C));
+    }
+
+    @Test
+    public void testInitialNotificationKeepsEntry() throws Exception {
+        final DOMDataTreeChangeService changeService = mock(DOMDataTreeChangeService.class);
+        final ArgumentCaptor<DOMDataTreeChangeListener> listener =
+                ArgumentCaptor.forClass(DOMDataTreeChangeListener.class);
+        doReturn(mock(ListenerRegistration.class)).when(changeService)
+                .registerDataTreeChangeListener(any(DOMDataTreeIdentifier.class), listener.capture());
+        final DOMDataBroker dataBroker = mock(DOMDataBroker.class);
+        doReturn(ImmutableMap.of(DOMDataTreeChangeService.class, changeService)).when(dataBroker)
+                .getSupportedExtensions();
+        final GetConfigCache cache = GetConfigCache.create(dataBroker, 4).get();
+
+        final NormalizedNode<?, ?> data = mock(NormalizedNode.class);
+        final CountingLoader loader = new CountingLoader(data);
+        final SchemaContext schemaContext = mock(SchemaContext.class);
+        final XmlElement operationElement = XmlElement.fromDomDocument(XmlUtil.readXmlToDocument(FILTER_A));
+        final List<YangInstanceIdentifier> dataRoots = Collections.singletonList(YangInstanceIdentifier.EMPTY);
+
+        cache.get(schemaContext, operationElement, dataRoots, loader);
+        assertEquals(1, loader.loads);
+
+        // Listener is notified of the data present when it registered, which the entry was loaded from
+        listener.getValue().onDataTreeChanged(Collections.singletonList(candidate(ModificationType.WRITE,
+                Optional.absent(), data)));
+        cache.get(schemaContext, operationElement, dataRoots, loader);
+        assertEquals(1, loader.loads);
+
+        listener.getValue().onDataTreeChanged(Collections.singletonList(candidate(ModificationType.WRITE,
+                Optional.of(data), data)));
+        cache.get(schemaContext, operationElement, dataRoots, loader);
+        assertEquals(2, loader.loads);
+        cache.close();
+    }
+
+    private static DataTreeCandidate candidate(final ModificationType type,
+            final Optional<NormalizedNode<?, ?>> dataBefore, final NormalizedNode<?, ?> dataAfter) {
+        final DataTreeCandidateNode node = mock(DataTreeCandidateNode.class);
+        doReturn(type).when(node).getModificationType();
+        doReturn(dataBefore).when(node).getDataBefore();
+        doReturn(Optional.of(dataAfter)).when(node).getDataAfter();
+        final DataTreeCandidate candidate = mock(DataTreeCandidate.class);
+        doReturn(node).when(candidate).getRootNode();
+        return candidate;
+    }
+
+    private static String key(final String request) throws Exception {
+        return GetConfigCache.toKey(XmlElement.fromDomDocument(XmlUtil.readXmlToDocument(request)));
+    }
+
+    private static final class CountingLoader implements GetConfigCache.Loader {
+        private final NormalizedNode<?, ?> data;
+        private int loads;
+
+        CountingLoader(final NormalizedNode<?, ?> data) {
+            this.data = data;
+        }
+
+        @Override
+        public List<Optional<NormalizedNode<?, ?>>> read() {
+            loads++;
+            return Collections.singletonList(Optional.of(data));
+        }
+
+        @Override
+        public byte[] encode(final List<Optional<NormalizedNode<?, ?>>> nodes) {
+            return new byte[0];
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.api;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Reply of an operation which completes asynchronously, such as a commit. The operation attaches a future to an
+ * element of its reply by {@link #attachCompletion(Element, ListenableFuture)} and returns without waiting.
+ * The session sends the reply once the future succeeds. If the future fails with a DocumentedException,
+ * the session sends that error instead. Replies to later requests are held back until the reply is sent, so
+ * the replies are still sent in the order of the requests.
+ */
+public final class DeferredNetconfReply {
+    private static final String COMPLETION_KEY = DeferredNetconfReply.class.getName() + ".completion";
+
+    private DeferredNetconfReply() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Attach completion to an element of a reply.
+     *
+     * @param element element of the reply, which has to be a direct child of rpc-reply once the reply is built
+     * @param completion future completed once the reply can be sent
+     */
+    public static void attachCompletion(final Element element, final ListenableFuture<?> completion) {
+        element.setUserData(COMPLETION_KEY, Preconditions.checkNotNull(completion), null);
+    }
+
+    /**
+     * Get completion of a reply. Completion is looked up in the children of the document element only.
+     *
+     * @param reply reply document
+     * @return completion of the reply, absent if the reply can be sent right away
+     */
+    public static Optional<ListenableFuture<?>> getCompletion(final Document reply) {
+        for (Node child = reply.getDocumentElement().getFirstChild(); child != null;
+                child = child.getNextSibling()) {
+            final Object completion = child.getUserData(COMPLETION_KEY);
+            if (completion instanceof ListenableFuture) {
+                return Optional.of((ListenableFuture<?>) completion);
+            }
+        }
+        return Optional.absent();
+    }
+}
@@ -8,6 +8,7 @@
 
 package org.opendaylight.netconf.api;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.local.LocalAddress;
 import java.net.InetSocketAddress;
@@ -17,4 +18,12 @@ public interface NetconfServerDispatcher {
     ChannelFuture createServer(InetSocketAddress address);
 
     ChannelFuture createLocalServer(LocalAddress address);
+
+    /**
+     * Attach the server pipeline to a channel, which is connected already, such as a channel carried by an SSH
+     * session. The caller registers the channel with an event loop afterwards.
+     *
+     * @param channel connected channel, not registered yet
+     */
+    void initializeChannel(Channel channel);
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.api;
+
+import com.google.common.base.Optional;
+import java.io.IOException;
+import javax.annotation.concurrent.GuardedBy;
+import javax.xml.transform.TransformerException;
+import org.w3c.dom.Document;
+
+/**
+ * Encoded form of a message sent to several sessions, such as a notification delivered to all its subscribers.
+ * The first session sending the message encodes it, the others write the same bytes. A message must not be modified
+ * once it was marked as shared.
+ */
+public final class SharedMessageEncoding {
+    private static final String KEY = SharedMessageEncoding.class.getName();
+
+    /**
+     * Encoder of a document.
+     */
+    public interface Encoder {
+        /**
+         * Encode a document.
+         *
+         * @param document document to encode
+         * @return encoded document
+         * @throws IOException if the document cannot be written
+         * @throws TransformerException if the document cannot be serialized
+         */
+        byte[] encode(Document document) throws IOException, TransformerException;
+    }
+
+    @GuardedBy("this")
+    private byte[] encoded;
+
+    private SharedMessageEncoding() {
+    }
+
+    /**
+     * Mark a message to be encoded once for all sessions it is sent to. Has to be invoked before the message is
+     * handed over to any session.
+     *
+     * @param message message to share
+     */
+    public static void share(final NetconfMessage message) {
+        final Document document = message.getDocument();
+        if (document.getUserData(KEY) == null) {
+            document.setUserData(KEY, new SharedMessageEncoding(), null);
+        }
+    }
+
+    /**
+     * Get the shared encoding of a message.
+     *
+     * @param message message being sent
+     * @return shared encoding, absent if the message is not shared
+     */
+    public static Optional<SharedMessageEncoding> forMessage(final NetconfMessage message) {
+        final Document document = message.getDocument();
+        if (document == null) {
+            return Optional.absent();
+        }
+        final Object encoding = document.getUserData(KEY);
+        return encoding instanceof SharedMessageEncoding ? Optional.of((SharedMessageEncoding) encoding)
+                : Optional.absent();
+    }
+
+    /**
+     * Get the encoded message, encoding it on first invocation.
+     *
+     * @param document document of the message
+     * @param encoder encoder used if the message was not encoded yet
+     * @return encoded message, must not be modified
+     * @throws IOException if the document cannot be written
+     * @throws TransformerException if the document cannot be serialized
+     */
+    public synchronized byte[] getEncoded(final Document document, final Encoder encoder)
+            throws IOException, TransformerException {
+        if (encoded == null) {
+            encoded = encoder.encode(document);
+        }
+        return encoded;
+    }
+}
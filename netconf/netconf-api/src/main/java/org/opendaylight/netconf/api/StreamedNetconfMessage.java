@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.api;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.concurrent.GuardedBy;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.dom.DOMResult;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * NetconfMessage whose document contains an element, the content of which is not built as DOM, but written
+ * directly to the session when the message is being sent. Replies carrying large data use it so that the data
+ * are never held in memory as XML as a whole.
+ *
+ * <p>
+ * An operation may produce such a reply only if the session marked the request by {@link #enableStreaming(Document)}.
+ * It creates an empty element in the reply and attaches the content to it by
+ * {@link #attachContent(Element, Content)}. Transports which cannot stream the content get the complete document
+ * from {@link #getDocument()}.
+ */
+public final class StreamedNetconfMessage extends NetconfMessage {
+    private static final String STREAMING_ENABLED_KEY = StreamedNetconfMessage.class.getName() + ".enabled";
+    private static final String CONTENT_KEY = StreamedNetconfMessage.class.getName() + ".content";
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY;
+    private static final XMLInputFactory XML_INPUT_FACTORY;
+
+    static {
+        XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+        XML_OUTPUT_FACTORY.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
+        XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    }
+
+    /**
+     * Content of an element written directly to the session.
+     */
+    public interface Content {
+        /**
+         * Write the content of the element. Start and end of the element itself are written by the caller. It may
+         * be invoked more than once for a single message.
+         *
+         * @param writer writer to write the content to
+         * @throws XMLStreamException if the content cannot be written
+         */
+        void writeTo(XMLStreamWriter writer) throws XMLStreamException;
+    }
+
+    private final Element contentElement;
+    private final Content content;
+
+    @GuardedBy("this")
+    private boolean materialized;
+
+    private StreamedNetconfMessage(final Document doc, final Element contentElement, final Content content) {
+        super(doc);
+        this.contentElement = contentElement;
+        this.content = content;
+    }
+
+    /**
+     * Mark request received by a session able to stream replies.
+     *
+     * @param request request document
+     */
+    public static void enableStreaming(final Document request) {
+        request.setUserData(STREAMING_ENABLED_KEY, Boolean.TRUE, null);
+    }
+
+    /**
+     * Check whether the reply to a request may be streamed.
+     *
+     * @param request request document
+     * @return true if the reply may contain streamed content
+     */
+    public static boolean isStreamingEnabled(final Document request) {
+        return Boolean.TRUE.equals(request.getUserData(STREAMING_ENABLED_KEY));
+    }
+
+    /**
+     * Attach streamed content to an empty element of a reply.
+     *
+     * @param element element of the reply
+     * @param content content of the element
+     */
+    public static void attachContent(final Element element, final Content content) {
+        Preconditions.checkArgument(!element.hasChildNodes(), "Element %s is not empty", element);
+        element.setUserData(CONTENT_KEY, Preconditions.checkNotNull(content), null);
+    }
+
+    /**
+     * Create content which is already encoded. Sessions streaming the message copy the encoded content to their output
+     * as is, other consumers decode it.
+     *
+     * @param encoded UTF-8 encoded sequence of elements, each of them declaring the namespaces it uses
+     * @return content of an element
+     */
+    public static Content encodedContent(final byte[] encoded) {
+        return new EncodedContent(encoded);
+    }
+
+    /**
+     * Create a message from a reply, if the reply contains streamed content. Streamed content is looked up
+     * in the children of the document element only.
+     *
+     * @param reply reply document
+     * @return streamed message, absent if the reply does not contain streamed content
+     */
+    public static Optional<StreamedNetconfMessage> fromReply(final Document reply) {
+        for (Node child = reply.getDocumentElement().getFirstChild(); child != null;
+                child = child.getNextSibling()) {
+            final Object content = child.getUserData(CONTENT_KEY);
+            if (content instanceof Content) {
+                return Optional.of(new StreamedNetconfMessage(reply, (Element) child, (Content) content));
+            }
+        }
+        return Optional.absent();
+    }
+
+    /**
+     * Return the complete document. Streamed content is built as DOM on first invocation.
+     *
+     * @return complete document
+     */
+    @Override
+    public synchronized Document getDocument() {
+        if (!materialized) {
+            try {
+                final XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(new DOMResult(contentElement));
+                content.writeTo(writer);
+                writer.flush();
+            } catch (final XMLStreamException e) {
+                throw new IllegalStateException("Failed to build content of " + contentElement, e);
+            }
+            materialized = true;
+        }
+        return super.getDocument();
+    }
+
+    /**
+     * Write the whole message, including the streamed content.
+     *
+     * @param writer writer to write the message to
+     * @throws XMLStreamException if the message cannot be written
+     */
+    public void writeTo(final XMLStreamWriter writer) throws XMLStreamException {
+        writeTo(writer, null);
+    }
+
+    /**
+     * Write the whole message, copying content created by {@link #encodedContent(byte[])} directly to the stream
+     * the writer writes to.
+     *
+     * @param writer writer to write the message to
+     * @param output UTF-8 encoded stream the writer writes to, null if encoded content has to go through the writer
+     * @throws XMLStreamException if the message cannot be written
+     */
+    public synchronized void writeTo(final XMLStreamWriter writer, final OutputStream output)
+            throws XMLStreamException {
+        writer.writeStartDocument("UTF-8", "1.0");
+        writeElement(writer, super.getDocument().getDocumentElement(), output);
+        writer.writeEndDocument();
+        writer.flush();
+    }
+
+    /**
+     * Return the whole message including the streamed content, without building the content as DOM.
+     *
+     * @return message as string
+     */
+    @Override
+    public synchronized String toString() {
+        if (materialized) {
+            return super.toString();
+        }
+
+        final StringWriter result = new StringWriter();
+        try {
+            final XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(result);
+            writeElement(writer, super.getDocument().getDocumentElement(), null);
+            writer.close();
+        } catch (final XMLStreamException e) {
+            throw new IllegalStateException("Failed to encode message", e);
+        }
+        return result.toString();
+    }
+
+    private void writeElement(final XMLStreamWriter writer, final Element element, final OutputStream output)
+            throws XMLStreamException {
+        final String namespace = element.getNamespaceURI();
+        final String prefix = element.getPrefix();
+        final String localName = element.getLocalName() != null ? element.getLocalName() : element.getTagName();
+        writer.writeStartElement(prefix == null ? XMLConstants.DEFAULT_NS_PREFIX : prefix, localName,
+                namespace == null ? XMLConstants.NULL_NS_URI : namespace);
+
+        final NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); ++i) {
+            final Attr attr = (Attr) attributes.item(i);
+            if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI())) {
+                if (attr.getPrefix() == null) {
+                    writer.writeDefaultNamespace(attr.getValue());
+                } else {
+                    writer.writeNamespace(attr.getLocalName(), attr.getValue());
+                }
+            } else if (attr.getNamespaceURI() != null) {
+                writer.writeAttribute(attr.getPrefix() == null ? XMLConstants.DEFAULT_NS_PREFIX : attr.getPrefix(),
+                        attr.getNamespaceURI(), attr.getLocalName(), attr.getValue());
+            } else {
+                writer.writeAttribute(attr.getLocalName() != null ? attr.getLocalName() : attr.getName(),
+                        attr.getValue());
+            }
+        }
+
+        if (element == contentElement && !materialized) {
+            if (output != null && content instanceof EncodedContent) {
+                // Closes the start tag, everything written so far has to precede the encoded content in the stream
+                writer.writeCharacters("");
+                writer.flush();
+                ((EncodedContent) content).copyTo(output);
+            } else {
+                content.writeTo(writer);
+            }
+        } else {
+            for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+                switch (child.getNodeType()) {
+                    case Node.ELEMENT_NODE:
+                        writeElement(writer, (Element) child, output);
+                        break;
+                    case Node.TEXT_NODE:
+                        writer.writeCharacters(child.getNodeValue());
+                        break;
+                    case Node.CDATA_SECTION_NODE:
+                        writer.writeCData(child.getNodeValue());
+                        break;
+                    case Node.COMMENT_NODE:
+                        writer.writeComment(child.getNodeValue());
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        writer.writeEndElement();
+    }
+
+    private static final class EncodedContent implements Content {
+        private static final byte[] WRAPPER_START = "<content>".getBytes(StandardCharsets.UTF_8);
+        private static final byte[] WRAPPER_END = "</content>".getBytes(StandardCharsets.UTF_8);
+
+        private final byte[] encoded;
+
+        EncodedContent(final byte[] encoded) {
+            this.encoded = Preconditions.checkNotNull(encoded);
+        }
+
+        void copyTo(final OutputStream output) throws XMLStreamException {
+            try {
+                output.write(encoded);
+            } catch (final IOException e) {
+                throw new XMLStreamException("Failed to write encoded content", e);
+            }
+        }
+
+        @Override
+        public void writeTo(final XMLStreamWriter writer) throws XMLStreamException {
+            // The sequence of elements is not a document by itself, it is decoded wrapped in an element
+            final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(new SequenceInputStream(
+                    new SequenceInputStream(new ByteArrayInputStream(WRAPPER_START), new ByteArrayInputStream(encoded)),
+                    new ByteArrayInputStream(WRAPPER_END)), StandardCharsets.UTF_8.name());
+            try {
+                int depth = 0;
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT:
+                            if (depth++ > 0) {
+                                writeStartElement(writer, reader);
+                            }
+                            break;
+                        case XMLStreamConstants.END_ELEMENT:
+                            if (--depth > 0) {
+                                writer.writeEndElement();
+                            }
+                            break;
+                        case XMLStreamConstants.CHARACTERS:
+                        case XMLStreamConstants.SPACE:
+                            writer.writeCharacters(reader.getText());
+                            break;
+                        case XMLStreamConstants.CDATA:
+                            writer.writeCData(reader.getText());
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        private static void writeStartElement(final XMLStreamWriter writer, final XMLStreamReader reader)
+                throws XMLStreamException {
+            writer.writeStartElement(Strings.nullToEmpty(reader.getPrefix()), reader.getLocalName(),
+                    Strings.nullToEmpty(reader.getNamespaceURI()));
+            for (int i = 0; i < reader.getNamespaceCount(); ++i) {
+                final String prefix = reader.getNamespacePrefix(i);
+                if (prefix == null || prefix.isEmpty()) {
+                    writer.writeDefaultNamespace(reader.getNamespaceURI(i));
+                } else {
+                    writer.writeNamespace(prefix, reader.getNamespaceURI(i));
+                }
+            }
+            for (int i = 0; i < reader.getAttributeCount(); ++i) {
+                final String namespace = reader.getAttributeNamespace(i);
+                if (namespace == null || namespace.isEmpty()) {
+                    writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                } else {
+                    writer.writeAttribute(Strings.nullToEmpty(reader.getAttributePrefix(i)), namespace,
+                            reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Optional;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+
+public class SharedMessageEncodingTest {
+
+    @Test
+    public void testEncodedOnce() throws Exception {
+        final NetconfMessage message = new NetconfMessage(XmlUtil.readXmlToDocument("<test/>"));
+        assertFalse(SharedMessageEncoding.forMessage(message).isPresent());
+
+        SharedMessageEncoding.share(message);
+        final Optional<SharedMessageEncoding> encoding = SharedMessageEncoding.forMessage(message);
+        assertTrue(encoding.isPresent());
+
+        final AtomicInteger encodings = new AtomicInteger();
+        final SharedMessageEncoding.Encoder encoder = document -> {
+            encodings.incrementAndGet();
+            return XmlUtil.toString(document).getBytes(StandardCharsets.UTF_8);
+        };
+        final byte[] encoded = encoding.get().getEncoded(message.getDocument(), encoder);
+        assertSame(encoded, SharedMessageEncoding.forMessage(message).get().getEncoded(message.getDocument(),
+                encoder));
+        assertEquals(1, encodings.get());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Optional;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+import org.junit.Test;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class StreamedNetconfMessageTest {
+
+    private static final String REPLY = "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" "
+            + "message-id=\"101\"/>";
+
+    @Test
+    public void testStreamingEnabled() throws Exception {
+        final Document request = XmlUtil.readXmlToDocument("<rpc/>");
+        assertFalse(StreamedNetconfMessage.isStreamingEnabled(request));
+        StreamedNetconfMessage.enableStreaming(request);
+        assertTrue(StreamedNetconfMessage.isStreamingEnabled(request));
+    }
+
+    @Test
+    public void testWriteAndMaterialize() throws Exception {
+        final Document reply = XmlUtil.readXmlToDocument(REPLY);
+        assertFalse(StreamedNetconfMessage.fromReply(reply).isPresent());
+
+        final Element data = reply.createElementNS(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0,
+                XmlNetconfConstants.DATA_KEY);
+        reply.getDocumentElement().appendChild(data);
+        StreamedNetconfMessage.attachContent(data, writer -> {
+            writer.writeStartElement("", "top", "urn:test");
+            writer.writeCharacters("value");
+            writer.writeEndElement();
+        });
+
+        final Optional<StreamedNetconfMessage> message = StreamedNetconfMessage.fromReply(reply);
+        assertTrue(message.isPresent());
+
+        final StringWriter output = new StringWriter();
+        final XMLOutputFactory factory = XMLOutputFactory.newFactory();
+        factory.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
+        final XMLStreamWriter writer = factory.createXMLStreamWriter(output);
+        message.get().writeTo(writer);
+        assertTrue(output.toString().contains("<top xmlns=\"urn:test\">value</top></data></rpc-reply>"));
+        assertFalse(data.hasChildNodes());
+
+        assertTrue(message.get().toString().contains("<top xmlns=\"urn:test\">value</top>"));
+        assertFalse(data.hasChildNodes());
+
+        final Element top = (Element) message.get().getDocument().getDocumentElement().getFirstChild()
+                .getFirstChild();
+        assertEquals("urn:test", top.getNamespaceURI());
+        assertEquals("value", top.getTextContent());
+    }
+
+    @Test
+    public void testEncodedContent() throws Exception {
+        final Document reply = XmlUtil.readXmlToDocument(REPLY);
+        final Element data = reply.createElementNS(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0,
+                XmlNetconfConstants.DATA_KEY);
+        reply.getDocumentElement().appendChild(data);
+        StreamedNetconfMessage.attachContent(data, StreamedNetconfMessage.encodedContent(
+                "<a xmlns=\"urn:a\">1</a><b xmlns=\"urn:b\" c=\"d\"/>".getBytes(StandardCharsets.UTF_8)));
+        final StreamedNetconfMessage message = StreamedNetconfMessage.fromReply(reply).get();
+
+        // Encoded content is copied to the output as is
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final XMLOutputFactory factory = XMLOutputFactory.newFactory();
+        factory.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
+        final XMLStreamWriter writer = factory.createXMLStreamWriter(output, StandardCharsets.UTF_8.name());
+        message.writeTo(writer, output);
+        writer.close();
+        final String encoded = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(encoded, encoded.contains("<a xmlns=\"urn:a\">1</a><b xmlns=\"urn:b\" c=\"d\"/></data>"));
+        assertEquals(2, XmlUtil.readXmlToDocument(encoded).getElementsByTagNameNS("*", "data").item(0)
+                .getChildNodes().getLength());
+
+        // Other consumers decode it
+        assertTrue(message.toString().contains("<a xmlns=\"urn:a\">1</a>"));
+        final Element first = (Element) message.getDocument().getDocumentElement().getFirstChild().getFirstChild();
+        assertEquals("urn:a", first.getNamespaceURI());
+        assertEquals("1", first.getTextContent());
+        final Element second = (Element) first.getNextSibling();
+        assertEquals("urn:b", second.getNamespaceURI());
+        assertEquals("d", second.getAttribute("c"));
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.impl;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes netconf server operations outside of the netty event loop, so that a blocking operation, such as
+ * a commit, does not stall other sessions served by the same event loop. Operations of a single session are executed
+ * one at a time, in the order they were received, while operations of different sessions run concurrently in
+ * a bounded pool of threads.
+ *
+ * <p>
+ * With no threads configured, operations are executed directly by the caller, i.e. on the event loop.
+ */
+public final class NetconfOperationExecutor implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(NetconfOperationExecutor.class);
+
+    /**
+     * Executor running operations directly on the event loop.
+     */
+    public static final NetconfOperationExecutor DIRECT = new NetconfOperationExecutor(0, 0);
+
+    private final ThreadPoolExecutor pool;
+    private final int maxQueuedOperations;
+
+    /**
+     * Create a new executor.
+     *
+     * @param maxThreads maximum number of operations executed concurrently, 0 to execute operations on the event loop
+     * @param maxQueuedOperations maximum number of operations queued by a single session, operations received over
+     *                            this limit are rejected
+     */
+    public NetconfOperationExecutor(final int maxThreads, final int maxQueuedOperations) {
+        Preconditions.checkArgument(maxThreads >= 0, "Number of threads cannot be negative");
+        this.maxQueuedOperations = maxQueuedOperations;
+        if (maxThreads == 0) {
+            pool = null;
+            return;
+        }
+
+        Preconditions.checkArgument(maxQueuedOperations > 0, "Operation queue depth has to be positive");
+        // There is at most one task per session in the queue, sessions queue their operations themselves
+        pool = new ThreadPoolExecutor(maxThreads, maxThreads, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("netconf-server-operation-%d").setDaemon(true).build());
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Create a queue of operations of a new session.
+     *
+     * @return session queue
+     */
+    public SessionQueue newSessionQueue() {
+        return new SessionQueue();
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Operations of a single session, executed one at a time in the order they were submitted.
+     */
+    public final class SessionQueue {
+        @GuardedBy("this")
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        @GuardedBy("this")
+        private boolean scheduled;
+
+        private SessionQueue() {
+        }
+
+        /**
+         * Queue an operation unless the session has too many operations queued already.
+         *
+         * @param task operation
+         * @return false if the operation was rejected
+         */
+        public boolean tryExecute(final Runnable task) {
+            return enqueue(task, true);
+        }
+
+        /**
+         * Queue a task regardless of the queue depth, used for session cleanup which has to run after all queued
+         * operations.
+         *
+         * @param task task to execute
+         */
+        public void execute(final Runnable task) {
+            enqueue(task, false);
+        }
+
+        private boolean enqueue(final Runnable task, final boolean limited) {
+            if (pool == null) {
+                task.run();
+                return true;
+            }
+
+            synchronized (this) {
+                if (limited && tasks.size() >= maxQueuedOperations) {
+                    return false;
+                }
+                tasks.add(task);
+                if (scheduled) {
+                    return true;
+                }
+                scheduled = true;
+            }
+            schedule();
+            return true;
+        }
+
+        private void schedule() {
+            try {
+                pool.execute(this::runNext);
+            } catch (final RejectedExecutionException e) {
+                // Executor is shut down, the server is going away. Let the remaining tasks, which include session
+                // cleanup, run in this thread.
+                LOG.debug("Operation executor shut down, executing queued operations directly", e);
+                runNext();
+            }
+        }
+
+        // Executes a single task only and reschedules, so that a busy session does not starve the others
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        private void runNext() {
+            final Runnable task;
+            synchronized (this) {
+                task = tasks.poll();
+                if (task == null) {
+                    scheduled = false;
+                    return;
+                }
+            }
+
+            try {
+                task.run();
+            } catch (final RuntimeException e) {
+                LOG.error("Netconf operation failed", e);
+            }
+
+            synchronized (this) {
+                if (tasks.isEmpty()) {
+                    scheduled = false;
+                    return;
+                }
+            }
+            schedule();
+        }
+    }
+}
@@ -15,17 +15,24 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.MessageToByteEncoder;
+import java.math.BigInteger;
 import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader;
 import org.opendaylight.netconf.api.monitoring.NetconfManagementSession;
+import org.opendaylight.netconf.impl.stats.LatencyHistogram;
+import org.opendaylight.netconf.impl.stats.LatencyStatistics;
+import org.opendaylight.netconf.impl.stats.OperationLatencies;
 import org.opendaylight.netconf.nettyutil.AbstractNetconfSession;
 import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
@@ -37,6 +44,12 @@ import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.NetconfTcp;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.Session1;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.Session1Builder;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.operation.latencies.OperationLatency;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.operation.latencies.OperationLatencyBuilder;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.operation.latencies.OperationLatencyKey;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.operation.latencies.operation.latency.Bucket;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.operation.latencies.operation.latency.BucketBuilder;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.operation.latencies.operation.latency.BucketKey;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.NetconfSsh;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.Transport;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.sessions.Session;
@@ -44,6 +57,7 @@ import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.mon
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.sessions.SessionKey;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.DateAndTime;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.ZeroBasedCounter32;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.ZeroBasedCounter64;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,10 +73,12 @@ public final class NetconfServerSession extends AbstractNetconfSession<NetconfSe
     private final NetconfServerSessionListener sessionListener;
 
     private ZonedDateTime loginTime;
-    private long inRpcSuccess;
-    private long inRpcFail;
-    private long outRpcError;
-    private long outNotification;
+    // Updated by the threads processing operations and delivering notifications, read by monitoring
+    private final LongAdder inRpcSuccess = new LongAdder();
+    private final LongAdder inRpcFail = new LongAdder();
+    private final LongAdder outRpcError = new LongAdder();
+    private final LongAdder outNotification = new LongAdder();
+    private final OperationLatencies operationLatencies = new OperationLatencies();
     private volatile boolean delayedClose;
 
     public NetconfServerSession(final NetconfServerSessionListener sessionListener, final Channel channel,
@@ -92,7 +108,7 @@ public final class NetconfServerSession extends AbstractNetconfSession<NetconfSe
     public ChannelFuture sendMessage(final NetconfMessage netconfMessage) {
         final ChannelFuture channelFuture = super.sendMessage(netconfMessage);
         if (netconfMessage instanceof NetconfNotification) {
-            outNotification++;
+            outNotification.increment();
             sessionListener.onNotification(this, (NetconfNotification) netconfMessage);
         }
         // delayed close was set, close after the message was sent
@@ -108,15 +124,25 @@ public final class NetconfServerSession extends AbstractNetconfSession<NetconfSe
     }
 
     public void onIncommingRpcSuccess() {
-        inRpcSuccess++;
+        inRpcSuccess.increment();
     }
 
     public void onIncommingRpcFail() {
-        inRpcFail++;
+        inRpcFail.increment();
     }
 
     public void onOutgoingRpcError() {
-        outRpcError++;
+        outRpcError.increment();
+    }
+
+    /**
+     * Record latency of an operation handled by this session.
+     *
+     * @param operation handled operation
+     * @param nanos time the operation took in nanoseconds
+     */
+    public void onOperationCompleted(final OperationLatencies.Operation operation, final long nanos) {
+        operationLatencies.record(operation, nanos);
     }
 
     @Override
@@ -141,24 +167,57 @@ public final class NetconfServerSession extends AbstractNetconfSession<NetconfSe
                 formattedDateTime, DATE_TIME_PATTERN);
         builder.setLoginTime(new DateAndTime(formattedDateTime));
 
-        builder.setInBadRpcs(new ZeroBasedCounter32(inRpcFail));
-        builder.setInRpcs(new ZeroBasedCounter32(inRpcSuccess));
-        builder.setOutRpcErrors(new ZeroBasedCounter32(outRpcError));
+        builder.setInBadRpcs(toCounter32(inRpcFail));
+        builder.setInRpcs(toCounter32(inRpcSuccess));
+        builder.setOutRpcErrors(toCounter32(outRpcError));
 
         builder.setUsername(header.getUserName());
         builder.setTransport(getTransportForString(header.getTransport()));
 
-        builder.setOutNotifications(new ZeroBasedCounter32(outNotification));
+        builder.setOutNotifications(toCounter32(outNotification));
 
         builder.setKey(new SessionKey(getSessionId()));
 
         Session1Builder builder1 = new Session1Builder();
         builder1.setSessionIdentifier(header.getSessionIdentifier());
+        builder1.setOperationLatency(toOperationLatencies(operationLatencies.getStatistics()));
         builder.addAugmentation(Session1.class, builder1.build());
 
         return builder.build();
     }
 
+    private static ZeroBasedCounter32 toCounter32(final LongAdder counter) {
+        // Counters wrap around once they exceed their maximum value
+        return new ZeroBasedCounter32(counter.sum() & 0xFFFFFFFFL);
+    }
+
+    private static List<OperationLatency> toOperationLatencies(final List<LatencyStatistics> statistics) {
+        final List<OperationLatency> latencies = new ArrayList<>(statistics.size());
+        for (final LatencyStatistics operation : statistics) {
+            final List<Bucket> buckets = new ArrayList<>();
+            final long[] counts = operation.getBuckets();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    final BigInteger upperBound = BigInteger.valueOf(LatencyHistogram.getUpperBoundMicros(i));
+                    buckets.add(new BucketBuilder()
+                            .setKey(new BucketKey(upperBound))
+                            .setUpperBound(upperBound)
+                            .setCount(new ZeroBasedCounter64(BigInteger.valueOf(counts[i])))
+                            .build());
+                }
+            }
+            latencies.add(new OperationLatencyBuilder()
+                    .setKey(new OperationLatencyKey(operation.getOperation()))
+                    .setOperation(operation.getOperation())
+                    .setCount(new ZeroBasedCounter64(BigInteger.valueOf(operation.getCount())))
+                    .setTotalTime(BigInteger.valueOf(operation.getTotalMicros()))
+                    .setMaxTime(BigInteger.valueOf(operation.getMaxMicros()))
+                    .setBucket(buckets)
+                    .build());
+        }
+        return latencies;
+    }
+
     private static Class<? extends Transport> getTransportForString(final String transport) {
         switch (transport) {
             case "ssh":
@@ -8,18 +8,30 @@
 
 package org.opendaylight.netconf.impl;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
-import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.DeferredNetconfReply;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfSessionListener;
 import org.opendaylight.netconf.api.NetconfTerminationReason;
+import org.opendaylight.netconf.api.StreamedNetconfMessage;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
 import org.opendaylight.netconf.api.monitoring.SessionEvent;
 import org.opendaylight.netconf.api.monitoring.SessionListener;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.impl.osgi.NetconfOperationRouter;
+import org.opendaylight.netconf.impl.stats.NetconfServerStatistics;
+import org.opendaylight.netconf.impl.stats.OperationLatencies;
 import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.netconf.util.messages.SendErrorExceptionUtil;
 import org.opendaylight.netconf.util.messages.SubtreeFilter;
@@ -35,13 +47,38 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
     private final SessionListener monitoringSessionListener;
     private final NetconfOperationRouter operationRouter;
     private final AutoCloseable onSessionDownCloseable;
+    private final NetconfOperationExecutor.SessionQueue operationQueue;
+    private final NetconfServerStatistics statistics;
+    // Replies not sent yet, in the order of the requests
+    private final Queue<PendingReply> pendingReplies = new ArrayDeque<>();
+    @GuardedBy("pendingReplies")
+    private boolean sendingReplies;
 
     public NetconfServerSessionListener(final NetconfOperationRouter operationRouter,
                                         final NetconfMonitoringService monitoringService,
                                         final AutoCloseable onSessionDownCloseable) {
+        this(operationRouter, monitoringService, onSessionDownCloseable,
+                NetconfOperationExecutor.DIRECT.newSessionQueue());
+    }
+
+    public NetconfServerSessionListener(final NetconfOperationRouter operationRouter,
+                                        final NetconfMonitoringService monitoringService,
+                                        final AutoCloseable onSessionDownCloseable,
+                                        final NetconfOperationExecutor.SessionQueue operationQueue) {
+        this(operationRouter, monitoringService, onSessionDownCloseable, operationQueue,
+                new NetconfServerStatistics());
+    }
+
+    public NetconfServerSessionListener(final NetconfOperationRouter operationRouter,
+                                        final NetconfMonitoringService monitoringService,
+                                        final AutoCloseable onSessionDownCloseable,
+                                        final NetconfOperationExecutor.SessionQueue operationQueue,
+                                        final NetconfServerStatistics statistics) {
         this.operationRouter = operationRouter;
         this.monitoringSessionListener = monitoringService.getSessionListener();
         this.onSessionDownCloseable = onSessionDownCloseable;
+        this.operationQueue = Preconditions.checkNotNull(operationQueue);
+        this.statistics = Preconditions.checkNotNull(statistics);
     }
 
     @Override
@@ -55,10 +92,14 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
         onDown(netconfNetconfServerSession);
     }
 
-    @SuppressWarnings("checkstyle:IllegalCatch")
     public void onDown(final NetconfServerSession netconfNetconfServerSession) {
         monitoringSessionListener.onSessionDown(netconfNetconfServerSession);
+        // Operations still queued by the session have to finish before their services are closed
+        operationQueue.execute(this::closeOperations);
+    }
 
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void closeOperations() {
         try {
             operationRouter.close();
         } catch (final Exception closingEx) {
@@ -79,56 +120,132 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
         onDown(netconfNetconfServerSession);
     }
 
-    @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
     public void onMessage(final NetconfServerSession session, final NetconfMessage netconfMessage) {
+        if (!operationQueue.tryExecute(() -> processMessage(session, netconfMessage))) {
+            LOG.warn("Session {} has too many operations queued, rejecting message {}", session, netconfMessage);
+            // The rejection must not overtake replies still pending, so it is queued like any other reply
+            queueReply(new PendingReply(session, netconfMessage,
+                    OperationLatencies.Operation.forRequest(netconfMessage.getDocument()), System.nanoTime(),
+                    new DocumentedException("Too many operations queued", DocumentedException.ErrorType.APPLICATION,
+                            DocumentedException.ErrorTag.RESOURCE_DENIED, DocumentedException.ErrorSeverity.ERROR)));
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void processMessage(final NetconfServerSession session, final NetconfMessage netconfMessage) {
+        final long startNanos = System.nanoTime();
+        final OperationLatencies.Operation operation =
+                OperationLatencies.Operation.forRequest(netconfMessage.getDocument());
         try {
 
             Preconditions.checkState(operationRouter != null, "Cannot handle message, session up was not yet received");
             // there is no validation since the document may contain yang schemas
-            final NetconfMessage message = processDocument(netconfMessage,
+            if (session.isStreamingSupported()) {
+                StreamedNetconfMessage.enableStreaming(netconfMessage.getDocument());
+            }
+            final Document rpcReply = processDocument(netconfMessage,
                     session);
-            LOG.debug("Responding with message {}", message);
-            session.sendMessage(message);
-            monitoringSessionListener.onSessionEvent(SessionEvent.inRpcSuccess(session));
+            final Optional<ListenableFuture<?>> completion = DeferredNetconfReply.getCompletion(rpcReply);
+            // The reply document is created by the router for this request only, there is no need to copy it
+            final Optional<StreamedNetconfMessage> streamed = StreamedNetconfMessage.fromReply(rpcReply);
+            queueReply(new PendingReply(session, netconfMessage, operation, startNanos,
+                    streamed.isPresent() ? streamed.get() : new NetconfMessage(rpcReply), completion.orNull()));
         } catch (final RuntimeException e) {
             // TODO: should send generic error or close session?
             LOG.error("Unexpected exception", e);
             session.onIncommingRpcFail();
+            statistics.onInRpcFail();
             monitoringSessionListener.onSessionEvent(SessionEvent.inRpcFail(session));
+            onOperationCompleted(session, operation, startNanos);
             throw new IllegalStateException("Unable to process incoming message " + netconfMessage, e);
         } catch (final DocumentedException e) {
             LOG.trace("Error occurred while processing message", e);
-            session.onOutgoingRpcError();
-            session.onIncommingRpcFail();
-            monitoringSessionListener.onSessionEvent(SessionEvent.inRpcFail(session));
-            monitoringSessionListener.onSessionEvent(SessionEvent.outRpcError(session));
-            SendErrorExceptionUtil.sendErrorMessage(session, e, netconfMessage);
+            queueReply(new PendingReply(session, netconfMessage, operation, startNanos, e));
+        }
+    }
+
+    private void queueReply(final PendingReply reply) {
+        synchronized (pendingReplies) {
+            pendingReplies.add(reply);
+        }
+        if (reply.completion != null) {
+            // Replies are sent by the operation threads of the session, not by the thread completing the operation
+            reply.completion.addListener(() -> operationQueue.execute(this::sendCompletedReplies),
+                    MoreExecutors.directExecutor());
+        } else {
+            sendCompletedReplies();
         }
     }
 
+    /**
+     * Send replies from the head of the queue as long as they are complete. Only one thread sends at a time, a thread
+     * finding another one sending leaves the queue to it.
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void sendCompletedReplies() {
+        synchronized (pendingReplies) {
+            if (sendingReplies) {
+                return;
+            }
+            sendingReplies = true;
+        }
+
+        while (true) {
+            final PendingReply reply;
+            synchronized (pendingReplies) {
+                reply = pendingReplies.peek();
+                if (reply == null || reply.completion != null && !reply.completion.isDone()) {
+                    sendingReplies = false;
+                    return;
+                }
+                pendingReplies.poll();
+            }
+
+            try {
+                reply.send();
+            } catch (final RuntimeException e) {
+                LOG.error("Failed to send reply to {}", reply.request, e);
+            }
+        }
+    }
+
+    private void onOperationCompleted(final NetconfServerSession session,
+                                      final OperationLatencies.Operation operation, final long startNanos) {
+        final long nanos = System.nanoTime() - startNanos;
+        session.onOperationCompleted(operation, nanos);
+        statistics.onOperationCompleted(operation, nanos);
+    }
+
+    private void onMessageFailed(final NetconfServerSession session, final NetconfMessage netconfMessage,
+                                 final DocumentedException cause) {
+        session.onOutgoingRpcError();
+        session.onIncommingRpcFail();
+        statistics.onOutRpcError();
+        statistics.onInRpcFail();
+        monitoringSessionListener.onSessionEvent(SessionEvent.inRpcFail(session));
+        monitoringSessionListener.onSessionEvent(SessionEvent.outRpcError(session));
+        SendErrorExceptionUtil.sendErrorMessage(session, cause, netconfMessage);
+    }
+
     public void onNotification(final NetconfServerSession session, final NetconfNotification notification) {
+        statistics.onOutNotification();
         monitoringSessionListener.onSessionEvent(SessionEvent.notification(session));
     }
 
-    private NetconfMessage processDocument(final NetconfMessage netconfMessage, final NetconfServerSession session)
+    private Document processDocument(final NetconfMessage netconfMessage, final NetconfServerSession session)
             throws DocumentedException {
 
         final Document incomingDocument = netconfMessage.getDocument();
         final Node rootNode = incomingDocument.getDocumentElement();
 
         if (rootNode.getLocalName().equals(XmlNetconfConstants.RPC_KEY)) {
-            final Document responseDocument = XmlUtil.newDocument();
             checkMessageId(rootNode);
 
             Document rpcReply = operationRouter.onNetconfMessage(incomingDocument, session);
 
             rpcReply = SubtreeFilter.applyRpcSubtreeFilter(incomingDocument, rpcReply);
-
-            session.onIncommingRpcSuccess();
-
-            responseDocument.appendChild(responseDocument.importNode(rpcReply.getDocumentElement(), true));
-            return new NetconfMessage(responseDocument);
+            return rpcReply;
         } else {
             // unknown command, send RFC 4741 p.70 unknown-element
             /*
@@ -162,4 +279,74 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
                 ImmutableMap.of("bad-attribute", XmlNetconfConstants.MESSAGE_ID,
                         "bad-element", XmlNetconfConstants.RPC_KEY));
     }
+
+    /**
+     * Reply to a request, sent once its completion, if any, is done.
+     */
+    private final class PendingReply {
+        private final NetconfServerSession session;
+        private final NetconfMessage request;
+        private final OperationLatencies.Operation operation;
+        private final long startNanos;
+        private final NetconfMessage reply;
+        private final ListenableFuture<?> completion;
+        private final DocumentedException failure;
+
+        PendingReply(final NetconfServerSession session, final NetconfMessage request,
+                     final OperationLatencies.Operation operation, final long startNanos, final NetconfMessage reply,
+                     final ListenableFuture<?> completion) {
+            this.session = session;
+            this.request = request;
+            this.operation = operation;
+            this.startNanos = startNanos;
+            this.reply = reply;
+            this.completion = completion;
+            this.failure = null;
+        }
+
+        PendingReply(final NetconfServerSession session, final NetconfMessage request,
+                     final OperationLatencies.Operation operation, final long startNanos,
+                     final DocumentedException failure) {
+            this.session = session;
+            this.request = request;
+            this.operation = operation;
+            this.startNanos = startNanos;
+            this.reply = null;
+            this.completion = null;
+            this.failure = failure;
+        }
+
+        void send() {
+            final DocumentedException cause = failure != null ? failure : getCompletionFailure();
+            if (cause == null) {
+                LOG.debug("Responding with message {}", reply);
+                session.sendMessage(reply);
+                session.onIncommingRpcSuccess();
+                statistics.onInRpcSuccess();
+                monitoringSessionListener.onSessionEvent(SessionEvent.inRpcSuccess(session));
+            } else {
+                onMessageFailed(session, request, cause);
+            }
+            onOperationCompleted(session, operation, startNanos);
+        }
+
+        private DocumentedException getCompletionFailure() {
+            if (completion == null) {
+                return null;
+            }
+            try {
+                Uninterruptibles.getUninterruptibly(completion);
+                return null;
+            } catch (final ExecutionException | CancellationException e) {
+                final Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                if (cause instanceof DocumentedException) {
+                    return (DocumentedException) cause;
+                }
+                LOG.warn("Operation failed to complete, request {}", request, cause);
+                return new DocumentedException("Operation failed to complete: " + cause.getMessage(),
+                        DocumentedException.ErrorType.APPLICATION, DocumentedException.ErrorTag.OPERATION_FAILED,
+                        DocumentedException.ErrorSeverity.ERROR);
+            }
+        }
+    }
 }
@@ -24,6 +24,7 @@ import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.impl.osgi.NetconfOperationRouter;
 import org.opendaylight.netconf.impl.osgi.NetconfOperationRouterImpl;
+import org.opendaylight.netconf.impl.stats.NetconfServerStatistics;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
 import org.opendaylight.netconf.mapping.api.NetconfOperationServiceFactory;
 import org.opendaylight.protocol.framework.SessionListenerFactory;
@@ -51,12 +52,35 @@ public class NetconfServerSessionNegotiatorFactory implements SessionNegotiatorF
     private final NetconfMonitoringService monitoringService;
     private static final Logger LOG = LoggerFactory.getLogger(NetconfServerSessionNegotiatorFactory.class);
     private final Set<String> baseCapabilities;
+    private final NetconfOperationExecutor operationExecutor;
+    private final NetconfServerStatistics statistics;
 
     public NetconfServerSessionNegotiatorFactory(final Timer timer,
                                                  final NetconfOperationServiceFactory netconfOperationProvider,
                                                  final SessionIdProvider idProvider, final long connectionTimeoutMillis,
                                                  final NetconfMonitoringService monitoringService,
                                                  final Set<String> baseCapabilities) {
+        this(timer, netconfOperationProvider, idProvider, connectionTimeoutMillis, monitoringService, baseCapabilities,
+                NetconfOperationExecutor.DIRECT);
+    }
+
+    public NetconfServerSessionNegotiatorFactory(final Timer timer,
+                                                 final NetconfOperationServiceFactory netconfOperationProvider,
+                                                 final SessionIdProvider idProvider, final long connectionTimeoutMillis,
+                                                 final NetconfMonitoringService monitoringService,
+                                                 final Set<String> baseCapabilities,
+                                                 final NetconfOperationExecutor operationExecutor) {
+        this(timer, netconfOperationProvider, idProvider, connectionTimeoutMillis, monitoringService, baseCapabilities,
+                operationExecutor, new NetconfServerStatistics());
+    }
+
+    public NetconfServerSessionNegotiatorFactory(final Timer timer,
+                                                 final NetconfOperationServiceFactory netconfOperationProvider,
+                                                 final SessionIdProvider idProvider, final long connectionTimeoutMillis,
+                                                 final NetconfMonitoringService monitoringService,
+                                                 final Set<String> baseCapabilities,
+                                                 final NetconfOperationExecutor operationExecutor,
+                                                 final NetconfServerStatistics statistics) {
         this.timer = timer;
         this.aggregatedOpService = netconfOperationProvider;
         this.idProvider = idProvider;
@@ -64,6 +88,8 @@ public class NetconfServerSessionNegotiatorFactory implements SessionNegotiatorF
         this.monitoringService = monitoringService;
         this.baseCapabilities = validateBaseCapabilities(baseCapabilities == null ? DEFAULT_BASE_CAPABILITIES :
                 baseCapabilities);
+        this.operationExecutor = operationExecutor == null ? NetconfOperationExecutor.DIRECT : operationExecutor;
+        this.statistics = statistics == null ? new NetconfServerStatistics() : statistics;
     }
 
 
@@ -116,7 +142,8 @@ public class NetconfServerSessionNegotiatorFactory implements SessionNegotiatorF
                 socketAddress);
         final NetconfOperationRouter operationRouter =
                 new NetconfOperationRouterImpl(service, monitoringService, netconfSessionIdForReporting);
-        return new NetconfServerSessionListener(operationRouter, monitoringService, service);
+        return new NetconfServerSessionListener(operationRouter, monitoringService, service,
+                operationExecutor.newSessionQueue(), statistics);
 
     }
 
@@ -12,6 +12,7 @@ import com.google.common.base.Preconditions;
 import io.netty.util.Timer;
 import java.util.Set;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
+import org.opendaylight.netconf.impl.stats.NetconfServerStatistics;
 import org.opendaylight.netconf.mapping.api.NetconfOperationServiceFactory;
 
 public class NetconfServerSessionNegotiatorFactoryBuilder {
@@ -21,6 +22,8 @@ public class NetconfServerSessionNegotiatorFactoryBuilder {
     private long connectionTimeoutMillis;
     private NetconfMonitoringService monitoringService;
     private Set<String> baseCapabilities;
+    private NetconfOperationExecutor operationExecutor;
+    private NetconfServerStatistics statistics;
 
     public NetconfServerSessionNegotiatorFactoryBuilder() {
     }
@@ -57,11 +60,21 @@ public class NetconfServerSessionNegotiatorFactoryBuilder {
         return this;
     }
 
+    public NetconfServerSessionNegotiatorFactoryBuilder setOperationExecutor(
+            final NetconfOperationExecutor operationExecutor) {
+        this.operationExecutor = operationExecutor;
+        return this;
+    }
+
+    public NetconfServerSessionNegotiatorFactoryBuilder setStatistics(final NetconfServerStatistics statistics) {
+        this.statistics = statistics;
+        return this;
+    }
 
     public NetconfServerSessionNegotiatorFactory build() {
         validate();
         return new NetconfServerSessionNegotiatorFactory(timer, aggregatedOpService, idProvider,
-                connectionTimeoutMillis, monitoringService, baseCapabilities);
+                connectionTimeoutMillis, monitoringService, baseCapabilities, operationExecutor, statistics);
     }
 
 
@@ -74,5 +87,7 @@ public class NetconfServerSessionNegotiatorFactoryBuilder {
 
         baseCapabilities = (baseCapabilities == null) ? NetconfServerSessionNegotiatorFactory
                 .DEFAULT_BASE_CAPABILITIES : baseCapabilities;
+        operationExecutor = (operationExecutor == null) ? NetconfOperationExecutor.DIRECT : operationExecutor;
+        statistics = (statistics == null) ? new NetconfServerStatistics() : statistics;
     }
 }
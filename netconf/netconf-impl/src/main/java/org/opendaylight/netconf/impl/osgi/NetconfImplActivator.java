@@ -20,6 +20,7 @@ import org.opendaylight.netconf.impl.NetconfServerDispatcherImpl.ServerChannelIn
 import org.opendaylight.netconf.impl.NetconfServerSessionNegotiatorFactory;
 import org.opendaylight.netconf.impl.NetconfServerSessionNegotiatorFactoryBuilder;
 import org.opendaylight.netconf.impl.SessionIdProvider;
+import org.opendaylight.netconf.impl.stats.NetconfServerStatistics;
 import org.opendaylight.netconf.mapping.api.NetconfOperationServiceFactoryListener;
 import org.opendaylight.netconf.notifications.BaseNotificationPublisherRegistration;
 import org.opendaylight.netconf.notifications.NetconfNotificationCollector;
@@ -41,6 +42,7 @@ public class NetconfImplActivator implements BundleActivator {
     private NioEventLoopGroup eventLoopGroup;
     private HashedWheelTimer timer;
     private ServiceRegistration<NetconfMonitoringService> regMonitoring;
+    private AutoCloseable statisticsRegistration;
 
     private BaseNotificationPublisherRegistration listenerReg;
 
@@ -58,6 +60,9 @@ public class NetconfImplActivator implements BundleActivator {
 
             final NetconfMonitoringServiceImpl monitoringService = startMonitoringService(context, factoriesListener);
 
+            final NetconfServerStatistics statistics = new NetconfServerStatistics();
+            statisticsRegistration = statistics.registerMBean();
+
             NetconfServerSessionNegotiatorFactory serverNegotiatorFactory =
                     new NetconfServerSessionNegotiatorFactoryBuilder()
                             .setAggregatedOpService(factoriesListener)
@@ -65,6 +70,7 @@ public class NetconfImplActivator implements BundleActivator {
                             .setIdProvider(idProvider)
                             .setMonitoringService(monitoringService)
                             .setConnectionTimeoutMillis(connectionTimeoutMillis)
+                            .setStatistics(statistics)
                             .build();
 
             eventLoopGroup = new NioEventLoopGroup();
@@ -127,6 +133,7 @@ public class NetconfImplActivator implements BundleActivator {
         return netconfMonitoringServiceImpl;
     }
 
+    @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
     public void stop(final BundleContext context) {
         LOG.info("Shutting down netconf because YangStoreService service was removed");
@@ -136,5 +143,12 @@ public class NetconfImplActivator implements BundleActivator {
 
         regMonitoring.unregister();
         factoriesTracker.close();
+        if (statisticsRegistration != null) {
+            try {
+                statisticsRegistration.close();
+            } catch (final Exception e) {
+                LOG.warn("Ignoring exception while unregistering netconf server statistics", e);
+            }
+        }
     }
 }
@@ -7,15 +7,22 @@
  */
 package org.opendaylight.netconf.impl.osgi;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
@@ -29,6 +36,8 @@ import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
 import org.opendaylight.netconf.mapping.api.SessionAwareNetconfOperation;
+import org.opendaylight.netconf.util.mapping.AbstractNetconfOperation;
+import org.opendaylight.netconf.util.mapping.AbstractNetconfOperation.OperationNameAndNamespace;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -38,6 +47,13 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfOperationRouterImpl.class);
     private final NetconfOperationService netconfOperationServiceSnapshot;
     private final Collection<NetconfOperation> allNetconfOperations;
+    // Operations bound to a single operation element, indexed by its name and namespace
+    private final ImmutableListMultimap<OperationNameAndNamespace, AbstractNetconfOperation> indexedOperations;
+    // Operations which have to be asked about every message
+    private final List<NetconfOperation> unindexedOperations;
+    // Execution chains of indexed operations, computed on first use of each index entry
+    private final ConcurrentMap<OperationNameAndNamespace, IndexedExecution> indexedExecutions =
+            new ConcurrentHashMap<>();
 
     public NetconfOperationRouterImpl(final NetconfOperationService netconfOperationServiceSnapshot,
                                       final NetconfMonitoringService netconfMonitoringService, final String sessionId) {
@@ -51,6 +67,21 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
         ops.addAll(netconfOperationServiceSnapshot.getNetconfOperations());
 
         allNetconfOperations = ImmutableSet.copyOf(ops);
+
+        final ImmutableListMultimap.Builder<OperationNameAndNamespace, AbstractNetconfOperation> indexed =
+                ImmutableListMultimap.builder();
+        final ImmutableList.Builder<NetconfOperation> unindexed = ImmutableList.builder();
+        for (final NetconfOperation operation : allNetconfOperations) {
+            final Optional<OperationNameAndNamespace> key = operation instanceof AbstractNetconfOperation
+                    ? ((AbstractNetconfOperation) operation).getOperationNameAndNamespace() : Optional.absent();
+            if (key.isPresent()) {
+                indexed.put(key.get(), (AbstractNetconfOperation) operation);
+            } else {
+                unindexed.add(operation);
+            }
+        }
+        indexedOperations = indexed.build();
+        unindexedOperations = unindexed.build();
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -117,11 +148,46 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
 
     private NetconfOperationExecution getNetconfOperationWithHighestPriority(
             final Document message, final NetconfServerSession session) throws DocumentedException {
+        final OperationNameAndNamespace operation;
+        try {
+            operation = new OperationNameAndNamespace(message);
+        } catch (final DocumentedException e) {
+            // Not a well formed rpc, let all operations decide what to do with it
+            LOG.debug("Unable to determine operation of message {}, consulting all operations", message, e);
+            return createExecutionChain(getSortedNetconfOperationsWithCanHandle(message, session,
+                    allNetconfOperations), message);
+        }
+
+        // Only the operations indexed under the operation element are consulted, together with the operations
+        // which are not indexed
+        IndexedExecution indexed = indexedExecutions.get(operation);
+        if (indexed == null) {
+            indexed = new IndexedExecution(sortIndexedOperations(operation, message));
+            if (!indexed.sortedByPriority.isEmpty()) {
+                // Only keys present in the index are cached, so the cache cannot grow beyond the index
+                indexedExecutions.putIfAbsent(operation, indexed);
+            }
+        }
+        for (final NetconfOperation netconfOperation : indexed.sortedByPriority.values()) {
+            setSession(netconfOperation, session);
+        }
 
-        final NavigableMap<HandlingPriority, NetconfOperation> sortedByPriority =
-                getSortedNetconfOperationsWithCanHandle(
-                message, session);
+        final TreeMap<HandlingPriority, NetconfOperation> sortedByPriority = unindexedOperations.isEmpty()
+                ? new TreeMap<>() : getSortedNetconfOperationsWithCanHandle(message, session, unindexedOperations);
+        if (sortedByPriority.isEmpty()) {
+            return indexed.execution != null ? indexed.execution : createExecutionChain(sortedByPriority, message);
+        }
 
+        for (final Map.Entry<HandlingPriority, NetconfOperation> entry
+                : indexed.sortedByPriority.entrySet()) {
+            checkUniquePriority(sortedByPriority, entry.getKey(), entry.getValue(), message);
+            sortedByPriority.put(entry.getKey(), entry.getValue());
+        }
+        return createExecutionChain(sortedByPriority, message);
+    }
+
+    private static NetconfOperationExecution createExecutionChain(
+            final NavigableMap<HandlingPriority, NetconfOperation> sortedByPriority, final Document message) {
         if (sortedByPriority.isEmpty()) {
             throw new IllegalArgumentException(String.format("No %s available to handle message %s",
                     NetconfOperation.class.getName(), XmlUtil.toString(message)));
@@ -130,30 +196,63 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
         return NetconfOperationExecution.createExecutionChain(sortedByPriority, sortedByPriority.lastKey());
     }
 
-    private TreeMap<HandlingPriority, NetconfOperation> getSortedNetconfOperationsWithCanHandle(
-            final Document message, final NetconfServerSession session) throws DocumentedException {
+    private NavigableMap<HandlingPriority, NetconfOperation> sortIndexedOperations(
+            final OperationNameAndNamespace operation, final Document message) {
+        final TreeMap<HandlingPriority, NetconfOperation> sortedPriority = Maps.newTreeMap();
+        for (final AbstractNetconfOperation netconfOperation : indexedOperations.get(operation)) {
+            final HandlingPriority handlingPriority = netconfOperation.canHandle(operation);
+            if (!handlingPriority.equals(HandlingPriority.CANNOT_HANDLE)) {
+                checkUniquePriority(sortedPriority, handlingPriority, netconfOperation, message);
+                sortedPriority.put(handlingPriority, netconfOperation);
+            }
+        }
+        return Collections.unmodifiableNavigableMap(sortedPriority);
+    }
+
+    private static void checkUniquePriority(final NavigableMap<HandlingPriority, NetconfOperation> sortedPriority,
+            final HandlingPriority handlingPriority, final NetconfOperation netconfOperation, final Document message) {
+        Preconditions.checkState(!sortedPriority.containsKey(handlingPriority),
+                "Multiple %s available to handle message %s with priority %s, %s and %s",
+                NetconfOperation.class.getName(), message, handlingPriority, netconfOperation, sortedPriority
+                        .get(handlingPriority));
+    }
+
+    private static void setSession(final NetconfOperation netconfOperation, final NetconfServerSession session) {
+        if (netconfOperation instanceof DefaultNetconfOperation) {
+            ((DefaultNetconfOperation) netconfOperation).setNetconfSession(session);
+        }
+        if (netconfOperation instanceof SessionAwareNetconfOperation) {
+            ((SessionAwareNetconfOperation) netconfOperation).setSession(session);
+        }
+    }
+
+    private static TreeMap<HandlingPriority, NetconfOperation> getSortedNetconfOperationsWithCanHandle(
+            final Document message, final NetconfServerSession session,
+            final Collection<? extends NetconfOperation> netconfOperations) throws DocumentedException {
         final TreeMap<HandlingPriority, NetconfOperation> sortedPriority = Maps.newTreeMap();
 
-        for (final NetconfOperation netconfOperation : allNetconfOperations) {
+        for (final NetconfOperation netconfOperation : netconfOperations) {
             final HandlingPriority handlingPriority = netconfOperation.canHandle(message);
-            if (netconfOperation instanceof DefaultNetconfOperation) {
-                ((DefaultNetconfOperation) netconfOperation).setNetconfSession(session);
-            }
-            if (netconfOperation instanceof SessionAwareNetconfOperation) {
-                ((SessionAwareNetconfOperation) netconfOperation).setSession(session);
-            }
+            setSession(netconfOperation, session);
             if (!handlingPriority.equals(HandlingPriority.CANNOT_HANDLE)) {
-
-                Preconditions.checkState(!sortedPriority.containsKey(handlingPriority),
-                        "Multiple %s available to handle message %s with priority %s, %s and %s",
-                        NetconfOperation.class.getName(), message, handlingPriority, netconfOperation, sortedPriority
-                                .get(handlingPriority));
+                checkUniquePriority(sortedPriority, handlingPriority, netconfOperation, message);
                 sortedPriority.put(handlingPriority, netconfOperation);
             }
         }
         return sortedPriority;
     }
 
+    private static final class IndexedExecution {
+        private final NavigableMap<HandlingPriority, NetconfOperation> sortedByPriority;
+        private final NetconfOperationExecution execution;
+
+        IndexedExecution(final NavigableMap<HandlingPriority, NetconfOperation> sortedByPriority) {
+            this.sortedByPriority = sortedByPriority;
+            this.execution = sortedByPriority.isEmpty() ? null
+                    : NetconfOperationExecution.createExecutionChain(sortedByPriority, sortedByPriority.lastKey());
+        }
+    }
+
     private static class NetconfOperationExecution implements NetconfOperationChainedExecution {
         private final NetconfOperation netconfOperation;
         private final NetconfOperationChainedExecution subsequentExecution;
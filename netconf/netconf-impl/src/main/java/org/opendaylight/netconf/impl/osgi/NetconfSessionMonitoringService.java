@@ -13,11 +13,11 @@ import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
 import java.util.Collection;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 import org.opendaylight.controller.config.threadpool.ScheduledThreadPool;
 import org.opendaylight.netconf.api.monitoring.NetconfManagementSession;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
@@ -40,7 +40,8 @@ class NetconfSessionMonitoringService implements SessionListener, AutoCloseable
     private static final Logger LOG = LoggerFactory.getLogger(NetconfSessionMonitoringService.class);
 
     private final Set<NetconfManagementSession> sessions = Sets.newHashSet();
-    private final Set<NetconfManagementSession> changedSessions = Sets.newHashSet();
+    // Updated on every message of every session, so it is not guarded by the lock of the service
+    private final Set<NetconfManagementSession> changedSessions = ConcurrentHashMap.newKeySet();
     private final Set<NetconfMonitoringService.SessionsListener> listeners = Sets.newHashSet();
     private final ScheduledExecutorService executor;
     private final long updateInterval;
@@ -90,7 +91,7 @@ class NetconfSessionMonitoringService implements SessionListener, AutoCloseable
     }
 
     @Override
-    public synchronized void onSessionEvent(SessionEvent event) {
+    public void onSessionEvent(SessionEvent event) {
         changedSessions.add(event.getSession());
     }
 
@@ -118,14 +119,23 @@ class NetconfSessionMonitoringService implements SessionListener, AutoCloseable
         if (changedSessions.isEmpty()) {
             return;
         }
-        final List<Session> changed = changedSessions.stream()
-                .map(NetconfManagementSession::toManagementSession)
-                .collect(Collectors.toList());
-        final ImmutableList<Session> sessionImmutableList = ImmutableList.copyOf(changed);
+        final ImmutableList.Builder<Session> changed = ImmutableList.builder();
+        final Iterator<NetconfManagementSession> it = changedSessions.iterator();
+        while (it.hasNext()) {
+            final NetconfManagementSession session = it.next();
+            it.remove();
+            // Event of a session may be recorded after the session went down
+            if (sessions.contains(session)) {
+                changed.add(session.toManagementSession());
+            }
+        }
+        final ImmutableList<Session> sessionImmutableList = changed.build();
+        if (sessionImmutableList.isEmpty()) {
+            return;
+        }
         for (NetconfMonitoringService.SessionsListener listener : listeners) {
             listener.onSessionsUpdated(sessionImmutableList);
         }
-        changedSessions.clear();
     }
 
     private void notifySessionUp(NetconfManagementSession managementSession) {
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.impl.stats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of operation latencies with buckets of exponentially growing size. Recording does not take any lock,
+ * so the histogram may be updated by any number of threads. Values read while operations are recorded are not
+ * guaranteed to be consistent with each other.
+ */
+public final class LatencyHistogram {
+    /**
+     * Number of buckets. Bucket {@code i} counts operations which took less than {@link #getUpperBoundMicros(int)}
+     * and at least the upper bound of the previous bucket. The last bucket counts longer operations as well.
+     */
+    public static final int BUCKETS = 32;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Get the upper bound of a bucket.
+     *
+     * @param bucket index of the bucket
+     * @return exclusive upper bound of the bucket in microseconds
+     */
+    public static long getUpperBoundMicros(final int bucket) {
+        return 1L << bucket;
+    }
+
+    /**
+     * Record an operation.
+     *
+     * @param nanos duration of the operation in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos));
+        buckets[Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(micros))].increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (final LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    public long getTotalMicros() {
+        return totalMicros.sum();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * Get the number of operations in each bucket.
+     *
+     * @return counts of operations indexed by bucket
+     */
+    public long[] getBuckets() {
+        final long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.impl.stats;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Snapshot of the latencies of a single operation.
+ */
+public final class LatencyStatistics {
+    private final String operation;
+    private final long count;
+    private final long totalMicros;
+    private final long maxMicros;
+    private final long[] buckets;
+
+    @ConstructorProperties({"operation", "count", "totalMicros", "maxMicros", "buckets"})
+    public LatencyStatistics(final String operation, final long count, final long totalMicros, final long maxMicros,
+                             final long[] buckets) {
+        this.operation = operation;
+        this.count = count;
+        this.totalMicros = totalMicros;
+        this.maxMicros = maxMicros;
+        this.buckets = buckets.clone();
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalMicros() {
+        return totalMicros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    /**
+     * Get the number of operations in each bucket, see {@link LatencyHistogram#getUpperBoundMicros(int)}.
+     *
+     * @return counts of operations indexed by bucket
+     */
+    public long[] getBuckets() {
+        return buckets.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyStatistics{operation=" + operation + ", count=" + count + ", totalMicros=" + totalMicros
+                + ", maxMicros=" + maxMicros + '}';
+    }
+}
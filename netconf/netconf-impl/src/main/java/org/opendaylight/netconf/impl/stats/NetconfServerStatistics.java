@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.impl.stats;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counters and operation latencies of all sessions of the netconf server. Sessions update them without taking any
+ * lock, so they can be updated from every session on every message.
+ */
+public final class NetconfServerStatistics implements NetconfServerStatisticsMXBean {
+    private static final Logger LOG = LoggerFactory.getLogger(NetconfServerStatistics.class);
+    private static final String OBJECT_NAME = "org.opendaylight.netconf:type=NetconfServerStatistics";
+
+    private final LongAdder inRpcs = new LongAdder();
+    private final LongAdder inBadRpcs = new LongAdder();
+    private final LongAdder outRpcErrors = new LongAdder();
+    private final LongAdder outNotifications = new LongAdder();
+    private final OperationLatencies operationLatencies = new OperationLatencies();
+
+    public void onInRpcSuccess() {
+        inRpcs.increment();
+    }
+
+    public void onInRpcFail() {
+        inBadRpcs.increment();
+    }
+
+    public void onOutRpcError() {
+        outRpcErrors.increment();
+    }
+
+    public void onOutNotification() {
+        outNotifications.increment();
+    }
+
+    public void onOperationCompleted(final OperationLatencies.Operation operation, final long nanos) {
+        operationLatencies.record(operation, nanos);
+    }
+
+    @Override
+    public long getInRpcs() {
+        return inRpcs.sum();
+    }
+
+    @Override
+    public long getInBadRpcs() {
+        return inBadRpcs.sum();
+    }
+
+    @Override
+    public long getOutRpcErrors() {
+        return outRpcErrors.sum();
+    }
+
+    @Override
+    public long getOutNotifications() {
+        return outNotifications.sum();
+    }
+
+    @Override
+    public List<LatencyStatistics> getOperationLatencies() {
+        return operationLatencies.getStatistics();
+    }
+
+    /**
+     * Register the statistics with the platform MBean server.
+     *
+     * @return registration, closing it unregisters the statistics
+     */
+    public AutoCloseable registerMBean() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name;
+        try {
+            name = new ObjectName(OBJECT_NAME);
+            server.registerMBean(this, name);
+        } catch (MalformedObjectNameException | InstanceAlreadyExistsException | MBeanRegistrationException
+                | NotCompliantMBeanException e) {
+            LOG.warn("Unable to register netconf server statistics with JMX", e);
+            return () -> { };
+        }
+
+        return () -> {
+            try {
+                server.unregisterMBean(name);
+            } catch (InstanceNotFoundException | MBeanRegistrationException e) {
+                LOG.debug("Ignoring exception while unregistering netconf server statistics", e);
+            }
+        };
+    }
+}
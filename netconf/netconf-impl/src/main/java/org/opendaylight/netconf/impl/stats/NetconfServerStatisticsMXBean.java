@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.impl.stats;
+
+import java.util.List;
+
+/**
+ * Statistics of all sessions of the netconf server, exposed over JMX.
+ */
+public interface NetconfServerStatisticsMXBean {
+
+    long getInRpcs();
+
+    long getInBadRpcs();
+
+    long getOutRpcErrors();
+
+    long getOutNotifications();
+
+    /**
+     * Get latencies of the operations handled by the server.
+     *
+     * @return latency statistics of operations performed at least once
+     */
+    List<LatencyStatistics> getOperationLatencies();
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.impl.stats;
+
+import com.google.common.collect.ImmutableList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.util.mapping.AbstractNetconfOperation.OperationNameAndNamespace;
+import org.w3c.dom.Document;
+
+/**
+ * Latency histograms of the operations handled by the server, kept separately for the most frequent operations.
+ */
+public final class OperationLatencies {
+
+    /**
+     * Operations with separate latency histograms.
+     */
+    public enum Operation {
+        GET(XmlNetconfConstants.GET),
+        GET_CONFIG(XmlNetconfConstants.GET_CONFIG),
+        EDIT_CONFIG("edit-config"),
+        COMMIT(XmlNetconfConstants.COMMIT),
+        /**
+         * Any other operation, including RPCs of other modules.
+         */
+        RPC("rpc");
+
+        private final String name;
+
+        Operation(final String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Determine the operation requested by a message.
+         *
+         * @param request rpc message
+         * @return requested operation
+         */
+        public static Operation forRequest(final Document request) {
+            final OperationNameAndNamespace operation;
+            try {
+                operation = new OperationNameAndNamespace(request);
+            } catch (final DocumentedException e) {
+                return RPC;
+            }
+            if (!XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0.equals(operation.getNamespace())) {
+                return RPC;
+            }
+            for (final Operation value : values()) {
+                if (value.name.equals(operation.getOperationName())) {
+                    return value;
+                }
+            }
+            return RPC;
+        }
+    }
+
+    private final Map<Operation, LatencyHistogram> histograms = new EnumMap<>(Operation.class);
+
+    public OperationLatencies() {
+        for (final Operation operation : Operation.values()) {
+            histograms.put(operation, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Record a completed operation.
+     *
+     * @param operation completed operation
+     * @param nanos duration of the operation in nanoseconds
+     */
+    public void record(final Operation operation, final long nanos) {
+        histograms.get(operation).record(nanos);
+    }
+
+    public LatencyHistogram getHistogram(final Operation operation) {
+        return histograms.get(operation);
+    }
+
+    /**
+     * Take a snapshot of the operations performed at least once.
+     *
+     * @return latency statistics of the operations
+     */
+    public List<LatencyStatistics> getStatistics() {
+        final ImmutableList.Builder<LatencyStatistics> statistics = ImmutableList.builder();
+        for (final Map.Entry<Operation, LatencyHistogram> entry : histograms.entrySet()) {
+            final LatencyHistogram histogram = entry.getValue();
+            final long[] buckets = histogram.getBuckets();
+            long count = 0;
+            for (final long bucket : buckets) {
+                count += bucket;
+            }
+            if (count != 0) {
+                statistics.add(new LatencyStatistics(entry.getKey().getName(), count, histogram.getTotalMicros(),
+                        histogram.getMaxMicros(), buckets));
+            }
+        }
+        return statistics.build();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NetconfOperationExecutorTest {
+
+    private NetconfOperationExecutor executor;
+
+    @Before
+    public void setUp() {
+        executor = new NetconfOperationExecutor(2, 2);
+    }
+
+    @After
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    public void testSessionOrdering() throws Exception {
+        final NetconfOperationExecutor.SessionQueue queue = executor.newSessionQueue();
+        final List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(1);
+        for (int i = 0; i < 2; ++i) {
+            final int index = i;
+            assertTrue(queue.tryExecute(() -> executed.add(index)));
+        }
+        queue.execute(done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(0, 1), executed);
+    }
+
+    @Test
+    public void testQueueDepthAndSessionIsolation() throws Exception {
+        final NetconfOperationExecutor.SessionQueue busy = executor.newSessionQueue();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        assertTrue(busy.tryExecute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(busy.tryExecute(() -> { }));
+        assertTrue(busy.tryExecute(() -> { }));
+        assertFalse(busy.tryExecute(() -> { }));
+
+        // Blocked session does not hold up other sessions
+        final CountDownLatch other = new CountDownLatch(1);
+        assertTrue(executor.newSessionQueue().tryExecute(other::countDown));
+        assertTrue(other.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void testDirect() {
+        final List<String> executed = new ArrayList<>();
+        assertTrue(NetconfOperationExecutor.DIRECT.newSessionQueue().tryExecute(() -> executed.add("op")));
+        assertEquals(Collections.singletonList("op"), executed);
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -15,7 +15,12 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.custommonkey.xmlunit.Diff;
 import org.custommonkey.xmlunit.XMLUnit;
 import org.hamcrest.CustomMatcher;
@@ -25,15 +30,22 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.DeferredNetconfReply;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfTerminationReason;
+import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
 import org.opendaylight.netconf.api.monitoring.SessionEvent;
 import org.opendaylight.netconf.api.monitoring.SessionListener;
 import org.opendaylight.netconf.impl.osgi.NetconfOperationRouter;
+import org.opendaylight.netconf.impl.stats.NetconfServerStatistics;
 import org.opendaylight.netconf.notifications.NetconfNotification;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.sessions.Session;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 
 public class NetconfServerSessionListenerTest {
 
@@ -148,12 +160,139 @@ public class NetconfServerSessionListenerTest {
         Assert.assertTrue(diff.toString(), diff.similar());
     }
 
+    @Test
+    public void testDeferredReplyOrder() throws Exception {
+        final SettableFuture<Void> commit = SettableFuture.create();
+        final Document commitReply = XmlUtil.readXmlToDocument("<rpc-reply message-id=\"101\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><ok/></rpc-reply>");
+        DeferredNetconfReply.attachCompletion(replyContent(commitReply), commit);
+        final Document getReply = XmlUtil.readXmlToDocument("<rpc-reply message-id=\"102\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><data/></rpc-reply>");
+        doReturn(commitReply).doReturn(getReply).when(router).onNetconfMessage(any(), any());
+
+        listener.onMessage(session, new NetconfMessage(XmlUtil.readXmlToDocument("<rpc message-id=\"101\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><commit/></rpc>")));
+        listener.onMessage(session, new NetconfMessage(XmlUtil.readXmlToDocument("<rpc message-id=\"102\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><get/></rpc>")));
+        channel.runPendingTasks();
+        Assert.assertNull(channel.readOutbound());
+
+        commit.set(null);
+        channel.runPendingTasks();
+        Assert.assertEquals("101", ((NetconfMessage) channel.readOutbound()).getDocument().getDocumentElement()
+                .getAttribute("message-id"));
+        Assert.assertEquals("102", ((NetconfMessage) channel.readOutbound()).getDocument().getDocumentElement()
+                .getAttribute("message-id"));
+    }
+
+    @Test
+    public void testDeferredReplyFailure() throws Exception {
+        final Document commitReply = XmlUtil.readXmlToDocument("<rpc-reply message-id=\"101\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><ok/></rpc-reply>");
+        DeferredNetconfReply.attachCompletion(replyContent(commitReply), Futures.immediateFailedFuture(
+                new DocumentedException("Commit failed", DocumentedException.ErrorType.APPLICATION,
+                        DocumentedException.ErrorTag.OPERATION_FAILED, DocumentedException.ErrorSeverity.ERROR)));
+        doReturn(commitReply).when(router).onNetconfMessage(any(), any());
+
+        listener.onMessage(session, new NetconfMessage(XmlUtil.readXmlToDocument("<rpc message-id=\"101\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><commit/></rpc>")));
+        verify(monitoringListener).onSessionEvent(argThat(sessionEventIs(SessionEvent.Type.OUT_RPC_ERROR)));
+        channel.runPendingTasks();
+        final NetconfMessage sentMsg = (NetconfMessage) channel.readOutbound();
+        Assert.assertEquals("rpc-error", replyContent(sentMsg.getDocument()).getLocalName());
+    }
+
+    @Test
+    public void testRejectedMessageAfterPendingReply() throws Exception {
+        final NetconfOperationExecutor executor = new NetconfOperationExecutor(1, 1);
+        final NetconfOperationExecutor.SessionQueue queue = executor.newSessionQueue();
+        listener = new NetconfServerSessionListener(router, monitoring, closeable, queue,
+                new NetconfServerStatistics());
+        try {
+            final SettableFuture<Void> commit = SettableFuture.create();
+            final Document commitReply = XmlUtil.readXmlToDocument("<rpc-reply message-id=\"101\" "
+                    + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><ok/></rpc-reply>");
+            DeferredNetconfReply.attachCompletion(replyContent(commitReply), commit);
+            doReturn(commitReply).when(router).onNetconfMessage(any(), any());
+            listener.onMessage(session, new NetconfMessage(XmlUtil.readXmlToDocument("<rpc message-id=\"101\" "
+                    + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><commit/></rpc>")));
+
+            // Keep the session busy and fill its queue, so that the next message is rejected
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            queue.execute(() -> {
+                started.countDown();
+                Uninterruptibles.awaitUninterruptibly(release, 5, TimeUnit.SECONDS);
+            });
+            Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+            queue.execute(() -> { });
+            listener.onMessage(session, new NetconfMessage(XmlUtil.readXmlToDocument("<rpc message-id=\"102\" "
+                    + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><get/></rpc>")));
+            channel.runPendingTasks();
+            Assert.assertNull(channel.readOutbound());
+
+            final CountDownLatch done = new CountDownLatch(1);
+            commit.set(null);
+            queue.execute(done::countDown);
+            release.countDown();
+            Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+            channel.runPendingTasks();
+
+            final NetconfMessage first = (NetconfMessage) channel.readOutbound();
+            Assert.assertEquals("101", first.getDocument().getDocumentElement().getAttribute("message-id"));
+            Assert.assertEquals("ok", replyContent(first.getDocument()).getLocalName());
+            final NetconfMessage second = (NetconfMessage) channel.readOutbound();
+            Assert.assertEquals("102", second.getDocument().getDocumentElement().getAttribute("message-id"));
+            Assert.assertEquals("rpc-error", replyContent(second.getDocument()).getLocalName());
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test
+    public void testDeferredReplyFailureCounters() throws Exception {
+        final NetconfServerStatistics statistics = new NetconfServerStatistics();
+        listener = new NetconfServerSessionListener(router, monitoring, closeable,
+                NetconfOperationExecutor.DIRECT.newSessionQueue(), statistics);
+        session = new NetconfServerSession(listener, channel, 1L,
+                new NetconfHelloMessageAdditionalHeader("admin", "127.0.0.1", "17830", "ssh", "1"));
+        session.sessionUp();
+
+        final SettableFuture<Void> commit = SettableFuture.create();
+        final Document commitReply = XmlUtil.readXmlToDocument("<rpc-reply message-id=\"101\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><ok/></rpc-reply>");
+        DeferredNetconfReply.attachCompletion(replyContent(commitReply), commit);
+        doReturn(commitReply).when(router).onNetconfMessage(any(), any());
+        listener.onMessage(session, new NetconfMessage(XmlUtil.readXmlToDocument("<rpc message-id=\"101\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><commit/></rpc>")));
+
+        // Nothing is counted before the commit finishes
+        Assert.assertEquals(0, session.toManagementSession().getInRpcs().getValue().longValue());
+        Assert.assertEquals(0, session.toManagementSession().getInBadRpcs().getValue().longValue());
+
+        commit.setException(new DocumentedException("Commit failed", DocumentedException.ErrorType.APPLICATION,
+                DocumentedException.ErrorTag.OPERATION_FAILED, DocumentedException.ErrorSeverity.ERROR));
+        channel.runPendingTasks();
+
+        // The failed commit is counted once, as a bad rpc, both per session and server-wide
+        final Session managementSession = session.toManagementSession();
+        Assert.assertEquals(0, managementSession.getInRpcs().getValue().longValue());
+        Assert.assertEquals(1, managementSession.getInBadRpcs().getValue().longValue());
+        Assert.assertEquals(1, managementSession.getOutRpcErrors().getValue().longValue());
+        Assert.assertEquals(0, statistics.getInRpcs());
+        Assert.assertEquals(1, statistics.getInBadRpcs());
+    }
+
     @Test
     public void testOnNotification() throws Exception {
         listener.onNotification(session, new NetconfNotification(XmlUtil.readXmlToDocument("<notification/>")));
         verify(monitoringListener).onSessionEvent(argThat(sessionEventIs(SessionEvent.Type.NOTIFICATION)));
     }
 
+    private static Element replyContent(final Document reply) throws Exception {
+        return XmlElement.fromDomDocument(reply).getOnlyChildElement().getDomElement();
+    }
+
     private CustomMatcher<SessionEvent> sessionEventIs(final SessionEvent.Type type) {
         return new CustomMatcher<SessionEvent>(type.name()) {
             @Override
@@ -17,6 +17,8 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -25,6 +27,7 @@ import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader;
+import org.opendaylight.netconf.impl.stats.OperationLatencies;
 import org.opendaylight.netconf.nettyutil.AbstractChannelInitializer;
 import org.opendaylight.netconf.nettyutil.handler.NetconfEXICodec;
 import org.opendaylight.netconf.nettyutil.handler.NetconfEXIToMessageDecoder;
@@ -33,6 +36,8 @@ import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
 import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.NetconfTcp;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.Session1;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.operation.latencies.OperationLatency;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.NetconfSsh;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.sessions.Session;
 import org.openexi.proc.common.EXIOptions;
@@ -144,6 +149,25 @@ public class NetconfServerSessionTest {
         Assert.assertEquals(managementSession.getTransport(), NetconfTcp.class);
     }
 
+    @Test
+    public void testOperationLatencies() throws Exception {
+        session.sessionUp();
+        session.onOperationCompleted(OperationLatencies.Operation.GET, TimeUnit.MICROSECONDS.toNanos(3));
+        session.onOperationCompleted(OperationLatencies.Operation.GET, TimeUnit.MICROSECONDS.toNanos(100));
+
+        final List<OperationLatency> latencies =
+                session.toManagementSession().getAugmentation(Session1.class).getOperationLatency();
+        Assert.assertEquals(1, latencies.size());
+        final OperationLatency get = latencies.get(0);
+        Assert.assertEquals("get", get.getOperation());
+        Assert.assertEquals(2, get.getCount().getValue().longValue());
+        Assert.assertEquals(103, get.getTotalTime().longValue());
+        Assert.assertEquals(100, get.getMaxTime().longValue());
+        Assert.assertEquals(2, get.getBucket().size());
+        Assert.assertEquals(4, get.getBucket().get(0).getUpperBound().longValue());
+        Assert.assertEquals(128, get.getBucket().get(1).getUpperBound().longValue());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testToManagementSessionUnknownTransport() throws Exception {
         final NetconfHelloMessageAdditionalHeader header =
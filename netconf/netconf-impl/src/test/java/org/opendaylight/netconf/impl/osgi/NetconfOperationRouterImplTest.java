@@ -24,12 +24,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.mapping.api.HandlingPriority;
 import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
+import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.xml.sax.SAXException;
 
 public class NetconfOperationRouterImplTest {
@@ -116,10 +119,56 @@ public class NetconfOperationRouterImplTest {
         }
     }
 
+    @Test
+    public void testIndexedOperations() throws Exception {
+        final IndexedOperation test = new IndexedOperation("test");
+        final IndexedOperation other = new IndexedOperation("other");
+        final Set<NetconfOperation> operations = new HashSet<>();
+        operations.add(test);
+        operations.add(other);
+        doReturn(operations).when(operationService2).getNetconfOperations();
+        final NetconfOperationRouterImpl router = new NetconfOperationRouterImpl(operationService2, null, "session-1");
+
+        final Document first = router.onNetconfMessage(TEST_RPC_DOC, null);
+        final Document second = router.onNetconfMessage(TEST_RPC_DOC, null);
+        Assert.assertEquals("test", first.getDocumentElement().getFirstChild().getLocalName());
+        Assert.assertEquals("test", second.getDocumentElement().getFirstChild().getLocalName());
+
+        // Operations bound to other elements are not consulted, the chain is computed only once
+        Assert.assertEquals(1, test.canHandleCalls);
+        Assert.assertEquals(0, other.canHandleCalls);
+    }
+
     @Test
     public void testClose() throws Exception {
         operationRouter.close();
         verify(operationService).close();
     }
 
-}
\ No newline at end of file
+    private static final class IndexedOperation extends AbstractSingletonNetconfOperation {
+        private final String name;
+        private int canHandleCalls;
+
+        IndexedOperation(final String name) {
+            super("session-1");
+            this.name = name;
+        }
+
+        @Override
+        protected HandlingPriority canHandle(final String operationName, final String operationNamespace) {
+            canHandleCalls++;
+            return super.canHandle(operationName, operationNamespace);
+        }
+
+        @Override
+        protected String getOperationName() {
+            return name;
+        }
+
+        @Override
+        protected Element handleWithNoSubsequentOperations(final Document document,
+                                                           final XmlElement operationElement) {
+            return document.createElementNS(operationElement.getNamespace(), name);
+        }
+    }
+}
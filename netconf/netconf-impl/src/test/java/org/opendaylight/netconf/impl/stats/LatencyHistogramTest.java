@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.impl.stats;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testRecord() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(500);
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(1));
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(5));
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(7));
+        histogram.record(TimeUnit.DAYS.toNanos(1));
+
+        final long[] expected = new long[LatencyHistogram.BUCKETS];
+        // Below 1us, below 2us, two below 8us and the last bucket for all longer operations
+        expected[0] = 1;
+        expected[1] = 1;
+        expected[3] = 2;
+        expected[LatencyHistogram.BUCKETS - 1] = 1;
+        assertArrayEquals(expected, histogram.getBuckets());
+        assertEquals(5, histogram.getCount());
+        assertEquals(TimeUnit.DAYS.toMicros(1), histogram.getMaxMicros());
+        assertEquals(TimeUnit.DAYS.toMicros(1) + 13, histogram.getTotalMicros());
+    }
+
+    @Test
+    public void testUpperBound() {
+        assertEquals(1, LatencyHistogram.getUpperBoundMicros(0));
+        assertEquals(8, LatencyHistogram.getUpperBoundMicros(3));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.impl.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import org.junit.Test;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+
+public class NetconfServerStatisticsTest {
+
+    @Test
+    public void testOperationForRequest() throws Exception {
+        assertEquals(OperationLatencies.Operation.GET_CONFIG, operation("<get-config/>"));
+        assertEquals(OperationLatencies.Operation.EDIT_CONFIG, operation("<edit-config/>"));
+        assertEquals(OperationLatencies.Operation.COMMIT, operation("<commit/>"));
+        assertEquals(OperationLatencies.Operation.RPC, operation("<get xmlns=\"urn:test\"/>"));
+        assertEquals(OperationLatencies.Operation.RPC, operation("<lock/>"));
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        final NetconfServerStatistics statistics = new NetconfServerStatistics();
+        statistics.onInRpcSuccess();
+        statistics.onInRpcSuccess();
+        statistics.onInRpcFail();
+        statistics.onOperationCompleted(OperationLatencies.Operation.COMMIT, 1000);
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName("org.opendaylight.netconf:type=NetconfServerStatistics");
+        try (AutoCloseable registration = statistics.registerMBean()) {
+            assertEquals(2L, server.getAttribute(name, "InRpcs"));
+            assertEquals(1L, server.getAttribute(name, "InBadRpcs"));
+            final CompositeData[] latencies = (CompositeData[]) server.getAttribute(name, "OperationLatencies");
+            assertEquals(1, latencies.length);
+            assertEquals("commit", latencies[0].get("operation"));
+            assertEquals(1L, latencies[0].get("count"));
+        }
+        assertFalse(server.isRegistered(name));
+
+        final List<LatencyStatistics> latencies = statistics.getOperationLatencies();
+        assertEquals(1, latencies.size());
+        assertEquals(1, latencies.get(0).getMaxMicros());
+    }
+
+    private static OperationLatencies.Operation operation(final String operation) throws Exception {
+        return OperationLatencies.Operation.forRequest(XmlUtil.readXmlToDocument(
+                "<rpc message-id=\"1\" xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">" + operation + "</rpc>"));
+    }
+}
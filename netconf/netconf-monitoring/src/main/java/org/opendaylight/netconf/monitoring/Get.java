@@ -11,12 +11,9 @@ import java.util.Collections;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlMappingConstants;
-import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.mapping.api.HandlingPriority;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
-import org.opendaylight.netconf.monitoring.xml.JaxBSerializer;
-import org.opendaylight.netconf.monitoring.xml.model.NetconfState;
 import org.opendaylight.netconf.util.mapping.AbstractNetconfOperation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,11 +23,11 @@ import org.w3c.dom.Element;
 public class Get extends AbstractNetconfOperation {
 
     private static final Logger LOG = LoggerFactory.getLogger(Get.class);
-    private final NetconfMonitoringService netconfMonitor;
+    private final NetconfStateCache stateCache;
 
-    public Get(final NetconfMonitoringService netconfMonitor) {
+    public Get(final NetconfStateCache stateCache) {
         super(MonitoringConstants.MODULE_NAME);
-        this.netconfMonitor = netconfMonitor;
+        this.stateCache = stateCache;
     }
 
     private Element getPlaceholder(final Document innerResult)
@@ -65,10 +62,7 @@ public class Get extends AbstractNetconfOperation {
         try {
             final Document innerResult = subsequentOperation.execute(requestMessage);
 
-            final NetconfState netconfMonitoring = new NetconfState(netconfMonitor);
-            Element monitoringXmlElement = new JaxBSerializer().toXml(netconfMonitoring);
-
-            monitoringXmlElement = (Element) innerResult.importNode(monitoringXmlElement, true);
+            final Element monitoringXmlElement = stateCache.toXml(innerResult);
             final Element monitoringXmlElementPlaceholder = getPlaceholder(innerResult);
             monitoringXmlElementPlaceholder.appendChild(monitoringXmlElement);
 
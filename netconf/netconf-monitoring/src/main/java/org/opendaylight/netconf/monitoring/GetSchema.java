@@ -14,7 +14,7 @@ import java.util.Map;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
-import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
+import org.opendaylight.netconf.api.StreamedNetconfMessage;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
 import org.slf4j.Logger;
@@ -28,11 +28,11 @@ public class GetSchema extends AbstractSingletonNetconfOperation {
     public static final String VERSION = "version";
 
     private static final Logger LOG = LoggerFactory.getLogger(GetSchema.class);
-    private final NetconfMonitoringService cap;
+    private final SchemaCache schemaCache;
 
-    public GetSchema(final NetconfMonitoringService cap) {
+    public GetSchema(final SchemaCache schemaCache) {
         super(MonitoringConstants.MODULE_NAME);
-        this.cap = cap;
+        this.schemaCache = schemaCache;
     }
 
     @Override
@@ -54,7 +54,7 @@ public class GetSchema extends AbstractSingletonNetconfOperation {
 
         final String schema;
         try {
-            schema = cap.getSchemaForCapability(entry.identifier, entry.version);
+            schema = schemaCache.getSchema(entry.identifier, entry.version);
         } catch (final IllegalStateException e) {
             final Map<String, String> errorInfo = Maps.newHashMap();
             errorInfo.put(DocumentedException.ErrorTag.OPERATION_FAILED.toString(), e.getMessage());
@@ -65,8 +65,15 @@ public class GetSchema extends AbstractSingletonNetconfOperation {
         }
 
         final Element getSchemaResult;
-        getSchemaResult = XmlUtil.createTextElement(document, XmlNetconfConstants.DATA_KEY, schema,
-                Optional.of(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_YANG_IETF_NETCONF_MONITORING));
+        if (StreamedNetconfMessage.isStreamingEnabled(xml.getDomElement().getOwnerDocument())) {
+            // Cached source is written directly to the session, without a copy in the reply document
+            getSchemaResult = XmlUtil.createElement(document, XmlNetconfConstants.DATA_KEY,
+                    Optional.of(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_YANG_IETF_NETCONF_MONITORING));
+            StreamedNetconfMessage.attachContent(getSchemaResult, writer -> writer.writeCharacters(schema));
+        } else {
+            getSchemaResult = XmlUtil.createTextElement(document, XmlNetconfConstants.DATA_KEY, schema,
+                    Optional.of(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_YANG_IETF_NETCONF_MONITORING));
+        }
         LOG.trace("{} operation successful", GET_SCHEMA);
 
         return getSchemaResult;
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.monitoring;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
+import org.opendaylight.netconf.monitoring.xml.JaxBSerializer;
+import org.opendaylight.netconf.monitoring.xml.model.NetconfState;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.Capabilities;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.Schemas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Builder of the netconf-state subtree which keeps the serialized schemas section, maintained from the callbacks
+ * of {@link NetconfMonitoringService}, so that monitoring requests do not marshal schemas each time. Schemas section
+ * is serialized once after each change of schemas, only when requested. Sessions section is serialized on each
+ * request, since session counters change with every message.
+ */
+@ThreadSafe
+public final class NetconfStateCache implements NetconfMonitoringService.CapabilitiesListener, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(NetconfStateCache.class);
+
+    private final JaxBSerializer serializer = new JaxBSerializer();
+    private final NetconfMonitoringService monitoringService;
+    private final AutoCloseable capabilitiesRegistration;
+
+    @GuardedBy("this")
+    private Schemas schemas;
+    // Serialized netconf-state containing only the schemas section, null until needed again
+    @GuardedBy("this")
+    private Element schemasState;
+
+    public NetconfStateCache(final NetconfMonitoringService monitoringService) {
+        this.monitoringService = monitoringService;
+        // Current schemas are pushed on registration
+        capabilitiesRegistration = monitoringService.registerCapabilitiesListener(this);
+    }
+
+    /**
+     * Create netconf-state element in a document.
+     *
+     * @param document document to create the element in
+     * @return netconf-state element containing schemas and sessions
+     */
+    public Element toXml(final Document document) {
+        final Element schemasSection = getSchemasState();
+        final Element sessionsState = serializer.toXml(new NetconfState(null, monitoringService.getSessions()));
+
+        // Both sections are serialized as netconf-state elements with the same namespace declarations
+        final Element netconfState = (Element) document.importNode(sessionsState, false);
+        // Serialized schemas are shared by all requests, DOM is not safe for concurrent access, even for reading
+        synchronized (this) {
+            appendChildren(document, netconfState, schemasSection);
+        }
+        appendChildren(document, netconfState, sessionsState);
+        return netconfState;
+    }
+
+    private Element getSchemasState() {
+        final Schemas currentSchemas;
+        synchronized (this) {
+            if (schemasState != null) {
+                return schemasState;
+            }
+            currentSchemas = schemas;
+        }
+
+        // Marshalling is done outside of the lock, schemas may change meanwhile
+        final Schemas serializedSchemas = currentSchemas != null ? currentSchemas : monitoringService.getSchemas();
+        final Element serialized = serializer.toXml(new NetconfState(serializedSchemas, null));
+        synchronized (this) {
+            if (schemas == currentSchemas) {
+                schemas = serializedSchemas;
+                schemasState = serialized;
+            }
+        }
+        return serialized;
+    }
+
+    private static void appendChildren(final Document document, final Element parent, final Element source) {
+        for (Node child = source.getFirstChild(); child != null; child = child.getNextSibling()) {
+            parent.appendChild(document.importNode(child, true));
+        }
+    }
+
+    @Override
+    public void onCapabilitiesChanged(final Capabilities capabilities) {
+        // Capabilities are not part of the served state
+    }
+
+    @Override
+    public synchronized void onSchemasChanged(final Schemas newSchemas) {
+        schemas = newSchemas;
+        schemasState = null;
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    @Override
+    public void close() {
+        if (capabilitiesRegistration != null) {
+            try {
+                capabilitiesRegistration.close();
+            } catch (final Exception e) {
+                LOG.warn("Ignoring exception while closing {}", capabilitiesRegistration, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.monitoring;
+
+import com.google.common.base.Optional;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.Capabilities;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.Schemas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schema sources served by get-schema, looked up in {@link NetconfMonitoringService} once per identifier and
+ * version. Cached sources are dropped whenever capabilities or schemas of the monitoring service change.
+ */
+@ThreadSafe
+public final class SchemaCache implements NetconfMonitoringService.CapabilitiesListener, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaCache.class);
+
+    private final NetconfMonitoringService monitoringService;
+    private final AutoCloseable capabilitiesRegistration;
+
+    // Replaced as a whole on change, so that a lookup racing with the change cannot store a stale source
+    private volatile ConcurrentMap<SchemaKey, String> schemas = new ConcurrentHashMap<>();
+
+    public SchemaCache(final NetconfMonitoringService monitoringService) {
+        this.monitoringService = monitoringService;
+        this.capabilitiesRegistration = monitoringService.registerCapabilitiesListener(this);
+    }
+
+    /**
+     * Get source of a schema.
+     *
+     * @param identifier schema identifier
+     * @param version schema version, absent for any version
+     * @return schema source
+     * @throws IllegalStateException if the schema is not available
+     */
+    public String getSchema(final String identifier, final Optional<String> version) {
+        final ConcurrentMap<SchemaKey, String> current = schemas;
+        final SchemaKey key = new SchemaKey(identifier, version);
+        final String cached = current.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final String schema = monitoringService.getSchemaForCapability(identifier, version);
+        if (schema != null) {
+            current.putIfAbsent(key, schema);
+        }
+        return schema;
+    }
+
+    @Override
+    public void onCapabilitiesChanged(final Capabilities capabilities) {
+        // Sources are provided by capabilities, a changed capability may come with a different source
+        invalidate();
+    }
+
+    @Override
+    public void onSchemasChanged(final Schemas newSchemas) {
+        invalidate();
+    }
+
+    private void invalidate() {
+        schemas = new ConcurrentHashMap<>();
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    @Override
+    public void close() {
+        if (capabilitiesRegistration != null) {
+            try {
+                capabilitiesRegistration.close();
+            } catch (final Exception e) {
+                LOG.warn("Ignoring exception while closing {}", capabilitiesRegistration, e);
+            }
+        }
+        schemas = new ConcurrentHashMap<>();
+    }
+
+    private static final class SchemaKey {
+        private final String identifier;
+        private final Optional<String> version;
+
+        SchemaKey(final String identifier, final Optional<String> version) {
+            this.identifier = identifier;
+            this.version = version;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(identifier, version);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SchemaKey)) {
+                return false;
+            }
+            final SchemaKey other = (SchemaKey) obj;
+            return identifier.equals(other.identifier) && version.equals(other.version);
+        }
+    }
+}
@@ -75,6 +75,8 @@ public class NetconfMonitoringActivator implements BundleActivator {
         }
 
         @Override
-        public void close() {}
+        public void close() {
+            operationService.closeStateCache();
+        }
     }
 }
@@ -15,22 +15,35 @@ import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
 import org.opendaylight.netconf.monitoring.Get;
 import org.opendaylight.netconf.monitoring.GetSchema;
+import org.opendaylight.netconf.monitoring.NetconfStateCache;
+import org.opendaylight.netconf.monitoring.SchemaCache;
 
 public class NetconfMonitoringOperationService implements NetconfOperationService {
 
-    private final NetconfMonitoringService monitor;
+    private final NetconfStateCache stateCache;
+    private final SchemaCache schemaCache;
 
     public NetconfMonitoringOperationService(final NetconfMonitoringService monitor) {
-        this.monitor = monitor;
+        this.stateCache = new NetconfStateCache(monitor);
+        this.schemaCache = new SchemaCache(monitor);
     }
 
     @Override
     public Set<NetconfOperation> getNetconfOperations() {
-        return Sets.<NetconfOperation>newHashSet(new Get(monitor), new GetSchema(monitor));
+        return Sets.<NetconfOperation>newHashSet(new Get(stateCache), new GetSchema(schemaCache));
     }
 
     @Override
     public void close() {
+        // Service is shared by all sessions, see closeStateCache()
+    }
+
+    /**
+     * Stop maintaining the netconf-state and schemas served to sessions, once the service is no longer used.
+     */
+    void closeStateCache() {
+        stateCache.close();
+        schemaCache.close();
     }
 
 }
@@ -30,9 +30,6 @@ public class JaxBSerializer {
         final DOMResult res;
         try {
             final Marshaller marshaller = JAXB_CONTEXT.createMarshaller();
-
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-
             res = new DOMResult();
             marshaller.marshal(monitoringModel, res);
         } catch (final JAXBException e) {
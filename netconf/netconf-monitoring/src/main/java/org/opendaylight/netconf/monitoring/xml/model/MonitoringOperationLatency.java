@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.monitoring.xml.model;
+
+import com.google.common.collect.Collections2;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Collections;
+import javax.xml.bind.annotation.XmlElement;
+import org.opendaylight.netconf.monitoring.MonitoringConstants;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.operation.latencies.OperationLatency;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.operation.latencies.operation.latency.Bucket;
+
+final class MonitoringOperationLatency {
+
+    private final OperationLatency latency;
+
+    MonitoringOperationLatency(final OperationLatency latency) {
+        this.latency = latency;
+    }
+
+    @XmlElement(name = "operation", namespace = MonitoringConstants.EXTENSION_NAMESPACE)
+    public String getOperation() {
+        return latency.getOperation();
+    }
+
+    @XmlElement(name = "count", namespace = MonitoringConstants.EXTENSION_NAMESPACE)
+    public BigInteger getCount() {
+        return latency.getCount().getValue();
+    }
+
+    @XmlElement(name = "total-time", namespace = MonitoringConstants.EXTENSION_NAMESPACE)
+    public BigInteger getTotalTime() {
+        return latency.getTotalTime();
+    }
+
+    @XmlElement(name = "max-time", namespace = MonitoringConstants.EXTENSION_NAMESPACE)
+    public BigInteger getMaxTime() {
+        return latency.getMaxTime();
+    }
+
+    @XmlElement(name = "bucket", namespace = MonitoringConstants.EXTENSION_NAMESPACE)
+    public Collection<MonitoringBucket> getBuckets() {
+        return latency.getBucket() == null ? Collections.emptyList()
+                : Collections2.transform(latency.getBucket(), MonitoringBucket::new);
+    }
+
+    static final class MonitoringBucket {
+
+        private final Bucket bucket;
+
+        MonitoringBucket(final Bucket bucket) {
+            this.bucket = bucket;
+        }
+
+        @XmlElement(name = "upper-bound", namespace = MonitoringConstants.EXTENSION_NAMESPACE)
+        public BigInteger getUpperBound() {
+            return bucket.getUpperBound();
+        }
+
+        @XmlElement(name = "count", namespace = MonitoringConstants.EXTENSION_NAMESPACE)
+        public BigInteger getCount() {
+            return bucket.getCount().getValue();
+        }
+    }
+}
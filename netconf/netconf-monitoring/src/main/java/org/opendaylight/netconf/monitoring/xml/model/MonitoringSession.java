@@ -8,6 +8,9 @@
 package org.opendaylight.netconf.monitoring.xml.model;
 
 import com.google.common.base.Joiner;
+import com.google.common.collect.Collections2;
+import java.util.Collection;
+import java.util.Collections;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlTransient;
 import org.opendaylight.netconf.monitoring.MonitoringConstants;
@@ -93,6 +96,15 @@ final class MonitoringSession {
         return managementSession.getAugmentation(Session1.class).getSessionIdentifier();
     }
 
+    @XmlElement(name = "operation-latency", namespace = MonitoringConstants.EXTENSION_NAMESPACE)
+    public Collection<MonitoringOperationLatency> getOperationLatencies() {
+        final Session1 augmentation = managementSession.getAugmentation(Session1.class);
+        if (augmentation == null || augmentation.getOperationLatency() == null) {
+            return Collections.emptyList();
+        }
+        return Collections2.transform(augmentation.getOperationLatency(), MonitoringOperationLatency::new);
+    }
+
     @XmlElement(name = "username")
     public String getUsername() {
         return managementSession.getUsername();
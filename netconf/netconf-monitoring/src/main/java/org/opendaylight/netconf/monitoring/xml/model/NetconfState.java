@@ -24,8 +24,18 @@ public final class NetconfState {
     private Sessions sessions;
 
     public NetconfState(final NetconfMonitoringService monitoringService) {
-        this.sessions = monitoringService.getSessions();
-        this.schemas = monitoringService.getSchemas();
+        this(monitoringService.getSchemas(), monitoringService.getSessions());
+    }
+
+    /**
+     * Create state containing only some of its sections. Sections which are null are not serialized.
+     *
+     * @param schemas schemas section, may be null
+     * @param sessions sessions section, may be null
+     */
+    public NetconfState(final Schemas schemas, final Sessions sessions) {
+        this.schemas = schemas;
+        this.sessions = sessions;
     }
 
     public NetconfState() {}
@@ -33,12 +43,12 @@ public final class NetconfState {
     @XmlElementWrapper(name = "schemas")
     @XmlElement(name = "schema")
     public Collection<MonitoringSchema> getSchemas() {
-        return Collections2.transform(schemas.getSchema(), MonitoringSchema::new);
+        return schemas == null ? null : Collections2.transform(schemas.getSchema(), MonitoringSchema::new);
     }
 
     @XmlElementWrapper(name = "sessions")
     @XmlElement(name = "session")
     public Collection<MonitoringSession> getSessions() {
-        return Collections2.transform(sessions.getSession(), MonitoringSession::new);
+        return sessions == null ? null : Collections2.transform(sessions.getSession(), MonitoringSession::new);
     }
 }
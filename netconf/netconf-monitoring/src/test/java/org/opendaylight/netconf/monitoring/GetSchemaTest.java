@@ -8,7 +8,10 @@
 
 package org.opendaylight.netconf.monitoring;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doReturn;
@@ -21,8 +24,10 @@ import org.junit.Test;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.StreamedNetconfMessage;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 
 public class GetSchemaTest {
 
@@ -46,17 +51,32 @@ public class GetSchemaTest {
 
     @Test(expected = DocumentedException.class)
     public void testDefaultGetSchema() throws Exception {
-        GetSchema schema = new GetSchema(cap);
+        GetSchema schema = new GetSchema(new SchemaCache(cap));
         doThrow(IllegalStateException.class).when(cap).getSchemaForCapability(anyString(), any(Optional.class));
         schema.handleWithNoSubsequentOperations(doc, XmlElement.fromDomElement(XmlUtil.readXmlToElement(getSchema)));
     }
 
     @Test
     public void handleWithNoSubsequentOperations() throws Exception {
-        GetSchema schema = new GetSchema(cap);
+        GetSchema schema = new GetSchema(new SchemaCache(cap));
         doReturn("").when(cap).getSchemaForCapability(anyString(), any(Optional.class));
         assertNotNull(schema.handleWithNoSubsequentOperations(doc,
                 XmlElement.fromDomElement(XmlUtil.readXmlToElement(getSchema))));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testStreamedSchema() throws Exception {
+        GetSchema schema = new GetSchema(new SchemaCache(cap));
+        doReturn("module threadpool-api {}").when(cap).getSchemaForCapability(anyString(), any(Optional.class));
+        final Element request = XmlUtil.readXmlToElement(getSchema);
+        StreamedNetconfMessage.enableStreaming(request.getOwnerDocument());
+
+        final Element data = schema.handleWithNoSubsequentOperations(doc, XmlElement.fromDomElement(request));
+        assertFalse(data.hasChildNodes());
+        doc.appendChild(XmlUtil.createElement(doc, "rpc-reply",
+                Optional.of("urn:ietf:params:xml:ns:netconf:base:1.0"))).appendChild(data);
+        final Optional<StreamedNetconfMessage> reply = StreamedNetconfMessage.fromReply(doc);
+        assertTrue(reply.isPresent());
+        assertEquals("module threadpool-api {}", reply.get().getDocument().getDocumentElement().getTextContent());
+    }
+}
@@ -59,7 +59,7 @@ public class GetTest {
         doReturn(new SchemasBuilder().setSchema(Collections.<Schema>emptyList()).build()).when(monitor).getSchemas();
         doReturn(false).when(subsequentOperation).isExecutionTermination();
 
-        get = new Get(monitor);
+        get = new Get(new NetconfStateCache(monitor));
     }
 
     @Test
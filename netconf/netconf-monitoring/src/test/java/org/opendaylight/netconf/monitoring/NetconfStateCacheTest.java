@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.monitoring;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Host;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Address;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Uri;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.Session1;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.NetconfSsh;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.Yang;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.Schemas;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.SchemasBuilder;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.SessionsBuilder;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.schemas.Schema;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.sessions.Session;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.DateAndTime;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.ZeroBasedCounter32;
+import org.w3c.dom.Document;
+
+public class NetconfStateCacheTest {
+
+    @Mock
+    private NetconfMonitoringService monitoringService;
+
+    private NetconfStateCache stateCache;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        doReturn(new SessionsBuilder().setSession(Lists.newArrayList(getMockSession(1L))).build())
+                .when(monitoringService).getSessions();
+        doReturn(getSchemas("first")).when(monitoringService).getSchemas();
+        stateCache = new NetconfStateCache(monitoringService);
+        verify(monitoringService).registerCapabilitiesListener(stateCache);
+    }
+
+    @Test
+    public void testSchemas() throws Exception {
+        assertThat(toXml(), containsString("<identifier>first</identifier>"));
+        assertThat(toXml(), containsString("<identifier>first</identifier>"));
+        verify(monitoringService, times(1)).getSchemas();
+
+        stateCache.onSchemasChanged(getSchemas("second"));
+        final String xml = toXml();
+        assertThat(xml, containsString("<identifier>second</identifier>"));
+        assertThat(xml, not(containsString("<identifier>first</identifier>")));
+    }
+
+    @Test
+    public void testSessions() throws Exception {
+        assertThat(toXml(), containsString("<session-id>1</session-id>"));
+
+        // Sessions and their counters are read from the monitoring service on each request
+        final Session updated = getMockSession(1L);
+        doReturn(new ZeroBasedCounter32(5L)).when(updated).getInRpcs();
+        doReturn(new SessionsBuilder().setSession(Lists.newArrayList(updated, getMockSession(2L))).build())
+                .when(monitoringService).getSessions();
+        String xml = toXml();
+        assertThat(xml, containsString("<in-rpcs>5</in-rpcs>"));
+        assertThat(xml, containsString("<session-id>2</session-id>"));
+
+        doReturn(new SessionsBuilder().setSession(Lists.newArrayList(getMockSession(2L))).build())
+                .when(monitoringService).getSessions();
+        xml = toXml();
+        assertThat(xml, not(containsString("<session-id>1</session-id>")));
+        assertThat(xml, containsString("<session-id>2</session-id>"));
+        // Schemas are serialized once for all of the requests
+        verify(monitoringService, times(1)).getSchemas();
+    }
+
+    private String toXml() throws Exception {
+        final Document document = XmlUtil.newDocument();
+        document.appendChild(stateCache.toXml(document));
+        return XmlUtil.toString(document);
+    }
+
+    private static Schemas getSchemas(final String identifier) {
+        final Schema schema = mock(Schema.class);
+        doReturn(Yang.class).when(schema).getFormat();
+        doReturn(identifier).when(schema).getIdentifier();
+        doReturn(new Uri("localhost")).when(schema).getNamespace();
+        doReturn("").when(schema).getVersion();
+        doReturn(Lists.newArrayList(new Schema.Location(Schema.Location.Enumeration.NETCONF)))
+                .when(schema).getLocation();
+        return new SchemasBuilder().setSchema(Lists.newArrayList(schema)).build();
+    }
+
+    private static Session getMockSession(final long sessionId) {
+        final Session mocked = mock(Session.class);
+        doReturn(sessionId).when(mocked).getSessionId();
+        doReturn(new Host(new IpAddress(new Ipv4Address("192.168.1.1")))).when(mocked).getSourceHost();
+        doReturn(new DateAndTime("2010-10-10T12:32:32Z")).when(mocked).getLoginTime();
+        doReturn(new ZeroBasedCounter32(0L)).when(mocked).getInBadRpcs();
+        doReturn(new ZeroBasedCounter32(0L)).when(mocked).getInRpcs();
+        doReturn(new ZeroBasedCounter32(0L)).when(mocked).getOutNotifications();
+        doReturn(new ZeroBasedCounter32(0L)).when(mocked).getOutRpcErrors();
+        doReturn(NetconfSsh.class).when(mocked).getTransport();
+        doReturn("username").when(mocked).getUsername();
+        final Session1 session1 = mock(Session1.class);
+        doReturn("client").when(session1).getSessionIdentifier();
+        doReturn(session1).when(mocked).getAugmentation(Session1.class);
+        return mocked;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.SchemasBuilder;
+
+public class SchemaCacheTest {
+
+    private static final Optional<String> REVISION = Optional.of("2010-09-24");
+
+    private NetconfMonitoringService monitoringService;
+
+    @Before
+    public void setUp() throws Exception {
+        monitoringService = mock(NetconfMonitoringService.class);
+        doReturn("module a {}").when(monitoringService).getSchemaForCapability("a", REVISION);
+        doReturn("module a {} // latest").when(monitoringService).getSchemaForCapability("a", Optional.absent());
+    }
+
+    @Test
+    public void testCachedSchema() throws Exception {
+        final SchemaCache cache = new SchemaCache(monitoringService);
+        assertEquals("module a {}", cache.getSchema("a", REVISION));
+        assertEquals("module a {}", cache.getSchema("a", REVISION));
+        assertEquals("module a {} // latest", cache.getSchema("a", Optional.absent()));
+        verify(monitoringService, times(1)).getSchemaForCapability("a", REVISION);
+        verify(monitoringService, times(1)).getSchemaForCapability("a", Optional.absent());
+    }
+
+    @Test
+    public void testInvalidateOnSchemasChanged() throws Exception {
+        final SchemaCache cache = new SchemaCache(monitoringService);
+        assertEquals("module a {}", cache.getSchema("a", REVISION));
+
+        doReturn("module a { leaf b; }").when(monitoringService).getSchemaForCapability("a", REVISION);
+        cache.onSchemasChanged(new SchemasBuilder().build());
+        assertEquals("module a { leaf b; }", cache.getSchema("a", REVISION));
+        verify(monitoringService, times(2)).getSchemaForCapability("a", REVISION);
+    }
+
+    @Test
+    public void testFailureNotCached() throws Exception {
+        doThrow(IllegalStateException.class).when(monitoringService).getSchemaForCapability("b", REVISION);
+        final SchemaCache cache = new SchemaCache(monitoringService);
+        try {
+            cache.getSchema("b", REVISION);
+            fail("Missing schema should fail");
+        } catch (final IllegalStateException e) {
+            // expected
+        }
+
+        doReturn("module b {}").when(monitoringService).getSchemaForCapability("b", REVISION);
+        assertEquals("module b {}", cache.getSchema("b", REVISION));
+    }
+}
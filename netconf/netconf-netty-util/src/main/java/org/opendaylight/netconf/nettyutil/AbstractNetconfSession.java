@@ -16,15 +16,26 @@ import io.netty.handler.codec.MessageToByteEncoder;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.netconf.api.NetconfExiSession;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfSession;
 import org.opendaylight.netconf.api.NetconfSessionListener;
 import org.opendaylight.netconf.api.NetconfTerminationReason;
+import org.opendaylight.netconf.api.StreamedNetconfMessage;
+import org.opendaylight.netconf.nettyutil.handler.ChunkedFramingMechanismEncoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfEXICodec;
 import org.opendaylight.netconf.nettyutil.handler.NetconfEXIToMessageDecoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToEXIEncoder;
+import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.nettyutil.handler.exi.EXIParameters;
 import org.opendaylight.protocol.framework.AbstractProtocolSession;
 import org.openexi.proc.common.EXIOptionsException;
@@ -35,6 +46,19 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractNetconfSession<S extends NetconfSession,L extends NetconfSessionListener<S>>
         extends AbstractProtocolSession<NetconfMessage> implements NetconfSession, NetconfExiSession {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractNetconfSession.class);
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY;
+
+    /**
+     * Maximum time a streamed message waits for the peer to read its previous parts. The session is closed once
+     * it elapses, so that a peer which stopped reading does not hold the streaming thread.
+     */
+    private static final long STREAMING_WRITE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    static {
+        XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+        XML_OUTPUT_FACTORY.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
+    }
+
     private final L sessionListener;
     private final long sessionId;
     private boolean up = false;
@@ -43,6 +67,11 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
 
     private final Channel channel;
 
+    private final Object streamingLock = new Object();
+
+    @GuardedBy("streamingLock")
+    private Queue<Runnable> deferredWrites;
+
     protected AbstractNetconfSession(final L sessionListener, final Channel channel, final long sessionId) {
         this.sessionListener = sessionListener;
         this.channel = channel;
@@ -67,6 +96,10 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
 
     @Override
     public ChannelFuture sendMessage(final NetconfMessage netconfMessage) {
+        if (netconfMessage instanceof StreamedNetconfMessage && isStreamingSupported() && startStreaming()) {
+            return streamMessage((StreamedNetconfMessage) netconfMessage);
+        }
+
         // From: https://github.com/netty/netty/issues/3887
         // Netty can provide "ordering" in the following situations:
         // 1. You are doing all writes from the EventLoop thread; OR
@@ -76,7 +109,7 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
         // and one of these was executed from a restconf thread thus breaking ordering so
         // we need to execute all messages from an EventLoop thread.
         final DefaultChannelPromise proxyFuture = new DefaultChannelPromise(channel);
-        channel.eventLoop().execute(new Runnable() {
+        final Runnable write = new Runnable() {
             @Override
             public void run() {
                 final ChannelFuture future = channel.writeAndFlush(netconfMessage);
@@ -95,11 +128,79 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
                     delayedEncoder = null;
                 }
             }
-        });
+        };
 
+        synchronized (streamingLock) {
+            if (deferredWrites != null) {
+                // A message is being streamed, this one cannot be written before it is complete
+                deferredWrites.add(write);
+                return proxyFuture;
+            }
+        }
+        channel.eventLoop().execute(write);
         return proxyFuture;
     }
 
+    /**
+     * Enable or disable reading from the channel of this session. Messages which were already read from the channel
+     * are still delivered to the session listener. Safe to invoke from any thread.
+     *
+     * @param autoRead false to stop reading from the channel
+     */
+    public void setAutoRead(final boolean autoRead) {
+        channel.config().setAutoRead(autoRead);
+    }
+
+    /**
+     * Check whether a {@link StreamedNetconfMessage} sent from the current thread would be streamed. Streaming is
+     * supported with XML encoding only and it must not block the event loop of the channel.
+     *
+     * @return true if streamed messages are written directly to the channel
+     */
+    public boolean isStreamingSupported() {
+        if (channel.eventLoop().inEventLoop() || delayedEncoder != null) {
+            return false;
+        }
+        final ChannelHandler encoder = channel.pipeline().get(AbstractChannelInitializer.NETCONF_MESSAGE_ENCODER);
+        return encoder != null && encoder.getClass().equals(NetconfMessageToXMLEncoder.class);
+    }
+
+    private boolean startStreaming() {
+        synchronized (streamingLock) {
+            if (deferredWrites != null) {
+                return false;
+            }
+            deferredWrites = new ArrayDeque<>();
+            return true;
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private ChannelFuture streamMessage(final StreamedNetconfMessage message) {
+        LOG.trace("Session {} streaming message {}", this, message);
+        try (ChunkedMessageOutputStream out = new ChunkedMessageOutputStream(channel,
+                ChunkedFramingMechanismEncoder.DEFAULT_CHUNK_SIZE, STREAMING_WRITE_TIMEOUT_MILLIS)) {
+            final XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(out,
+                    StandardCharsets.UTF_8.name());
+            message.writeTo(writer, out);
+            writer.close();
+            return out.finish();
+        } catch (final XMLStreamException | IOException | RuntimeException e) {
+            // Part of the message may have been written already, the session cannot recover from broken framing
+            LOG.warn("Session {} failed to stream message, closing the session", this, e);
+            channel.close();
+            return channel.newFailedFuture(e);
+        } finally {
+            // Deferred writes are scheduled under the lock, so that they are not overtaken by new messages
+            synchronized (streamingLock) {
+                for (final Runnable write : deferredWrites) {
+                    channel.eventLoop().execute(write);
+                }
+                deferredWrites = null;
+            }
+        }
+    }
+
     @Override
     protected void endOfInput() {
         LOG.debug("Session {} end of input detected while session was in state {}", toString(), isUp() ? "up"
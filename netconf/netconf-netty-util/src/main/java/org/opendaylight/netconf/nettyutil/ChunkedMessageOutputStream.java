@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.nettyutil;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.opendaylight.netconf.nettyutil.handler.NetconfMessageChunk;
+
+/**
+ * Output stream writing a single message to the channel in parts of a fixed size. Once the channel is not writable,
+ * the writing thread waits for the last part to be written, so that only a bounded amount of the message is held
+ * in memory. The wait is bounded as well, a peer which stops reading fails the write with an {@link IOException}
+ * once the write timeout elapses. It must not be used from the event loop of the channel.
+ */
+final class ChunkedMessageOutputStream extends OutputStream {
+    private final Channel channel;
+    private final int chunkSize;
+    private final long writeTimeoutMillis;
+
+    private ByteBuf buffer;
+    private ChannelFuture lastWrite;
+
+    ChunkedMessageOutputStream(final Channel channel, final int chunkSize, final long writeTimeoutMillis) {
+        this.channel = channel;
+        this.chunkSize = chunkSize;
+        this.writeTimeoutMillis = writeTimeoutMillis;
+    }
+
+    @Override
+    public void write(final int byteValue) throws IOException {
+        ensureBuffer().writeByte(byteValue);
+        if (!buffer.isWritable()) {
+            sendChunk(false);
+        }
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int off, final int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            final ByteBuf current = ensureBuffer();
+            final int xfer = Math.min(remaining, current.writableBytes());
+            current.writeBytes(bytes, offset, xfer);
+            offset += xfer;
+            remaining -= xfer;
+            if (!current.isWritable()) {
+                sendChunk(false);
+            }
+        }
+    }
+
+    /**
+     * Send the rest of the message as its last part.
+     *
+     * @return future completed once the whole message is written
+     * @throws IOException if the channel failed
+     */
+    ChannelFuture finish() throws IOException {
+        sendChunk(true);
+        return lastWrite;
+    }
+
+    @Override
+    public void close() {
+        if (buffer != null) {
+            buffer.release();
+            buffer = null;
+        }
+    }
+
+    private ByteBuf ensureBuffer() {
+        if (buffer == null) {
+            buffer = channel.alloc().buffer(chunkSize, chunkSize);
+        }
+        return buffer;
+    }
+
+    private void sendChunk(final boolean last) throws IOException {
+        if (lastWrite != null && lastWrite.isDone() && !lastWrite.isSuccess()) {
+            throw new IOException("Failed to write message to " + channel, lastWrite.cause());
+        }
+
+        final ByteBuf content = buffer != null ? buffer : Unpooled.EMPTY_BUFFER;
+        buffer = null;
+        lastWrite = channel.writeAndFlush(new NetconfMessageChunk(content, last));
+
+        if (!last && !channel.isWritable()) {
+            // Let the transport catch up before producing more data
+            if (!lastWrite.awaitUninterruptibly(writeTimeoutMillis)) {
+                throw new IOException("Timed out after " + writeTimeoutMillis + "ms writing message to " + channel);
+            }
+            if (!lastWrite.isSuccess()) {
+                throw new IOException("Failed to write message to " + channel, lastWrite.cause());
+            }
+        }
+    }
+}
@@ -11,6 +11,7 @@ package org.opendaylight.netconf.nettyutil.handler;
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.nio.charset.StandardCharsets;
 import org.opendaylight.netconf.util.messages.NetconfMessageConstants;
@@ -39,15 +40,44 @@ public class ChunkedFramingMechanismEncoder extends MessageToByteEncoder<ByteBuf
     @Override
     protected void encode(final ChannelHandlerContext ctx, final ByteBuf msg, final ByteBuf out)  {
         do {
-            final int xfer = Math.min(chunkSize, msg.readableBytes());
-
-            out.writeBytes(NetconfMessageConstants.START_OF_CHUNK);
-            out.writeBytes(String.valueOf(xfer).getBytes(StandardCharsets.US_ASCII));
-            out.writeByte('\n');
-
-            out.writeBytes(msg, xfer);
+            writeChunk(msg, out);
         } while (msg.isReadable());
 
         out.writeBytes(NetconfMessageConstants.END_OF_CHUNK);
     }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+            throws Exception {
+        if (!(msg instanceof NetconfMessageChunk)) {
+            super.write(ctx, msg, promise);
+            return;
+        }
+
+        // Part of a streamed message, the message is terminated by its last part
+        final NetconfMessageChunk chunk = (NetconfMessageChunk) msg;
+        final ByteBuf content = chunk.getContent();
+        final ByteBuf out = ctx.alloc().buffer(content.readableBytes() + 32);
+        try {
+            while (content.isReadable()) {
+                writeChunk(content, out);
+            }
+        } finally {
+            content.release();
+        }
+        if (chunk.isLast()) {
+            out.writeBytes(NetconfMessageConstants.END_OF_CHUNK);
+        }
+        ctx.write(out, promise);
+    }
+
+    private void writeChunk(final ByteBuf msg, final ByteBuf out) {
+        final int xfer = Math.min(chunkSize, msg.readableBytes());
+
+        out.writeBytes(NetconfMessageConstants.START_OF_CHUNK);
+        out.writeBytes(String.valueOf(xfer).getBytes(StandardCharsets.US_ASCII));
+        out.writeByte('\n');
+
+        out.writeBytes(msg, xfer);
+    }
 }
@@ -10,6 +10,7 @@ package org.opendaylight.netconf.nettyutil.handler;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import org.opendaylight.netconf.util.messages.NetconfMessageConstants;
 
@@ -19,4 +20,31 @@ public class EOMFramingMechanismEncoder extends MessageToByteEncoder<ByteBuf> {
         out.writeBytes(msg);
         out.writeBytes(NetconfMessageConstants.END_OF_MESSAGE);
     }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+            throws Exception {
+        if (!(msg instanceof NetconfMessageChunk)) {
+            super.write(ctx, msg, promise);
+            return;
+        }
+
+        // Part of a streamed message, the message is terminated by its last part
+        final NetconfMessageChunk chunk = (NetconfMessageChunk) msg;
+        if (!chunk.isLast()) {
+            ctx.write(chunk.getContent(), promise);
+            return;
+        }
+
+        final ByteBuf content = chunk.getContent();
+        final ByteBuf out = ctx.alloc().buffer(
+                content.readableBytes() + NetconfMessageConstants.END_OF_MESSAGE.length);
+        try {
+            out.writeBytes(content);
+        } finally {
+            content.release();
+        }
+        out.writeBytes(NetconfMessageConstants.END_OF_MESSAGE);
+        ctx.write(out, promise);
+    }
 }
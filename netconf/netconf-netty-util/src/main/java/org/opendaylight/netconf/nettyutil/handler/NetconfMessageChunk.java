@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.nettyutil.handler;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Part of a serialized message written to the channel before the message is complete. Framing encoders frame
+ * the parts of a single message as if they were one message, the message ends with the last part.
+ */
+public final class NetconfMessageChunk {
+    private final ByteBuf content;
+    private final boolean last;
+
+    public NetconfMessageChunk(final ByteBuf content, final boolean last) {
+        this.content = Preconditions.checkNotNull(content);
+        this.last = last;
+    }
+
+    /**
+     * Return serialized content of this part. The framing encoder releases it once it is written.
+     *
+     * @return content
+     */
+    public ByteBuf getContent() {
+        return content;
+    }
+
+    public boolean isLast() {
+        return last;
+    }
+}
@@ -13,6 +13,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufOutputStream;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
@@ -21,9 +22,11 @@ import javax.xml.transform.TransformerException;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.SharedMessageEncoding;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Comment;
+import org.w3c.dom.Document;
 
 public class NetconfMessageToXMLEncoder extends MessageToByteEncoder<NetconfMessage> {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfMessageToXMLEncoder.class);
@@ -47,17 +50,36 @@ public class NetconfMessageToXMLEncoder extends MessageToByteEncoder<NetconfMess
         if (clientId.isPresent()) {
             Comment comment = msg.getDocument().createComment("clientId:" + clientId.get());
             msg.getDocument().appendChild(comment);
+        } else {
+            // Messages sent to many sessions are encoded only once
+            final Optional<SharedMessageEncoding> shared = SharedMessageEncoding.forMessage(msg);
+            if (shared.isPresent()) {
+                out.writeBytes(shared.get().getEncoded(msg.getDocument(), NetconfMessageToXMLEncoder::encodeDocument));
+                return;
+            }
         }
 
         try (OutputStream os = new ByteBufOutputStream(out)) {
-            // Wrap OutputStreamWriter with BufferedWriter as suggested in javadoc for OutputStreamWriter
-
-            // Using custom BufferedWriter that does not provide newLine method as performance improvement
-            // see javadoc for BufferedWriter
-            StreamResult result =
-                    new StreamResult(new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8)));
-            DOMSource source = new DOMSource(msg.getDocument());
-            ThreadLocalTransformers.getPrettyTransformer().transform(source, result);
+            writeDocument(msg.getDocument(), os);
         }
     }
+
+    private static byte[] encodeDocument(final Document document) throws IOException, TransformerException {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        writeDocument(document, os);
+        return os.toByteArray();
+    }
+
+    private static void writeDocument(final Document document, final OutputStream os)
+            throws IOException, TransformerException {
+        // Wrap OutputStreamWriter with BufferedWriter as suggested in javadoc for OutputStreamWriter
+
+        // Using custom BufferedWriter that does not provide newLine method as performance improvement
+        // see javadoc for BufferedWriter
+        final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+        StreamResult result = new StreamResult(writer);
+        DOMSource source = new DOMSource(document);
+        ThreadLocalTransformers.getPrettyTransformer().transform(source, result);
+        writer.flush();
+    }
 }
@@ -192,6 +192,11 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
             public void onMessageRead(final ByteBuf msg) {
                 ctx.fireChannelRead(msg);
             }
+
+            @Override
+            public boolean continueReading() {
+                return ctx.channel().config().isAutoRead();
+            }
         }, channel.toString(), channel.getAsyncOut());
 
         // if readAsyncListener receives immediate close,
@@ -202,6 +207,15 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
         }
     }
 
+    @Override
+    public synchronized void read(final ChannelHandlerContext ctx) {
+        // Invoked when auto read is turned back on, resume reading from SSH if it was paused
+        if (sshReadAsyncListener != null) {
+            sshReadAsyncListener.resume();
+        }
+        ctx.read();
+    }
+
     private synchronized void handleSshSetupFailure(final ChannelHandlerContext ctx, final Throwable error) {
         LOG.warn("Unable to setup SSH connection on channel: {}", ctx.channel(), error);
 
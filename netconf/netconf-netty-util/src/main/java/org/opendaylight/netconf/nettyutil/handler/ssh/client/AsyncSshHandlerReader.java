@@ -19,7 +19,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Listener on async input stream from SSH session.
- * This listeners schedules reads in a loop until the session is closed or read fails.
+ * This listeners schedules reads in a loop until the session is closed or read fails. The loop pauses while
+ * {@link ReadMsgHandler#continueReading()} returns false and continues once {@link #resume()} is invoked.
  */
 public final class AsyncSshHandlerReader implements SshFutureListener<IoReadFuture>, AutoCloseable {
 
@@ -34,6 +35,7 @@ public final class AsyncSshHandlerReader implements SshFutureListener<IoReadFutu
     private IoInputStream asyncOut;
     private Buffer buf;
     private IoReadFuture currentReadFuture;
+    private boolean paused;
 
     public AsyncSshHandlerReader(final AutoCloseable connectionClosedCallback, final ReadMsgHandler readHandler,
                                  final String channelId, final IoInputStream asyncOut) {
@@ -72,13 +74,32 @@ public final class AsyncSshHandlerReader implements SshFutureListener<IoReadFutu
             }
             readHandler.onMessageRead(msg);
 
-            // Schedule next read
-            buf = new Buffer(BUFFER_SIZE);
-            currentReadFuture = asyncOut.read(buf);
-            currentReadFuture.addListener(this);
+            if (readHandler.continueReading()) {
+                scheduleRead();
+            } else {
+                LOG.trace("Reading paused on channel: {}", channelId);
+                paused = true;
+            }
+        }
+    }
+
+    /**
+     * Continue reading from the SSH session, if the read loop was paused.
+     */
+    public synchronized void resume() {
+        if (paused && asyncOut != null) {
+            LOG.trace("Reading resumed on channel: {}", channelId);
+            paused = false;
+            scheduleRead();
         }
     }
 
+    private void scheduleRead() {
+        buf = new Buffer(BUFFER_SIZE);
+        currentReadFuture = asyncOut.read(buf);
+        currentReadFuture.addListener(this);
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
     private void invokeDisconnect() {
         try {
@@ -103,5 +124,14 @@ public final class AsyncSshHandlerReader implements SshFutureListener<IoReadFutu
     public interface ReadMsgHandler {
 
         void onMessageRead(ByteBuf msg);
+
+        /**
+         * Check whether the next read should be scheduled right after a message was handled.
+         *
+         * @return false to pause reading until {@link AsyncSshHandlerReader#resume()} is invoked
+         */
+        default boolean continueReading() {
+            return true;
+        }
     }
 }
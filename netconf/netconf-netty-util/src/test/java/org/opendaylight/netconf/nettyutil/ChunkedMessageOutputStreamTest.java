@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.nettyutil;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.DefaultChannelPromise;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import java.io.IOException;
+import org.junit.Test;
+
+public class ChunkedMessageOutputStreamTest {
+
+    @Test
+    public void testWriteTimeout() {
+        final Channel channel = mock(Channel.class);
+        doReturn(UnpooledByteBufAllocator.DEFAULT).when(channel).alloc();
+        doReturn(false).when(channel).isWritable();
+        // The peer never reads, so the write never completes
+        doReturn(new DefaultChannelPromise(channel, GlobalEventExecutor.INSTANCE)).when(channel).writeAndFlush(any());
+
+        try (ChunkedMessageOutputStream out = new ChunkedMessageOutputStream(channel, 4, 10)) {
+            out.write(new byte[] {1, 2, 3, 4, 5});
+            fail("Write should have timed out");
+        } catch (final IOException e) {
+            assertTrue(e.getMessage().startsWith("Timed out"));
+        }
+        verify(channel, times(1)).writeAndFlush(any());
+    }
+}
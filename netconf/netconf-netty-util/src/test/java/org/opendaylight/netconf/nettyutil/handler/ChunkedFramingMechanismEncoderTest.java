@@ -10,14 +10,23 @@ package org.opendaylight.netconf.nettyutil.handler;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -61,6 +70,26 @@ public class ChunkedFramingMechanismEncoderTest {
         assertTrue(string.endsWith("\n#20\naaaaaaaaaaaaaaaaaaaa\n##\n"));
     }
 
+    @Test
+    public void testEncodeMessageChunks() throws Exception {
+        final ChunkedFramingMechanismEncoder encoder = new ChunkedFramingMechanismEncoder(chunkSize);
+        doReturn(UnpooledByteBufAllocator.DEFAULT).when(ctx).alloc();
+        final ChannelPromise promise = mock(ChannelPromise.class);
+
+        encoder.write(ctx, new NetconfMessageChunk(Unpooled.wrappedBuffer(getByteArray(chunkSize + 10)), false),
+                promise);
+        encoder.write(ctx, new NetconfMessageChunk(Unpooled.wrappedBuffer(getByteArray(5)), true), promise);
+
+        final ArgumentCaptor<ByteBuf> captor = ArgumentCaptor.forClass(ByteBuf.class);
+        verify(ctx, times(2)).write(captor.capture(), any(ChannelPromise.class));
+        final List<ByteBuf> written = captor.getAllValues();
+
+        final String first = written.get(0).toString(StandardCharsets.US_ASCII);
+        assertTrue(first.startsWith("\n#256\na"));
+        assertTrue(first.endsWith("\n#10\naaaaaaaaaa"));
+        assertEquals("\n#5\naaaaa\n##\n", written.get(1).toString(StandardCharsets.US_ASCII));
+    }
+
     private static byte[] getByteArray(final int size) {
         final byte[] bytes = new byte[size];
         for (int i = 0; i < size; i++) {
@@ -8,6 +8,8 @@
 
 package org.opendaylight.netconf.notifications;
 
+import com.google.common.base.Optional;
+import java.util.Date;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.StreamNameType;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netmod.notification.rev080714.netconf.Streams;
 
@@ -19,6 +21,19 @@ public interface NetconfNotificationRegistry {
     NotificationListenerRegistration registerNotificationListener(StreamNameType stream,
                                                                   NetconfNotificationListener listener);
 
+    /**
+     * Add listener for a certain notification type, which first receives notifications logged since the start time.
+     * If the stop time is present, the listener is unregistered once it received notifications up to the stop time.
+     */
+    NotificationListenerRegistration registerNotificationListener(StreamNameType stream,
+                                                                  NetconfNotificationReplayListener listener,
+                                                                  Date startTime, Optional<Date> stopTime);
+
+    /**
+     * Check whether notifications of a stream can be replayed.
+     */
+    boolean isReplaySupported(StreamNameType streamNameType);
+
     /**
      * Check stream availability.
      */
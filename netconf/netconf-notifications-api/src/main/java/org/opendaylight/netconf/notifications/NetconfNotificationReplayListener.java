@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.notifications;
+
+/**
+ * Listener for netconf notifications, which receives logged notifications before the live ones, see
+ * <a href="https://tools.ietf.org/html/rfc5277#section-2.1.1">rfc5277</a>.
+ */
+public interface NetconfNotificationReplayListener extends NetconfNotificationListener {
+
+    /**
+     * Callback used to notify the listener that all logged notifications were replayed.
+     */
+    void onReplayComplete();
+
+    /**
+     * Callback used to notify the listener that all notifications up to the stop time were delivered. The listener
+     * does not receive any more notifications.
+     */
+    void onNotificationComplete();
+
+}
@@ -8,23 +8,37 @@
 
 package org.opendaylight.netconf.notifications.impl;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.netconf.api.SharedMessageEncoding;
 import org.opendaylight.netconf.notifications.BaseNotificationPublisherRegistration;
 import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.netconf.notifications.NetconfNotificationCollector;
 import org.opendaylight.netconf.notifications.NetconfNotificationListener;
 import org.opendaylight.netconf.notifications.NetconfNotificationRegistry;
+import org.opendaylight.netconf.notifications.NetconfNotificationReplayListener;
 import org.opendaylight.netconf.notifications.NotificationListenerRegistration;
 import org.opendaylight.netconf.notifications.NotificationPublisherRegistration;
 import org.opendaylight.netconf.notifications.NotificationRegistration;
@@ -38,11 +52,18 @@ import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netmod.notification.r
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.notifications.rev120206.NetconfCapabilityChange;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.notifications.rev120206.NetconfSessionEnd;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.notifications.rev120206.NetconfSessionStart;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.DateAndTime;
 import org.opendaylight.yangtools.yang.binding.Notification;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Routes notifications from publishers to registered listeners. Publishers never call listeners directly, every
+ * listener has a bounded queue of notifications, which is delivered to it by a dedicated pool of threads. A listener
+ * which does not keep up with its notifications is considered a slow consumer and is handled according to
+ * the configured {@link SlowConsumerPolicy}.
+ */
 @ThreadSafe
 public class NetconfNotificationManager implements NetconfNotificationCollector, NetconfNotificationRegistry,
         NetconfNotificationListener, AutoCloseable {
@@ -59,16 +80,62 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
                 .build();
     }
 
+    public static final int DEFAULT_MAX_QUEUED_NOTIFICATIONS = 1024;
+
+    private static final int DELIVERY_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    // Expires notifications from an idle replay log
+    private static final long REPLAY_LOG_EXPIRY_SECONDS = 10;
+
     private static final Logger LOG = LoggerFactory.getLogger(NetconfNotificationManager.class);
 
-    // TODO excessive synchronization provides thread safety but is most likely not optimal
-    // (combination of concurrent collections might improve performance)
-    // And also calling callbacks from a synchronized block is dangerous
-    // since the listeners/publishers can block the whole notification processing
+    /**
+     * Handling of listeners, whose queue of notifications is full.
+     */
+    public enum SlowConsumerPolicy {
+        /**
+         * Drop notifications, which do not fit into the queue of the listener.
+         */
+        DROP,
+        /**
+         * Unregister the listener and terminate its subscription.
+         */
+        DISCONNECT
+    }
 
-    @GuardedBy("this")
-    private final Multimap<StreamNameType, GenericNotificationListenerReg> notificationListeners =
-            HashMultimap.create();
+    /**
+     * Listener, which delivers notifications asynchronously. The manager does not hand it the next notification
+     * until the delivery of the previous one completed, so a listener which does not keep up accumulates
+     * notifications in its queue, without holding a delivery thread.
+     */
+    public interface AsyncNotificationListener extends NetconfNotificationListener {
+
+        /**
+         * Callback used to deliver a notification.
+         *
+         * @param stream stream of the notification
+         * @param notification notification to deliver
+         * @param completion run once the notification was delivered, successfully or not. It is not run if this
+         *                   method throws.
+         */
+        void onNotification(StreamNameType stream, NetconfNotification notification, Runnable completion);
+    }
+
+    /**
+     * Listener, which is told when its subscription is terminated by the manager because it did not keep up with
+     * its notifications.
+     */
+    public interface SubscriptionListener extends NetconfNotificationListener {
+
+        /**
+         * Callback invoked once the listener was unregistered as a slow consumer.
+         */
+        void onSubscriptionTerminated();
+    }
+
+    // Copy-on-write, so that publishers iterate listeners without any locking. Listeners are registered rarely
+    // compared to the notifications being published.
+    private final Set<GenericNotificationListenerReg> notificationListeners = new CopyOnWriteArraySet<>();
 
     @GuardedBy("this")
     private final Set<NetconfNotificationStreamListener> streamListeners = Sets.newHashSet();
@@ -82,20 +149,75 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
     @GuardedBy("this")
     private final Set<GenericNotificationPublisherReg> notificationPublishers = Sets.newHashSet();
 
+    private final ExecutorService deliveryExecutor;
+    private final int maxQueuedNotifications;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final Optional<NotificationReplayLog> replayLog;
+    // Ends subscriptions with a stop time and expires the replay log, present only with the replay log
+    private final ScheduledExecutorService replayTimer;
+
+    public NetconfNotificationManager() {
+        this(DEFAULT_MAX_QUEUED_NOTIFICATIONS, SlowConsumerPolicy.DROP);
+    }
+
+    /**
+     * Create a new manager without replay support.
+     *
+     * @param maxQueuedNotifications maximum number of notifications queued for a single listener
+     * @param slowConsumerPolicy handling of listeners, whose queue is full
+     */
+    public NetconfNotificationManager(final int maxQueuedNotifications, final SlowConsumerPolicy slowConsumerPolicy) {
+        this(maxQueuedNotifications, slowConsumerPolicy, Optional.absent());
+    }
+
+    /**
+     * Create a new manager.
+     *
+     * @param maxQueuedNotifications maximum number of notifications queued for a single listener
+     * @param slowConsumerPolicy handling of listeners, whose queue is full
+     * @param replayLog log of the base stream used to replay notifications, absent if replay is not supported
+     */
+    public NetconfNotificationManager(final int maxQueuedNotifications, final SlowConsumerPolicy slowConsumerPolicy,
+                                      final Optional<NotificationReplayLog> replayLog) {
+        Preconditions.checkArgument(maxQueuedNotifications > 0, "Notification queue depth has to be positive");
+        this.maxQueuedNotifications = maxQueuedNotifications;
+        this.slowConsumerPolicy = Preconditions.checkNotNull(slowConsumerPolicy);
+        this.replayLog = Preconditions.checkNotNull(replayLog);
+        // Listeners are handed one notification at a time and asynchronous listeners do not hold a thread while
+        // their notification is being sent, so a small pool serves all of them. Idle threads are released.
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(DELIVERY_THREADS, DELIVERY_THREADS, 60,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("netconf-notification-delivery-%d").setDaemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        deliveryExecutor = executor;
+        if (replayLog.isPresent()) {
+            replayTimer = Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("netconf-notification-replay-%d").setDaemon(true).build());
+            replayTimer.scheduleWithFixedDelay(replayLog.get()::expire, REPLAY_LOG_EXPIRY_SECONDS,
+                    REPLAY_LOG_EXPIRY_SECONDS, TimeUnit.SECONDS);
+        } else {
+            replayTimer = null;
+        }
+    }
+
     @Override
-    public synchronized void onNotification(final StreamNameType stream, final NetconfNotification notification) {
+    public void onNotification(final StreamNameType stream, final NetconfNotification notification) {
         LOG.debug("Notification of type {} detected", stream);
         if (LOG.isTraceEnabled()) {
             LOG.debug("Notification of type {} detected: {}", stream, notification);
         }
 
-        for (final GenericNotificationListenerReg listenerReg : notificationListeners.get(BASE_STREAM_NAME)) {
-            listenerReg.getListener().onNotification(BASE_STREAM_NAME, notification);
+        // Sessions receiving the notification unfiltered encode it only once
+        SharedMessageEncoding.share(notification);
+        // Replaying listeners use the sequence number to skip the notifications they read from the log
+        final long sequence = replayLog.isPresent() ? replayLog.get().append(notification) : 0;
+        for (final GenericNotificationListenerReg listenerReg : notificationListeners) {
+            listenerReg.enqueue(notification, sequence);
         }
     }
 
     @Override
-    public synchronized NotificationListenerRegistration registerNotificationListener(
+    public NotificationListenerRegistration registerNotificationListener(
             final StreamNameType stream,
             final NetconfNotificationListener listener) {
         Preconditions.checkNotNull(stream);
@@ -107,17 +229,56 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
                 new GenericNotificationListenerReg(listener) {
             @Override
             public void close() {
-                synchronized (NetconfNotificationManager.this) {
-                    LOG.trace("Notification listener unregistered for stream: {}", stream);
-                    super.close();
-                }
+                LOG.trace("Notification listener unregistered for stream: {}", stream);
+                super.close();
             }
         };
 
-        notificationListeners.put(BASE_STREAM_NAME, genericNotificationListenerReg);
+        notificationListeners.add(genericNotificationListenerReg);
         return genericNotificationListenerReg;
     }
 
+    @Override
+    public NotificationListenerRegistration registerNotificationListener(
+            final StreamNameType stream,
+            final NetconfNotificationReplayListener listener,
+            final Date startTime, final Optional<Date> stopTime) {
+        Preconditions.checkNotNull(listener);
+        Preconditions.checkArgument(isReplaySupported(stream), "Stream %s does not support replay", stream);
+        Preconditions.checkArgument(!stopTime.isPresent() || !stopTime.get().before(startTime),
+                "Stop time %s is before start time %s", stopTime, startTime);
+
+        LOG.trace("Notification listener registered for stream: {}, replaying since {}", stream, startTime);
+
+        final GenericNotificationListenerReg genericNotificationListenerReg;
+        final Date now = new Date();
+        // The read has to be atomic with the sequence number, see GenericNotificationListenerReg#catchUp()
+        synchronized (replayLog.get()) {
+            genericNotificationListenerReg = new GenericNotificationListenerReg(listener,
+                    replayLog.get().read(startTime, stopTime), replayLog.get().getLastSequence(), stopTime);
+            if (!stopTime.isPresent() || stopTime.get().after(now)) {
+                notificationListeners.add(genericNotificationListenerReg);
+            }
+        }
+
+        genericNotificationListenerReg.startReplay();
+        if (stopTime.isPresent()) {
+            try {
+                replayTimer.schedule(genericNotificationListenerReg::stop,
+                        Math.max(0, stopTime.get().getTime() - now.getTime()), TimeUnit.MILLISECONDS);
+            } catch (final RejectedExecutionException e) {
+                LOG.debug("Notification manager closed, not scheduling end of {}", listener, e);
+            }
+        }
+        return genericNotificationListenerReg;
+    }
+
+    @Override
+    public boolean isReplaySupported(final StreamNameType streamNameType) {
+        // All notifications are delivered to the base stream listeners and logged for the base stream
+        return replayLog.isPresent() && BASE_STREAM_NAME.equals(streamNameType);
+    }
+
     @Override
     public synchronized Streams getNotificationPublishers() {
         return new StreamsBuilder().setStream(Lists.newArrayList(streamMetadata.values())).build();
@@ -151,7 +312,7 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
     @Override
     public synchronized void close() {
         // Unregister all listeners
-        for (final GenericNotificationListenerReg genericNotificationListenerReg : notificationListeners.values()) {
+        for (final GenericNotificationListenerReg genericNotificationListenerReg : notificationListeners) {
             genericNotificationListenerReg.close();
         }
         notificationListeners.clear();
@@ -164,6 +325,11 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
 
         // Clear stream Listeners
         streamListeners.clear();
+
+        deliveryExecutor.shutdown();
+        if (replayTimer != null) {
+            replayTimer.shutdownNow();
+        }
     }
 
     @Override
@@ -180,7 +346,7 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
             LOG.warn("Notification stream {} already registered as: {}. Will be reused", streamName,
                     streamMetadata.get(streamName));
         } else {
-            streamMetadata.put(streamName, stream);
+            streamMetadata.put(streamName, withReplaySupport(stream));
         }
 
         availableStreams.add(streamName);
@@ -197,10 +363,21 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
 
         notificationPublishers.add(genericNotificationPublisherReg);
 
-        notifyStreamAdded(stream);
+        notifyStreamAdded(streamMetadata.get(streamName));
         return genericNotificationPublisherReg;
     }
 
+    private Stream withReplaySupport(final Stream stream) {
+        if (!isReplaySupported(stream.getName())) {
+            return stream;
+        }
+        return new StreamBuilder(stream)
+                .setReplaySupport(true)
+                .setReplayLogCreationTime(new DateAndTime(
+                        NetconfNotification.RFC3339_DATE_FORMATTER.apply(replayLog.get().getCreationTime())))
+                .build();
+    }
+
     private void unregisterNotificationPublisher(
             final StreamNameType streamName,
             final GenericNotificationPublisherReg genericNotificationPublisherReg) {
@@ -300,18 +477,244 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
 
     private class GenericNotificationListenerReg implements NotificationListenerRegistration {
         private final NetconfNotificationListener listener;
+        private final long stopTime;
+
+        // Logged notifications delivered before the live ones, accessed only by the delivery in progress
+        private Iterator<NetconfNotification> replay;
+
+        // While replaying, live notifications are not queued but read from the log once the replay gets to them,
+        // so that a long replay does not fill the queue. Live notifications up to the sequence number were read from
+        // the log and are skipped.
+        @GuardedBy("this")
+        private boolean replaying;
+        @GuardedBy("this")
+        private long replayedSequence = Long.MIN_VALUE;
+        @GuardedBy("this")
+        private final Queue<NetconfNotification> queue = new ArrayDeque<>();
+        @GuardedBy("this")
+        private boolean scheduled;
+        @GuardedBy("this")
+        private boolean closed;
+        @GuardedBy("this")
+        private boolean stopping;
+        @GuardedBy("this")
+        private long dropped;
 
         GenericNotificationListenerReg(final NetconfNotificationListener listener) {
             this.listener = listener;
+            this.stopTime = Long.MAX_VALUE;
+        }
+
+        GenericNotificationListenerReg(final NetconfNotificationReplayListener listener,
+                                       final Iterator<NetconfNotification> replay, final long replayedSequence,
+                                       final Optional<Date> stopTime) {
+            this.listener = listener;
+            this.replay = replay;
+            this.replaying = true;
+            this.replayedSequence = replayedSequence;
+            this.stopTime = stopTime.isPresent() ? stopTime.get().getTime() : Long.MAX_VALUE;
         }
 
         public NetconfNotificationListener getListener() {
             return listener;
         }
 
+        void startReplay() {
+            synchronized (this) {
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            schedule();
+        }
+
+        /**
+         * Stop time of the listener was reached, deliver the queued notifications and tell the listener
+         * the subscription is complete.
+         */
+        void stop() {
+            notificationListeners.remove(this);
+            synchronized (this) {
+                if (closed || stopping) {
+                    return;
+                }
+                stopping = true;
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            schedule();
+        }
+
+        void enqueue(final NetconfNotification notification, final long sequence) {
+            if (notification.getEventTime().getTime() > stopTime) {
+                stop();
+                return;
+            }
+
+            final boolean slowConsumer;
+            synchronized (this) {
+                if (closed || stopping || replaying || sequence <= replayedSequence) {
+                    return;
+                }
+                if (queue.size() >= maxQueuedNotifications) {
+                    if (slowConsumerPolicy == SlowConsumerPolicy.DROP) {
+                        if (dropped++ == 0) {
+                            LOG.warn("Notification listener {} does not keep up, dropping notifications", listener);
+                        }
+                        return;
+                    }
+                    closed = true;
+                    queue.clear();
+                    slowConsumer = true;
+                } else {
+                    queue.add(notification);
+                    if (scheduled) {
+                        return;
+                    }
+                    scheduled = true;
+                    slowConsumer = false;
+                }
+            }
+
+            if (slowConsumer) {
+                LOG.warn("Notification listener {} does not keep up, terminating its subscription", listener);
+                terminate();
+            } else {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            try {
+                deliveryExecutor.execute(this::deliverNext);
+            } catch (final RejectedExecutionException e) {
+                LOG.debug("Notification manager closed, discarding notifications for {}", listener, e);
+                synchronized (this) {
+                    queue.clear();
+                    scheduled = false;
+                }
+            }
+        }
+
+        // Delivers a single notification and reschedules once it was delivered, so that a busy listener does not hold
+        // a thread forever
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        private void deliverNext() {
+            final NetconfNotification notification;
+            final boolean complete;
+            synchronized (this) {
+                if (closed) {
+                    scheduled = false;
+                    return;
+                }
+                if (replay != null) {
+                    notification = null;
+                    complete = false;
+                } else {
+                    notification = queue.poll();
+                    complete = notification == null && stopping;
+                    if (notification == null && !complete) {
+                        scheduled = false;
+                        return;
+                    }
+                    if (complete) {
+                        closed = true;
+                    }
+                }
+            }
+
+            NetconfNotification delivered = notification;
+            try {
+                if (complete) {
+                    LOG.debug("Notification listener {} reached its stop time", listener);
+                    ((NetconfNotificationReplayListener) listener).onNotificationComplete();
+                } else if (notification == null) {
+                    if (replay.hasNext()) {
+                        final NetconfNotification replayed = replay.next();
+                        delivered = replayed.getEventTime().getTime() <= stopTime ? replayed : null;
+                    } else if (!catchUp()) {
+                        replay = null;
+                        ((NetconfNotificationReplayListener) listener).onReplayComplete();
+                    }
+                }
+
+                if (delivered != null) {
+                    if (listener instanceof AsyncNotificationListener) {
+                        ((AsyncNotificationListener) listener).onNotification(BASE_STREAM_NAME, delivered,
+                                this::onDelivered);
+                        return;
+                    }
+                    listener.onNotification(BASE_STREAM_NAME, delivered);
+                }
+            } catch (final RuntimeException e) {
+                LOG.warn("Notification listener {} failed to process notification {}", listener, delivered, e);
+            }
+            onDelivered();
+        }
+
+        private void onDelivered() {
+            synchronized (this) {
+                if (replay == null && queue.isEmpty() && (closed || !stopping)) {
+                    if (dropped != 0) {
+                        LOG.info("Notification listener {} caught up, {} notifications were dropped", listener,
+                                dropped);
+                        dropped = 0;
+                    }
+                    scheduled = false;
+                    return;
+                }
+            }
+            schedule();
+        }
+
+        /**
+         * Continue the replay with the notifications logged since the replay started, or switch to live
+         * notifications if there are none. Both are done under the lock of the log, so that every notification is
+         * either read from the log or enqueued live.
+         *
+         * @return true if there are more notifications to replay
+         */
+        private boolean catchUp() {
+            final NotificationReplayLog log = replayLog.get();
+            synchronized (log) {
+                final long lastSequence = log.getLastSequence();
+                final long fromSequence;
+                synchronized (this) {
+                    // A stopping listener does not need notifications logged after its stop time
+                    if (lastSequence == replayedSequence || stopping) {
+                        replaying = false;
+                        replayedSequence = lastSequence;
+                        return false;
+                    }
+                    fromSequence = replayedSequence;
+                    replayedSequence = lastSequence;
+                }
+                replay = log.readAfter(fromSequence);
+                return true;
+            }
+        }
+
+        private void terminate() {
+            notificationListeners.remove(this);
+            if (listener instanceof SubscriptionListener) {
+                try {
+                    deliveryExecutor.execute(((SubscriptionListener) listener)::onSubscriptionTerminated);
+                } catch (final RejectedExecutionException e) {
+                    LOG.debug("Notification manager closed, not terminating subscription of {}", listener, e);
+                }
+            }
+        }
+
         @Override
         public void close() {
-            notificationListeners.remove(BASE_STREAM_NAME, this);
+            synchronized (this) {
+                closed = true;
+                queue.clear();
+            }
+            notificationListeners.remove(this);
         }
     }
 }
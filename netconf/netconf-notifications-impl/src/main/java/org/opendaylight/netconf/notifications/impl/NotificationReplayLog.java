@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.notifications.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.notifications.NetconfNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * Append-only log of notifications used to replay notifications to new subscriptions. Notifications are kept
+ * serialized in segments allocated outside of the heap. Each segment has an index of event times, so replay of
+ * a time range does not scan the whole log. Segments are discarded once the log exceeds its maximum number
+ * of segments or once all their notifications are older than the retention period. Expiry runs on every append and
+ * on every call of {@link #expire()}, so that an idle log does not keep expired notifications.
+ *
+ * <p>
+ * Segments are never overwritten, a replay in progress reads its notifications directly from the segments even
+ * if they were discarded from the log meanwhile. Every notification gets a sequence number when it is appended, so
+ * that a replay can continue with the notifications logged after it started.
+ */
+@ThreadSafe
+public final class NotificationReplayLog {
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationReplayLog.class);
+
+    // Event time and length of the notification content
+    private static final int RECORD_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private final int segmentSize;
+    private final int maxSegments;
+    private final long retentionMillis;
+    private final Date creationTime = new Date();
+
+    @GuardedBy("this")
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    @GuardedBy("this")
+    private long lastIndexTime = Long.MIN_VALUE;
+    @GuardedBy("this")
+    private long lastSequence;
+
+    /**
+     * Create a new log.
+     *
+     * @param segmentSize size of a segment in bytes
+     * @param maxSegments maximum number of segments kept in the log
+     * @param retentionMillis time for which notifications are kept in the log, 0 to keep them until the log is full
+     */
+    public NotificationReplayLog(final int segmentSize, final int maxSegments, final long retentionMillis) {
+        Preconditions.checkArgument(segmentSize > RECORD_HEADER_SIZE, "Segment size %s is too small", segmentSize);
+        Preconditions.checkArgument(maxSegments > 0, "Number of segments has to be positive");
+        Preconditions.checkArgument(retentionMillis >= 0, "Retention period cannot be negative");
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.retentionMillis = retentionMillis;
+    }
+
+    /**
+     * Get the time the log was created, reported as the replay log creation time of the stream.
+     *
+     * @return creation time of the log
+     */
+    public Date getCreationTime() {
+        return new Date(creationTime.getTime());
+    }
+
+    /**
+     * Append a notification to the log.
+     *
+     * @param notification notification to log
+     * @return sequence number of the notification in the log
+     */
+    public long append(final NetconfNotification notification) {
+        // Serialize outside of the lock, publishers only wait for the copy
+        final byte[] content = XmlUtil.toString(getContent(notification)).getBytes(StandardCharsets.UTF_8);
+        return append(notification.getEventTime().getTime(), content);
+    }
+
+    private synchronized long append(final long eventTime, final byte[] content) {
+        final int recordSize = RECORD_HEADER_SIZE + content.length;
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.buffer.remaining() < recordSize) {
+            segment = new Segment(Math.max(segmentSize, recordSize), lastSequence + 1);
+            segments.addLast(segment);
+        }
+
+        // Index has to be ordered even if the notifications are not published in the order of their event times
+        lastIndexTime = Math.max(lastIndexTime, eventTime);
+        segment.add(lastIndexTime, eventTime, content);
+        lastSequence++;
+
+        expire(System.currentTimeMillis());
+        return lastSequence;
+    }
+
+    /**
+     * Get the sequence number of the last notification appended to the log.
+     *
+     * @return sequence number of the last notification, 0 if nothing was logged yet
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Discard segments whose notifications are all older than the retention period.
+     */
+    public synchronized void expire() {
+        expire(System.currentTimeMillis());
+    }
+
+    @GuardedBy("this")
+    private void expire(final long now) {
+        while (segments.size() > maxSegments) {
+            segments.removeFirst();
+        }
+        if (retentionMillis != 0) {
+            while (!segments.isEmpty() && segments.peekFirst().lastIndexTime() < now - retentionMillis) {
+                segments.removeFirst();
+            }
+        }
+    }
+
+    @VisibleForTesting
+    synchronized boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * Read notifications logged in a time range. The notifications are parsed only once they are iterated over.
+     *
+     * @param startTime start of the range, inclusive
+     * @param stopTime end of the range, inclusive, absent to read notifications up to the end of the log
+     * @return notifications in the order they were logged
+     */
+    public synchronized Iterator<NetconfNotification> read(final Date startTime, final Optional<Date> stopTime) {
+        // Segments are expired as a whole, so their older notifications may have expired already
+        final long start = retentionMillis == 0 ? startTime.getTime()
+                : Math.max(startTime.getTime(), System.currentTimeMillis() - retentionMillis);
+        final long stop = stopTime.isPresent() ? stopTime.get().getTime() : Long.MAX_VALUE;
+
+        final List<SegmentRange> ranges = new ArrayList<>();
+        for (final Segment segment : segments) {
+            if (segment.count == 0 || segment.lastIndexTime() < start) {
+                continue;
+            }
+            if (segment.indexTimes[0] > stop) {
+                break;
+            }
+            final int from = segment.firstIndexAtOrAfter(start);
+            final int to = stop == Long.MAX_VALUE ? segment.count : segment.firstIndexAtOrAfter(stop + 1);
+            if (from < to) {
+                ranges.add(new SegmentRange(segment, from, to));
+            }
+        }
+        return new ReplayIterator(ranges);
+    }
+
+    /**
+     * Read notifications logged after a notification. The notifications are parsed only once they are iterated over.
+     *
+     * @param sequence sequence number of the last notification, which is not read
+     * @return notifications in the order they were logged
+     */
+    public synchronized Iterator<NetconfNotification> readAfter(final long sequence) {
+        final List<SegmentRange> ranges = new ArrayList<>();
+        for (final Segment segment : segments) {
+            final int from = (int) Math.max(0, sequence + 1 - segment.firstSequence);
+            if (from < segment.count) {
+                ranges.add(new SegmentRange(segment, from, segment.count));
+            }
+        }
+        if (!segments.isEmpty() && segments.peekFirst().firstSequence > sequence + 1) {
+            LOG.debug("Notifications {} to {} expired before they were read", sequence + 1,
+                    segments.peekFirst().firstSequence - 1);
+        }
+        return new ReplayIterator(ranges);
+    }
+
+    private static Element getContent(final NetconfNotification notification) {
+        for (Node child = notification.getDocument().getDocumentElement().getFirstChild(); child != null;
+                child = child.getNextSibling()) {
+            if (child instanceof Element && !(NetconfNotification.EVENT_TIME.equals(child.getLocalName())
+                    && NetconfNotification.NOTIFICATION_NAMESPACE.equals(child.getNamespaceURI()))) {
+                return (Element) child;
+            }
+        }
+        throw new IllegalArgumentException("Notification " + notification + " has no content");
+    }
+
+    private static final class Segment {
+        private final ByteBuffer buffer;
+        private final long firstSequence;
+        private long[] indexTimes = new long[64];
+        private int[] offsets = new int[64];
+        // Written under the lock of the log, read by replays which took their snapshot under the same lock
+        private int count;
+
+        Segment(final int size, final long firstSequence) {
+            buffer = ByteBuffer.allocateDirect(size);
+            this.firstSequence = firstSequence;
+        }
+
+        void add(final long indexTime, final long eventTime, final byte[] content) {
+            if (count == indexTimes.length) {
+                indexTimes = Arrays.copyOf(indexTimes, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            indexTimes[count] = indexTime;
+            offsets[count] = buffer.position();
+            buffer.putLong(eventTime).putInt(content.length).put(content);
+            count++;
+        }
+
+        long lastIndexTime() {
+            return count == 0 ? Long.MIN_VALUE : indexTimes[count - 1];
+        }
+
+        int firstIndexAtOrAfter(final long time) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (indexTimes[mid] < time) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static final class SegmentRange {
+        private final ByteBuffer buffer;
+        private final int[] offsets;
+        private final int from;
+        private final int to;
+
+        SegmentRange(final Segment segment, final int from, final int to) {
+            // Own view of the segment, the log keeps appending to its buffer
+            this.buffer = segment.buffer.duplicate();
+            this.offsets = segment.offsets;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private static final class ReplayIterator extends AbstractIterator<NetconfNotification> {
+        private final Iterator<SegmentRange> ranges;
+        private SegmentRange current;
+        private int next;
+
+        ReplayIterator(final List<SegmentRange> ranges) {
+            this.ranges = ranges.iterator();
+        }
+
+        @Override
+        protected NetconfNotification computeNext() {
+            while (current == null || next == current.to) {
+                if (!ranges.hasNext()) {
+                    return endOfData();
+                }
+                current = ranges.next();
+                next = current.from;
+            }
+
+            final int offset = current.offsets[next++];
+            final long eventTime = current.buffer.getLong(offset);
+            final int length = current.buffer.getInt(offset + Long.BYTES);
+            final ByteBuffer content = current.buffer.duplicate();
+            content.limit(offset + RECORD_HEADER_SIZE + length).position(offset + RECORD_HEADER_SIZE);
+            try {
+                return new NetconfNotification(XmlUtil.readXmlToDocument(new ByteBufferInputStream(content)),
+                        new Date(eventTime));
+            } catch (SAXException | IOException e) {
+                LOG.warn("Failed to read logged notification, skipping it", e);
+                return computeNext();
+            }
+        }
+    }
+
+    // Reads the content directly from the segment, without copying it to the heap first
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int off, final int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int xfer = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, xfer);
+            return xfer;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
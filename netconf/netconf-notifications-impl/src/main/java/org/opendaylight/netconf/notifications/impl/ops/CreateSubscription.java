@@ -11,6 +11,9 @@ package org.opendaylight.netconf.notifications.impl.ops;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import io.netty.channel.ChannelFutureListener;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
@@ -20,14 +23,18 @@ import org.opendaylight.netconf.api.NetconfSession;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.mapping.api.SessionAwareNetconfOperation;
 import org.opendaylight.netconf.notifications.NetconfNotification;
-import org.opendaylight.netconf.notifications.NetconfNotificationListener;
 import org.opendaylight.netconf.notifications.NetconfNotificationRegistry;
+import org.opendaylight.netconf.notifications.NetconfNotificationReplayListener;
 import org.opendaylight.netconf.notifications.NotificationListenerRegistration;
 import org.opendaylight.netconf.notifications.impl.NetconfNotificationManager;
+import org.opendaylight.netconf.notifications.impl.ops.NotificationFilterGroups.FilterGroup;
 import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
-import org.opendaylight.netconf.util.messages.SubtreeFilter;
+import org.opendaylight.netconf.util.messages.SubtreeNotificationFilter;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.CreateSubscriptionInput;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.StreamNameType;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netmod.notification.rev080714.NotificationComplete;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netmod.notification.rev080714.ReplayComplete;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -45,14 +52,27 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
 
     static final String CREATE_SUBSCRIPTION = "create-subscription";
 
+    private static final String START_TIME = "startTime";
+    private static final String STOP_TIME = "stopTime";
+    private static final String BAD_ELEMENT = "bad-element";
+    private static final String MISSING_ELEMENT = "missing-element";
+
     private final NetconfNotificationRegistry notifications;
+    private final NotificationFilterGroups filterGroups;
     private final List<NotificationListenerRegistration> subscriptions = Lists.newArrayList();
     private NetconfSession netconfSession;
 
     public CreateSubscription(final String netconfSessionIdForReporting,
                               final NetconfNotificationRegistry notifications) {
+        this(netconfSessionIdForReporting, notifications, new NotificationFilterGroups());
+    }
+
+    public CreateSubscription(final String netconfSessionIdForReporting,
+                              final NetconfNotificationRegistry notifications,
+                              final NotificationFilterGroups filterGroups) {
         super(netconfSessionIdForReporting);
         this.notifications = notifications;
+        this.filterGroups = filterGroups;
     }
 
     @Override
@@ -65,18 +85,13 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
         // xml -> normalized node -> CreateSubscriptionInput conversion could be slower than current approach
 
         final Optional<XmlElement> filter = operationElement.getOnlyChildElementWithSameNamespaceOptionally("filter");
+        final Optional<SubtreeNotificationFilter> compiledFilter = filter.isPresent()
+                ? SubtreeNotificationFilter.compile(filter.get()) : Optional.absent();
 
-        // Replay not supported
-        final Optional<XmlElement> startTime =
-                operationElement.getOnlyChildElementWithSameNamespaceOptionally("startTime");
-        Preconditions.checkArgument(!startTime.isPresent(), "StartTime element not yet supported");
-
-        // Stop time not supported
-        final Optional<XmlElement> stopTime =
-                operationElement.getOnlyChildElementWithSameNamespaceOptionally("stopTime");
-        Preconditions.checkArgument(!stopTime.isPresent(), "StopTime element not yet supported");
-
+        final Optional<Date> startTime = parseTimeIfPresent(operationElement, START_TIME);
+        final Optional<Date> stopTime = parseTimeIfPresent(operationElement, STOP_TIME);
         final StreamNameType streamNameType = parseStreamIfPresent(operationElement);
+        validateReplay(streamNameType, startTime, stopTime);
 
         Preconditions.checkNotNull(netconfSession);
         // Premature streams are allowed (meaning listener can register even if no provider is available yet)
@@ -85,13 +100,63 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
                     getNetconfSessionIdForReporting());
         }
 
-        final NotificationListenerRegistration notificationListenerRegistration = notifications
-                .registerNotificationListener(streamNameType, new NotificationSubscription(netconfSession, filter));
-        subscriptions.add(notificationListenerRegistration);
+        // Subscriptions with equal filters share filtered notifications
+        final FilterGroup filterGroup = filterGroups.acquire(compiledFilter);
+        final NotificationSubscription subscription = new NotificationSubscription(netconfSession, filterGroup);
+        final NotificationListenerRegistration notificationListenerRegistration = startTime.isPresent()
+                ? notifications.registerNotificationListener(streamNameType, subscription, startTime.get(), stopTime)
+                : notifications.registerNotificationListener(streamNameType, subscription);
+        subscriptions.add(() -> {
+            notificationListenerRegistration.close();
+            filterGroups.release(filterGroup);
+        });
 
         return XmlUtil.createElement(document, XmlNetconfConstants.OK, Optional.<String>absent());
     }
 
+    private static Optional<Date> parseTimeIfPresent(final XmlElement operationElement, final String name)
+            throws DocumentedException {
+        final Optional<XmlElement> time = operationElement.getOnlyChildElementWithSameNamespaceOptionally(name);
+        if (!time.isPresent()) {
+            return Optional.absent();
+        }
+        try {
+            return Optional.of(NetconfNotification.RFC3339_DATE_PARSER.apply(time.get().getTextContent()));
+        } catch (final DateTimeParseException e) {
+            throw new DocumentedException("Invalid " + name + " " + time.get().getTextContent(), e,
+                    DocumentedException.ErrorType.PROTOCOL, DocumentedException.ErrorTag.BAD_ELEMENT,
+                    DocumentedException.ErrorSeverity.ERROR, Collections.singletonMap(BAD_ELEMENT, name));
+        }
+    }
+
+    // Replay rules of https://tools.ietf.org/html/rfc5277#section-2.1.1
+    private void validateReplay(final StreamNameType stream, final Optional<Date> startTime,
+                                final Optional<Date> stopTime) throws DocumentedException {
+        if (stopTime.isPresent() && !startTime.isPresent()) {
+            throw new DocumentedException(STOP_TIME + " requires " + START_TIME,
+                    DocumentedException.ErrorType.PROTOCOL, DocumentedException.ErrorTag.MISSING_ELEMENT,
+                    DocumentedException.ErrorSeverity.ERROR, Collections.singletonMap(MISSING_ELEMENT, START_TIME));
+        }
+        if (!startTime.isPresent()) {
+            return;
+        }
+        if (!notifications.isReplaySupported(stream)) {
+            throw new DocumentedException("Stream " + stream.getValue() + " does not support replay",
+                    DocumentedException.ErrorType.APPLICATION, DocumentedException.ErrorTag.OPERATION_FAILED,
+                    DocumentedException.ErrorSeverity.ERROR);
+        }
+        if (startTime.get().after(new Date())) {
+            throw new DocumentedException(START_TIME + " is later than the current time",
+                    DocumentedException.ErrorType.PROTOCOL, DocumentedException.ErrorTag.BAD_ELEMENT,
+                    DocumentedException.ErrorSeverity.ERROR, Collections.singletonMap(BAD_ELEMENT, START_TIME));
+        }
+        if (stopTime.isPresent() && stopTime.get().before(startTime.get())) {
+            throw new DocumentedException(STOP_TIME + " is earlier than " + START_TIME,
+                    DocumentedException.ErrorType.PROTOCOL, DocumentedException.ErrorTag.BAD_ELEMENT,
+                    DocumentedException.ErrorSeverity.ERROR, Collections.singletonMap(BAD_ELEMENT, STOP_TIME));
+        }
+    }
+
     private static StreamNameType parseStreamIfPresent(final XmlElement operationElement) throws DocumentedException {
         final Optional<XmlElement> stream = operationElement.getOnlyChildElementWithSameNamespaceOptionally("stream");
         return stream.isPresent() ? new StreamNameType(stream.get().getTextContent())
@@ -122,32 +187,67 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
         }
     }
 
-    private static class NotificationSubscription implements NetconfNotificationListener {
+    private static class NotificationSubscription implements NetconfNotificationManager.AsyncNotificationListener,
+            NetconfNotificationManager.SubscriptionListener, NetconfNotificationReplayListener {
         private final NetconfSession currentSession;
-        private final Optional<XmlElement> filter;
+        private final FilterGroup filterGroup;
 
-        NotificationSubscription(final NetconfSession currentSession, final Optional<XmlElement> filter) {
+        NotificationSubscription(final NetconfSession currentSession, final FilterGroup filterGroup) {
             this.currentSession = currentSession;
-            this.filter = filter;
+            this.filterGroup = filterGroup;
         }
 
         @Override
         public void onNotification(final StreamNameType stream, final NetconfNotification notification) {
-            if (filter.isPresent()) {
-                try {
-                    final Optional<Document> filtered =
-                            SubtreeFilter.applySubtreeNotificationFilter(this.filter.get(), notification.getDocument());
-                    if (filtered.isPresent()) {
-                        final Date eventTime = notification.getEventTime();
-                        currentSession.sendMessage(new NetconfNotification(filtered.get(), eventTime));
-                    }
-                } catch (DocumentedException e) {
-                    LOG.warn(e.toString());
-                    currentSession.sendMessage(notification);
-                }
-            } else {
-                currentSession.sendMessage(notification);
+            onNotification(stream, notification, () -> { });
+        }
+
+        @Override
+        public void onNotification(final StreamNameType stream, final NetconfNotification notification,
+                                   final Runnable completion) {
+            Optional<NetconfNotification> filtered;
+            try {
+                filtered = filterGroup.apply(notification);
+            } catch (DocumentedException e) {
+                LOG.warn(e.toString());
+                filtered = Optional.of(notification);
+            }
+            if (!filtered.isPresent()) {
+                completion.run();
+                return;
             }
+            // Complete once the notification was written, so that a session which does not keep up accumulates
+            // notifications in the queue of the notification manager instead of the outbound buffer of its channel
+            currentSession.sendMessage(filtered.get()).addListener((ChannelFutureListener) future -> completion.run());
+        }
+
+        @Override
+        public void onReplayComplete() {
+            // Not subject to the filter of the subscription, written after the notifications sent before
+            currentSession.sendMessage(createNotification(ReplayComplete.QNAME));
+        }
+
+        @Override
+        public void onNotificationComplete() {
+            currentSession.sendMessage(createNotification(NotificationComplete.QNAME));
+        }
+
+        private static NetconfNotification createNotification(final QName name) {
+            final Document document = XmlUtil.newDocument();
+            document.appendChild(document.createElementNS(name.getNamespace().toString(), name.getLocalName()));
+            return new NetconfNotification(document);
+        }
+
+        @Override
+        public void onSubscriptionTerminated() {
+            // RFC 5277 subscriptions cannot be terminated other than by closing the session
+            LOG.warn("Closing session {}, it does not keep up with notifications", currentSession);
+            currentSession.close();
+        }
+
+        @Override
+        public String toString() {
+            return "NotificationSubscription{session=" + currentSession + ", filter=" + filterGroup + '}';
         }
     }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.notifications.impl.ops;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.opendaylight.netconf.api.SharedMessageEncoding;
+import org.opendaylight.netconf.notifications.NetconfNotification;
+import org.opendaylight.netconf.util.messages.SubtreeNotificationFilter;
+import org.w3c.dom.Document;
+
+/**
+ * Notification subscriptions of all sessions grouped by their filter. A notification is filtered once for each
+ * group of subscriptions with equal filters and the filtered notification, including its encoded form, is shared
+ * by all sessions of the group.
+ */
+public final class NotificationFilterGroups {
+    private final ConcurrentMap<Optional<SubtreeNotificationFilter>, FilterGroup> groups = new ConcurrentHashMap<>();
+
+    /**
+     * Join the group of subscriptions with a filter.
+     *
+     * @param filter compiled filter, absent if the subscription does not filter notifications
+     * @return group of the filter, has to be released once the subscription is closed
+     */
+    FilterGroup acquire(final Optional<SubtreeNotificationFilter> filter) {
+        return groups.compute(filter, (key, existing) -> {
+            final FilterGroup group = existing != null ? existing : new FilterGroup(key);
+            group.references++;
+            return group;
+        });
+    }
+
+    /**
+     * Leave a group of subscriptions, the group is discarded once it has no subscriptions.
+     *
+     * @param group group acquired before
+     */
+    void release(final FilterGroup group) {
+        groups.computeIfPresent(group.filter, (key, existing) -> --existing.references == 0 ? null : existing);
+    }
+
+    /**
+     * Subscriptions sharing a filter.
+     */
+    static final class FilterGroup {
+        private final Optional<SubtreeNotificationFilter> filter;
+        // Keys are compared by identity, results are kept for as long as the notification is being delivered
+        private final Cache<NetconfNotification, Optional<NetconfNotification>> filtered =
+                CacheBuilder.newBuilder().weakKeys().build();
+
+        // Modified only while computing the group in the map
+        private int references;
+
+        private FilterGroup(final Optional<SubtreeNotificationFilter> filter) {
+            this.filter = filter;
+        }
+
+        /**
+         * Filter a notification. The notification is filtered only once for all subscriptions of the group.
+         *
+         * @param notification notification to filter
+         * @return filtered notification, absent if the filter does not match the notification
+         * @throws DocumentedException if the notification cannot be filtered
+         */
+        Optional<NetconfNotification> apply(final NetconfNotification notification) throws DocumentedException {
+            if (!filter.isPresent()) {
+                return Optional.of(notification);
+            }
+
+            try {
+                return filtered.get(notification, () -> filter(notification));
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof DocumentedException) {
+                    throw (DocumentedException) e.getCause();
+                }
+                throw new IllegalStateException("Failed to filter notification " + notification, e.getCause());
+            }
+        }
+
+        private Optional<NetconfNotification> filter(final NetconfNotification notification)
+                throws DocumentedException {
+            final Optional<Document> content = filter.get().apply(notification.getDocument());
+            if (!content.isPresent()) {
+                return Optional.absent();
+            }
+
+            final NetconfNotification result = new NetconfNotification(content.get(), notification.getEventTime());
+            SharedMessageEncoding.share(result);
+            return Optional.of(result);
+        }
+
+        @Override
+        public String toString() {
+            return filter.isPresent() ? filter.get().toString() : "unfiltered";
+        }
+    }
+}
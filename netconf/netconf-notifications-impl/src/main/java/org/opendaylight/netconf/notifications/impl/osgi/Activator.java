@@ -9,11 +9,14 @@
 package org.opendaylight.netconf.notifications.impl.osgi;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
 import com.google.common.collect.Sets;
 import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Hashtable;
+import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.config.util.capability.BasicCapability;
 import org.opendaylight.controller.config.util.capability.Capability;
 import org.opendaylight.netconf.api.monitoring.CapabilityListener;
@@ -24,8 +27,11 @@ import org.opendaylight.netconf.mapping.api.NetconfOperationServiceFactory;
 import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.netconf.notifications.NetconfNotificationCollector;
 import org.opendaylight.netconf.notifications.impl.NetconfNotificationManager;
+import org.opendaylight.netconf.notifications.impl.NetconfNotificationManager.SlowConsumerPolicy;
+import org.opendaylight.netconf.notifications.impl.NotificationReplayLog;
 import org.opendaylight.netconf.notifications.impl.ops.CreateSubscription;
 import org.opendaylight.netconf.notifications.impl.ops.Get;
+import org.opendaylight.netconf.notifications.impl.ops.NotificationFilterGroups;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.ServiceRegistration;
@@ -36,19 +42,33 @@ public class Activator implements BundleActivator {
 
     private static final Logger LOG = LoggerFactory.getLogger(Activator.class);
 
+    static final String MAX_QUEUED_NOTIFICATIONS_PROP = "netconf.notifications.max-queued-notifications";
+    static final String SLOW_CONSUMER_POLICY_PROP = "netconf.notifications.slow-consumer-policy";
+    static final String REPLAY_LOG_SEGMENTS_PROP = "netconf.notifications.replay-log-segments";
+    static final String REPLAY_LOG_SEGMENT_SIZE_PROP = "netconf.notifications.replay-log-segment-size";
+    static final String REPLAY_LOG_RETENTION_PROP = "netconf.notifications.replay-log-retention-seconds";
+
+    private static final int DEFAULT_REPLAY_LOG_SEGMENTS = 16;
+    private static final int DEFAULT_REPLAY_LOG_SEGMENT_SIZE = 1024 * 1024;
+    private static final int DEFAULT_REPLAY_LOG_RETENTION = 24 * 60 * 60;
+
     private ServiceRegistration<NetconfNotificationCollector> netconfNotificationCollectorServiceRegistration;
     private ServiceRegistration<NetconfOperationServiceFactory> operationaServiceRegistration;
     private NetconfNotificationManager netconfNotificationManager;
 
     @Override
     public void start(final BundleContext context) throws Exception {
-        netconfNotificationManager = new NetconfNotificationManager();
+        netconfNotificationManager = new NetconfNotificationManager(
+                getIntProperty(context, MAX_QUEUED_NOTIFICATIONS_PROP,
+                        NetconfNotificationManager.DEFAULT_MAX_QUEUED_NOTIFICATIONS),
+                getSlowConsumerPolicy(context), createReplayLog(context));
         // Add properties to autowire with netconf-impl instance for cfg subsystem
         final Dictionary<String, String> props = new Hashtable<>();
         props.put(NetconfConstants.SERVICE_NAME, NetconfConstants.NETCONF_NOTIFICATION);
         netconfNotificationCollectorServiceRegistration = context.registerService(NetconfNotificationCollector.class,
                 netconfNotificationManager, new Hashtable<String, Object>());
 
+        final NotificationFilterGroups filterGroups = new NotificationFilterGroups();
         final NetconfOperationServiceFactory netconfOperationServiceFactory = new NetconfOperationServiceFactory() {
 
             private final Set<Capability> capabilities =
@@ -75,7 +95,8 @@ public class Activator implements BundleActivator {
                 return new NetconfOperationService() {
 
                     private final CreateSubscription createSubscription =
-                            new CreateSubscription(netconfSessionIdForReporting, netconfNotificationManager);
+                            new CreateSubscription(netconfSessionIdForReporting, netconfNotificationManager,
+                                    filterGroups);
 
                     @Override
                     public Set<NetconfOperation> getNetconfOperations() {
@@ -113,6 +134,42 @@ public class Activator implements BundleActivator {
         }
     }
 
+    private static Optional<NotificationReplayLog> createReplayLog(final BundleContext context) {
+        final int segments = getIntProperty(context, REPLAY_LOG_SEGMENTS_PROP, DEFAULT_REPLAY_LOG_SEGMENTS);
+        if (segments <= 0) {
+            LOG.info("Notification replay disabled");
+            return Optional.absent();
+        }
+        return Optional.of(new NotificationReplayLog(
+                getIntProperty(context, REPLAY_LOG_SEGMENT_SIZE_PROP, DEFAULT_REPLAY_LOG_SEGMENT_SIZE), segments,
+                TimeUnit.SECONDS.toMillis(
+                        getIntProperty(context, REPLAY_LOG_RETENTION_PROP, DEFAULT_REPLAY_LOG_RETENTION))));
+    }
+
+    private static int getIntProperty(final BundleContext context, final String name, final int defaultValue) {
+        final String value = context.getProperty(name);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value);
+            } catch (final NumberFormatException e) {
+                LOG.warn("Invalid value {} of {}, using default", value, name, e);
+            }
+        }
+        return defaultValue;
+    }
+
+    private static SlowConsumerPolicy getSlowConsumerPolicy(final BundleContext context) {
+        final String value = context.getProperty(SLOW_CONSUMER_POLICY_PROP);
+        if (value != null) {
+            try {
+                return SlowConsumerPolicy.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (final IllegalArgumentException e) {
+                LOG.warn("Invalid value {} of {}, using default", value, SLOW_CONSUMER_POLICY_PROP, e);
+            }
+        }
+        return SlowConsumerPolicy.DROP;
+    }
+
     @VisibleForTesting
     NetconfNotificationManager getNetconfNotificationManager() {
         return netconfNotificationManager;
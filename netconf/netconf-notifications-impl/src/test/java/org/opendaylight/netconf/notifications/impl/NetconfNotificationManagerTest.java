@@ -9,13 +9,24 @@
 package org.opendaylight.netconf.notifications.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.argThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.opendaylight.netconf.notifications.impl.NetconfNotificationManager.BASE_STREAM_NAME;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.Lists;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
@@ -23,16 +34,23 @@ import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentMatcher;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.netconf.notifications.BaseNotificationPublisherRegistration;
 import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.netconf.notifications.NetconfNotificationCollector;
 import org.opendaylight.netconf.notifications.NetconfNotificationListener;
 import org.opendaylight.netconf.notifications.NetconfNotificationRegistry;
+import org.opendaylight.netconf.notifications.NetconfNotificationReplayListener;
 import org.opendaylight.netconf.notifications.NotificationListenerRegistration;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.StreamNameType;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netmod.notification.rev080714.netconf.streams.Stream;
@@ -153,7 +171,7 @@ public class NetconfNotificationManagerTest {
         final NetconfCapabilityChange notification = capabilityChangedBuilder.build();
         baseNotificationPublisherRegistration.onCapabilityChanged(notification);
 
-        verify(listener).onNotification(any(StreamNameType.class), any(NetconfNotification.class));
+        verify(listener, timeout(1000)).onNotification(any(StreamNameType.class), any(NetconfNotification.class));
 
         notificationListenerRegistration.close();
 
@@ -217,4 +235,212 @@ public class NetconfNotificationManagerTest {
 
         verify(streamListener).onStreamUnregistered(NetconfNotificationManager.BASE_STREAM_NAME);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAsyncListener() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager();
+        final NetconfNotificationManager.AsyncNotificationListener listener =
+                mock(NetconfNotificationManager.AsyncNotificationListener.class);
+        final List<Runnable> completions = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> completions.add((Runnable) invocation.getArguments()[2])).when(listener)
+                .onNotification(any(StreamNameType.class), any(NetconfNotification.class), any(Runnable.class));
+        netconfNotificationManager.registerNotificationListener(BASE_STREAM_NAME, listener);
+
+        final NetconfNotification first = notification();
+        final NetconfNotification second = notification();
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, first);
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, second);
+        verify(listener, timeout(1000)).onNotification(eq(BASE_STREAM_NAME), eq(first), any(Runnable.class));
+
+        // Next notification is handed to the listener only once the previous one was delivered
+        verify(listener, after(500).never()).onNotification(eq(BASE_STREAM_NAME), eq(second), any(Runnable.class));
+        completions.get(0).run();
+        verify(listener, timeout(1000)).onNotification(eq(BASE_STREAM_NAME), eq(second), any(Runnable.class));
+        verify(listener, never()).onNotification(any(StreamNameType.class), any(NetconfNotification.class));
+        netconfNotificationManager.close();
+    }
+
+    @Test
+    public void testSlowConsumerDrop() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager =
+                new NetconfNotificationManager(1, NetconfNotificationManager.SlowConsumerPolicy.DROP);
+        final NetconfNotificationListener listener = mock(NetconfNotificationListener.class);
+        final CountDownLatch release = blockOnFirstNotification(listener);
+        netconfNotificationManager.registerNotificationListener(BASE_STREAM_NAME, listener);
+
+        final NetconfNotification first = notification();
+        final NetconfNotification second = notification();
+        final NetconfNotification third = notification();
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, first);
+        verify(listener, timeout(1000)).onNotification(BASE_STREAM_NAME, first);
+
+        // Listener is blocked, second notification fills its queue and third is dropped without blocking publisher
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, second);
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, third);
+        release.countDown();
+
+        verify(listener, timeout(1000)).onNotification(BASE_STREAM_NAME, second);
+        verify(listener, after(500).never()).onNotification(BASE_STREAM_NAME, third);
+
+        // Listener which caught up receives notifications again
+        final NetconfNotification fourth = notification();
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, fourth);
+        verify(listener, timeout(1000)).onNotification(BASE_STREAM_NAME, fourth);
+        netconfNotificationManager.close();
+    }
+
+    @Test
+    public void testSlowConsumerDisconnect() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager =
+                new NetconfNotificationManager(1, NetconfNotificationManager.SlowConsumerPolicy.DISCONNECT);
+        final NetconfNotificationManager.SubscriptionListener listener =
+                mock(NetconfNotificationManager.SubscriptionListener.class);
+        final CountDownLatch release = blockOnFirstNotification(listener);
+        netconfNotificationManager.registerNotificationListener(BASE_STREAM_NAME, listener);
+
+        final NetconfNotification first = notification();
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, first);
+        verify(listener, timeout(1000)).onNotification(BASE_STREAM_NAME, first);
+
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, notification());
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, notification());
+        verify(listener, timeout(1000)).onSubscriptionTerminated();
+        release.countDown();
+
+        // Terminated listener does not receive any more notifications, including the queued ones
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, notification());
+        verify(listener, after(500).times(1)).onNotification(any(StreamNameType.class),
+                any(NetconfNotification.class));
+        netconfNotificationManager.close();
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager(
+                NetconfNotificationManager.DEFAULT_MAX_QUEUED_NOTIFICATIONS,
+                NetconfNotificationManager.SlowConsumerPolicy.DROP,
+                Optional.of(new NotificationReplayLog(1024 * 1024, 4, 0)));
+        assertTrue(netconfNotificationManager.isReplaySupported(BASE_STREAM_NAME));
+
+        final NetconfNotification logged = notification();
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, logged);
+
+        final NetconfNotificationReplayListener listener = mock(NetconfNotificationReplayListener.class);
+        final NotificationListenerRegistration registration = netconfNotificationManager
+                .registerNotificationListener(BASE_STREAM_NAME, listener, new Date(0), Optional.absent());
+        final InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener, timeout(1000)).onNotification(eq(BASE_STREAM_NAME),
+                argThat(hasEventTime(logged.getEventTime())));
+        inOrder.verify(listener, timeout(1000)).onReplayComplete();
+
+        final NetconfNotification live = notification();
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, live);
+        inOrder.verify(listener, timeout(1000)).onNotification(BASE_STREAM_NAME, live);
+        verify(listener, after(500).never()).onNotificationComplete();
+
+        registration.close();
+        netconfNotificationManager.close();
+    }
+
+    @Test
+    public void testReplayWithStopTime() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager(
+                NetconfNotificationManager.DEFAULT_MAX_QUEUED_NOTIFICATIONS,
+                NetconfNotificationManager.SlowConsumerPolicy.DROP,
+                Optional.of(new NotificationReplayLog(1024 * 1024, 4, 0)));
+        final NetconfNotification logged = notification();
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, logged);
+
+        // Stop time already passed, nothing but the replayed notification is delivered
+        final NetconfNotificationReplayListener listener = mock(NetconfNotificationReplayListener.class);
+        netconfNotificationManager.registerNotificationListener(BASE_STREAM_NAME, listener, new Date(0),
+                Optional.of(new Date()));
+        final InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener, timeout(1000)).onNotification(eq(BASE_STREAM_NAME),
+                argThat(hasEventTime(logged.getEventTime())));
+        inOrder.verify(listener, timeout(1000)).onReplayComplete();
+        inOrder.verify(listener, timeout(1000)).onNotificationComplete();
+
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, notification());
+        verify(listener, after(500).times(1)).onNotification(any(StreamNameType.class),
+                any(NetconfNotification.class));
+        netconfNotificationManager.close();
+    }
+
+    @Test
+    public void testLiveNotificationsDuringReplay() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager(1,
+                NetconfNotificationManager.SlowConsumerPolicy.DISCONNECT,
+                Optional.of(new NotificationReplayLog(1024 * 1024, 4, 0)));
+        final long now = System.currentTimeMillis();
+        final NetconfNotification logged = notification(now - 1000);
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, logged);
+
+        final NetconfNotificationReplayListener listener = mock(NetconfNotificationReplayListener.class);
+        final CountDownLatch release = blockOnFirstNotification(listener);
+        final NotificationListenerRegistration registration = netconfNotificationManager
+                .registerNotificationListener(BASE_STREAM_NAME, listener, new Date(0), Optional.absent());
+        verify(listener, timeout(1000)).onNotification(eq(BASE_STREAM_NAME),
+                argThat(hasEventTime(logged.getEventTime())));
+
+        // Listener is blocked in the replay, live notifications exceeding its queue are read from the log later
+        final List<NetconfNotification> live = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            live.add(notification(now + i));
+            netconfNotificationManager.onNotification(BASE_STREAM_NAME, live.get(i));
+        }
+        release.countDown();
+
+        final InOrder inOrder = inOrder(listener);
+        for (final NetconfNotification notification : live) {
+            inOrder.verify(listener, timeout(1000)).onNotification(eq(BASE_STREAM_NAME),
+                    argThat(hasEventTime(notification.getEventTime())));
+        }
+        inOrder.verify(listener, timeout(1000)).onReplayComplete();
+
+        final NetconfNotification next = notification(now + 3);
+        netconfNotificationManager.onNotification(BASE_STREAM_NAME, next);
+        inOrder.verify(listener, timeout(1000)).onNotification(BASE_STREAM_NAME, next);
+        verify(listener, after(500).times(5)).onNotification(any(StreamNameType.class),
+                any(NetconfNotification.class));
+
+        registration.close();
+        netconfNotificationManager.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReplayNotSupported() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager();
+        assertFalse(netconfNotificationManager.isReplaySupported(BASE_STREAM_NAME));
+        netconfNotificationManager.registerNotificationListener(BASE_STREAM_NAME,
+                mock(NetconfNotificationReplayListener.class), new Date(0), Optional.absent());
+    }
+
+    private static ArgumentMatcher<NetconfNotification> hasEventTime(final Date eventTime) {
+        return new ArgumentMatcher<NetconfNotification>() {
+            @Override
+            public boolean matches(final Object argument) {
+                return argument instanceof NetconfNotification
+                        && eventTime.equals(((NetconfNotification) argument).getEventTime());
+            }
+        };
+    }
+
+    private static CountDownLatch blockOnFirstNotification(final NetconfNotificationListener listener) {
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).doNothing().when(listener).onNotification(any(StreamNameType.class), any(NetconfNotification.class));
+        return release;
+    }
+
+    private static NetconfNotification notification() throws Exception {
+        return new NetconfNotification(XmlUtil.readXmlToDocument("<test-notification xmlns=\"urn:test\"/>"));
+    }
+
+    private static NetconfNotification notification(final long eventTime) throws Exception {
+        return new NetconfNotification(XmlUtil.readXmlToDocument("<test-notification xmlns=\"urn:test\"/>"),
+                new Date(eventTime));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.notifications.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.notifications.NetconfNotification;
+
+public class NotificationReplayLogTest {
+
+    private static final long START = System.currentTimeMillis() - 10000;
+
+    @Test
+    public void testReadTimeRange() throws Exception {
+        final NotificationReplayLog log = new NotificationReplayLog(1024 * 1024, 4, 0);
+        for (int i = 0; i < 5; i++) {
+            log.append(notification(i));
+        }
+
+        assertContent(log.read(new Date(START + 1500), Optional.absent()), 2, 3, 4);
+        assertContent(log.read(new Date(START + 1000), Optional.of(new Date(START + 3000))), 1, 2, 3);
+        assertContent(log.read(new Date(START + 5000), Optional.absent()));
+    }
+
+    @Test
+    public void testReplayedNotification() throws Exception {
+        final NotificationReplayLog log = new NotificationReplayLog(1024 * 1024, 4, 0);
+        final NetconfNotification notification = notification(0);
+        log.append(notification);
+
+        final NetconfNotification replayed = log.read(new Date(START), Optional.absent()).next();
+        assertEquals(notification.getEventTime(), replayed.getEventTime());
+        assertEquals(XmlUtil.toString(notification.getDocument()), XmlUtil.toString(replayed.getDocument()));
+    }
+
+    @Test
+    public void testMaxSegments() throws Exception {
+        // Every notification takes a segment of its own
+        final NotificationReplayLog log = new NotificationReplayLog(16, 2, 0);
+        for (int i = 0; i < 5; i++) {
+            log.append(notification(i));
+        }
+        assertContent(log.read(new Date(START), Optional.absent()), 3, 4);
+    }
+
+    @Test
+    public void testRetention() throws Exception {
+        final NotificationReplayLog log = new NotificationReplayLog(16, 10, 5000);
+        for (int i = 0; i < 5; i++) {
+            log.append(notification(i));
+        }
+        // Notifications are 10 to 6 seconds old, all of them expired
+        assertContent(log.read(new Date(START), Optional.absent()));
+        log.append(notification(6));
+        assertContent(log.read(new Date(START), Optional.absent()), 6);
+    }
+
+    @Test
+    public void testExpireIdle() throws Exception {
+        final NotificationReplayLog log = new NotificationReplayLog(1024 * 1024, 4, 100);
+        log.append(new NetconfNotification(XmlUtil.readXmlToDocument("<test-notification xmlns=\"urn:test\"/>")));
+        log.expire();
+        assertFalse(log.isEmpty());
+
+        Thread.sleep(200);
+        log.expire();
+        assertTrue(log.isEmpty());
+    }
+
+    @Test
+    public void testReadAfter() throws Exception {
+        final NotificationReplayLog log = new NotificationReplayLog(1024 * 1024, 4, 0);
+        assertEquals(0, log.getLastSequence());
+        log.append(notification(0));
+        final long sequence = log.append(notification(1));
+        assertEquals(2, sequence);
+        log.append(notification(2));
+        log.append(notification(3));
+
+        assertContent(log.readAfter(sequence), 2, 3);
+        assertContent(log.readAfter(log.getLastSequence()));
+    }
+
+    @Test
+    public void testReadAfterAcrossSegments() throws Exception {
+        // Every notification takes a segment of its own
+        final NotificationReplayLog log = new NotificationReplayLog(16, 2, 0);
+        for (int i = 0; i < 5; i++) {
+            log.append(notification(i));
+        }
+        // Notifications 0 to 2 were discarded with their segments
+        assertContent(log.readAfter(1), 3, 4);
+        assertContent(log.readAfter(4), 4);
+    }
+
+    private static void assertContent(final Iterator<NetconfNotification> notifications,
+                                      final int... expected) {
+        final List<NetconfNotification> actual = Lists.newArrayList(notifications);
+        assertEquals(expected.length, actual.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(START + expected[i] * 1000, actual.get(i).getEventTime().getTime());
+            assertEquals(String.valueOf(expected[i]),
+                    actual.get(i).getDocument().getDocumentElement().getFirstChild().getTextContent());
+        }
+    }
+
+    private static NetconfNotification notification(final int index) throws Exception {
+        return new NetconfNotification(XmlUtil.readXmlToDocument(
+                "<test-notification xmlns=\"urn:test\">" + index + "</test-notification>"),
+                new Date(START + index * 1000));
+    }
+}
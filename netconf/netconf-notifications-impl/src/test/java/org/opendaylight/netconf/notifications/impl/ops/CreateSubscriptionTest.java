@@ -9,21 +9,34 @@
 package org.opendaylight.netconf.notifications.impl.ops;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
+import com.google.common.base.Optional;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import java.util.Date;
 import org.hamcrest.CoreMatchers;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfSession;
+import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.netconf.notifications.NetconfNotificationListener;
 import org.opendaylight.netconf.notifications.NetconfNotificationRegistry;
+import org.opendaylight.netconf.notifications.NetconfNotificationReplayListener;
 import org.opendaylight.netconf.notifications.NotificationListenerRegistration;
+import org.opendaylight.netconf.notifications.impl.NetconfNotificationManager;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.StreamNameType;
 import org.w3c.dom.Element;
 
@@ -34,6 +47,11 @@ public class CreateSubscriptionTest {
             + "xmlns:netconf=\"urn:ietf:params:xml:ns:netconf:base:1.0\">\n"
             + "<stream>TESTSTREAM</stream>"
             + "</create-subscription>";
+    private static final String REPLAY_SUBSCRIPTION_XML = "<create-subscription "
+            + "xmlns=\"urn:ietf:params:xml:ns:netconf:notification:1.0\">"
+            + "<stream>NETCONF</stream>"
+            + "<startTime>2017-01-01T00:00:00Z</startTime>"
+            + "</create-subscription>";
 
     @Mock
     private NetconfNotificationRegistry notificationRegistry;
@@ -59,4 +77,64 @@ public class CreateSubscriptionTest {
 
         Assert.assertThat(XmlUtil.toString(element), CoreMatchers.containsString("ok"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDeliveryCompletesWhenWritten() throws Exception {
+        final NetconfSession session = mock(NetconfSession.class);
+        final ChannelFuture writeFuture = mock(ChannelFuture.class);
+        doReturn(writeFuture).when(session).sendMessage(any(NetconfMessage.class));
+        final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry);
+        createSubscription.setSession(session);
+        createSubscription.handleWithNoSubsequentOperations(XmlUtil.newDocument(),
+                XmlElement.fromDomElement(XmlUtil.readXmlToElement(CREATE_SUBSCRIPTION_XML)));
+
+        final ArgumentCaptor<NetconfNotificationListener> listener =
+                ArgumentCaptor.forClass(NetconfNotificationListener.class);
+        verify(notificationRegistry).registerNotificationListener(any(StreamNameType.class), listener.capture());
+        final Runnable completion = mock(Runnable.class);
+        ((NetconfNotificationManager.AsyncNotificationListener) listener.getValue()).onNotification(
+                new StreamNameType("TESTSTREAM"), new NetconfNotification(XmlUtil.readXmlToDocument(
+                        "<test-notification xmlns=\"urn:test\"/>")), completion);
+
+        // The listener does not wait for the write, it completes the delivery once the notification was written
+        final ArgumentCaptor<ChannelFutureListener> writeListener =
+                ArgumentCaptor.forClass(ChannelFutureListener.class);
+        verify(writeFuture).addListener(writeListener.capture());
+        verify(writeFuture, never()).awaitUninterruptibly();
+        verify(completion, never()).run();
+        writeListener.getValue().operationComplete(writeFuture);
+        verify(completion).run();
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        doReturn(true).when(notificationRegistry).isReplaySupported(any(StreamNameType.class));
+        doReturn(mock(NotificationListenerRegistration.class)).when(notificationRegistry)
+                .registerNotificationListener(any(StreamNameType.class), any(NetconfNotificationReplayListener.class),
+                        any(Date.class), any(Optional.class));
+        final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry);
+        createSubscription.setSession(mock(NetconfSession.class));
+
+        createSubscription.handleWithNoSubsequentOperations(XmlUtil.newDocument(),
+                XmlElement.fromDomElement(XmlUtil.readXmlToElement(REPLAY_SUBSCRIPTION_XML)));
+        verify(notificationRegistry).registerNotificationListener(eq(new StreamNameType("NETCONF")),
+                any(NetconfNotificationReplayListener.class), eq(new Date(1483228800000L)),
+                eq(Optional.<Date>absent()));
+    }
+
+    @Test
+    public void testReplayNotSupported() throws Exception {
+        final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry);
+        createSubscription.setSession(mock(NetconfSession.class));
+
+        try {
+            createSubscription.handleWithNoSubsequentOperations(XmlUtil.newDocument(),
+                    XmlElement.fromDomElement(XmlUtil.readXmlToElement(REPLAY_SUBSCRIPTION_XML)));
+            Assert.fail("Replay should have been rejected");
+        } catch (final DocumentedException e) {
+            Assert.assertEquals(DocumentedException.ErrorTag.OPERATION_FAILED, e.getErrorTag());
+        }
+        verify(notificationRegistry, never()).registerNotificationListener(any(StreamNameType.class),
+                any(NetconfNotificationListener.class));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.notifications.impl.ops;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Optional;
+import org.junit.Test;
+import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.SharedMessageEncoding;
+import org.opendaylight.netconf.notifications.NetconfNotification;
+import org.opendaylight.netconf.notifications.impl.ops.NotificationFilterGroups.FilterGroup;
+import org.opendaylight.netconf.util.messages.SubtreeNotificationFilter;
+
+public class NotificationFilterGroupsTest {
+
+    private static final String FILTER_XML = "<filter xmlns=\"urn:ietf:params:xml:ns:netconf:notification:1.0\" "
+            + "type=\"subtree\"><event xmlns=\"urn:test\"><name/></event></filter>";
+
+    @Test
+    public void testSharedFilterGroup() throws Exception {
+        final NotificationFilterGroups filterGroups = new NotificationFilterGroups();
+        final FilterGroup first = filterGroups.acquire(compile());
+        final FilterGroup second = filterGroups.acquire(compile());
+        assertSame(first, second);
+        assertNotSame(first, filterGroups.acquire(Optional.absent()));
+
+        final NetconfNotification notification = new NetconfNotification(XmlUtil.readXmlToDocument(
+                "<event xmlns=\"urn:test\"><name>a</name><value>b</value></event>"));
+        final Optional<NetconfNotification> filtered = first.apply(notification);
+        assertTrue(filtered.isPresent());
+        // Notification is filtered once for the whole group and encoded once for all sessions
+        assertSame(filtered.get(), second.apply(notification).get());
+        assertTrue(SharedMessageEncoding.forMessage(filtered.get()).isPresent());
+        assertFalse(XmlUtil.toString(filtered.get().getDocument()).contains("value"));
+
+        final NetconfNotification other = new NetconfNotification(XmlUtil.readXmlToDocument(
+                "<other xmlns=\"urn:test\"/>"));
+        assertFalse(first.apply(other).isPresent());
+
+        // Group is discarded once its last subscription is closed
+        filterGroups.release(first);
+        assertSame(first, filterGroups.acquire(compile()));
+        filterGroups.release(first);
+        filterGroups.release(first);
+        assertNotSame(first, filterGroups.acquire(compile()));
+    }
+
+    private static Optional<SubtreeNotificationFilter> compile() throws Exception {
+        return SubtreeNotificationFilter.compile(XmlElement.fromDomElement(XmlUtil.readXmlToElement(FILTER_XML)));
+    }
+}
@@ -42,22 +42,49 @@ public class NetconfNorthboundSshServer {
                                       final String bindingAddress,
                                       final String portNumber,
                                       final AuthProvider authProvider) {
+        this(netconfServerDispatcher, workerGroup, eventExecutor, bindingAddress, portNumber, authProvider, false);
+    }
 
-        final LocalAddress localAddress = new LocalAddress(portNumber);
-
-        localServer = netconfServerDispatcher.createLocalServer(localAddress);
+    /**
+     * Start the SSH server.
+     *
+     * @param directPipeline true to attach the netconf server pipeline directly to SSH channels, false to forward
+     *                       SSH channels to a local netconf server
+     */
+    public NetconfNorthboundSshServer(final NetconfServerDispatcher netconfServerDispatcher,
+                                      final EventLoopGroup workerGroup,
+                                      final EventExecutor eventExecutor,
+                                      final String bindingAddress,
+                                      final String portNumber,
+                                      final AuthProvider authProvider,
+                                      final boolean directPipeline) {
         sshProxyServer = new SshProxyServer(Executors.newScheduledThreadPool(1), workerGroup, eventExecutor);
 
         final InetSocketAddress inetAddress = getInetAddress(bindingAddress, portNumber);
         final SshProxyServerConfigurationBuilder sshProxyServerConfigurationBuilder =
                 new SshProxyServerConfigurationBuilder();
         sshProxyServerConfigurationBuilder.setBindingAddress(inetAddress);
-        sshProxyServerConfigurationBuilder.setLocalAddress(localAddress);
         sshProxyServerConfigurationBuilder.setAuthenticator(authProvider);
         sshProxyServerConfigurationBuilder.setIdleTimeout(Integer.MAX_VALUE);
         sshProxyServerConfigurationBuilder.setKeyPairProvider(new PEMGeneratorHostKeyProvider(DEFAULT_PRIVATE_KEY_PATH,
                 DEFAULT_ALGORITHM, DEFAULT_KEY_SIZE));
 
+        if (directPipeline) {
+            localServer = null;
+            sshProxyServerConfigurationBuilder.setServerDispatcher(netconfServerDispatcher);
+            try {
+                sshProxyServer.bind(sshProxyServerConfigurationBuilder.createSshProxyServerConfiguration());
+                LOG.info("Netconf SSH endpoint started successfully at {}", bindingAddress);
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to start SSH netconf server", e);
+            }
+            return;
+        }
+
+        final LocalAddress localAddress = new LocalAddress(portNumber);
+        localServer = netconfServerDispatcher.createLocalServer(localAddress);
+        sshProxyServerConfigurationBuilder.setLocalAddress(localAddress);
+
         localServer.addListener(future -> {
             if (future.isDone() && !future.isCancelled()) {
                 try {
@@ -82,6 +109,9 @@ public class NetconfNorthboundSshServer {
     public void close() {
         sshProxyServer.close();
 
+        if (localServer == null) {
+            return;
+        }
         if (localServer.isDone()) {
             localServer.channel().close();
         } else {
@@ -31,6 +31,7 @@ import org.apache.sshd.server.Environment;
 import org.apache.sshd.server.ExitCallback;
 import org.apache.sshd.server.SessionAware;
 import org.apache.sshd.server.session.ServerSession;
+import org.opendaylight.netconf.api.NetconfServerDispatcher;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,18 +49,36 @@ public class RemoteNetconfCommand implements AsyncCommand, SessionAware {
 
     private final EventLoopGroup clientEventGroup;
     private final LocalAddress localAddress;
+    private final NetconfServerDispatcher serverDispatcher;
 
     private IoInputStream in;
     private IoOutputStream out;
     private ExitCallback callback;
     private NetconfHelloMessageAdditionalHeader netconfHelloMessageAdditionalHeader;
+    private SocketAddress sessionLocalAddress;
+    private SocketAddress sessionRemoteAddress;
 
     private Channel clientChannel;
     private ChannelFuture clientChannelFuture;
+    private SshServerNettyChannel serverChannel;
 
     public RemoteNetconfCommand(final EventLoopGroup clientEventGroup, final LocalAddress localAddress) {
         this.clientEventGroup = clientEventGroup;
         this.localAddress = localAddress;
+        this.serverDispatcher = null;
+    }
+
+    /**
+     * Create a command, which attaches the netconf server pipeline directly on top of the SSH channel instead of
+     * forwarding the data to the netconf server over an internal connection.
+     *
+     * @param eventGroup event loop group running the netconf server pipeline
+     * @param serverDispatcher dispatcher initializing the netconf server pipeline
+     */
+    public RemoteNetconfCommand(final EventLoopGroup eventGroup, final NetconfServerDispatcher serverDispatcher) {
+        this.clientEventGroup = eventGroup;
+        this.localAddress = null;
+        this.serverDispatcher = Preconditions.checkNotNull(serverDispatcher);
     }
 
     @Override
@@ -101,6 +120,11 @@ public class RemoteNetconfCommand implements AsyncCommand, SessionAware {
 
     @Override
     public void start(final Environment env) throws IOException {
+        if (serverDispatcher != null) {
+            startServerChannel();
+            return;
+        }
+
         LOG.trace("Establishing internal connection to netconf server for client: {}", getClientAddress());
 
         final Bootstrap clientBootstrap = new Bootstrap();
@@ -131,8 +155,33 @@ public class RemoteNetconfCommand implements AsyncCommand, SessionAware {
         });
     }
 
+    private void startServerChannel() {
+        LOG.trace("Attaching netconf server to SSH channel of client: {}", getClientAddress());
+
+        serverChannel = new SshServerNettyChannel(in, out, netconfHelloMessageAdditionalHeader, callback,
+                sessionLocalAddress, sessionRemoteAddress);
+        serverDispatcher.initializeChannel(serverChannel);
+        clientEventGroup.register(serverChannel).addListener(future -> {
+            if (!future.isSuccess()) {
+                LOG.warn("Unable to attach netconf server to SSH channel of client: {}", getClientAddress(),
+                        future.cause());
+                Preconditions.checkNotNull(callback, "Exit callback must be set");
+                callback.onExit(1, "Unable to attach netconf server to SSH channel of client: "
+                        + getClientAddress());
+            }
+        });
+    }
+
     @Override
     public void destroy() {
+        if (serverChannel != null) {
+            LOG.trace("Releasing netconf server attached to SSH channel of client: {}", getClientAddress());
+            if (serverChannel.isRegistered()) {
+                serverChannel.sshClosed();
+            }
+            return;
+        }
+
         LOG.trace("Releasing internal connection to netconf server for client: {} on channel: {}",
                 getClientAddress(), clientChannel);
 
@@ -158,6 +207,8 @@ public class RemoteNetconfCommand implements AsyncCommand, SessionAware {
     @Override
     public void setSession(final ServerSession session) {
         final SocketAddress remoteAddress = session.getIoSession().getRemoteAddress();
+        sessionLocalAddress = session.getIoSession().getLocalAddress();
+        sessionRemoteAddress = remoteAddress;
         String hostName = "";
         String port = "";
         if (remoteAddress instanceof InetSocketAddress) {
@@ -174,11 +225,20 @@ public class RemoteNetconfCommand implements AsyncCommand, SessionAware {
 
         private final EventLoopGroup clientBootstrap;
         private final LocalAddress localAddress;
+        private final NetconfServerDispatcher serverDispatcher;
 
         public NetconfCommandFactory(final EventLoopGroup clientBootstrap, final LocalAddress localAddress) {
 
             this.clientBootstrap = clientBootstrap;
             this.localAddress = localAddress;
+            this.serverDispatcher = null;
+        }
+
+        public NetconfCommandFactory(final EventLoopGroup clientBootstrap,
+                                     final NetconfServerDispatcher serverDispatcher) {
+            this.clientBootstrap = clientBootstrap;
+            this.localAddress = null;
+            this.serverDispatcher = serverDispatcher;
         }
 
         @Override
@@ -188,7 +248,8 @@ public class RemoteNetconfCommand implements AsyncCommand, SessionAware {
 
         @Override
         public RemoteNetconfCommand create() {
-            return new RemoteNetconfCommand(clientBootstrap, localAddress);
+            return serverDispatcher != null ? new RemoteNetconfCommand(clientBootstrap, serverDispatcher)
+                    : new RemoteNetconfCommand(clientBootstrap, localAddress);
         }
     }
 
@@ -39,6 +39,7 @@ import org.apache.sshd.server.ServerFactoryManager;
 /**
  * Proxy SSH server that just delegates decrypted content to a delegate server within same VM.
  * Implemented using Apache Mina SSH lib.
+ * If configured with a server dispatcher, the netconf server is attached directly to SSH channels instead.
  */
 public class SshProxyServer implements AutoCloseable {
 
@@ -79,8 +80,11 @@ public class SshProxyServer implements AutoCloseable {
         sshServer.setProperties(getProperties(sshProxyServerConfiguration));
 
         final RemoteNetconfCommand.NetconfCommandFactory netconfCommandFactory =
-                new RemoteNetconfCommand.NetconfCommandFactory(clientGroup,
-                        sshProxyServerConfiguration.getLocalAddress());
+                sshProxyServerConfiguration.getServerDispatcher().isPresent()
+                        ? new RemoteNetconfCommand.NetconfCommandFactory(clientGroup,
+                                sshProxyServerConfiguration.getServerDispatcher().get())
+                        : new RemoteNetconfCommand.NetconfCommandFactory(clientGroup,
+                                sshProxyServerConfiguration.getLocalAddress());
         sshServer.setSubsystemFactories(ImmutableList.of(netconfCommandFactory));
         sshServer.start();
     }
@@ -14,6 +14,7 @@ import java.net.InetSocketAddress;
 import java.util.Optional;
 import org.apache.sshd.common.KeyPairProvider;
 import org.apache.sshd.server.PublickeyAuthenticator;
+import org.opendaylight.netconf.api.NetconfServerDispatcher;
 import org.opendaylight.netconf.auth.AuthProvider;
 
 public final class SshProxyServerConfiguration {
@@ -23,6 +24,7 @@ public final class SshProxyServerConfiguration {
     private final KeyPairProvider keyPairProvider;
     private final int idleTimeout;
     private final Optional<PublickeyAuthenticator> publickeyAuthenticator;
+    private final Optional<NetconfServerDispatcher> serverDispatcher;
 
     SshProxyServerConfiguration(final InetSocketAddress bindingAddress, final LocalAddress localAddress,
                     final AuthProvider authenticator, final KeyPairProvider keyPairProvider, final int idleTimeout) {
@@ -32,14 +34,23 @@ public final class SshProxyServerConfiguration {
     SshProxyServerConfiguration(final InetSocketAddress bindingAddress, final LocalAddress localAddress,
                                 final AuthProvider authenticator, final PublickeyAuthenticator publickeyAuthenticator,
                                 final KeyPairProvider keyPairProvider, final int idleTimeout) {
+        this(bindingAddress, localAddress, authenticator, publickeyAuthenticator, keyPairProvider, idleTimeout, null);
+    }
+
+    SshProxyServerConfiguration(final InetSocketAddress bindingAddress, final LocalAddress localAddress,
+                                final AuthProvider authenticator, final PublickeyAuthenticator publickeyAuthenticator,
+                                final KeyPairProvider keyPairProvider, final int idleTimeout,
+                                final NetconfServerDispatcher serverDispatcher) {
         this.bindingAddress = Preconditions.checkNotNull(bindingAddress);
-        this.localAddress = Preconditions.checkNotNull(localAddress);
+        // Local address of the netconf server is not needed if the server is attached to SSH channels directly
+        this.localAddress = serverDispatcher != null ? localAddress : Preconditions.checkNotNull(localAddress);
         this.authenticator = Preconditions.checkNotNull(authenticator);
         this.keyPairProvider = Preconditions.checkNotNull(keyPairProvider);
         // Idle timeout cannot be disabled in the sshd by using =< 0 value
         Preconditions.checkArgument(idleTimeout > 0, "Idle timeout has to be > 0");
         this.idleTimeout = idleTimeout;
         this.publickeyAuthenticator = Optional.ofNullable(publickeyAuthenticator);
+        this.serverDispatcher = Optional.ofNullable(serverDispatcher);
     }
 
     public InetSocketAddress getBindingAddress() {
@@ -65,4 +76,14 @@ public final class SshProxyServerConfiguration {
     public Optional<PublickeyAuthenticator> getPublickeyAuthenticator() {
         return publickeyAuthenticator;
     }
+
+    /**
+     * Dispatcher attaching the netconf server directly to SSH channels, if present. Otherwise SSH channels are
+     * forwarded to the netconf server listening on the local address.
+     *
+     * @return netconf server dispatcher
+     */
+    public Optional<NetconfServerDispatcher> getServerDispatcher() {
+        return serverDispatcher;
+    }
 }
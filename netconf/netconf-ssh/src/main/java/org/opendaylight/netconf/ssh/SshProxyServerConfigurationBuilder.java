@@ -12,6 +12,7 @@ import io.netty.channel.local.LocalAddress;
 import java.net.InetSocketAddress;
 import org.apache.sshd.common.KeyPairProvider;
 import org.apache.sshd.server.PublickeyAuthenticator;
+import org.opendaylight.netconf.api.NetconfServerDispatcher;
 import org.opendaylight.netconf.auth.AuthProvider;
 
 public final class SshProxyServerConfigurationBuilder {
@@ -21,6 +22,7 @@ public final class SshProxyServerConfigurationBuilder {
     private KeyPairProvider keyPairProvider;
     private int idleTimeout;
     private PublickeyAuthenticator publicKeyAuthenticator = null;
+    private NetconfServerDispatcher serverDispatcher = null;
 
     public SshProxyServerConfigurationBuilder setBindingAddress(final InetSocketAddress bindingAddress) {
         this.bindingAddress = bindingAddress;
@@ -52,9 +54,14 @@ public final class SshProxyServerConfigurationBuilder {
         return this;
     }
 
+    public SshProxyServerConfigurationBuilder setServerDispatcher(final NetconfServerDispatcher serverDispatcher) {
+        this.serverDispatcher = serverDispatcher;
+        return this;
+    }
+
     public SshProxyServerConfiguration createSshProxyServerConfiguration() {
         return new SshProxyServerConfiguration(bindingAddress, localAddress, authenticator, publicKeyAuthenticator,
-                keyPairProvider, idleTimeout);
+                keyPairProvider, idleTimeout, serverDispatcher);
     }
 
     public static SshProxyServerConfigurationBuilder create() {
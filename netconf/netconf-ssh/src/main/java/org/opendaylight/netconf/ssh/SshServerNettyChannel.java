@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.ssh;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.AbstractServerChannel;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelMetadata;
+import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultChannelConfig;
+import io.netty.channel.EventLoop;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import org.apache.sshd.common.io.IoInputStream;
+import org.apache.sshd.common.io.IoOutputStream;
+import org.apache.sshd.server.ExitCallback;
+import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader;
+import org.opendaylight.netconf.nettyutil.handler.ssh.client.AsyncSshHandlerReader;
+import org.opendaylight.netconf.nettyutil.handler.ssh.client.AsyncSshHandlerWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Netty channel on top of the netconf subsystem of an SSH session, carrying the netconf server pipeline directly.
+ * Data read from SSH are fired into the pipeline, data written by the pipeline are written to SSH, without
+ * forwarding them through an internal connection to the netconf server.
+ */
+final class SshServerNettyChannel extends AbstractServerChannel {
+    private static final Logger LOG = LoggerFactory.getLogger(SshServerNettyChannel.class);
+    private static final ChannelMetadata METADATA = new ChannelMetadata(false);
+
+    private final ChannelConfig config = new DefaultChannelConfig(this);
+    private final IoInputStream in;
+    private final AsyncSshHandlerWriter sshWriter;
+    private final NetconfHelloMessageAdditionalHeader additionalHeader;
+    private final ExitCallback callback;
+    private final SocketAddress localAddress;
+    private final SocketAddress remoteAddress;
+
+    private volatile boolean open = true;
+    // Set once SSH side is closed, so that closing the channel does not close it again
+    private volatile boolean sshClosed = false;
+    // Accessed from the event loop only
+    private AsyncSshHandlerReader sshReader;
+
+    SshServerNettyChannel(final IoInputStream in, final IoOutputStream out,
+                          final NetconfHelloMessageAdditionalHeader additionalHeader, final ExitCallback callback,
+                          final SocketAddress localAddress, final SocketAddress remoteAddress) {
+        this.in = Preconditions.checkNotNull(in);
+        this.sshWriter = new AsyncSshHandlerWriter(Preconditions.checkNotNull(out));
+        this.additionalHeader = Preconditions.checkNotNull(additionalHeader);
+        this.callback = Preconditions.checkNotNull(callback);
+        this.localAddress = localAddress;
+        this.remoteAddress = remoteAddress;
+        pipeline().addFirst(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+                sshWriter.write(ctx, msg, promise);
+            }
+        });
+    }
+
+    /**
+     * Close the channel after the SSH session or its netconf subsystem was closed.
+     */
+    void sshClosed() {
+        sshClosed = true;
+        close();
+    }
+
+    @Override
+    public ChannelConfig config() {
+        return config;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public boolean isActive() {
+        return open;
+    }
+
+    @Override
+    public ChannelMetadata metadata() {
+        return METADATA;
+    }
+
+    @Override
+    protected boolean isCompatible(final EventLoop loop) {
+        return true;
+    }
+
+    @Override
+    protected SocketAddress localAddress0() {
+        return localAddress;
+    }
+
+    @Override
+    protected SocketAddress remoteAddress0() {
+        return remoteAddress;
+    }
+
+    @Override
+    protected void doBind(final SocketAddress local) throws Exception {
+        throw new UnsupportedOperationException("Bind not supported.");
+    }
+
+    @Override
+    protected void doBeginRead() {
+        if (sshReader != null || !open) {
+            return;
+        }
+
+        // The header identifies the client to the server session, the same way the proxy did
+        pipeline().fireChannelRead(Unpooled.copiedBuffer(additionalHeader.toFormattedString(),
+                StandardCharsets.UTF_8));
+        sshReader = new AsyncSshHandlerReader(this::sshClosed, msg -> pipeline().fireChannelRead(msg),
+                "ssh" + additionalHeader.getAddress(), in);
+    }
+
+    @Override
+    protected void doDisconnect() {
+        doClose();
+    }
+
+    @Override
+    protected void doClose() {
+        if (!open) {
+            return;
+        }
+        open = false;
+        LOG.debug("Closing netconf session channel for client: {}", additionalHeader.getAddress());
+
+        if (sshReader != null) {
+            sshReader.close();
+        }
+        sshWriter.close();
+        if (!sshClosed) {
+            callback.onExit(0, "Netconf session closed for client: " + additionalHeader.getAddress());
+        }
+    }
+
+    @Override
+    protected void doWrite(final ChannelOutboundBuffer outboundBuffer) {
+        throw new IllegalStateException("Outbound writes to SSH should be done by SSH Write handler");
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+
+package org.opendaylight.netconf.ssh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.sshd.common.io.IoInputStream;
+import org.apache.sshd.common.io.IoOutputStream;
+import org.apache.sshd.common.io.IoReadFuture;
+import org.apache.sshd.common.io.IoWriteFuture;
+import org.apache.sshd.common.util.Buffer;
+import org.apache.sshd.server.ExitCallback;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader;
+
+public class SshServerNettyChannelTest {
+
+    private static final NetconfHelloMessageAdditionalHeader HEADER =
+            new NetconfHelloMessageAdditionalHeader("user", "127.0.0.1", "12345", "ssh", "client");
+
+    private final BlockingQueue<String> reads = new LinkedBlockingQueue<>();
+    private EventLoopGroup group;
+    private IoInputStream in;
+    private IoOutputStream out;
+    private ExitCallback callback;
+    private SshServerNettyChannel channel;
+
+    @Before
+    public void setUp() throws Exception {
+        group = new NioEventLoopGroup(1);
+        in = mock(IoInputStream.class);
+        doReturn(mock(IoReadFuture.class)).when(in).read(any(Buffer.class));
+        out = mock(IoOutputStream.class);
+        doReturn(mock(IoWriteFuture.class)).when(out).write(any(Buffer.class));
+        callback = mock(ExitCallback.class);
+
+        channel = new SshServerNettyChannel(in, out, HEADER, callback, null, null);
+        channel.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+                reads.add(((ByteBuf) msg).toString(StandardCharsets.UTF_8));
+                ((ByteBuf) msg).release();
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        group.shutdownGracefully();
+    }
+
+    @Test
+    public void testReadWriteAndClose() throws Exception {
+        group.register(channel).sync();
+
+        // Additional header is read before any data of the SSH channel
+        final String header = reads.poll(5, TimeUnit.SECONDS);
+        assertNotNull(header);
+        assertEquals(HEADER.toFormattedString(), header);
+        verify(in, timeout(5000)).read(any(Buffer.class));
+
+        channel.writeAndFlush(Unpooled.copiedBuffer("<hello/>", StandardCharsets.UTF_8));
+        verify(out, timeout(5000)).write(any(Buffer.class));
+
+        channel.close().sync();
+        verify(callback).onExit(eq(0), anyString());
+    }
+
+    @Test
+    public void testSshClosed() throws Exception {
+        group.register(channel).sync();
+
+        channel.sshClosed();
+        channel.closeFuture().sync();
+        verify(callback, never()).onExit(eq(0), anyString());
+    }
+}
@@ -25,4 +25,13 @@ public interface RemoteDeviceConnector {
      * Stop device communicator.
      */
     void stopRemoteDeviceConnection();
+
+    /**
+     * Return number of requests sent to the device through the current connection.
+     *
+     * @return total number of requests, 0 if not connected
+     */
+    default long getTotalRequests() {
+        return 0;
+    }
 }
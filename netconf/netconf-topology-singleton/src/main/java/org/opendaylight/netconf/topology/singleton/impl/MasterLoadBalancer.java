@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.impl;
+
+import akka.cluster.Cluster;
+import akka.cluster.MemberStatus;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.topology.singleton.config.rev170419.MemberLoad;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.topology.singleton.config.rev170419.member.load.Member;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.topology.singleton.config.rev170419.member.load.MemberBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.topology.singleton.config.rev170419.member.load.MemberKey;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spreads mastership of devices evenly across cluster members. Cluster singleton ownership does not take load into
+ * account, so every member periodically publishes its load into the operational datastore and compares it with the
+ * load of the other members. A member loaded noticeably more than the average gives up mastership of one device per
+ * interval. The device stays connected through its other candidates, so members joining the cluster take over
+ * devices gradually, without disconnecting many devices at once.
+ */
+final class MasterLoadBalancer implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(MasterLoadBalancer.class);
+
+    static final InstanceIdentifier<MemberLoad> MEMBER_LOAD_PATH = InstanceIdentifier.create(MemberLoad.class);
+
+    // A mastered device weighs as much as 10 requests per second or as 10 percent of CPU load
+    private static final double DEVICE_WEIGHT = 1.0;
+    private static final double MESSAGE_RATE_WEIGHT = 0.1;
+    private static final double CPU_LOAD_WEIGHT = 0.1;
+
+    private final DataBroker dataBroker;
+    private final Cluster cluster;
+    private final String memberAddress;
+    private final ScheduledExecutorService executor;
+    private final long intervalSeconds;
+    private final int tolerancePercent;
+    private final Supplier<Map<InstanceIdentifier<Node>, NetconfTopologyContext>> contexts;
+    private final Consumer<InstanceIdentifier<Node>> relinquishMastership;
+
+    private ScheduledFuture<?> task;
+    // Accessed only from the scheduled task
+    private long lastTotalRequests = -1;
+
+    MasterLoadBalancer(final DataBroker dataBroker, final Cluster cluster, final ScheduledExecutorService executor,
+                       final long intervalSeconds, final int tolerancePercent,
+                       final Supplier<Map<InstanceIdentifier<Node>, NetconfTopologyContext>> contexts,
+                       final Consumer<InstanceIdentifier<Node>> relinquishMastership) {
+        this.dataBroker = dataBroker;
+        this.cluster = cluster;
+        this.memberAddress = cluster.selfAddress().toString();
+        this.executor = executor;
+        this.intervalSeconds = intervalSeconds;
+        this.tolerancePercent = tolerancePercent;
+        this.contexts = contexts;
+        this.relinquishMastership = relinquishMastership;
+    }
+
+    synchronized void start() {
+        if (task == null) {
+            task = executor.scheduleWithFixedDelay(this::rebalance, intervalSeconds, intervalSeconds,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void rebalance() {
+        try {
+            publishAndRebalance();
+        } catch (final RuntimeException e) {
+            // Exception would cancel further executions of the task
+            LOG.warn("Failed to balance load of member {}", memberAddress, e);
+        }
+    }
+
+    private void publishAndRebalance() {
+        final Map<InstanceIdentifier<Node>, NetconfTopologyContext> snapshot = contexts.get();
+        final List<InstanceIdentifier<Node>> mastered = snapshot.entrySet().stream()
+                .filter(entry -> entry.getValue().isMaster())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        final long totalRequests = snapshot.values().stream().mapToLong(NetconfTopologyContext::getTotalRequests).sum();
+        // Counters start from zero when a device reconnects, such interval is not counted
+        final long messageRate = lastTotalRequests < 0 || totalRequests < lastTotalRequests
+                ? 0 : (totalRequests - lastTotalRequests) / intervalSeconds;
+        lastTotalRequests = totalRequests;
+
+        final Member own = createMember(memberAddress, mastered.size(), messageRate, cpuLoad());
+
+        final ReadWriteTransaction tx = dataBroker.newReadWriteTransaction();
+        tx.merge(LogicalDatastoreType.OPERATIONAL, memberPath(memberAddress), own, true);
+        final CheckedFuture<Optional<MemberLoad>, ReadFailedException> read =
+                tx.read(LogicalDatastoreType.OPERATIONAL, MEMBER_LOAD_PATH);
+        Futures.addCallback(read, new FutureCallback<Optional<MemberLoad>>() {
+            @Override
+            public void onSuccess(final Optional<MemberLoad> result) {
+                tx.submit();
+                if (!result.isPresent() || result.get().getMember() == null) {
+                    return;
+                }
+
+                final Set<String> liveMembers = liveMembers();
+                final List<Member> members = result.get().getMember().stream()
+                        .filter(member -> liveMembers.contains(member.getMemberAddress()))
+                        .collect(Collectors.toList());
+                if (shouldRelinquish(own, members, tolerancePercent)) {
+                    LOG.info("Member {} with load {} gives up mastership of {} to balance cluster load",
+                            memberAddress, own.getLoadScore(), mastered.get(0));
+                    relinquishMastership.accept(mastered.get(0));
+                }
+            }
+
+            @Override
+            public void onFailure(@Nonnull final Throwable throwable) {
+                tx.cancel();
+                LOG.warn("Failed to read load of cluster members", throwable);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private Set<String> liveMembers() {
+        final Set<String> live = new HashSet<>();
+        for (final akka.cluster.Member member : cluster.state().getMembers()) {
+            if (MemberStatus.up().equals(member.status())) {
+                live.add(member.address().toString());
+            }
+        }
+        return live;
+    }
+
+    private static int cpuLoad() {
+        final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        final double loadAverage = os.getSystemLoadAverage();
+        if (loadAverage < 0) {
+            // Not available on this platform
+            return 0;
+        }
+        return Math.min(255, (int) Math.round(loadAverage * 100 / os.getAvailableProcessors()));
+    }
+
+    @VisibleForTesting
+    static Member createMember(final String address, final int masteredDevices, final long messageRate,
+                               final int cpuLoad) {
+        final double score = masteredDevices * DEVICE_WEIGHT + messageRate * MESSAGE_RATE_WEIGHT
+                + cpuLoad * CPU_LOAD_WEIGHT;
+        return new MemberBuilder()
+                .setMemberAddress(address)
+                .setMasteredDevices((long) masteredDevices)
+                .setMessageRate((long) Ints.saturatedCast(messageRate))
+                .setCpuLoad((short) cpuLoad)
+                .setLoadScore(BigDecimal.valueOf(score).setScale(2, RoundingMode.HALF_UP))
+                .build();
+    }
+
+    /**
+     * Decide whether a member should give up mastership of one of its devices. It does so only if it is loaded more
+     * than the average by more than the tolerance, and if moving a single device to the least loaded member does not
+     * just make that member the most loaded one.
+     *
+     * @param own load of the member
+     * @param members load of all live members, including this one
+     * @param tolerancePercent allowed excess over the average load
+     * @return true if the member should give up mastership of a device
+     */
+    @VisibleForTesting
+    static boolean shouldRelinquish(final Member own, final Collection<Member> members, final int tolerancePercent) {
+        if (members.size() < 2 || own.getMasteredDevices() == null || own.getMasteredDevices() < 2) {
+            return false;
+        }
+
+        double total = 0;
+        double leastLoaded = Double.MAX_VALUE;
+        for (final Member member : members) {
+            final double score = score(member);
+            total += score;
+            leastLoaded = Math.min(leastLoaded, score);
+        }
+
+        final double ownScore = score(own);
+        return ownScore > total / members.size() * (1 + tolerancePercent / 100.0)
+                && ownScore - DEVICE_WEIGHT > leastLoaded + DEVICE_WEIGHT;
+    }
+
+    private static double score(final Member member) {
+        return member.getLoadScore() == null ? 0 : member.getLoadScore().doubleValue();
+    }
+
+    private static InstanceIdentifier<Member> memberPath(final String address) {
+        return MEMBER_LOAD_PATH.child(Member.class, new MemberKey(address));
+    }
+
+    @Override
+    public synchronized void close() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+        final WriteTransaction tx = dataBroker.newWriteOnlyTransaction();
+        tx.delete(LogicalDatastoreType.OPERATIONAL, memberPath(memberAddress));
+        tx.submit();
+    }
+}
@@ -17,6 +17,8 @@ import akka.util.Timeout;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
@@ -31,6 +33,9 @@ import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfDeviceNotificatio
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfDeviceSalProvider;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.singleton.messages.CreateInitialMasterActorData;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.NotificationStatistics;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.SchemaSetupStatus;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.SimpleDateFormatUtil;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
@@ -107,6 +112,21 @@ class MasterSalFacade implements AutoCloseable, RemoteDeviceHandler<NetconfSessi
         salProvider.getMountInstance().publish(domNotification);
     }
 
+    @Override
+    public void setNotificationSubscriptionListener(final Consumer<Set<QName>> listener) {
+        salProvider.getMountInstance().setNotificationSubscriptionListener(listener);
+    }
+
+    @Override
+    public void onNotificationStatistics(final NotificationStatistics statistics) {
+        salProvider.getTopologyDatastoreAdapter().updateNotificationStatistics(statistics);
+    }
+
+    @Override
+    public void onSchemaSetupStatus(final SchemaSetupStatus status) {
+        salProvider.getTopologyDatastoreAdapter().updateSchemaSetupStatus(status);
+    }
+
     @Override
     public void close() {
         unregisterMasterMountPoint();
@@ -29,6 +29,7 @@ import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySet
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
 import org.opendaylight.netconf.topology.singleton.messages.RefreshSetupMasterActorData;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.Future;
@@ -48,7 +49,7 @@ class NetconfTopologyContext implements ClusterSingletonService {
     private ActorRef masterActorRef;
     private boolean finalClose = false;
     private boolean closed = false;
-    private boolean isMaster;
+    private volatile boolean isMaster;
 
     NetconfTopologyContext(final NetconfTopologySetup netconfTopologyDeviceSetup,
                            final ServiceGroupIdentifier serviceGroupIdent,
@@ -95,6 +96,7 @@ class NetconfTopologyContext implements ClusterSingletonService {
     // called when master is down/changed to slave
     @Override
     public ListenableFuture<Void> closeServiceInstance() {
+        isMaster = false;
 
         if (!finalClose) {
             // in case that master changes role to slave, new NodeDeviceManager must be created and listener registered
@@ -110,6 +112,24 @@ class NetconfTopologyContext implements ClusterSingletonService {
         return serviceGroupIdent;
     }
 
+    boolean isMaster() {
+        return isMaster;
+    }
+
+    Node getNode() {
+        return netconfTopologyDeviceSetup.getNode();
+    }
+
+    /**
+     * Return number of requests sent to the device from this member while it is master.
+     *
+     * @return total number of requests
+     */
+    long getTotalRequests() {
+        final RemoteDeviceConnector connector = remoteDeviceConnector;
+        return isMaster && connector != null ? connector.getTotalRequests() : 0;
+    }
+
     private NetconfNodeManager createNodeDeviceManager() {
         final NetconfNodeManager ndm =
                 new NetconfNodeManager(netconfTopologyDeviceSetup, remoteDeviceId, actorResponseWaitTime, mountService);
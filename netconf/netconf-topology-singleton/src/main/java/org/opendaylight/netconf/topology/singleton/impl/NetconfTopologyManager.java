@@ -9,8 +9,10 @@
 package org.opendaylight.netconf.topology.singleton.impl;
 
 import akka.actor.ActorSystem;
+import akka.cluster.Cluster;
 import akka.util.Timeout;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
@@ -37,10 +39,12 @@ import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonServiceProvid
 import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonServiceRegistration;
 import org.opendaylight.mdsal.singleton.common.api.ServiceGroupIdentifier;
 import org.opendaylight.netconf.client.NetconfClientDispatcher;
+import org.opendaylight.netconf.sal.connect.netconf.SchemaSetupScheduler;
 import org.opendaylight.netconf.topology.singleton.api.NetconfTopologySingletonService;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup.NetconfTopologySetupBuilder;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
+import org.opendaylight.protocol.framework.ConnectScheduler;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.topology.singleton.config.rev170419.Config;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NetworkTopology;
@@ -78,9 +82,14 @@ public class NetconfTopologyManager
     private final Duration writeTxIdleTimeout;
     private final DOMMountPointService mountPointService;
     private final AAAEncryptionService encryptionService;
+    private final SchemaSetupScheduler schemaSetupScheduler;
+    private final long slaveReadStalenessMillis;
+    private final long slaveReadCacheSize;
+    private final MasterLoadBalancer masterLoadBalancer;
     private ListenerRegistration<NetconfTopologyManager> dataChangeListenerRegistration;
     private String privateKeyPath;
     private String privateKeyPassphrase;
+    private ConnectScheduler connectScheduler;
 
     public NetconfTopologyManager(final DataBroker dataBroker, final RpcProviderRegistry rpcProviderRegistry,
                                   final ClusterSingletonServiceProvider clusterSingletonServiceProvider,
@@ -103,16 +112,35 @@ public class NetconfTopologyManager
         this.writeTxIdleTimeout = Duration.apply(config.getWriteTransactionIdleTimeout(), TimeUnit.SECONDS);
         this.mountPointService = mountPointService;
         this.encryptionService = Preconditions.checkNotNull(encryptionService);
+        this.schemaSetupScheduler = new SchemaSetupScheduler(
+            command -> this.processingExecutor.getExecutor().execute(command),
+            config.getMaxConcurrentSchemaSetups() == null ? NetconfTopologyUtils.DEFAULT_MAX_CONCURRENT_SCHEMA_SETUPS
+                    : config.getMaxConcurrentSchemaSetups(), keepaliveExecutor.getExecutor());
+        this.slaveReadStalenessMillis = config.getSlaveReadStaleness() == null
+                ? NetconfTopologyUtils.DEFAULT_SLAVE_READ_STALENESS_MILLIS : config.getSlaveReadStaleness();
+        this.slaveReadCacheSize = config.getSlaveReadCacheSize() == null
+                ? NetconfTopologyUtils.DEFAULT_SLAVE_READ_CACHE_SIZE : config.getSlaveReadCacheSize();
 
+        final int rebalanceInterval = config.getMasterRebalanceInterval() == null
+                ? NetconfTopologyUtils.DEFAULT_MASTER_REBALANCE_INTERVAL : config.getMasterRebalanceInterval();
+        final int rebalanceTolerance = config.getMasterRebalanceTolerance() == null
+                ? NetconfTopologyUtils.DEFAULT_MASTER_REBALANCE_TOLERANCE : config.getMasterRebalanceTolerance();
+        this.masterLoadBalancer = rebalanceInterval > 0
+                ? new MasterLoadBalancer(dataBroker, Cluster.get(actorSystem), keepaliveExecutor.getExecutor(),
+                        rebalanceInterval, rebalanceTolerance, this::snapshotContexts, this::relinquishMastership)
+                : null;
     }
 
     // Blueprint init method
     public void init() {
         dataChangeListenerRegistration = registerDataTreeChangeListener(topologyId);
+        if (masterLoadBalancer != null) {
+            masterLoadBalancer.start();
+        }
     }
 
     @Override
-    public void onDataTreeChanged(@Nonnull final Collection<DataTreeModification<Node>> changes) {
+    public synchronized void onDataTreeChanged(@Nonnull final Collection<DataTreeModification<Node>> changes) {
         for (final DataTreeModification<Node> change : changes) {
             final DataObjectModification<Node> rootNode = change.getRootNode();
             final InstanceIdentifier<Node> dataModifIdent = change.getRootPath().getRootIdentifier();
@@ -141,6 +169,25 @@ public class NetconfTopologyManager
         }
     }
 
+    private synchronized Map<InstanceIdentifier<Node>, NetconfTopologyContext> snapshotContexts() {
+        return ImmutableMap.copyOf(contexts);
+    }
+
+    /**
+     * Give up mastership of a device by re-registering its cluster singleton service. Mastership then moves to
+     * another member, which is a candidate for the device too, while this member stays a slave of the device.
+     */
+    private synchronized void relinquishMastership(final InstanceIdentifier<Node> instanceIdentifier) {
+        final NetconfTopologyContext context = contexts.get(instanceIdentifier);
+        if (context == null || !context.isMaster()) {
+            return;
+        }
+
+        final Node node = context.getNode();
+        stopNetconfDeviceContext(instanceIdentifier);
+        startNetconfDeviceContext(instanceIdentifier, node);
+    }
+
     private void refreshNetconfDeviceContext(final InstanceIdentifier<Node> instanceIdentifier, final Node node) {
         final NetconfTopologyContext context = contexts.get(instanceIdentifier);
         context.refresh(createSetup(instanceIdentifier, node));
@@ -205,11 +252,14 @@ public class NetconfTopologyManager
 
     @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
-    public void close() {
+    public synchronized void close() {
         if (dataChangeListenerRegistration != null) {
             dataChangeListenerRegistration.close();
             dataChangeListenerRegistration = null;
         }
+        if (masterLoadBalancer != null) {
+            masterLoadBalancer.close();
+        }
         contexts.forEach((instanceIdentifier, netconfTopologyContext) -> {
             try {
                 netconfTopologyContext.closeFinal();
@@ -242,6 +292,14 @@ public class NetconfTopologyManager
         this.privateKeyPassphrase = privateKeyPassphrase;
     }
 
+    /**
+     * Sets the connect scheduler shared by all nodes of this topology using blueprint. If not set, each node
+     * reconnects independently.
+     */
+    public void setConnectScheduler(final ConnectScheduler connectScheduler) {
+        this.connectScheduler = connectScheduler;
+    }
+
     private ListenerRegistration<NetconfTopologyManager> registerDataTreeChangeListener(final String topologyId) {
         final WriteTransaction wtx = dataBroker.newWriteOnlyTransaction();
         initTopology(wtx, LogicalDatastoreType.CONFIGURATION, topologyId);
@@ -292,7 +350,11 @@ public class NetconfTopologyManager
                 .setIdleTimeout(writeTxIdleTimeout)
                 .setPrivateKeyPath(privateKeyPath)
                 .setPrivateKeyPassphrase(privateKeyPassphrase)
-                .setEncryptionService(encryptionService);
+                .setEncryptionService(encryptionService)
+                .setSchemaSetupScheduler(schemaSetupScheduler)
+                .setConnectScheduler(connectScheduler)
+                .setSlaveReadStalenessMillis(slaveReadStalenessMillis)
+                .setSlaveReadCacheSize(slaveReadCacheSize);
 
         return builder.build();
     }
@@ -16,6 +16,7 @@ import com.google.common.base.Verify;
 import java.util.Collections;
 import java.util.Map;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionChainListener;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
@@ -26,9 +27,11 @@ import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMTransactionChain;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.netconf.topology.singleton.impl.tx.CachingReadTransaction;
 import org.opendaylight.netconf.topology.singleton.impl.tx.ProxyReadTransaction;
 import org.opendaylight.netconf.topology.singleton.impl.tx.ProxyReadWriteTransaction;
 import org.opendaylight.netconf.topology.singleton.impl.tx.ProxyWriteTransaction;
+import org.opendaylight.netconf.topology.singleton.impl.tx.ReadResultCache;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.NewReadTransactionReply;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.NewReadTransactionRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.NewReadWriteTransactionReply;
@@ -46,6 +49,7 @@ public class ProxyDOMDataBroker implements DOMDataBroker {
     private final RemoteDeviceId id;
     private final ActorRef masterNode;
     private final ActorSystem actorSystem;
+    private final ReadResultCache readCache;
 
     /**
      * Constructor for {@code ProxyDOMDataBroker}.
@@ -57,15 +61,38 @@ public class ProxyDOMDataBroker implements DOMDataBroker {
      */
     public ProxyDOMDataBroker(final ActorSystem actorSystem, final RemoteDeviceId id,
                               final ActorRef masterNode, final Timeout askTimeout) {
+        this(actorSystem, id, masterNode, askTimeout, null);
+    }
+
+    /**
+     * Constructor for {@code ProxyDOMDataBroker} of a slave node which serves reads from a local cache.
+     *
+     * @param actorSystem system
+     * @param id          id
+     * @param masterNode  {@link org.opendaylight.netconf.topology.singleton.impl.actors.NetconfNodeActor} ref
+     * @param askTimeout  ask timeout
+     * @param readCache   read result cache, null to forward every read to the master
+     */
+    public ProxyDOMDataBroker(final ActorSystem actorSystem, final RemoteDeviceId id,
+                              final ActorRef masterNode, final Timeout askTimeout,
+                              @Nullable final ReadResultCache readCache) {
         this.id = id;
         this.masterNode = masterNode;
         this.actorSystem = actorSystem;
         this.askTimeout = askTimeout;
+        this.readCache = readCache;
     }
 
-    @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
     public DOMDataReadOnlyTransaction newReadOnlyTransaction() {
+        if (readCache != null) {
+            return new CachingReadTransaction(readCache, this::newMasterReadOnlyTransaction);
+        }
+        return newMasterReadOnlyTransaction();
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private DOMDataReadOnlyTransaction newMasterReadOnlyTransaction() {
         final Future<Object> txActorFuture = Patterns.ask(masterNode, new NewReadTransactionRequest(), askTimeout);
         final Object msg;
         try {
@@ -100,7 +127,7 @@ public class ProxyDOMDataBroker implements DOMDataBroker {
 
         Verify.verify(msg instanceof NewReadWriteTransactionReply);
         final NewReadWriteTransactionReply reply = (NewReadWriteTransactionReply) msg;
-        return new ProxyReadWriteTransaction(reply.getTxActor(), id, actorSystem, askTimeout);
+        return new ProxyReadWriteTransaction(reply.getTxActor(), id, actorSystem, askTimeout, readCache);
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -120,7 +147,7 @@ public class ProxyDOMDataBroker implements DOMDataBroker {
 
         Verify.verify(msg instanceof NewWriteTransactionReply);
         final NewWriteTransactionReply reply = (NewWriteTransactionReply) msg;
-        return new ProxyWriteTransaction(reply.getTxActor(), id, actorSystem, askTimeout);
+        return new ProxyWriteTransaction(reply.getTxActor(), id, actorSystem, askTimeout, readCache);
     }
 
     @Override
@@ -10,7 +10,11 @@ package org.opendaylight.netconf.topology.singleton.impl;
 
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.actor.ReceiveTimeout;
+import akka.actor.UntypedActor;
 import akka.dispatch.OnComplete;
+import akka.pattern.AskTimeoutException;
 import akka.pattern.Patterns;
 import akka.util.Timeout;
 import com.google.common.base.Function;
@@ -18,6 +22,8 @@ import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.SettableFuture;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcAvailabilityListener;
@@ -27,8 +33,13 @@ import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.singleton.impl.utils.ClusteringRpcException;
+import org.opendaylight.netconf.topology.singleton.impl.utils.MessageBatcher;
+import org.opendaylight.netconf.topology.singleton.impl.utils.NormalizedNodeTransfer;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.SchemaPathMessage;
+import org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcBatchMessage;
+import org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcBatchReply;
+import org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcChunkedReply;
 import org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcMessage;
 import org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcMessageReply;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyResultResponse;
@@ -39,16 +50,19 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import scala.concurrent.Future;
 
 public class ProxyDOMRpcService implements DOMRpcService {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfTopologyManager.class);
 
+    // Concurrently invoked rpcs are sent to the master in batches of this size
+    private static final int MAX_RPC_BATCH_SIZE = 32;
+
     private final ActorRef masterActorRef;
     private final ActorSystem actorSystem;
     private final RemoteDeviceId id;
     private final Timeout actorResponseWaitTime;
+    private final MessageBatcher<PendingRpc> rpcBatcher;
 
     public ProxyDOMRpcService(final ActorSystem actorSystem, final ActorRef masterActorRef,
                               final RemoteDeviceId remoteDeviceId, final Timeout actorResponseWaitTime) {
@@ -56,6 +70,7 @@ public class ProxyDOMRpcService implements DOMRpcService {
         this.masterActorRef = masterActorRef;
         id = remoteDeviceId;
         this.actorResponseWaitTime = actorResponseWaitTime;
+        this.rpcBatcher = new MessageBatcher<>(actorSystem.dispatcher(), MAX_RPC_BATCH_SIZE, this::sendRpcs);
     }
 
     @Nonnull
@@ -66,58 +81,88 @@ public class ProxyDOMRpcService implements DOMRpcService {
 
         final NormalizedNodeMessage normalizedNodeMessage =
                 new NormalizedNodeMessage(YangInstanceIdentifier.EMPTY, input);
-        final Future<Object> scalaFuture =
-                Patterns.ask(masterActorRef,
-                        new InvokeRpcMessage(new SchemaPathMessage(type), normalizedNodeMessage),
-                        actorResponseWaitTime);
-
         final SettableFuture<DOMRpcResult> settableFuture = SettableFuture.create();
+        rpcBatcher.add(new PendingRpc(new InvokeRpcMessage(new SchemaPathMessage(type), normalizedNodeMessage),
+                settableFuture));
 
-        final CheckedFuture<DOMRpcResult, DOMRpcException> checkedFuture = Futures.makeChecked(settableFuture,
-                new Function<Exception, DOMRpcException>() {
+        return Futures.makeChecked(settableFuture, new Function<Exception, DOMRpcException>() {
 
-                @Nullable
+            @Nullable
+            @Override
+            public DOMRpcException apply(@Nullable final Exception exception) {
+                return new ClusteringRpcException(id + ": Exception during remote rpc invocation.", exception);
+            }
+        });
+    }
+
+    private void sendRpcs(final List<PendingRpc> rpcs) {
+        if (rpcs.size() == 1) {
+            final PendingRpc rpc = rpcs.get(0);
+            Patterns.ask(masterActorRef, rpc.message, actorResponseWaitTime).onComplete(new OnComplete<Object>() {
                 @Override
-                public DOMRpcException apply(@Nullable final Exception exception) {
-                    return new ClusteringRpcException(id + ": Exception during remote rpc invocation.",
-                            exception);
+                public void onComplete(final Throwable failure, final Object success) {
+                    completeRpc(rpc.future, failure, success);
                 }
-            });
+            }, actorSystem.dispatcher());
+            return;
+        }
 
-        scalaFuture.onComplete(new OnComplete<Object>() {
-            @Override
-            public void onComplete(final Throwable failure, final Object success) throws Throwable {
-                if (failure != null) {
-                    settableFuture.setException(failure);
-                    return;
-                }
-                if (success instanceof Throwable) {
-                    settableFuture.setException((Throwable) success);
-                    return;
-                }
-                if (success instanceof EmptyResultResponse || success == null) {
-                    settableFuture.set(null);
-                    return;
-                }
-                final Collection<RpcError> errors = ((InvokeRpcMessageReply) success).getRpcErrors();
-                final NormalizedNodeMessage normalizedNodeMessageResult =
-                        ((InvokeRpcMessageReply) success).getNormalizedNodeMessage();
-                final DOMRpcResult result;
-                if (normalizedNodeMessageResult == null) {
-                    result = new DefaultDOMRpcResult(errors);
-                } else {
-                    if (errors == null) {
-                        result = new DefaultDOMRpcResult(normalizedNodeMessageResult.getNode());
-                    } else {
-                        result = new DefaultDOMRpcResult(normalizedNodeMessageResult.getNode(), errors);
-                    }
-                }
-                settableFuture.set(result);
-            }
-        }, actorSystem.dispatcher());
+        LOG.trace("{}: Sending {} rpcs in a single batch", id, rpcs.size());
+        final List<InvokeRpcMessage> messages = rpcs.stream().map(rpc -> rpc.message).collect(Collectors.toList());
+        // The master replies to each rpc as soon as it completes, the receiver completes the matching future
+        final ActorRef receiver = actorSystem.actorOf(BatchReplyReceiver.props(this, rpcs));
+        masterActorRef.tell(new InvokeRpcBatchMessage(messages), receiver);
+    }
 
-        return checkedFuture;
+    private void completeRpc(final SettableFuture<DOMRpcResult> settableFuture, final Throwable failure,
+                             final Object success) {
+        if (failure != null) {
+            settableFuture.setException(failure);
+            return;
+        }
+        if (success instanceof Throwable) {
+            settableFuture.setException((Throwable) success);
+            return;
+        }
+        if (success instanceof EmptyResultResponse || success == null) {
+            settableFuture.set(null);
+            return;
+        }
+        if (success instanceof InvokeRpcChunkedReply) {
+            receiveChunks((InvokeRpcChunkedReply) success, settableFuture);
+            return;
+        }
+        final Collection<RpcError> errors = ((InvokeRpcMessageReply) success).getRpcErrors();
+        final NormalizedNodeMessage normalizedNodeMessageResult =
+                ((InvokeRpcMessageReply) success).getNormalizedNodeMessage();
+        final DOMRpcResult result;
+        if (normalizedNodeMessageResult == null) {
+            result = new DefaultDOMRpcResult(errors);
+        } else {
+            if (errors == null) {
+                result = new DefaultDOMRpcResult(normalizedNodeMessageResult.getNode());
+            } else {
+                result = new DefaultDOMRpcResult(normalizedNodeMessageResult.getNode(), errors);
+            }
+        }
+        settableFuture.set(result);
+    }
 
+    private void receiveChunks(final InvokeRpcChunkedReply reply, final SettableFuture<DOMRpcResult> settableFuture) {
+        LOG.trace("{}: Receiving rpc output in {} chunks", id, reply.getFirstChunk().getChunkCount());
+        NormalizedNodeTransfer.receive(reply.getFirstChunk(), masterActorRef, actorResponseWaitTime,
+                actorSystem.dispatcher()).onComplete(new OnComplete<NormalizedNodeMessage>() {
+                    @Override
+                    public void onComplete(final Throwable failure, final NormalizedNodeMessage success) {
+                        if (failure != null) {
+                            settableFuture.setException(failure);
+                        } else if (reply.getRpcErrors() == null) {
+                            settableFuture.set(new DefaultDOMRpcResult(success.getNode()));
+                        } else {
+                            settableFuture.set(new DefaultDOMRpcResult(success.getNode(), reply.getRpcErrors()));
+                        }
+                    }
+                }, actorSystem.dispatcher());
     }
 
     @Nonnull
@@ -127,4 +172,53 @@ public class ProxyDOMRpcService implements DOMRpcService {
         // NOOP, only proxy
         throw new UnsupportedOperationException("RegisterRpcListener: DOMRpc service not working in cluster.");
     }
+
+    /**
+     * Receives the {@link InvokeRpcBatchReply}s to a single batch and stops once all of them arrived. Rpcs which are
+     * not answered within the response wait time fail.
+     */
+    private static final class BatchReplyReceiver extends UntypedActor {
+        private final ProxyDOMRpcService service;
+        private final List<PendingRpc> rpcs;
+        private int remaining;
+
+        private BatchReplyReceiver(final ProxyDOMRpcService service, final List<PendingRpc> rpcs) {
+            this.service = service;
+            this.rpcs = rpcs;
+            this.remaining = rpcs.size();
+            getContext().setReceiveTimeout(service.actorResponseWaitTime.duration());
+        }
+
+        static Props props(final ProxyDOMRpcService service, final List<PendingRpc> rpcs) {
+            return Props.create(BatchReplyReceiver.class, () -> new BatchReplyReceiver(service, rpcs));
+        }
+
+        @Override
+        public void onReceive(final Object message) throws Throwable {
+            if (message instanceof InvokeRpcBatchReply) {
+                final InvokeRpcBatchReply reply = (InvokeRpcBatchReply) message;
+                service.completeRpc(rpcs.get(reply.getIndex()).future, null, reply.getReply());
+                if (--remaining == 0) {
+                    getContext().stop(getSelf());
+                }
+            } else if (message instanceof ReceiveTimeout) {
+                final AskTimeoutException timeout = new AskTimeoutException(service.id + ": No reply to "
+                        + remaining + " rpcs of a batch within " + service.actorResponseWaitTime.duration());
+                rpcs.forEach(rpc -> rpc.future.setException(timeout));
+                getContext().stop(getSelf());
+            } else {
+                unhandled(message);
+            }
+        }
+    }
+
+    private static final class PendingRpc {
+        private final InvokeRpcMessage message;
+        private final SettableFuture<DOMRpcResult> future;
+
+        PendingRpc(final InvokeRpcMessage message, final SettableFuture<DOMRpcResult> future) {
+            this.message = message;
+            this.future = future;
+        }
+    }
 }
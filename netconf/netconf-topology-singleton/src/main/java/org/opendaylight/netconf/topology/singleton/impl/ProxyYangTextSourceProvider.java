@@ -15,12 +15,22 @@ import akka.dispatch.OnComplete;
 import akka.pattern.Patterns;
 import akka.util.Timeout;
 import com.google.common.collect.Sets;
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nonnull;
 import org.opendaylight.controller.cluster.schema.provider.RemoteYangTextSourceProvider;
 import org.opendaylight.controller.cluster.schema.provider.impl.YangTextSchemaSourceSerializationProxy;
+import org.opendaylight.netconf.topology.singleton.impl.utils.NormalizedNodeTransfer;
+import org.opendaylight.netconf.topology.singleton.messages.YangTextSchemaSourceChunkedReply;
 import org.opendaylight.netconf.topology.singleton.messages.YangTextSchemaSourceRequest;
+import org.opendaylight.netconf.topology.singleton.messages.YangTextSchemaSourcesReply;
+import org.opendaylight.netconf.topology.singleton.messages.YangTextSchemaSourcesRequest;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import scala.concurrent.Future;
 import scala.concurrent.impl.Promise;
 
@@ -29,6 +39,8 @@ public class ProxyYangTextSourceProvider implements RemoteYangTextSourceProvider
     private final ActorRef masterRef;
     private final ActorContext actorContext;
     private final Timeout actorResponseWaitTime;
+    private final Map<SourceIdentifier, YangTextSchemaSourceSerializationProxy> prefetchedSources =
+            new ConcurrentHashMap<>();
 
     public ProxyYangTextSourceProvider(final ActorRef masterRef, final ActorContext actorContext,
                                        final Timeout actorResponseWaitTime) {
@@ -47,6 +59,12 @@ public class ProxyYangTextSourceProvider implements RemoteYangTextSourceProvider
     public Future<YangTextSchemaSourceSerializationProxy> getYangTextSchemaSource(
             @Nonnull final SourceIdentifier sourceIdentifier) {
 
+        // Served only once, a source asked for again is requested from master
+        final YangTextSchemaSourceSerializationProxy prefetched = prefetchedSources.remove(sourceIdentifier);
+        if (prefetched != null) {
+            return Futures.successful(prefetched);
+        }
+
         final Future<Object> scalaFuture = Patterns.ask(masterRef,
                 new YangTextSchemaSourceRequest(sourceIdentifier), actorResponseWaitTime);
 
@@ -63,6 +81,10 @@ public class ProxyYangTextSourceProvider implements RemoteYangTextSourceProvider
                     promise.failure((Throwable) success);
                     return;
                 }
+                if (success instanceof YangTextSchemaSourceChunkedReply) {
+                    receiveChunks(sourceIdentifier, (YangTextSchemaSourceChunkedReply) success, promise);
+                    return;
+                }
                 promise.success((YangTextSchemaSourceSerializationProxy) success);
             }
         }, actorContext.dispatcher());
@@ -70,4 +92,82 @@ public class ProxyYangTextSourceProvider implements RemoteYangTextSourceProvider
         return promise.future();
 
     }
+
+    private void receiveChunks(final SourceIdentifier sourceIdentifier, final YangTextSchemaSourceChunkedReply reply,
+                               final Promise.DefaultPromise<YangTextSchemaSourceSerializationProxy> promise) {
+        NormalizedNodeTransfer.receiveBytes(reply.getFirstChunk(), masterRef, actorResponseWaitTime,
+                actorContext.dispatcher()).onComplete(new OnComplete<byte[]>() {
+                    @Override
+                    public void onComplete(final Throwable failure, final byte[] success) {
+                        if (failure != null) {
+                            promise.failure(failure);
+                            return;
+                        }
+                        try {
+                            promise.success(new YangTextSchemaSourceSerializationProxy(
+                                    YangTextSchemaSource.delegateForByteSource(sourceIdentifier,
+                                            ByteSource.wrap(success))));
+                        } catch (final IOException e) {
+                            promise.failure(e);
+                        }
+                    }
+                }, actorContext.dispatcher());
+    }
+
+    /**
+     * Fetch schema sources from master in bulk. Master sends as many sources in a single message as fit into it,
+     * the rest is requested again until all sources are fetched. Fetched sources are then provided without asking
+     * master again, each of them only once. Sources which master fails to resolve or which are too big for a single
+     * message are left out, they are requested one by one once needed.
+     *
+     * @param sourceIdentifiers sources to fetch
+     * @return future completed once all the sources are fetched
+     */
+    public Future<Void> prefetchYangTextSchemaSources(final List<SourceIdentifier> sourceIdentifiers) {
+        final Promise.DefaultPromise<Void> promise = new Promise.DefaultPromise<>();
+        requestSources(sourceIdentifiers, promise);
+        return promise.future();
+    }
+
+    /**
+     * Forget prefetched sources which were not asked for. They are requested from master again if needed.
+     */
+    public void clearPrefetchedSources() {
+        prefetchedSources.clear();
+    }
+
+    private void requestSources(final List<SourceIdentifier> sourceIdentifiers,
+                                final Promise.DefaultPromise<Void> promise) {
+        if (sourceIdentifiers.isEmpty()) {
+            promise.success(null);
+            return;
+        }
+
+        final Future<Object> scalaFuture = Patterns.ask(masterRef,
+                new YangTextSchemaSourcesRequest(sourceIdentifiers), actorResponseWaitTime);
+        scalaFuture.onComplete(new OnComplete<Object>() {
+            @Override
+            public void onComplete(final Throwable failure, final Object success) throws Throwable {
+                if (failure != null) {
+                    promise.failure(failure);
+                    return;
+                }
+                if (success instanceof Throwable) {
+                    promise.failure((Throwable) success);
+                    return;
+                }
+
+                final YangTextSchemaSourcesReply reply = (YangTextSchemaSourcesReply) success;
+                for (int i = 0; i < reply.getSources().size(); ++i) {
+                    prefetchedSources.put(reply.getSourceIdentifiers().get(i), reply.getSources().get(i));
+                }
+                if (reply.getSources().isEmpty()) {
+                    // No progress, leave the rest to be requested one by one
+                    promise.success(null);
+                } else {
+                    requestSources(reply.getRemaining(), promise);
+                }
+            }
+        }, actorContext.dispatcher());
+    }
 }
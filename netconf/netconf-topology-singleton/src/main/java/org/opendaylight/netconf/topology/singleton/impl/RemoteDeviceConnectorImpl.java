@@ -13,6 +13,7 @@ import akka.util.Timeout;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.primitives.Ints;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -55,12 +56,16 @@ import org.opendaylight.netconf.topology.singleton.api.RemoteDeviceConnector;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfConnectorDTO;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
+import org.opendaylight.protocol.framework.ConnectScheduler;
 import org.opendaylight.protocol.framework.ReconnectStrategy;
 import org.opendaylight.protocol.framework.ReconnectStrategyFactory;
+import org.opendaylight.protocol.framework.ScheduledReconnectStrategyFactory;
 import org.opendaylight.protocol.framework.TimedReconnectStrategy;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Host;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.NotificationOverflowPolicy;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.SchemaSetupPriority;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.available.capabilities.AvailableCapability.CapabilityOrigin;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.credentials.Credentials;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.credentials.credentials.KeyAuth;
@@ -91,7 +96,7 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
     private final String privateKeyPath;
     private final String privateKeyPassphrase;
     private final AAAEncryptionService encryptionService;
-    private NetconfConnectorDTO deviceCommunicatorDTO;
+    private volatile NetconfConnectorDTO deviceCommunicatorDTO;
     private final NetconfKeystoreAdapter keystoreAdapter;
 
     public RemoteDeviceConnectorImpl(final NetconfTopologySetup netconfTopologyDeviceSetup,
@@ -149,6 +154,12 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
         }
     }
 
+    @Override
+    public long getTotalRequests() {
+        final NetconfConnectorDTO dto = deviceCommunicatorDTO;
+        return dto == null ? 0 : dto.getCommunicator().getTotalRequests();
+    }
+
     @VisibleForTesting
     NetconfConnectorDTO createDeviceCommunicator(final NodeId nodeId, final NetconfNode node,
                                                  final ActorRef deviceContextActorRef) {
@@ -205,13 +216,19 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
         if (node.isSchemaless()) {
             device = new SchemalessNetconfDevice(remoteDeviceId, salFacade);
         } else {
-            device = new NetconfDeviceBuilder()
+            final NetconfDeviceBuilder deviceBuilder = new NetconfDeviceBuilder()
                     .setReconnectOnSchemasChange(reconnectOnChangedSchema)
                     .setSchemaResourcesDTO(schemaResourcesDTO)
                     .setGlobalProcessingExecutor(netconfTopologyDeviceSetup.getProcessingExecutor().getExecutor())
                     .setId(remoteDeviceId)
                     .setSalFacade(salFacade)
-                    .build();
+                    .setSchemaSetupScheduler(netconfTopologyDeviceSetup.getSchemaSetupScheduler())
+                    .setCritical(node.getSchemaSetupPriority() == SchemaSetupPriority.Critical)
+                    .setNotificationOverflowPolicy(node.getNotificationOverflowPolicy());
+            if (node.getNotificationBufferSize() != null) {
+                deviceBuilder.setNotificationBufferSize(Ints.saturatedCast(node.getNotificationBufferSize()));
+            }
+            device = deviceBuilder.build();
         }
 
         final Optional<NetconfSessionPreferences> userCapabilities = getUserCapabilities(node);
@@ -284,9 +301,12 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
 
         final InetSocketAddress socketAddress = getSocketAddress(node.getHost(), node.getPort().getValue());
 
-        final ReconnectStrategyFactory sf =
+        final ReconnectStrategyFactory timedFactory =
                 new TimedReconnectStrategyFactory(netconfTopologyDeviceSetup.getEventExecutor(), maxConnectionAttempts,
                         betweenAttemptsTimeoutMillis, sleepFactor);
+        final ConnectScheduler connectScheduler = netconfTopologyDeviceSetup.getConnectScheduler();
+        final ReconnectStrategyFactory sf = connectScheduler == null ? timedFactory
+                : new ScheduledReconnectStrategyFactory(timedFactory, connectScheduler);
         final ReconnectStrategy strategy = sf.createReconnectStrategy();
 
         final AuthenticationHandler authHandler = getHandlerFromCredentials(node.getCredentials());
@@ -16,6 +16,7 @@ import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfDeviceNotificationService;
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfDeviceSalProvider;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.netconf.topology.singleton.impl.tx.ReadResultCache;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,23 +29,39 @@ public class SlaveSalFacade {
     private final NetconfDeviceSalProvider salProvider;
     private final ActorSystem actorSystem;
     private final Timeout actorResponseWaitTime;
+    private final long readStalenessMillis;
+    private final long readCacheSize;
 
     public SlaveSalFacade(final RemoteDeviceId id,
                           final ActorSystem actorSystem,
                           final Timeout actorResponseWaitTime,
                           final DOMMountPointService mountPointService) {
+        this(id, actorSystem, actorResponseWaitTime, mountPointService, 0, 0);
+    }
+
+    public SlaveSalFacade(final RemoteDeviceId id,
+                          final ActorSystem actorSystem,
+                          final Timeout actorResponseWaitTime,
+                          final DOMMountPointService mountPointService,
+                          final long readStalenessMillis,
+                          final long readCacheSize) {
         this.id = id;
         this.salProvider = new NetconfDeviceSalProvider(id, mountPointService);
         this.actorSystem = actorSystem;
         this.actorResponseWaitTime = actorResponseWaitTime;
+        this.readStalenessMillis = readStalenessMillis;
+        this.readCacheSize = readCacheSize;
     }
 
     public void registerSlaveMountPoint(final SchemaContext remoteSchemaContext, final DOMRpcService deviceRpc,
                                         final ActorRef masterActorRef) {
         final NetconfDeviceNotificationService notificationService = new NetconfDeviceNotificationService();
 
+        // Cache is created anew for every registration, results read from a previous master are not reused
+        final ReadResultCache readCache = readStalenessMillis > 0
+                ? new ReadResultCache(id, readStalenessMillis, readCacheSize) : null;
         final ProxyDOMDataBroker netconfDeviceDataBroker =
-                new ProxyDOMDataBroker(actorSystem, id, masterActorRef, actorResponseWaitTime);
+                new ProxyDOMDataBroker(actorSystem, id, masterActorRef, actorResponseWaitTime, readCache);
 
         salProvider.getMountInstance().onTopologyDeviceConnected(remoteSchemaContext, netconfDeviceDataBroker,
                 deviceRpc, notificationService);
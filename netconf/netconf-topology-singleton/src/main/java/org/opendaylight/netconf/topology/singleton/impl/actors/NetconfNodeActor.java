@@ -11,17 +11,20 @@ package org.opendaylight.netconf.topology.singleton.impl.actors;
 import akka.actor.ActorRef;
 import akka.actor.Props;
 import akka.actor.UntypedActor;
+import akka.dispatch.OnComplete;
 import akka.util.Timeout;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import org.opendaylight.controller.cluster.schema.provider.RemoteYangTextSourceProvider;
 import org.opendaylight.controller.cluster.schema.provider.impl.RemoteSchemaProvider;
 import org.opendaylight.controller.cluster.schema.provider.impl.YangTextSchemaSourceSerializationProxy;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
@@ -37,15 +40,24 @@ import org.opendaylight.netconf.topology.singleton.impl.ProxyDOMRpcService;
 import org.opendaylight.netconf.topology.singleton.impl.ProxyYangTextSourceProvider;
 import org.opendaylight.netconf.topology.singleton.impl.SlaveSalFacade;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup;
+import org.opendaylight.netconf.topology.singleton.impl.utils.NormalizedNodeTransfer;
 import org.opendaylight.netconf.topology.singleton.messages.AskForMasterMountPoint;
 import org.opendaylight.netconf.topology.singleton.messages.CreateInitialMasterActorData;
 import org.opendaylight.netconf.topology.singleton.messages.MasterActorDataInitialized;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeChunk;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeChunkRequest;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.RefreshSetupMasterActorData;
 import org.opendaylight.netconf.topology.singleton.messages.RefreshSlaveActor;
 import org.opendaylight.netconf.topology.singleton.messages.RegisterMountPoint;
 import org.opendaylight.netconf.topology.singleton.messages.UnregisterSlaveMountPoint;
+import org.opendaylight.netconf.topology.singleton.messages.YangTextSchemaSourceChunkedReply;
 import org.opendaylight.netconf.topology.singleton.messages.YangTextSchemaSourceRequest;
+import org.opendaylight.netconf.topology.singleton.messages.YangTextSchemaSourcesReply;
+import org.opendaylight.netconf.topology.singleton.messages.YangTextSchemaSourcesRequest;
+import org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcBatchMessage;
+import org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcBatchReply;
+import org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcChunkedReply;
 import org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcMessage;
 import org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcMessageReply;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyResultResponse;
@@ -60,7 +72,6 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactory;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
-import org.opendaylight.yangtools.yang.model.repo.api.SchemaResolutionException;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceException;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceFilter;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
@@ -75,9 +86,13 @@ import scala.concurrent.duration.Duration;
 public class NetconfNodeActor extends UntypedActor {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfNodeActor.class);
+    // Stays below the default Akka remoting maximum frame size of 128000 bytes
+    private static final long SCHEMA_SOURCES_BATCH_BYTES = NormalizedNodeTransfer.DEFAULT_CHUNK_SIZE;
 
     private final Duration writeTxIdleTimeout;
     private final DOMMountPointService mountPointService;
+    // Serves big rpc outputs and schema sources in chunks
+    private final NormalizedNodeTransfer chunkTransfer = new NormalizedNodeTransfer();
 
     private SchemaSourceRegistry schemaRegistry;
     private SchemaRepository schemaRepository;
@@ -91,6 +106,7 @@ public class NetconfNodeActor extends UntypedActor {
     //readTxActor can be shared
     private ActorRef readTxActor;
     private List<SchemaSourceRegistration<YangTextSchemaSource>> registeredSchemas;
+    private SettableFuture<SchemaContext> pendingSchemaContext;
 
     public static Props props(final NetconfTopologySetup setup,
                               final RemoteDeviceId id, final SchemaSourceRegistry schemaRegistry,
@@ -145,6 +161,11 @@ public class NetconfNodeActor extends UntypedActor {
             final YangTextSchemaSourceRequest yangTextSchemaSourceRequest = (YangTextSchemaSourceRequest) message;
             sendYangTextSchemaSourceProxy(yangTextSchemaSourceRequest.getSourceIdentifier(), sender());
 
+        } else if (message instanceof YangTextSchemaSourcesRequest) { // master
+
+            sendYangTextSchemaSourceProxies(((YangTextSchemaSourcesRequest) message).getSourceIdentifiers(),
+                    sender());
+
         } else if (message instanceof NewReadTransactionRequest) { // master
 
             sender().tell(new NewReadTransactionReply(readTxActor), self());
@@ -171,12 +192,21 @@ public class NetconfNodeActor extends UntypedActor {
             final InvokeRpcMessage invokeRpcMessage = ((InvokeRpcMessage) message);
             invokeSlaveRpc(invokeRpcMessage.getSchemaPath(), invokeRpcMessage.getNormalizedNodeMessage(), sender());
 
+        } else if (message instanceof InvokeRpcBatchMessage) { // master
+
+            invokeSlaveRpcs(((InvokeRpcBatchMessage) message).getMessages(), sender());
+
+        } else if (message instanceof NormalizedNodeChunkRequest) { // master
+
+            sender().tell(chunkTransfer.nextChunk((NormalizedNodeChunkRequest) message), self());
+
         } else if (message instanceof RegisterMountPoint) { //slaves
 
             sourceIdentifiers = ((RegisterMountPoint) message).getSourceIndentifiers();
             registerSlaveMountPoint(getSender());
 
         } else if (message instanceof UnregisterSlaveMountPoint) { //slaves
+            pendingSchemaContext = null;
             if (slaveSalManager != null) {
                 slaveSalManager.close();
                 slaveSalManager = null;
@@ -187,6 +217,10 @@ public class NetconfNodeActor extends UntypedActor {
             schemaRegistry = ((RefreshSlaveActor) message).getSchemaRegistry();
             setup = ((RefreshSlaveActor) message).getSetup();
             schemaRepository = ((RefreshSlaveActor) message).getSchemaRepository();
+        } else if (message instanceof LocalSchemaSourcesChecked) { //slave
+
+            resolveSchemaContext((LocalSchemaSourcesChecked) message);
+
         }
 
     }
@@ -205,7 +239,12 @@ public class NetconfNodeActor extends UntypedActor {
             @Override
             public void onSuccess(final YangTextSchemaSource yangTextSchemaSource) {
                 try {
-                    sender.tell(new YangTextSchemaSourceSerializationProxy(yangTextSchemaSource), getSelf());
+                    final byte[] bytes = yangTextSchemaSource.read();
+                    if (bytes.length > SCHEMA_SOURCES_BATCH_BYTES) {
+                        sender.tell(new YangTextSchemaSourceChunkedReply(chunkTransfer.store(bytes)), getSelf());
+                    } else {
+                        sender.tell(new YangTextSchemaSourceSerializationProxy(yangTextSchemaSource), getSelf());
+                    }
                 } catch (final IOException exception) {
                     sender.tell(exception.getCause(), getSelf());
                 }
@@ -218,32 +257,133 @@ public class NetconfNodeActor extends UntypedActor {
         }, MoreExecutors.directExecutor());
     }
 
+    private void sendYangTextSchemaSourceProxies(final List<SourceIdentifier> sourceIdentifiers,
+                                                 final ActorRef sender) {
+        final List<ListenableFuture<YangTextSchemaSource>> sources = sourceIdentifiers.stream()
+                .map(sourceId -> schemaRepository.getSchemaSource(sourceId, YangTextSchemaSource.class))
+                .collect(Collectors.toList());
+
+        Futures.addCallback(Futures.successfulAsList(sources), new FutureCallback<List<YangTextSchemaSource>>() {
+            @Override
+            public void onSuccess(final List<YangTextSchemaSource> resolved) {
+                final List<SourceIdentifier> sentIdentifiers = new ArrayList<>();
+                final List<YangTextSchemaSourceSerializationProxy> proxies = new ArrayList<>();
+                final List<SourceIdentifier> remaining = new ArrayList<>();
+                long batchSize = 0;
+                for (int i = 0; i < resolved.size(); ++i) {
+                    final YangTextSchemaSource source = resolved.get(i);
+                    if (source == null) {
+                        // Failed to resolve, slave asks for it again once it needs it
+                        continue;
+                    }
+                    try {
+                        final long size = source.size();
+                        if (size > SCHEMA_SOURCES_BATCH_BYTES) {
+                            // Too big for any batch, slave asks for it on its own and receives it in chunks
+                            continue;
+                        }
+                        if (batchSize + size > SCHEMA_SOURCES_BATCH_BYTES) {
+                            remaining.add(sourceIdentifiers.get(i));
+                            continue;
+                        }
+                        proxies.add(new YangTextSchemaSourceSerializationProxy(source));
+                        sentIdentifiers.add(sourceIdentifiers.get(i));
+                        batchSize += size;
+                    } catch (final IOException e) {
+                        LOG.debug("{}: Failed to read schema source {}", id, sourceIdentifiers.get(i), e);
+                    }
+                }
+                sender.tell(new YangTextSchemaSourcesReply(sentIdentifiers, proxies, remaining), getSelf());
+            }
+
+            @Override
+            public void onFailure(@Nonnull final Throwable throwable) {
+                sender.tell(throwable, getSelf());
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
     private void invokeSlaveRpc(final SchemaPath schemaPath, final NormalizedNodeMessage normalizedNodeMessage,
                                 final ActorRef recipient) {
+        final ActorRef self = getSelf();
+        Futures.addCallback(invokeRpc(schemaPath, normalizedNodeMessage), new FutureCallback<Object>() {
+            @Override
+            public void onSuccess(final Object reply) {
+                recipient.tell(reply, self);
+            }
 
+            @Override
+            public void onFailure(@Nonnull final Throwable throwable) {
+                recipient.tell(throwable, self);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void invokeSlaveRpcs(final List<InvokeRpcMessage> messages, final ActorRef recipient) {
+        final ActorRef self = getSelf();
+        for (int i = 0; i < messages.size(); ++i) {
+            final int index = i;
+            final InvokeRpcMessage message = messages.get(i);
+            // Replies are never failed futures, failures are replies as well
+            Futures.addCallback(invokeRpc(message.getSchemaPath(), message.getNormalizedNodeMessage()),
+                new FutureCallback<Object>() {
+                    @Override
+                    public void onSuccess(final Object result) {
+                        recipient.tell(new InvokeRpcBatchReply(index, result), self);
+                    }
+
+                    @Override
+                    public void onFailure(@Nonnull final Throwable throwable) {
+                        recipient.tell(new InvokeRpcBatchReply(index, throwable), self);
+                    }
+                }, MoreExecutors.directExecutor());
+        }
+    }
+
+    /**
+     * Invoke an rpc on the device.
+     *
+     * @return future completed with the reply to be sent to the slave, failures included
+     */
+    private ListenableFuture<Object> invokeRpc(final SchemaPath schemaPath,
+                                               final NormalizedNodeMessage normalizedNodeMessage) {
         final CheckedFuture<DOMRpcResult, DOMRpcException> rpcResult =
                 deviceRpc.invokeRpc(schemaPath, normalizedNodeMessage.getNode());
 
+        final SettableFuture<Object> reply = SettableFuture.create();
         Futures.addCallback(rpcResult, new FutureCallback<DOMRpcResult>() {
             @Override
             public void onSuccess(@Nullable final DOMRpcResult domRpcResult) {
                 if (domRpcResult == null) {
-                    recipient.tell(new EmptyResultResponse(), getSender());
+                    reply.set(new EmptyResultResponse());
                     return;
                 }
                 NormalizedNodeMessage nodeMessageReply = null;
                 if (domRpcResult.getResult() != null) {
-                    nodeMessageReply = new NormalizedNodeMessage(YangInstanceIdentifier.EMPTY,
-                            domRpcResult.getResult());
+                    final Object prepared;
+                    try {
+                        prepared = chunkTransfer.prepare(new NormalizedNodeMessage(YangInstanceIdentifier.EMPTY,
+                                domRpcResult.getResult()));
+                    } catch (final IOException e) {
+                        reply.set(e);
+                        return;
+                    }
+                    if (prepared instanceof NormalizedNodeChunk) {
+                        reply.set(new InvokeRpcChunkedReply((NormalizedNodeChunk) prepared,
+                                domRpcResult.getErrors()));
+                        return;
+                    }
+                    nodeMessageReply = (NormalizedNodeMessage) prepared;
                 }
-                recipient.tell(new InvokeRpcMessageReply(nodeMessageReply, domRpcResult.getErrors()), getSelf());
+                reply.set(new InvokeRpcMessageReply(nodeMessageReply, domRpcResult.getErrors()));
             }
 
             @Override
             public void onFailure(@Nonnull final Throwable throwable) {
-                recipient.tell(throwable, getSelf());
+                reply.set(throwable);
             }
         }, MoreExecutors.directExecutor());
+        return reply;
     }
 
     private void registerSlaveMountPoint(final ActorRef masterReference) {
@@ -252,10 +392,11 @@ public class NetconfNodeActor extends UntypedActor {
         }
         closeSchemaSourceRegistrations();
         slaveSalManager = new SlaveSalFacade(id, setup.getActorSystem(), actorResponseWaitTime,
-                mountPointService);
+                mountPointService, setup.getSlaveReadStalenessMillis(), setup.getSlaveReadCacheSize());
 
-        final CheckedFuture<SchemaContext, SchemaResolutionException> remoteSchemaContext =
-                getSchemaContext(masterReference);
+        final SettableFuture<SchemaContext> remoteSchemaContext = SettableFuture.create();
+        pendingSchemaContext = remoteSchemaContext;
+        checkLocalSchemaSources(masterReference, remoteSchemaContext);
         final DOMRpcService deviceRpc = getDOMRpcService(masterReference);
 
         Futures.addCallback(remoteSchemaContext, new FutureCallback<SchemaContext>() {
@@ -276,14 +417,55 @@ public class NetconfNodeActor extends UntypedActor {
         return new ProxyDOMRpcService(setup.getActorSystem(), masterReference, id, actorResponseWaitTime);
     }
 
-    private CheckedFuture<SchemaContext, SchemaResolutionException> getSchemaContext(final ActorRef masterReference) {
+    /**
+     * Find out which of the sources are not available in the local schema repository before remote sources are
+     * registered to it, so that only those are fetched from master. The result is sent back to this actor as
+     * {@link LocalSchemaSourcesChecked}.
+     */
+    private void checkLocalSchemaSources(final ActorRef masterReference,
+                                         final SettableFuture<SchemaContext> schemaContext) {
+        final List<SourceIdentifier> sources = sourceIdentifiers;
+        final List<ListenableFuture<YangTextSchemaSource>> localSources = sources.stream()
+                .map(sourceId -> schemaRepository.getSchemaSource(sourceId, YangTextSchemaSource.class))
+                .collect(Collectors.toList());
+        final ActorRef self = getSelf();
+
+        Futures.addCallback(Futures.successfulAsList(localSources), new FutureCallback<List<YangTextSchemaSource>>() {
+            @Override
+            public void onSuccess(final List<YangTextSchemaSource> resolved) {
+                final List<SourceIdentifier> missing = new ArrayList<>();
+                for (int i = 0; i < resolved.size(); ++i) {
+                    if (resolved.get(i) == null) {
+                        missing.add(sources.get(i));
+                    }
+                }
+                LOG.debug("{}: {} of {} schema sources missing locally", id, missing.size(), sources.size());
+                self.tell(new LocalSchemaSourcesChecked(masterReference, sources, missing, schemaContext),
+                        ActorRef.noSender());
+            }
+
+            @Override
+            public void onFailure(@Nonnull final Throwable throwable) {
+                LOG.debug("{}: Failed to check local schema sources", id, throwable);
+                self.tell(new LocalSchemaSourcesChecked(masterReference, sources, sources, schemaContext),
+                        ActorRef.noSender());
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void resolveSchemaContext(final LocalSchemaSourcesChecked checked) {
+        if (checked.schemaContext != pendingSchemaContext) {
+            LOG.debug("{}: Mount point was registered again, dropping outdated schema resolution", id);
+            return;
+        }
+        pendingSchemaContext = null;
 
-        final RemoteYangTextSourceProvider remoteYangTextSourceProvider =
-                new ProxyYangTextSourceProvider(masterReference, getContext(), actorResponseWaitTime);
+        final ProxyYangTextSourceProvider remoteYangTextSourceProvider =
+                new ProxyYangTextSourceProvider(checked.masterReference, getContext(), actorResponseWaitTime);
         final RemoteSchemaProvider remoteProvider = new RemoteSchemaProvider(remoteYangTextSourceProvider,
                 getContext().dispatcher());
 
-        registeredSchemas = sourceIdentifiers.stream()
+        registeredSchemas = checked.sources.stream()
                 .map(sourceId ->
                         schemaRegistry.registerSchemaSource(remoteProvider, PotentialSchemaSource.create(sourceId,
                                 YangTextSchemaSource.class, PotentialSchemaSource.Costs.REMOTE_IO.getValue())))
@@ -291,8 +473,32 @@ public class NetconfNodeActor extends UntypedActor {
 
         final SchemaContextFactory schemaContextFactory
                 = schemaRepository.createSchemaContextFactory(SchemaSourceFilter.ALWAYS_ACCEPT);
-
-        return schemaContextFactory.createSchemaContext(sourceIdentifiers);
+        final SettableFuture<SchemaContext> schemaContext = checked.schemaContext;
+
+        // Fetch all missing sources at once, so that resolving the schema does not ask master for every one of them
+        remoteYangTextSourceProvider.prefetchYangTextSchemaSources(checked.missing).onComplete(
+            new OnComplete<Void>() {
+                @Override
+                public void onComplete(final Throwable failure, final Void success) {
+                    if (failure != null) {
+                        LOG.warn("{}: Failed to fetch schema sources in bulk, fetching them one by one", id, failure);
+                    }
+                    Futures.addCallback(schemaContextFactory.createSchemaContext(checked.sources),
+                        new FutureCallback<SchemaContext>() {
+                            @Override
+                            public void onSuccess(final SchemaContext result) {
+                                remoteYangTextSourceProvider.clearPrefetchedSources();
+                                schemaContext.set(result);
+                            }
+
+                            @Override
+                            public void onFailure(@Nonnull final Throwable throwable) {
+                                remoteYangTextSourceProvider.clearPrefetchedSources();
+                                schemaContext.setException(throwable);
+                            }
+                        }, MoreExecutors.directExecutor());
+                }
+            }, getContext().dispatcher());
     }
 
     private void closeSchemaSourceRegistrations() {
@@ -302,4 +508,23 @@ public class NetconfNodeActor extends UntypedActor {
         }
     }
 
+    /**
+     * Result of the local schema source check, sent by the slave to itself so that the remote sources are registered
+     * from the actor.
+     */
+    private static final class LocalSchemaSourcesChecked {
+        private final ActorRef masterReference;
+        private final List<SourceIdentifier> sources;
+        private final List<SourceIdentifier> missing;
+        private final SettableFuture<SchemaContext> schemaContext;
+
+        LocalSchemaSourcesChecked(final ActorRef masterReference, final List<SourceIdentifier> sources,
+                                  final List<SourceIdentifier> missing,
+                                  final SettableFuture<SchemaContext> schemaContext) {
+            this.masterReference = masterReference;
+            this.sources = sources;
+            this.missing = missing;
+            this.schemaContext = schemaContext;
+        }
+    }
 }
@@ -14,10 +14,13 @@ import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
+import java.io.IOException;
 import javax.annotation.Nonnull;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadTransaction;
+import org.opendaylight.netconf.topology.singleton.impl.utils.NormalizedNodeTransfer;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeChunkRequest;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyReadResponse;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ExistsRequest;
@@ -28,6 +31,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 class ReadAdapter {
 
     private final DOMDataReadTransaction tx;
+    private final NormalizedNodeTransfer transfer = new NormalizedNodeTransfer();
 
     ReadAdapter(final DOMDataReadTransaction tx) {
         this.tx = tx;
@@ -47,6 +51,8 @@ class ReadAdapter {
             final YangInstanceIdentifier path = readRequest.getPath();
             final LogicalDatastoreType store = readRequest.getStore();
             exists(path, store, sender, self);
+        } else if (message instanceof NormalizedNodeChunkRequest) {
+            sender.tell(transfer.nextChunk((NormalizedNodeChunkRequest) message), self);
         }
     }
 
@@ -61,7 +67,14 @@ class ReadAdapter {
                     sender.tell(new EmptyReadResponse(), self);
                     return;
                 }
-                sender.tell(new NormalizedNodeMessage(path, result.get()), self);
+                final Object reply;
+                try {
+                    reply = transfer.prepare(new NormalizedNodeMessage(path, result.get()));
+                } catch (final IOException e) {
+                    sender.tell(e, self);
+                    return;
+                }
+                sender.tell(reply, self);
             }
 
             @Override
@@ -25,6 +25,8 @@ import org.opendaylight.netconf.topology.singleton.messages.transactions.PutRequ
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitFailedReply;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitReply;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitRequest;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.WriteActorMessage;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.WriteBatchRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,6 +64,13 @@ class WriteAdapter {
 
     @SuppressWarnings("checkstyle:IllegalCatch")
     public void handle(final Object message, final ActorRef sender, final ActorContext context, final ActorRef self) {
+        if (message instanceof WriteBatchRequest) {
+            for (final WriteActorMessage request : ((WriteBatchRequest) message).getRequests()) {
+                handle(request, sender, context, self);
+            }
+            return;
+        }
+
         // we need to catch everything, since an unchecked exception can be thrown from the underlying parse.
         // TODO Maybe we should store it and fail the submit immediately?.
         try {
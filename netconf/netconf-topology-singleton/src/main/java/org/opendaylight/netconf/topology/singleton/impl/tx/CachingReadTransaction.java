@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.impl.tx;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataReadOnlyTransaction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Read-only transaction of a slave node which answers reads from {@link ReadResultCache}. The transaction on the
+ * master is created only once a read misses the cache, so reads served from the cache do not contact the master
+ * at all.
+ */
+public class CachingReadTransaction implements DOMDataReadOnlyTransaction {
+
+    private final ReadResultCache cache;
+    private final Supplier<DOMDataReadOnlyTransaction> masterTxFactory;
+
+    @GuardedBy("this")
+    private DOMDataReadOnlyTransaction masterTx;
+
+    /**
+     * Constructor for {@code CachingReadTransaction}.
+     *
+     * @param cache           read result cache
+     * @param masterTxFactory creates the transaction on the master
+     */
+    public CachingReadTransaction(final ReadResultCache cache,
+                                  final Supplier<DOMDataReadOnlyTransaction> masterTxFactory) {
+        this.cache = cache;
+        this.masterTxFactory = masterTxFactory;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (masterTx != null) {
+            masterTx.close();
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    @Override
+    public CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read(final LogicalDatastoreType store,
+                                                                                   final YangInstanceIdentifier path) {
+        return cache.read(store, path, () -> {
+            try {
+                return masterTx().read(store, path);
+            } catch (final RuntimeException e) {
+                return Futures.immediateFailedCheckedFuture(new ReadFailedException("Read of " + path + " failed", e));
+            }
+        });
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    @Override
+    public CheckedFuture<Boolean, ReadFailedException> exists(final LogicalDatastoreType store,
+                                                              final YangInstanceIdentifier path) {
+        final Optional<Boolean> cached = cache.exists(store, path);
+        if (cached.isPresent()) {
+            return Futures.immediateCheckedFuture(cached.get());
+        }
+        try {
+            return masterTx().exists(store, path);
+        } catch (final RuntimeException e) {
+            return Futures.immediateFailedCheckedFuture(new ReadFailedException("Exists of " + path + " failed", e));
+        }
+    }
+
+    private synchronized DOMDataReadOnlyTransaction masterTx() {
+        if (masterTx == null) {
+            masterTx = masterTxFactory.get();
+        }
+        return masterTx;
+    }
+
+    @Override
+    public Object getIdentifier() {
+        return this;
+    }
+}
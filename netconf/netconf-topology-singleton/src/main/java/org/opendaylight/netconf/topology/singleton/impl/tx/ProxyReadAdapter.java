@@ -21,6 +21,8 @@ import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
+import org.opendaylight.netconf.topology.singleton.impl.utils.NormalizedNodeTransfer;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeChunk;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyReadResponse;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ExistsRequest;
@@ -77,12 +79,32 @@ class ProxyReadAdapter {
                 if (success instanceof NormalizedNodeMessage) {
                     final NormalizedNodeMessage data = (NormalizedNodeMessage) success;
                     settableFuture.set(Optional.of(data.getNode()));
+                    return;
+                }
+                if (success instanceof NormalizedNodeChunk) {
+                    receiveChunks((NormalizedNodeChunk) success, settableFuture);
                 }
             }
         }, actorSystem.dispatcher());
         return Futures.makeChecked(settableFuture, ReadFailedException.MAPPER);
     }
 
+    private void receiveChunks(final NormalizedNodeChunk firstChunk,
+                               final SettableFuture<Optional<NormalizedNode<?, ?>>> settableFuture) {
+        LOG.trace("{}: Receiving read result in {} chunks", id, firstChunk.getChunkCount());
+        NormalizedNodeTransfer.receive(firstChunk, masterTxActor, askTimeout, actorSystem.dispatcher())
+                .onComplete(new OnComplete<NormalizedNodeMessage>() {
+                    @Override
+                    public void onComplete(final Throwable failure, final NormalizedNodeMessage success) {
+                        if (failure != null) {
+                            settableFuture.setException(failure);
+                        } else {
+                            settableFuture.set(Optional.of(success.getNode()));
+                        }
+                    }
+                }, actorSystem.dispatcher());
+    }
+
     public CheckedFuture<Boolean, ReadFailedException> exists(final LogicalDatastoreType store,
                                                               final YangInstanceIdentifier path) {
         final Future<Object> existsScalaFuture =
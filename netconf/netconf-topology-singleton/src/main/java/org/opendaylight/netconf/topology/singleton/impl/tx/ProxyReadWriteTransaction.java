@@ -14,6 +14,7 @@ import akka.util.Timeout;
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.ListenableFuture;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.common.api.TransactionStatus;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
@@ -44,8 +45,25 @@ public class ProxyReadWriteTransaction implements DOMDataReadWriteTransaction {
      */
     public ProxyReadWriteTransaction(final ActorRef masterTxActor, final RemoteDeviceId id,
                                      final ActorSystem actorSystem, final Timeout askTimeout) {
+        this(masterTxActor, id, actorSystem, askTimeout, null);
+    }
+
+    /**
+     * Constructor for {@code ProxyReadWriteTransaction} which invalidates the read cache of a slave node on submit.
+     * Reads of this transaction always go to the master, so that they see the transaction's own writes.
+     *
+     * @param masterTxActor
+     * {@link org.opendaylight.netconf.topology.singleton.impl.actors.ReadWriteTransactionActor} ref
+     * @param id            device id
+     * @param actorSystem   system
+     * @param askTimeout    timeout
+     * @param readCache     read result cache, null if there is none
+     */
+    public ProxyReadWriteTransaction(final ActorRef masterTxActor, final RemoteDeviceId id,
+                                     final ActorSystem actorSystem, final Timeout askTimeout,
+                                     @Nullable final ReadResultCache readCache) {
         delegateRead = new ProxyReadAdapter(masterTxActor, id, actorSystem, askTimeout);
-        delegateWrite = new ProxyWriteAdapter(masterTxActor, id, actorSystem, askTimeout);
+        delegateWrite = new ProxyWriteAdapter(masterTxActor, id, actorSystem, askTimeout, readCache);
     }
 
     @Override
@@ -61,12 +79,15 @@ public class ProxyReadWriteTransaction implements DOMDataReadWriteTransaction {
     @Override
     public CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read(final LogicalDatastoreType store,
                                                                                    final YangInstanceIdentifier path) {
+        // Batched writes have to reach the master before the read, so that it sees them
+        delegateWrite.flush();
         return delegateRead.read(store, path);
     }
 
     @Override
     public CheckedFuture<Boolean, ReadFailedException> exists(final LogicalDatastoreType store,
                                                               final YangInstanceIdentifier path) {
+        delegateWrite.flush();
         return delegateRead.exists(store, path);
     }
 
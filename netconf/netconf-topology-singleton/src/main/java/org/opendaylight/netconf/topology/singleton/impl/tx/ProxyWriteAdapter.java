@@ -19,12 +19,14 @@ import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.common.api.TransactionStatus;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.netconf.topology.singleton.impl.utils.MessageBatcher;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.CancelRequest;
@@ -33,6 +35,8 @@ import org.opendaylight.netconf.topology.singleton.messages.transactions.MergeRe
 import org.opendaylight.netconf.topology.singleton.messages.transactions.PutRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitFailedReply;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitRequest;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.WriteActorMessage;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.WriteBatchRequest;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -46,18 +50,41 @@ public class ProxyWriteAdapter {
 
     private static final Logger LOG = LoggerFactory.getLogger(ProxyWriteAdapter.class);
 
+    private static final int MAX_WRITE_BATCH_SIZE = 64;
+
     private final ActorRef masterTxActor;
     private final RemoteDeviceId id;
     private final ActorSystem actorSystem;
     private final AtomicBoolean opened = new AtomicBoolean(true);
     private final Timeout askTimeout;
+    private final ReadResultCache readCache;
+    private final MessageBatcher<WriteActorMessage> writeBatcher;
 
     public ProxyWriteAdapter(final ActorRef masterTxActor, final RemoteDeviceId id, final ActorSystem actorSystem,
                              final Timeout askTimeout) {
+        this(masterTxActor, id, actorSystem, askTimeout, null);
+    }
+
+    public ProxyWriteAdapter(final ActorRef masterTxActor, final RemoteDeviceId id, final ActorSystem actorSystem,
+                             final Timeout askTimeout, @Nullable final ReadResultCache readCache) {
         this.masterTxActor = masterTxActor;
         this.id = id;
         this.actorSystem = actorSystem;
         this.askTimeout = askTimeout;
+        this.readCache = readCache;
+        this.writeBatcher = new MessageBatcher<>(actorSystem.dispatcher(), MAX_WRITE_BATCH_SIZE, this::sendWrites);
+    }
+
+    private void sendWrites(final List<WriteActorMessage> requests) {
+        final Object message = requests.size() == 1 ? requests.get(0) : new WriteBatchRequest(requests);
+        masterTxActor.tell(message, ActorRef.noSender());
+    }
+
+    /**
+     * Send all writes added so far to the master, so that a request sent afterwards is ordered after them.
+     */
+    public void flush() {
+        writeBatcher.flush();
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -65,6 +92,7 @@ public class ProxyWriteAdapter {
         if (!opened.compareAndSet(true, false)) {
             return false;
         }
+        writeBatcher.flush();
         final Future<Object> cancelScalaFuture =
                 Patterns.ask(masterTxActor, new CancelRequest(), askTimeout);
 
@@ -82,6 +110,9 @@ public class ProxyWriteAdapter {
         if (!opened.compareAndSet(true, false)) {
             throw new IllegalStateException(id + ": Transaction" + identifier + " is closed");
         }
+        invalidateReadCache();
+        // Writes have to reach the master before the submit
+        writeBatcher.flush();
         final Future<Object> submitScalaFuture =
                 Patterns.ask(masterTxActor, new SubmitRequest(), askTimeout);
 
@@ -91,6 +122,8 @@ public class ProxyWriteAdapter {
         submitScalaFuture.onComplete(new OnComplete<Object>() {
             @Override
             public void onComplete(final Throwable failure, final Object success) throws Throwable {
+                // Reads performed while the transaction was being committed may have cached the old data
+                invalidateReadCache();
                 if (failure != null) { // ask timeout
                     final Exception exception = NetconfTopologyUtils.createMasterIsDownException(id);
                     settableFuture.setException(exception);
@@ -120,6 +153,12 @@ public class ProxyWriteAdapter {
         });
     }
 
+    private void invalidateReadCache() {
+        if (readCache != null) {
+            readCache.invalidate();
+        }
+    }
+
     public ListenableFuture<RpcResult<TransactionStatus>> commit(final Object identifier) {
         LOG.trace("{}: Commit", id);
 
@@ -136,7 +175,7 @@ public class ProxyWriteAdapter {
     public void delete(final LogicalDatastoreType store, final YangInstanceIdentifier identifier) {
         Preconditions.checkState(opened.get(), "%s: Transaction was closed %s", id, identifier);
         LOG.trace("{}: Delete {} via NETCONF: {}", id, store, identifier);
-        masterTxActor.tell(new DeleteRequest(store, identifier), ActorRef.noSender());
+        writeBatcher.add(new DeleteRequest(store, identifier));
     }
 
     public void put(final LogicalDatastoreType store, final YangInstanceIdentifier path,
@@ -144,7 +183,7 @@ public class ProxyWriteAdapter {
         Preconditions.checkState(opened.get(), "%s: Transaction was closed %s", id, identifier);
         final NormalizedNodeMessage msg = new NormalizedNodeMessage(path, data);
         LOG.trace("{}: Put {} via NETCONF: {} with payload {}", id, store, path, data);
-        masterTxActor.tell(new PutRequest(store, msg), ActorRef.noSender());
+        writeBatcher.add(new PutRequest(store, msg));
     }
 
     public void merge(final LogicalDatastoreType store, final YangInstanceIdentifier path,
@@ -152,7 +191,7 @@ public class ProxyWriteAdapter {
         Preconditions.checkState(opened.get(), "%s: Transaction was closed %s", id, identifier);
         final NormalizedNodeMessage msg = new NormalizedNodeMessage(path, data);
         LOG.trace("{}: Merge {} via NETCONF: {} with payload {}", id, store, path, data);
-        masterTxActor.tell(new MergeRequest(store, msg), ActorRef.noSender());
+        writeBatcher.add(new MergeRequest(store, msg));
     }
 
 }
@@ -13,6 +13,7 @@ import akka.actor.ActorSystem;
 import akka.util.Timeout;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.ListenableFuture;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.common.api.TransactionStatus;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
@@ -40,7 +41,21 @@ public class ProxyWriteTransaction implements DOMDataWriteTransaction {
      */
     public ProxyWriteTransaction(final ActorRef masterTxActor, final RemoteDeviceId id, final ActorSystem actorSystem,
                                  final Timeout askTimeout) {
-        proxyWriteAdapter = new ProxyWriteAdapter(masterTxActor, id, actorSystem, askTimeout);
+        this(masterTxActor, id, actorSystem, askTimeout, null);
+    }
+
+    /**
+     * Constructor for {@code ProxyWriteTransaction} which invalidates the read cache of a slave node on submit.
+     *
+     * @param masterTxActor {@link org.opendaylight.netconf.topology.singleton.impl.actors.WriteTransactionActor} ref
+     * @param id            device id
+     * @param actorSystem   system
+     * @param askTimeout    timeout
+     * @param readCache     read result cache, null if there is none
+     */
+    public ProxyWriteTransaction(final ActorRef masterTxActor, final RemoteDeviceId id, final ActorSystem actorSystem,
+                                 final Timeout askTimeout, @Nullable final ReadResultCache readCache) {
+        proxyWriteAdapter = new ProxyWriteAdapter(masterTxActor, id, actorSystem, askTimeout, readCache);
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
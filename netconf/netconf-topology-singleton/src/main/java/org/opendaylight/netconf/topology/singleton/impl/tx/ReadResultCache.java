@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.impl.tx;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of read results on a slave node. Reads of the same path within the staleness bound are answered locally,
+ * without a round trip to the master and to the device. Any transaction submitted from this node invalidates the
+ * whole cache, changes made from other nodes or directly on the device become visible once the entries expire.
+ */
+public final class ReadResultCache {
+    private static final Logger LOG = LoggerFactory.getLogger(ReadResultCache.class);
+
+    private final RemoteDeviceId id;
+    private final Cache<ReadKey, Optional<NormalizedNode<?, ?>>> cache;
+    // Bumped on every invalidation, so that a read which raced with a write is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constructor for {@code ReadResultCache}.
+     *
+     * @param id              device id
+     * @param stalenessMillis maximum age of a cached read result
+     * @param maximumSize     maximum number of cached read results
+     */
+    public ReadResultCache(final RemoteDeviceId id, final long stalenessMillis, final long maximumSize) {
+        Preconditions.checkArgument(stalenessMillis > 0, "Staleness has to be positive");
+        this.id = id;
+        this.cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(stalenessMillis, TimeUnit.MILLISECONDS)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Return cached read result or perform the read and cache its result.
+     *
+     * @param store  datastore
+     * @param path   path to read
+     * @param reader performs the read if there is no cached result
+     * @return read result
+     */
+    public CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read(
+            final LogicalDatastoreType store, final YangInstanceIdentifier path,
+            final Supplier<CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>> reader) {
+        final ReadKey key = new ReadKey(store, path);
+        final Optional<NormalizedNode<?, ?>> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            LOG.trace("{}: Read {} {} served from cache", id, store, path);
+            return Futures.immediateCheckedFuture(cached);
+        }
+
+        final long startGeneration = generation.get();
+        final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read = reader.get();
+        Futures.addCallback(read, new FutureCallback<Optional<NormalizedNode<?, ?>>>() {
+            @Override
+            public void onSuccess(final Optional<NormalizedNode<?, ?>> result) {
+                if (result != null && generation.get() == startGeneration) {
+                    cache.put(key, result);
+                }
+            }
+
+            @Override
+            public void onFailure(@Nonnull final Throwable throwable) {
+                // Failures are not cached
+            }
+        }, MoreExecutors.directExecutor());
+        return read;
+    }
+
+    /**
+     * Return cached existence of a path, if it is known.
+     *
+     * @param store datastore
+     * @param path  path to check
+     * @return existence of the path or absent if there is no cached result
+     */
+    public Optional<Boolean> exists(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
+        final Optional<NormalizedNode<?, ?>> cached = cache.getIfPresent(new ReadKey(store, path));
+        return cached == null ? Optional.absent() : Optional.of(cached.isPresent());
+    }
+
+    /**
+     * Discard all cached read results.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private static final class ReadKey {
+        private final LogicalDatastoreType store;
+        private final YangInstanceIdentifier path;
+
+        ReadKey(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
+            this.store = store;
+            this.path = path;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * store.hashCode() + path.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ReadKey)) {
+                return false;
+            }
+            final ReadKey other = (ReadKey) obj;
+            return store == other.store && Objects.equals(path, other.path);
+        }
+    }
+}
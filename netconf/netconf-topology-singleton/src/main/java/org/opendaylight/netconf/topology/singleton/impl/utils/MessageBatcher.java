@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.utils;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Coalesces messages sent to a remote actor into batches. The first message added schedules a flush on the executor
+ * and every message added before the flush runs joins the same batch, so an idle sender does not wait for anything,
+ * while a busy one sends fewer, bigger messages. Batches are handed to the sink in the order the messages were
+ * added and never concurrently.
+ *
+ * @param <T> message type
+ */
+@ThreadSafe
+public final class MessageBatcher<T> {
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final Consumer<List<T>> sink;
+
+    @GuardedBy("this")
+    private List<T> pending = new ArrayList<>();
+
+    @GuardedBy("this")
+    private boolean flushScheduled;
+
+    public MessageBatcher(final Executor executor, final int maxBatchSize, final Consumer<List<T>> sink) {
+        Preconditions.checkArgument(maxBatchSize > 0, "Batch size has to be positive");
+        this.executor = Preconditions.checkNotNull(executor);
+        this.maxBatchSize = maxBatchSize;
+        this.sink = Preconditions.checkNotNull(sink);
+    }
+
+    /**
+     * Add a message to the current batch.
+     *
+     * @param message message to send
+     */
+    public void add(final T message) {
+        final boolean schedule;
+        synchronized (this) {
+            pending.add(message);
+            schedule = !flushScheduled;
+            flushScheduled = true;
+        }
+        if (schedule) {
+            executor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Hand all pending messages to the sink right away, in batches of at most maximum batch size. Used before
+     * sending a message which has to be ordered after the pending ones.
+     */
+    public synchronized void flush() {
+        flushScheduled = false;
+        while (!pending.isEmpty()) {
+            final List<T> batch;
+            if (pending.size() <= maxBatchSize) {
+                batch = pending;
+                pending = new ArrayList<>();
+            } else {
+                final List<T> head = pending.subList(0, maxBatchSize);
+                batch = new ArrayList<>(head);
+                head.clear();
+            }
+            sink.accept(batch);
+        }
+    }
+}
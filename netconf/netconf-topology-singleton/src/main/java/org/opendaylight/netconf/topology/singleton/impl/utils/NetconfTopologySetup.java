@@ -18,6 +18,8 @@ import org.opendaylight.controller.sal.binding.api.RpcProviderRegistry;
 import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonServiceProvider;
 import org.opendaylight.netconf.client.NetconfClientDispatcher;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfDevice;
+import org.opendaylight.netconf.sal.connect.netconf.SchemaSetupScheduler;
+import org.opendaylight.protocol.framework.ConnectScheduler;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import scala.concurrent.duration.Duration;
@@ -40,6 +42,10 @@ public class NetconfTopologySetup {
     private final String privateKeyPath;
     private final String privateKeyPassphrase;
     private final AAAEncryptionService encryptionService;
+    private final SchemaSetupScheduler schemaSetupScheduler;
+    private final ConnectScheduler connectScheduler;
+    private final long slaveReadStalenessMillis;
+    private final long slaveReadCacheSize;
 
     private NetconfTopologySetup(final NetconfTopologySetupBuilder builder) {
         this.clusterSingletonServiceProvider = builder.getClusterSingletonServiceProvider();
@@ -58,6 +64,10 @@ public class NetconfTopologySetup {
         this.privateKeyPath = builder.getPrivateKeyPath();
         this.privateKeyPassphrase = builder.getPrivateKeyPassphrase();
         this.encryptionService = builder.getEncryptionService();
+        this.schemaSetupScheduler = builder.getSchemaSetupScheduler();
+        this.connectScheduler = builder.getConnectScheduler();
+        this.slaveReadStalenessMillis = builder.getSlaveReadStalenessMillis();
+        this.slaveReadCacheSize = builder.getSlaveReadCacheSize();
     }
 
     public ClusterSingletonServiceProvider getClusterSingletonServiceProvider() {
@@ -124,6 +134,22 @@ public class NetconfTopologySetup {
         return encryptionService;
     }
 
+    public SchemaSetupScheduler getSchemaSetupScheduler() {
+        return schemaSetupScheduler;
+    }
+
+    public ConnectScheduler getConnectScheduler() {
+        return connectScheduler;
+    }
+
+    public long getSlaveReadStalenessMillis() {
+        return slaveReadStalenessMillis;
+    }
+
+    public long getSlaveReadCacheSize() {
+        return slaveReadCacheSize;
+    }
+
     public static class NetconfTopologySetupBuilder {
 
         private ClusterSingletonServiceProvider clusterSingletonServiceProvider;
@@ -142,6 +168,10 @@ public class NetconfTopologySetup {
         private String privateKeyPath;
         private String privateKeyPassphrase;
         private AAAEncryptionService encryptionService;
+        private SchemaSetupScheduler schemaSetupScheduler;
+        private ConnectScheduler connectScheduler;
+        private long slaveReadStalenessMillis;
+        private long slaveReadCacheSize;
 
         public NetconfTopologySetupBuilder() {
         }
@@ -296,6 +326,42 @@ public class NetconfTopologySetup {
             return this;
         }
 
+        private SchemaSetupScheduler getSchemaSetupScheduler() {
+            return schemaSetupScheduler;
+        }
+
+        public NetconfTopologySetupBuilder setSchemaSetupScheduler(final SchemaSetupScheduler schemaSetupScheduler) {
+            this.schemaSetupScheduler = schemaSetupScheduler;
+            return this;
+        }
+
+        private ConnectScheduler getConnectScheduler() {
+            return connectScheduler;
+        }
+
+        public NetconfTopologySetupBuilder setConnectScheduler(final ConnectScheduler connectScheduler) {
+            this.connectScheduler = connectScheduler;
+            return this;
+        }
+
+        private long getSlaveReadStalenessMillis() {
+            return slaveReadStalenessMillis;
+        }
+
+        public NetconfTopologySetupBuilder setSlaveReadStalenessMillis(final long slaveReadStalenessMillis) {
+            this.slaveReadStalenessMillis = slaveReadStalenessMillis;
+            return this;
+        }
+
+        private long getSlaveReadCacheSize() {
+            return slaveReadCacheSize;
+        }
+
+        public NetconfTopologySetupBuilder setSlaveReadCacheSize(final long slaveReadCacheSize) {
+            this.slaveReadCacheSize = slaveReadCacheSize;
+            return this;
+        }
+
         public static NetconfTopologySetupBuilder create() {
             return new NetconfTopologySetupBuilder();
         }
@@ -54,6 +54,11 @@ public class NetconfTopologyUtils {
     public static final int DEFAULT_BETWEEN_ATTEMPTS_TIMEOUT_MILLIS = 2000;
     public static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = 20000L;
     public static final BigDecimal DEFAULT_SLEEP_FACTOR = new BigDecimal(1.5);
+    public static final int DEFAULT_MAX_CONCURRENT_SCHEMA_SETUPS = 8;
+    public static final long DEFAULT_SLAVE_READ_STALENESS_MILLIS = 0L;
+    public static final long DEFAULT_SLAVE_READ_CACHE_SIZE = 1024L;
+    public static final int DEFAULT_MASTER_REBALANCE_INTERVAL = 0;
+    public static final int DEFAULT_MASTER_REBALANCE_TOLERANCE = 20;
 
 
     // The default cache directory relative to <code>CACHE_DIRECTORY</code>
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.impl.utils;
+
+import akka.actor.ActorRef;
+import akka.dispatch.Futures;
+import akka.dispatch.OnComplete;
+import akka.pattern.Patterns;
+import akka.util.Timeout;
+import com.google.common.base.Preconditions;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeChunk;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeChunkRequest;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.Future;
+import scala.concurrent.Promise;
+
+/**
+ * Transfers {@link NormalizedNodeMessage}s which do not fit into a single Akka message. The sending side serializes
+ * the message once and, if it is bigger than the chunk size, keeps the serialized form and replies with the first
+ * {@link NormalizedNodeChunk} only. The receiving side pulls the remaining chunks one at a time, so there is never
+ * more than one chunk of a transfer in flight. Other serialized data too big for a single message, such as YANG
+ * sources, can be transferred the same way with {@link #store(byte[])} and {@link #receiveBytes}.
+ */
+public final class NormalizedNodeTransfer {
+    private static final Logger LOG = LoggerFactory.getLogger(NormalizedNodeTransfer.class);
+
+    // Stays below the default Akka remoting maximum frame size of 128000 bytes
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    private static final long TRANSFER_EXPIRY_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Map<Long, Transfer> transfers = new ConcurrentHashMap<>();
+    private final AtomicLong nextTransferId = new AtomicLong();
+    private final int chunkSize;
+
+    public NormalizedNodeTransfer() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public NormalizedNodeTransfer(final int chunkSize) {
+        Preconditions.checkArgument(chunkSize > 0, "Chunk size has to be positive");
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Prepare a message to be sent. Small messages are returned as they are, big messages are stored and their first
+     * chunk is returned.
+     *
+     * @param message message to send
+     * @return either the message itself or its first {@link NormalizedNodeChunk}
+     * @throws IOException if the message cannot be serialized
+     */
+    public Object prepare(final NormalizedNodeMessage message) throws IOException {
+        final byte[] bytes = message.toByteArray();
+        if (bytes.length <= chunkSize) {
+            return message;
+        }
+        return store(bytes);
+    }
+
+    /**
+     * Store serialized data to be sent in chunks and return its first chunk. The remaining chunks are served by
+     * {@link #nextChunk(NormalizedNodeChunkRequest)}.
+     *
+     * @param bytes data to send
+     * @return first {@link NormalizedNodeChunk} of the data
+     */
+    public NormalizedNodeChunk store(final byte[] bytes) {
+        expireTransfers();
+        final long transferId = nextTransferId.getAndIncrement();
+        final Transfer transfer = new Transfer(bytes, (bytes.length + chunkSize - 1) / chunkSize);
+        transfers.put(transferId, transfer);
+        LOG.debug("Sending {} bytes in {} chunks, transfer {}", bytes.length, transfer.chunkCount, transferId);
+        return chunk(transferId, transfer, 0);
+    }
+
+    /**
+     * Return the chunk requested by the receiving side. A transfer is forgotten once its last chunk is requested.
+     *
+     * @param request chunk request
+     * @return requested {@link NormalizedNodeChunk} or an exception if there is no such transfer
+     */
+    public Object nextChunk(final NormalizedNodeChunkRequest request) {
+        final Transfer transfer = transfers.get(request.getTransferId());
+        if (transfer == null || request.getIndex() <= 0 || request.getIndex() >= transfer.chunkCount) {
+            return new IllegalStateException("Unknown chunk " + request.getIndex() + " of transfer "
+                    + request.getTransferId());
+        }
+        if (request.getIndex() == transfer.chunkCount - 1) {
+            transfers.remove(request.getTransferId());
+        } else {
+            transfer.touch();
+        }
+        return chunk(request.getTransferId(), transfer, request.getIndex());
+    }
+
+    int getPendingTransfers() {
+        return transfers.size();
+    }
+
+    private NormalizedNodeChunk chunk(final long transferId, final Transfer transfer, final int index) {
+        final int from = index * chunkSize;
+        final int to = Math.min(from + chunkSize, transfer.bytes.length);
+        return new NormalizedNodeChunk(transferId, index, transfer.chunkCount, transfer.bytes.length,
+                Arrays.copyOfRange(transfer.bytes, from, to));
+    }
+
+    private void expireTransfers() {
+        final long now = System.nanoTime();
+        final Iterator<Transfer> it = transfers.values().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().lastAccess > TRANSFER_EXPIRY_NANOS) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Pull the remaining chunks of a transfer and restore the message.
+     *
+     * @param firstChunk first chunk of the transfer
+     * @param sender actor which sent the first chunk
+     * @param askTimeout timeout of each chunk request
+     * @param executionContext execution context to run the callbacks on
+     * @return future of the restored message
+     */
+    public static Future<NormalizedNodeMessage> receive(final NormalizedNodeChunk firstChunk, final ActorRef sender,
+                                                        final Timeout askTimeout,
+                                                        final ExecutionContext executionContext) {
+        final Promise<NormalizedNodeMessage> promise = Futures.promise();
+        receiveBytes(firstChunk, sender, askTimeout, executionContext).onComplete(new OnComplete<byte[]>() {
+            @Override
+            public void onComplete(final Throwable failure, final byte[] success) {
+                if (failure != null) {
+                    promise.failure(failure);
+                    return;
+                }
+                try {
+                    promise.success(NormalizedNodeMessage.fromByteArray(success));
+                } catch (final IOException e) {
+                    promise.failure(e);
+                }
+            }
+        }, executionContext);
+        return promise.future();
+    }
+
+    /**
+     * Pull the remaining chunks of a transfer and return the data as they were stored by the sending side.
+     *
+     * @param firstChunk first chunk of the transfer
+     * @param sender actor which sent the first chunk
+     * @param askTimeout timeout of each chunk request
+     * @param executionContext execution context to run the callbacks on
+     * @return future of the transferred data
+     */
+    public static Future<byte[]> receiveBytes(final NormalizedNodeChunk firstChunk, final ActorRef sender,
+                                              final Timeout askTimeout, final ExecutionContext executionContext) {
+        final Promise<byte[]> promise = Futures.promise();
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(firstChunk.getTotalSize());
+        accept(firstChunk, buffer, promise, sender, askTimeout, executionContext);
+        return promise.future();
+    }
+
+    private static void accept(final NormalizedNodeChunk chunk, final ByteArrayOutputStream buffer,
+                               final Promise<byte[]> promise, final ActorRef sender,
+                               final Timeout askTimeout, final ExecutionContext executionContext) {
+        buffer.write(chunk.getData(), 0, chunk.getData().length);
+        if (chunk.isLast()) {
+            promise.success(buffer.toByteArray());
+            return;
+        }
+
+        final Future<Object> next = Patterns.ask(sender,
+                new NormalizedNodeChunkRequest(chunk.getTransferId(), chunk.getIndex() + 1), askTimeout);
+        next.onComplete(new OnComplete<Object>() {
+            @Override
+            public void onComplete(final Throwable failure, final Object success) throws Throwable {
+                if (failure != null) {
+                    promise.failure(failure);
+                } else if (success instanceof NormalizedNodeChunk) {
+                    accept((NormalizedNodeChunk) success, buffer, promise, sender, askTimeout, executionContext);
+                } else if (success instanceof Throwable) {
+                    promise.failure((Throwable) success);
+                } else {
+                    promise.failure(new IllegalStateException("Unexpected chunk reply " + success));
+                }
+            }
+        }, executionContext);
+    }
+
+    private static final class Transfer {
+        final byte[] bytes;
+        final int chunkCount;
+        volatile long lastAccess = System.nanoTime();
+
+        Transfer(final byte[] bytes, final int chunkCount) {
+            this.bytes = bytes;
+            this.chunkCount = chunkCount;
+        }
+
+        void touch() {
+            lastAccess = System.nanoTime();
+        }
+    }
+}
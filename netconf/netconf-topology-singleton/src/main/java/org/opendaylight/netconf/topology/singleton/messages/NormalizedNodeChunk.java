@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import java.io.Serializable;
+
+/**
+ * Part of a serialized {@link NormalizedNodeMessage} too big to be sent as a single message. The receiver pulls
+ * the remaining chunks one by one with {@link NormalizedNodeChunkRequest}.
+ */
+public class NormalizedNodeChunk implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long transferId;
+    private final int index;
+    private final int chunkCount;
+    private final int totalSize;
+    private final byte[] data;
+
+    public NormalizedNodeChunk(final long transferId, final int index, final int chunkCount, final int totalSize,
+                               final byte[] data) {
+        this.transferId = transferId;
+        this.index = index;
+        this.chunkCount = chunkCount;
+        this.totalSize = totalSize;
+        this.data = data;
+    }
+
+    public long getTransferId() {
+        return transferId;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public int getTotalSize() {
+        return totalSize;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public boolean isLast() {
+        return index == chunkCount - 1;
+    }
+}
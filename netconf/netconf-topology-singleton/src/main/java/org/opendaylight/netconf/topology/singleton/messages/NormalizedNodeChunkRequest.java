@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import org.opendaylight.netconf.topology.singleton.messages.transactions.ReadActorMessage;
+
+/**
+ * Request for the next chunk of a {@link NormalizedNodeMessage} transfer.
+ */
+public class NormalizedNodeChunkRequest implements ReadActorMessage {
+    private static final long serialVersionUID = 1L;
+
+    private final long transferId;
+    private final int index;
+
+    public NormalizedNodeChunkRequest(final long transferId, final int index) {
+        this.transferId = transferId;
+        this.index = index;
+    }
+
+    public long getTransferId() {
+        return transferId;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+}
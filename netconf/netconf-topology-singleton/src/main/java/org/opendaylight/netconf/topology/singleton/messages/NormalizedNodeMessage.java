@@ -8,6 +8,10 @@
 
 package org.opendaylight.netconf.topology.singleton.messages;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
@@ -24,6 +28,8 @@ public class NormalizedNodeMessage implements Externalizable {
 
     private YangInstanceIdentifier identifier = null;
     private NormalizedNode<?, ?> node = null;
+    // Serialized form, kept so that a message measured by toByteArray() is not serialized twice
+    private transient byte[] serialized = null;
 
     public NormalizedNodeMessage() {
         // empty constructor needed for Externalizable
@@ -42,9 +48,45 @@ public class NormalizedNodeMessage implements Externalizable {
         return node;
     }
 
+    /**
+     * Serialize this message into the same binary format {@link #writeExternal(ObjectOutput)} produces.
+     *
+     * @return serialized message
+     * @throws IOException if the node cannot be serialized
+     */
+    public byte[] toByteArray() throws IOException {
+        if (serialized == null) {
+            final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bos)) {
+                SerializationUtils.serializePathAndNode(getIdentifier(), node, out);
+            }
+            serialized = bos.toByteArray();
+        }
+        return serialized;
+    }
+
+    /**
+     * Restore a message serialized by {@link #toByteArray()}.
+     *
+     * @param bytes serialized message
+     * @return restored message
+     * @throws IOException if the bytes do not hold a valid message
+     */
+    public static NormalizedNodeMessage fromByteArray(final byte[] bytes) throws IOException {
+        final NormalizedNodeMessage message = new NormalizedNodeMessage();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            SerializationUtils.deserializePathAndNode(in, message, APPLIER);
+        }
+        return message;
+    }
+
     @Override
     public void writeExternal(final ObjectOutput out) throws IOException {
-        SerializationUtils.serializePathAndNode(getIdentifier(), node, out);
+        if (serialized != null) {
+            out.write(serialized);
+        } else {
+            SerializationUtils.serializePathAndNode(getIdentifier(), node, out);
+        }
     }
 
     @Override
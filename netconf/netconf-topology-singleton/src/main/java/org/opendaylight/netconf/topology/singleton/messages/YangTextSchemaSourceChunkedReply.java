@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import java.io.Serializable;
+
+/**
+ * Reply to {@link YangTextSchemaSourceRequest} whose schema source is too big to be sent as a single message. It
+ * carries the first chunk of the source text, the rest is pulled from the master.
+ */
+public class YangTextSchemaSourceChunkedReply implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final NormalizedNodeChunk firstChunk;
+
+    public YangTextSchemaSourceChunkedReply(final NormalizedNodeChunk firstChunk) {
+        this.firstChunk = firstChunk;
+    }
+
+    public NormalizedNodeChunk getFirstChunk() {
+        return firstChunk;
+    }
+}
@@ -13,7 +13,8 @@ import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
 
 /**
  * Slave sends message to master when tries to resolve schema with particular sourceIdentifier (proxy call).
- * Master responds with resolved schema source.
+ * Master responds with resolved schema source, or with {@link YangTextSchemaSourceChunkedReply} if the source is
+ * too big to be sent as a single message.
  */
 public class YangTextSchemaSourceRequest implements Serializable {
     private static final long serialVersionUID = 1L;
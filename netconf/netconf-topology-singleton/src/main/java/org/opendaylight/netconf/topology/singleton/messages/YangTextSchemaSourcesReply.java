@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import java.io.Serializable;
+import java.util.List;
+import org.opendaylight.controller.cluster.schema.provider.impl.YangTextSchemaSourceSerializationProxy;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+
+/**
+ * Master responds with as many of the requested schema sources as fit into a single message. Sources which did
+ * not fit are listed as remaining and have to be requested again. Sources the master failed to resolve and
+ * sources too big for a single message are left out, they are requested with {@link YangTextSchemaSourceRequest}.
+ */
+public class YangTextSchemaSourcesReply implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final List<SourceIdentifier> sourceIdentifiers;
+    private final List<YangTextSchemaSourceSerializationProxy> sources;
+    private final List<SourceIdentifier> remaining;
+
+    public YangTextSchemaSourcesReply(final List<SourceIdentifier> sourceIdentifiers,
+                                      final List<YangTextSchemaSourceSerializationProxy> sources,
+                                      final List<SourceIdentifier> remaining) {
+        this.sourceIdentifiers = sourceIdentifiers;
+        this.sources = sources;
+        this.remaining = remaining;
+    }
+
+    /**
+     * Return identifiers of the sent sources, in the same order as {@link #getSources()}.
+     *
+     * @return identifiers of the sent sources
+     */
+    public List<SourceIdentifier> getSourceIdentifiers() {
+        return sourceIdentifiers;
+    }
+
+    public List<YangTextSchemaSourceSerializationProxy> getSources() {
+        return sources;
+    }
+
+    public List<SourceIdentifier> getRemaining() {
+        return remaining;
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import java.io.Serializable;
+import java.util.List;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+
+/**
+ * Slave sends message to master to fetch many schema sources at once before it starts resolving the schema.
+ * Master responds with {@link YangTextSchemaSourcesReply}.
+ */
+public class YangTextSchemaSourcesRequest implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final List<SourceIdentifier> sourceIdentifiers;
+
+    public YangTextSchemaSourcesRequest(final List<SourceIdentifier> sourceIdentifiers) {
+        this.sourceIdentifiers = sourceIdentifiers;
+    }
+
+    public List<SourceIdentifier> getSourceIdentifiers() {
+        return sourceIdentifiers;
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.messages.rpc;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Several {@link InvokeRpcMessage}s sent to the master in a single message. The master invokes them in the order of
+ * the list and answers with an {@link InvokeRpcBatchReply} for each of them, in the order they complete.
+ */
+public class InvokeRpcBatchMessage implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final ArrayList<InvokeRpcMessage> messages;
+
+    public InvokeRpcBatchMessage(final List<InvokeRpcMessage> messages) {
+        this.messages = new ArrayList<>(messages);
+    }
+
+    public List<InvokeRpcMessage> getMessages() {
+        return Collections.unmodifiableList(messages);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.messages.rpc;
+
+import java.io.Serializable;
+
+/**
+ * Reply to one rpc of an {@link InvokeRpcBatchMessage}. The master sends one of these as soon as each rpc of the batch
+ * completes, so a slow rpc does not hold back the replies to the others. The reply is exactly what would have been
+ * sent in reply to a single {@link InvokeRpcMessage}.
+ */
+public class InvokeRpcBatchReply implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+    private final Object reply;
+
+    public InvokeRpcBatchReply(final int index, final Object reply) {
+        this.index = index;
+        this.reply = reply;
+    }
+
+    /**
+     * Get the position of the rpc in {@link InvokeRpcBatchMessage#getMessages()}.
+     *
+     * @return index of the rpc in the batch
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public Object getReply() {
+        return reply;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.messages.rpc;
+
+import java.io.Serializable;
+import java.util.Collection;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeChunk;
+import org.opendaylight.yangtools.yang.common.RpcError;
+
+/**
+ * Reply to {@link InvokeRpcMessage} whose output is too big to be sent as a single message. It carries the first
+ * chunk of the output, the rest is pulled from the master.
+ */
+public class InvokeRpcChunkedReply implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final NormalizedNodeChunk firstChunk;
+    private final Collection<RpcError> rpcErrors;
+
+    public InvokeRpcChunkedReply(final NormalizedNodeChunk firstChunk, final Collection<RpcError> rpcErrors) {
+        this.firstChunk = firstChunk;
+        this.rpcErrors = rpcErrors;
+    }
+
+    public NormalizedNodeChunk getFirstChunk() {
+        return firstChunk;
+    }
+
+    public Collection<RpcError> getRpcErrors() {
+        return rpcErrors;
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.messages.transactions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Put, merge and delete requests sent to the master transaction actor in a single message. They are applied in
+ * the order of the list.
+ */
+public class WriteBatchRequest implements WriteActorMessage {
+    private static final long serialVersionUID = 1L;
+
+    private final ArrayList<WriteActorMessage> requests;
+
+    public WriteBatchRequest(final List<WriteActorMessage> requests) {
+        this.requests = new ArrayList<>(requests);
+    }
+
+    public List<WriteActorMessage> getRequests() {
+        return Collections.unmodifiableList(requests);
+    }
+}
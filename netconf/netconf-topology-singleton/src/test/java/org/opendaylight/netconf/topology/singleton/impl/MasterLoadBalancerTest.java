@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.math.BigDecimal;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.topology.singleton.config.rev170419.member.load.Member;
+
+public class MasterLoadBalancerTest {
+
+    @Test
+    public void testLoadScore() {
+        final Member member = MasterLoadBalancer.createMember("member-1", 10, 50, 30);
+        assertEquals(new BigDecimal("18.00"), member.getLoadScore());
+        assertEquals(Long.valueOf(10), member.getMasteredDevices());
+    }
+
+    @Test
+    public void testNewMemberTakesOverDevices() {
+        final Member own = MasterLoadBalancer.createMember("member-1", 10, 0, 0);
+        final Member joined = MasterLoadBalancer.createMember("member-2", 0, 0, 0);
+        assertTrue(MasterLoadBalancer.shouldRelinquish(own, ImmutableList.of(own, joined), 20));
+        assertFalse(MasterLoadBalancer.shouldRelinquish(joined, ImmutableList.of(own, joined), 20));
+    }
+
+    @Test
+    public void testBalancedClusterIsStable() {
+        final Member own = MasterLoadBalancer.createMember("member-1", 6, 0, 0);
+        final Member other = MasterLoadBalancer.createMember("member-2", 5, 0, 0);
+        assertFalse(MasterLoadBalancer.shouldRelinquish(own, ImmutableList.of(own, other), 0));
+    }
+
+    @Test
+    public void testSingleMember() {
+        final Member own = MasterLoadBalancer.createMember("member-1", 10, 0, 0);
+        assertFalse(MasterLoadBalancer.shouldRelinquish(own, ImmutableList.of(own), 20));
+    }
+}
@@ -9,10 +9,12 @@
 package org.opendaylight.netconf.topology.singleton.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
@@ -30,6 +32,7 @@ import akka.testkit.TestActorRef;
 import akka.util.Timeout;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Optional;
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.net.InetAddresses;
@@ -66,6 +69,10 @@ import org.opendaylight.netconf.topology.singleton.messages.CreateInitialMasterA
 import org.opendaylight.netconf.topology.singleton.messages.MasterActorDataInitialized;
 import org.opendaylight.netconf.topology.singleton.messages.RefreshSetupMasterActorData;
 import org.opendaylight.netconf.topology.singleton.messages.RegisterMountPoint;
+import org.opendaylight.netconf.topology.singleton.messages.YangTextSchemaSourceChunkedReply;
+import org.opendaylight.netconf.topology.singleton.messages.YangTextSchemaSourceRequest;
+import org.opendaylight.netconf.topology.singleton.messages.YangTextSchemaSourcesReply;
+import org.opendaylight.netconf.topology.singleton.messages.YangTextSchemaSourcesRequest;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.RpcError;
 import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
@@ -208,6 +215,8 @@ public class NetconfNodeActorTest {
         final CheckedFuture<SchemaContext, SchemaResolutionException> checkedFuture =
                 Futures.makeChecked(schemaContextFuture, e -> new SchemaResolutionException("fail", e));
         doReturn(checkedFuture).when(schemaContextFactory).createSchemaContext(any());
+        doReturn(Futures.immediateFailedCheckedFuture(new MissingSchemaSourceException("Fail", yang1)))
+                .when(schemaRepository).getSchemaSource(any(SourceIdentifier.class), eq(YangTextSchemaSource.class));
         final ActorRef slaveRef =
                 system.actorOf(NetconfNodeActor.props(setup, remoteDeviceId, registry, schemaRepository, TIMEOUT,
                         mountPointService));
@@ -224,6 +233,68 @@ public class NetconfNodeActorTest {
         verify(regYang2).close();
     }
 
+    @Test
+    public void testReceiveRegisterMountpointPrefetchesMissingSources() throws Exception {
+        final RevisionSourceIdentifier yang1 = RevisionSourceIdentifier.create("yang1");
+        final RevisionSourceIdentifier yang2 = RevisionSourceIdentifier.create("yang2");
+        final SchemaSourceRegistry registry = mock(SchemaSourceRegistry.class);
+        final SchemaRepository schemaRepository = mock(SchemaRepository.class);
+        doReturn(mock(SchemaSourceRegistration.class)).when(registry).registerSchemaSource(any(), any());
+        final SchemaContextFactory schemaContextFactory = mock(SchemaContextFactory.class);
+        doReturn(schemaContextFactory).when(schemaRepository).createSchemaContextFactory(any());
+        doReturn(Futures.makeChecked(SettableFuture.create(), e -> new SchemaResolutionException("fail", e)))
+                .when(schemaContextFactory).createSchemaContext(any());
+        // yang1 is already cached locally
+        doReturn(Futures.immediateCheckedFuture(yangTextSchemaSource(yang1, "YANG")))
+                .when(schemaRepository).getSchemaSource(yang1, YangTextSchemaSource.class);
+        doReturn(Futures.immediateFailedCheckedFuture(new MissingSchemaSourceException("Fail", yang2)))
+                .when(schemaRepository).getSchemaSource(yang2, YangTextSchemaSource.class);
+
+        final ActorRef slaveRef = system.actorOf(NetconfNodeActor.props(mock(NetconfTopologySetup.class),
+                remoteDeviceId, registry, schemaRepository, TIMEOUT, mountPointService));
+        final JavaTestKit master = new JavaTestKit(system);
+        slaveRef.tell(new RegisterMountPoint(ImmutableList.of(yang1, yang2)), master.getRef());
+
+        final YangTextSchemaSourcesRequest request = master.expectMsgClass(YangTextSchemaSourcesRequest.class);
+        assertEquals(ImmutableList.of(yang2), request.getSourceIdentifiers());
+        verify(registry, timeout(1000)).registerSchemaSource(any(), withSourceId(yang1));
+        verify(registry, timeout(1000)).registerSchemaSource(any(), withSourceId(yang2));
+    }
+
+    @Test
+    public void testYangTextSchemaSourceChunks() throws Exception {
+        final SchemaRepository schemaRepository = mock(SchemaRepository.class);
+        final SourceIdentifier sourceIdentifier = RevisionSourceIdentifier.create("bigID", Optional.absent());
+        final Props props = NetconfNodeActor.props(mock(NetconfTopologySetup.class), remoteDeviceId,
+                DEFAULT_SCHEMA_REPOSITORY, schemaRepository, TIMEOUT, mountPointService);
+
+        final ActorRef actorRefSchemaRepo = TestActorRef.create(system, props, "master_chunked_schema_repository");
+        final ActorContext actorContext = mock(ActorContext.class);
+        doReturn(system.dispatcher()).when(actorContext).dispatcher();
+
+        final ProxyYangTextSourceProvider proxyYang =
+                new ProxyYangTextSourceProvider(actorRefSchemaRepo, actorContext, TIMEOUT);
+
+        // several chunks worth of text
+        final String yang = Strings.repeat("YANG", 50000);
+        doReturn(Futures.immediateCheckedFuture(yangTextSchemaSource(sourceIdentifier, yang)))
+                .when(schemaRepository).getSchemaSource(sourceIdentifier, YangTextSchemaSource.class);
+
+        // too big for a batch, left out of it
+        final YangTextSchemaSourcesReply batch = (YangTextSchemaSourcesReply) Await.result(Patterns.ask(
+                actorRefSchemaRepo, new YangTextSchemaSourcesRequest(ImmutableList.of(sourceIdentifier)), TIMEOUT),
+                TIMEOUT.duration());
+        assertTrue(batch.getSources().isEmpty());
+        assertTrue(batch.getRemaining().isEmpty());
+
+        // sent in chunks when requested on its own
+        assertTrue(Await.result(Patterns.ask(actorRefSchemaRepo, new YangTextSchemaSourceRequest(sourceIdentifier),
+                TIMEOUT), TIMEOUT.duration()) instanceof YangTextSchemaSourceChunkedReply);
+        final YangTextSchemaSourceSerializationProxy success =
+                Await.result(proxyYang.getYangTextSchemaSource(sourceIdentifier), TIMEOUT.duration());
+        assertEquals(yang, convertStreamToString(success.getRepresentation().openStream()));
+    }
+
     @Test
     public void testYangTextSchemaSourceRequestMessage() throws Exception {
         final SchemaRepository schemaRepository = mock(SchemaRepository.class);
@@ -285,6 +356,54 @@ public class NetconfNodeActorTest {
 
     }
 
+    @Test
+    public void testYangTextSchemaSourcesPrefetch() throws Exception {
+        final SchemaRepository schemaRepository = mock(SchemaRepository.class);
+        final SourceIdentifier sourceIdentifier = RevisionSourceIdentifier.create("testID", Optional.absent());
+        final SourceIdentifier missingIdentifier = RevisionSourceIdentifier.create("missingID", Optional.absent());
+        final Props props = NetconfNodeActor.props(mock(NetconfTopologySetup.class), remoteDeviceId,
+                DEFAULT_SCHEMA_REPOSITORY, schemaRepository, TIMEOUT, mountPointService);
+
+        final ActorRef actorRefSchemaRepo = TestActorRef.create(system, props, "master_prefetch_schema_repository");
+        final ActorContext actorContext = mock(ActorContext.class);
+        doReturn(system.dispatcher()).when(actorContext).dispatcher();
+
+        final ProxyYangTextSourceProvider proxyYang =
+                new ProxyYangTextSourceProvider(actorRefSchemaRepo, actorContext, TIMEOUT);
+
+        final YangTextSchemaSource yangTextSchemaSource = new YangTextSchemaSource(sourceIdentifier) {
+            @Override
+            protected MoreObjects.ToStringHelper addToStringAttributes(
+                    final MoreObjects.ToStringHelper toStringHelper) {
+                return null;
+            }
+
+            @Override
+            public InputStream openStream() throws IOException {
+                return new ByteArrayInputStream("YANG".getBytes());
+            }
+        };
+        doReturn(Futures.immediateCheckedFuture(yangTextSchemaSource))
+                .when(schemaRepository).getSchemaSource(sourceIdentifier, YangTextSchemaSource.class);
+        doReturn(Futures.immediateFailedCheckedFuture(new MissingSchemaSourceException("Fail", missingIdentifier)))
+                .when(schemaRepository).getSchemaSource(missingIdentifier, YangTextSchemaSource.class);
+
+        // missing source does not fail the whole transfer
+        Await.result(proxyYang.prefetchYangTextSchemaSources(ImmutableList.of(sourceIdentifier, missingIdentifier)),
+                TIMEOUT.duration());
+
+        // prefetched source is provided without asking master again
+        doReturn(Futures.immediateFailedCheckedFuture(new MissingSchemaSourceException("Fail", sourceIdentifier)))
+                .when(schemaRepository).getSchemaSource(sourceIdentifier, YangTextSchemaSource.class);
+        final YangTextSchemaSourceSerializationProxy success =
+                Await.result(proxyYang.getYangTextSchemaSource(sourceIdentifier), TIMEOUT.duration());
+        assertEquals("YANG", convertStreamToString(success.getRepresentation().openStream()));
+
+        // but only once
+        exception.expect(MissingSchemaSourceException.class);
+        Await.result(proxyYang.getYangTextSchemaSource(sourceIdentifier), TIMEOUT.duration());
+    }
+
     @Test
     public void testProxyDOMRpcService() throws Exception {
 
@@ -376,6 +495,39 @@ public class NetconfNodeActorTest {
 
     }
 
+    @Test
+    public void testProxyDOMRpcServiceBatchReplies() throws Exception {
+        final Future<Object> initialDataToActor =
+                Patterns.ask(masterRef, new CreateInitialMasterActorData(mock(DOMDataBroker.class),
+                        ImmutableList.of(), domRpcService), TIMEOUT);
+        assertTrue(Await.result(initialDataToActor, TIMEOUT.duration()) instanceof MasterActorDataInitialized);
+
+        final ProxyDOMRpcService slaveDomRPCService =
+                new ProxyDOMRpcService(system, masterRef, remoteDeviceId, TIMEOUT);
+        final SchemaPath slowPath = SchemaPath.create(true, QName.create("slow"));
+        final SchemaPath fastPath = SchemaPath.create(true, QName.create("fast"));
+        final NormalizedNode<?, ?> outputNode = ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(QName.create("TestQname")))
+                .build();
+
+        final SettableFuture<DOMRpcResult> slowResult = SettableFuture.create();
+        doReturn(Futures.makeChecked(slowResult, exception -> new ClusteringRpcException("slow", exception)))
+                .when(domRpcService).invokeRpc(eq(slowPath), any());
+        doReturn(Futures.immediateCheckedFuture(new DefaultDOMRpcResult(outputNode))).when(domRpcService)
+                .invokeRpc(eq(fastPath), any());
+
+        // Invoked back to back, so that they are likely sent in one batch
+        final CheckedFuture<DOMRpcResult, DOMRpcException> slow = slaveDomRPCService.invokeRpc(slowPath, outputNode);
+        final CheckedFuture<DOMRpcResult, DOMRpcException> fast = slaveDomRPCService.invokeRpc(fastPath, outputNode);
+
+        // The fast rpc is answered without waiting for the slow one
+        assertEquals(outputNode, fast.checkedGet(2, TimeUnit.SECONDS).getResult());
+        assertFalse(slow.isDone());
+
+        slowResult.set(new DefaultDOMRpcResult(outputNode));
+        assertEquals(outputNode, slow.checkedGet(2, TimeUnit.SECONDS).getResult());
+    }
+
     private PotentialSchemaSource<?> withSourceId(final SourceIdentifier identifier) {
         return argThat(new ArgumentMatcher<PotentialSchemaSource>() {
             @Override
@@ -386,6 +538,22 @@ public class NetconfNodeActorTest {
         });
     }
 
+    private static YangTextSchemaSource yangTextSchemaSource(final SourceIdentifier sourceIdentifier,
+                                                             final String text) {
+        return new YangTextSchemaSource(sourceIdentifier) {
+            @Override
+            protected MoreObjects.ToStringHelper addToStringAttributes(
+                    final MoreObjects.ToStringHelper toStringHelper) {
+                return null;
+            }
+
+            @Override
+            public InputStream openStream() throws IOException {
+                return new ByteArrayInputStream(text.getBytes());
+            }
+        };
+    }
+
     private String convertStreamToString(final java.io.InputStream is) {
         final java.util.Scanner s = new java.util.Scanner(is).useDelimiter("\\A");
         return s.hasNext() ? s.next() : "";
@@ -53,6 +53,8 @@ import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfConnectorDTO;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
+import org.opendaylight.protocol.framework.ConnectScheduler;
+import org.opendaylight.protocol.framework.ScheduledReconnectStrategyFactory;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Host;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Address;
@@ -264,4 +266,25 @@ public class RemoteDeviceConnectorImplTest {
         assertEquals(defaultClientConfig.getAuthHandler().getUsername(), "testuser");
         assertEquals(defaultClientConfig.getProtocol(), NetconfClientConfiguration.NetconfClientProtocol.TCP);
     }
+
+    @Test
+    public void testGetClientConfigWithConnectScheduler() {
+        final NetconfNode testingNode = new NetconfNodeBuilder()
+                .setHost(new Host(new IpAddress(new Ipv4Address("127.0.0.1"))))
+                .setPort(new PortNumber(9999))
+                .setCredentials(new LoginPasswordBuilder()
+                        .setUsername("testuser")
+                        .setPassword("testpassword").build())
+                .setTcpOnly(true)
+                .build();
+        builder.setConnectScheduler(new ConnectScheduler(eventExecutor, 1, 0, 1, 0));
+
+        final RemoteDeviceConnectorImpl remoteDeviceConnection =
+                new RemoteDeviceConnectorImpl(builder.build(), remoteDeviceId, TIMEOUT, mountPointService);
+
+        final NetconfReconnectingClientConfiguration clientConfig =
+                remoteDeviceConnection.getClientConfig(mock(NetconfClientSessionListener.class), testingNode);
+
+        assertTrue(clientConfig.getConnectStrategyFactory() instanceof ScheduledReconnectStrategyFactory);
+    }
 }
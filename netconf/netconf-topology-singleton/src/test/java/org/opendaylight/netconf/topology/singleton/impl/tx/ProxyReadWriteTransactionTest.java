@@ -16,6 +16,8 @@ import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -39,12 +41,14 @@ import org.opendaylight.netconf.topology.singleton.messages.transactions.PutRequ
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ReadRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitReply;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitRequest;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.WriteBatchRequest;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import scala.concurrent.duration.Duration;
 
 public class ProxyReadWriteTransactionTest {
     private static final YangInstanceIdentifier PATH = YangInstanceIdentifier.EMPTY;
@@ -202,6 +206,40 @@ public class ProxyReadWriteTransactionTest {
         Assert.assertFalse(result.isPresent());
     }
 
+    @Test
+    public void testReadAfterWrites() throws Exception {
+        tx.put(STORE, PATH, node);
+        tx.merge(STORE, PATH, node);
+        final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read = tx.read(STORE, PATH);
+        // Writes may be sent alone or batched, but all of them have to arrive before the read
+        final List<Object> writes = new ArrayList<>();
+        Object message = masterActor.receiveOne(Duration.create(5, TimeUnit.SECONDS));
+        while (!(message instanceof ReadRequest)) {
+            Assert.assertNotNull("Read was not sent", message);
+            if (message instanceof WriteBatchRequest) {
+                writes.addAll(((WriteBatchRequest) message).getRequests());
+            } else {
+                writes.add(message);
+            }
+            message = masterActor.receiveOne(Duration.create(5, TimeUnit.SECONDS));
+        }
+        Assert.assertEquals(2, writes.size());
+        Assert.assertTrue(writes.get(0) instanceof PutRequest);
+        Assert.assertTrue(writes.get(1) instanceof MergeRequest);
+        masterActor.reply(new NormalizedNodeMessage(PATH, node));
+        Assert.assertEquals(node, read.checkedGet().get());
+    }
+
+    @Test
+    public void testExistsAfterWrite() throws Exception {
+        tx.delete(STORE, PATH);
+        final CheckedFuture<Boolean, ReadFailedException> exists = tx.exists(STORE, PATH);
+        masterActor.expectMsgClass(DeleteRequest.class);
+        masterActor.expectMsgClass(ExistsRequest.class);
+        masterActor.reply(false);
+        Assert.assertFalse(exists.checkedGet());
+    }
+
     @Test(expected = ReadFailedException.class)
     public void testReadFail() throws Exception {
         final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read = tx.read(STORE, PATH);
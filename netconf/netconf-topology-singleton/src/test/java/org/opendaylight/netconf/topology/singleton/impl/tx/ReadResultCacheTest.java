@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.impl.tx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+
+public class ReadResultCacheTest {
+
+    private static final YangInstanceIdentifier PATH = YangInstanceIdentifier.EMPTY;
+    private static final LogicalDatastoreType STORE = LogicalDatastoreType.OPERATIONAL;
+
+    private final AtomicInteger reads = new AtomicInteger();
+    private ReadResultCache cache;
+    private ContainerNode node;
+
+    @Before
+    public void setUp() {
+        cache = new ReadResultCache(new RemoteDeviceId("test", new InetSocketAddress("localhost", 22)), 60000, 10);
+        node = Builders.containerBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(QName.create("cont")))
+                .build();
+    }
+
+    @Test
+    public void testCachedRead() throws Exception {
+        assertFalse(cache.exists(STORE, PATH).isPresent());
+        assertEquals(node, read().checkedGet().get());
+        assertEquals(node, read().checkedGet().get());
+        assertEquals(1, reads.get());
+        assertTrue(cache.exists(STORE, PATH).get());
+
+        // Other datastore is cached separately
+        cache.read(LogicalDatastoreType.CONFIGURATION, PATH, this::deviceRead).checkedGet();
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        read().checkedGet();
+        cache.invalidate();
+        read().checkedGet();
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void testReadRacingWithInvalidate() throws Exception {
+        final SettableFuture<Optional<NormalizedNode<?, ?>>> pending = SettableFuture.create();
+        cache.read(STORE, PATH, () -> Futures.makeChecked(pending, ReadFailedException.MAPPER));
+        cache.invalidate();
+        pending.set(Optional.of(node));
+
+        // Result of the read started before invalidation is not cached
+        assertFalse(cache.exists(STORE, PATH).isPresent());
+    }
+
+    private CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read() {
+        return cache.read(STORE, PATH, this::deviceRead);
+    }
+
+    private CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> deviceRead() {
+        reads.incrementAndGet();
+        return Futures.immediateCheckedFuture(Optional.of(node));
+    }
+}
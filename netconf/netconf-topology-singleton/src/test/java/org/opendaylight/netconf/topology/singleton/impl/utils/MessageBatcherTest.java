@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.impl.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MessageBatcherTest {
+
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+    private final List<List<String>> sent = new ArrayList<>();
+    private MessageBatcher<String> batcher;
+
+    @Before
+    public void setUp() {
+        batcher = new MessageBatcher<>(pending::add, 2, sent::add);
+    }
+
+    @Test
+    public void testBatching() {
+        batcher.add("a");
+        batcher.add("b");
+        batcher.add("c");
+        assertEquals(1, pending.size());
+        assertTrue(sent.isEmpty());
+
+        pending.poll().run();
+        assertEquals(ImmutableList.of(ImmutableList.of("a", "b"), ImmutableList.of("c")), sent);
+    }
+
+    @Test
+    public void testFlush() {
+        batcher.add("a");
+        batcher.flush();
+        assertEquals(ImmutableList.of(ImmutableList.of("a")), sent);
+
+        // Scheduled flush finds nothing to send
+        pending.poll().run();
+        assertEquals(1, sent.size());
+
+        batcher.add("b");
+        assertEquals(1, pending.size());
+        pending.poll().run();
+        assertEquals(ImmutableList.of(ImmutableList.of("a"), ImmutableList.of("b")), sent);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.topology.singleton.impl.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import akka.actor.ActorSystem;
+import akka.testkit.JavaTestKit;
+import akka.testkit.TestProbe;
+import akka.util.Timeout;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeChunk;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeChunkRequest;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import scala.concurrent.Await;
+import scala.concurrent.Future;
+import scala.concurrent.duration.Duration;
+
+public class NormalizedNodeTransferTest {
+
+    private static final QName CONT = QName.create("urn:test", "2017-01-01", "cont");
+    private static final QName LEAF = QName.create(CONT, "leaf");
+    private static final Timeout TIMEOUT = new Timeout(Duration.create(5, TimeUnit.SECONDS));
+
+    private ActorSystem system;
+    private TestProbe probe;
+
+    @Before
+    public void setUp() {
+        system = ActorSystem.apply();
+        probe = TestProbe.apply(system);
+    }
+
+    @After
+    public void tearDown() {
+        JavaTestKit.shutdownActorSystem(system, null, true);
+    }
+
+    @Test
+    public void testSmallMessage() throws Exception {
+        final NormalizedNodeMessage message = message("small");
+        assertSame(message, new NormalizedNodeTransfer().prepare(message));
+    }
+
+    @Test
+    public void testChunkedMessage() throws Exception {
+        final NormalizedNodeTransfer transfer = new NormalizedNodeTransfer(16);
+        final NormalizedNodeMessage message = message("a value which does not fit into a single chunk");
+        final Object prepared = transfer.prepare(message);
+        assertTrue(prepared instanceof NormalizedNodeChunk);
+
+        final NormalizedNodeChunk first = (NormalizedNodeChunk) prepared;
+        assertTrue(first.getChunkCount() > 2);
+        final Future<NormalizedNodeMessage> future =
+                NormalizedNodeTransfer.receive(first, probe.ref(), TIMEOUT, system.dispatcher());
+
+        // Chunks are pulled one at a time
+        for (int i = 1; i < first.getChunkCount(); ++i) {
+            final NormalizedNodeChunkRequest request = probe.expectMsgClass(NormalizedNodeChunkRequest.class);
+            assertEquals(i, request.getIndex());
+            probe.reply(transfer.nextChunk(request));
+        }
+
+        final NormalizedNodeMessage received = Await.result(future, TIMEOUT.duration());
+        assertEquals(message.getNode(), received.getNode());
+        assertEquals(0, transfer.getPendingTransfers());
+    }
+
+    @Test
+    public void testUnknownTransfer() {
+        assertTrue(new NormalizedNodeTransfer().nextChunk(new NormalizedNodeChunkRequest(42, 1))
+                instanceof IllegalStateException);
+    }
+
+    private static NormalizedNodeMessage message(final String value) {
+        final ContainerNode node = Builders.containerBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(CONT))
+                .withChild(ImmutableNodes.leafNode(LEAF, value))
+                .build();
+        return new NormalizedNodeMessage(YangInstanceIdentifier.EMPTY, node);
+    }
+}
@@ -12,6 +12,7 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
+import com.google.common.primitives.Ints;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -25,10 +26,14 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.aaa.encrypt.AAAEncryptionService;
 import org.opendaylight.controller.config.threadpool.ScheduledThreadPool;
 import org.opendaylight.controller.config.threadpool.ThreadPool;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPointService;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.client.NetconfClientDispatcher;
@@ -44,10 +49,12 @@ import org.opendaylight.netconf.sal.connect.netconf.LibraryModulesSchemas;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfDevice;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfDeviceBuilder;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfStateSchemasResolverImpl;
+import org.opendaylight.netconf.sal.connect.netconf.SchemaSetupScheduler;
 import org.opendaylight.netconf.sal.connect.netconf.SchemalessNetconfDevice;
 import org.opendaylight.netconf.sal.connect.netconf.auth.DatastoreBackedPublicKeyAuth;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCapabilities;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
+import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPool;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.listener.UserPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.sal.KeepaliveSalFacade;
@@ -56,12 +63,17 @@ import org.opendaylight.netconf.sal.connect.netconf.schema.YangLibrarySchemaYang
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.api.NetconfTopology;
 import org.opendaylight.netconf.topology.api.SchemaRepositoryProvider;
+import org.opendaylight.protocol.framework.ConnectScheduler;
 import org.opendaylight.protocol.framework.ReconnectStrategy;
 import org.opendaylight.protocol.framework.ReconnectStrategyFactory;
+import org.opendaylight.protocol.framework.ScheduledReconnectStrategyFactory;
 import org.opendaylight.protocol.framework.TimedReconnectStrategy;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Host;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.NotificationOverflowPolicy;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.SchemaSetupPriority;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.SessionPool;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.available.capabilities.AvailableCapability.CapabilityOrigin;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.credentials.Credentials;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.credentials.credentials.KeyAuth;
@@ -94,6 +106,8 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
     protected static final int DEFAULT_KEEPALIVE_DELAY = 0;
     protected static final boolean DEFAULT_RECONNECT_ON_CHANGED_SCHEMA = false;
     protected static final int DEFAULT_CONCURRENT_RPC_LIMIT = 0;
+    protected static final int DEFAULT_SESSION_POOL_SIZE = 1;
+    private static final long SESSION_POOL_STATUS_INTERVAL_SECONDS = 10;
     private static final int DEFAULT_MAX_CONNECTION_ATTEMPTS = 0;
     private static final int DEFAULT_BETWEEN_ATTEMPTS_TIMEOUT_MILLIS = 2000;
     private static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = 20000L;
@@ -176,6 +190,8 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
     protected SchemaContextFactory schemaContextFactory = DEFAULT_SCHEMA_CONTEXT_FACTORY;
     protected String privateKeyPath;
     protected String privateKeyPassphrase;
+    protected ConnectScheduler connectScheduler;
+    protected SchemaSetupScheduler schemaSetupScheduler;
     protected final AAAEncryptionService encryptionService;
     protected final HashMap<NodeId, NetconfConnectorDTO> activeConnectors = new HashMap<>();
 
@@ -222,6 +238,7 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
 
         // retrieve connection, and disconnect it
         final NetconfConnectorDTO connectorDTO = activeConnectors.remove(nodeId);
+        connectorDTO.closeSessionPool();
         connectorDTO.getCommunicator().close();
         connectorDTO.getFacade().close();
         return Futures.immediateFuture(null);
@@ -243,6 +260,22 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         final ListenableFuture<NetconfDeviceCapabilities> future =
                 deviceCommunicator.initializeRemoteConnection(clientDispatcher, clientConfig);
 
+        final NetconfSessionPool sessionPool = deviceCommunicatorDTO.getSessionPool();
+        if (sessionPool != null) {
+            for (final NetconfDeviceCommunicator secondary : sessionPool.getSecondarySessions()) {
+                sessionPool.trackConnection(secondary, secondary.initializeRemoteConnection(clientDispatcher,
+                        getClientConfig(secondary, netconfNode)));
+            }
+            final long keepaliveDelay = netconfNode.getKeepaliveDelay() == null
+                    ? DEFAULT_KEEPALIVE_DELAY : netconfNode.getKeepaliveDelay();
+            if (keepaliveDelay > 0) {
+                sessionPool.startKeepalives(keepaliveExecutor.getExecutor(), keepaliveDelay);
+            }
+            deviceCommunicatorDTO.setSessionPoolReporting(keepaliveExecutor.getExecutor().scheduleWithFixedDelay(
+                () -> reportSessionPoolStatus(sessionPool), SESSION_POOL_STATUS_INTERVAL_SECONDS,
+                SESSION_POOL_STATUS_INTERVAL_SECONDS, TimeUnit.SECONDS));
+        }
+
         activeConnectors.put(nodeId, deviceCommunicatorDTO);
 
         Futures.addCallback(future, new FutureCallback<NetconfDeviceCapabilities>() {
@@ -318,13 +351,19 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         if (node.isSchemaless()) {
             device = new SchemalessNetconfDevice(remoteDeviceId, salFacade);
         } else {
-            device = new NetconfDeviceBuilder()
+            final NetconfDeviceBuilder deviceBuilder = new NetconfDeviceBuilder()
                     .setReconnectOnSchemasChange(reconnectOnChangedSchema)
                     .setSchemaResourcesDTO(schemaResourcesDTO)
                     .setGlobalProcessingExecutor(processingExecutor.getExecutor())
                     .setId(remoteDeviceId)
                     .setSalFacade(salFacade)
-                    .build();
+                    .setSchemaSetupScheduler(schemaSetupScheduler)
+                    .setCritical(node.getSchemaSetupPriority() == SchemaSetupPriority.Critical)
+                    .setNotificationOverflowPolicy(node.getNotificationOverflowPolicy());
+            if (node.getNotificationBufferSize() != null) {
+                deviceBuilder.setNotificationBufferSize(Ints.saturatedCast(node.getNotificationBufferSize()));
+            }
+            device = deviceBuilder.build();
         }
 
         final Optional<UserPreferences> userCapabilities = getUserCapabilities(node);
@@ -335,9 +374,35 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
             LOG.info("Concurrent rpc limit is smaller than 1, no limit will be enforced for device {}", remoteDeviceId);
         }
 
-        return new NetconfConnectorDTO(userCapabilities.isPresent()
+        final NetconfDeviceCommunicator communicator = userCapabilities.isPresent()
                 ? new NetconfDeviceCommunicator(remoteDeviceId, device, userCapabilities.get(), rpcMessageLimit)
-                : new NetconfDeviceCommunicator(remoteDeviceId, device, rpcMessageLimit), salFacade);
+                : new NetconfDeviceCommunicator(remoteDeviceId, device, rpcMessageLimit);
+
+        final int sessionPoolSize =
+                node.getSessionPoolSize() == null ? DEFAULT_SESSION_POOL_SIZE : node.getSessionPoolSize();
+        if (sessionPoolSize > 1) {
+            LOG.info("Opening {} sessions to device {}", sessionPoolSize, remoteDeviceId);
+            return new NetconfConnectorDTO(communicator, salFacade,
+                    NetconfSessionPool.create(communicator, sessionPoolSize, userCapabilities, rpcMessageLimit));
+        }
+        return new NetconfConnectorDTO(communicator, salFacade);
+    }
+
+    private void reportSessionPoolStatus(final NetconfSessionPool sessionPool) {
+        final WriteTransaction writeTx = dataBroker.newWriteOnlyTransaction();
+        writeTx.merge(LogicalDatastoreType.OPERATIONAL, sessionPool.getId().getTopologyBindingPath()
+                .augmentation(NetconfNode.class).child(SessionPool.class), sessionPool.getStatus());
+        Futures.addCallback(writeTx.submit(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void result) {
+                LOG.trace("{}: Session pool status updated", sessionPool.getId());
+            }
+
+            @Override
+            public void onFailure(final Throwable throwable) {
+                LOG.debug("{}: Failed to update session pool status", sessionPool.getId(), throwable);
+            }
+        }, MoreExecutors.directExecutor());
     }
 
     protected NetconfDevice.SchemaResourcesDTO setupSchemaCacheDTO(final NodeId nodeId, final NetconfNode node) {
@@ -427,6 +492,22 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         this.privateKeyPassphrase = privateKeyPassphrase;
     }
 
+    /**
+     * Sets the connect scheduler shared by all nodes of this topology using blueprint. If not set, each node
+     * reconnects independently.
+     */
+    public void setConnectScheduler(final ConnectScheduler connectScheduler) {
+        this.connectScheduler = connectScheduler;
+    }
+
+    /**
+     * Sets the schema setup scheduler shared by all nodes of this topology using blueprint. If not set, schema
+     * setups are submitted directly to the processing executor.
+     */
+    public void setSchemaSetupScheduler(final SchemaSetupScheduler schemaSetupScheduler) {
+        this.schemaSetupScheduler = schemaSetupScheduler;
+    }
+
     public NetconfReconnectingClientConfiguration getClientConfig(final NetconfClientSessionListener listener,
                                                                   final NetconfNode node) {
 
@@ -441,8 +522,10 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
 
         final InetSocketAddress socketAddress = getSocketAddress(node.getHost(), node.getPort().getValue());
 
-        final ReconnectStrategyFactory sf = new TimedReconnectStrategyFactory(eventExecutor,
+        final ReconnectStrategyFactory timedFactory = new TimedReconnectStrategyFactory(eventExecutor,
                 maxConnectionAttempts, betweenAttemptsTimeoutMillis, sleepFactor);
+        final ReconnectStrategyFactory sf = connectScheduler == null ? timedFactory
+                : new ScheduledReconnectStrategyFactory(timedFactory, connectScheduler);
         final ReconnectStrategy strategy = sf.createReconnectStrategy();
 
         final AuthenticationHandler authHandler = getHandlerFromCredentials(node.getCredentials());
@@ -563,11 +646,20 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
 
         private final NetconfDeviceCommunicator communicator;
         private final RemoteDeviceHandler<NetconfSessionPreferences> facade;
+        private final NetconfSessionPool sessionPool;
+        private ScheduledFuture<?> sessionPoolReporting;
 
         public NetconfConnectorDTO(final NetconfDeviceCommunicator communicator,
                                    final RemoteDeviceHandler<NetconfSessionPreferences> facade) {
+            this(communicator, facade, null);
+        }
+
+        public NetconfConnectorDTO(final NetconfDeviceCommunicator communicator,
+                                   final RemoteDeviceHandler<NetconfSessionPreferences> facade,
+                                   final NetconfSessionPool sessionPool) {
             this.communicator = communicator;
             this.facade = facade;
+            this.sessionPool = sessionPool;
         }
 
         public NetconfDeviceCommunicator getCommunicator() {
@@ -582,8 +674,26 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
             return communicator;
         }
 
+        public NetconfSessionPool getSessionPool() {
+            return sessionPool;
+        }
+
+        void setSessionPoolReporting(final ScheduledFuture<?> sessionPoolReporting) {
+            this.sessionPoolReporting = sessionPoolReporting;
+        }
+
+        void closeSessionPool() {
+            if (sessionPoolReporting != null) {
+                sessionPoolReporting.cancel(false);
+            }
+            if (sessionPool != null) {
+                sessionPool.close();
+            }
+        }
+
         @Override
         public void close() {
+            closeSessionPool();
             communicator.close();
             facade.close();
         }
@@ -10,6 +10,7 @@ package org.opendaylight.netconf.util.mapping;
 
 import com.google.common.base.Optional;
 import java.util.Map;
+import java.util.Objects;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlElement;
 import org.opendaylight.controller.config.util.xml.XmlMappingConstants;
@@ -47,6 +48,33 @@ public abstract class AbstractNetconfOperation implements NetconfOperation {
                 : HandlingPriority.CANNOT_HANDLE;
     }
 
+    /**
+     * Check whether this operation can handle an operation element which was already parsed, so that the message does
+     * not have to be parsed by every operation consulted.
+     *
+     * @param operation name and namespace of the operation element
+     * @return handling priority
+     */
+    public final HandlingPriority canHandle(final OperationNameAndNamespace operation) {
+        return canHandle(operation.getOperationName(), operation.getNamespace());
+    }
+
+    /**
+     * Return name and namespace of the only operation element this operation handles. Operations without a stable
+     * name, such as runtime rpcs, return absent and have to be consulted for every message.
+     *
+     * @return operation name and namespace, absent if the operation does not have a stable name
+     */
+    public Optional<OperationNameAndNamespace> getOperationNameAndNamespace() {
+        final String operationName;
+        try {
+            operationName = getOperationName();
+        } catch (UnsupportedOperationException e) {
+            return Optional.absent();
+        }
+        return Optional.of(new OperationNameAndNamespace(operationName, getOperationNamespace()));
+    }
+
     public static final class OperationNameAndNamespace {
         private final String operationName;
         private final String namespace;
@@ -61,6 +89,18 @@ public abstract class AbstractNetconfOperation implements NetconfOperation {
             namespace = operationElement.getNamespace();
         }
 
+        /**
+         * Create a name and namespace not backed by any message, {@link #getOperationElement()} returns null.
+         *
+         * @param operationName operation name
+         * @param namespace operation namespace
+         */
+        public OperationNameAndNamespace(final String operationName, final String namespace) {
+            this.operationName = operationName;
+            this.namespace = namespace;
+            this.operationElement = null;
+        }
+
         public String getOperationName() {
             return operationName;
         }
@@ -73,6 +113,22 @@ public abstract class AbstractNetconfOperation implements NetconfOperation {
             return operationElement;
         }
 
+        @Override
+        public int hashCode() {
+            return Objects.hash(operationName, namespace);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof OperationNameAndNamespace)) {
+                return false;
+            }
+            final OperationNameAndNamespace other = (OperationNameAndNamespace) obj;
+            return Objects.equals(operationName, other.operationName) && Objects.equals(namespace, other.namespace);
+        }
     }
 
     protected static XmlElement getRequestElementWithCheck(final Document message) throws DocumentedException {
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.util.messages;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.opendaylight.controller.config.util.xml.DocumentedException;
+import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.util.messages.SubtreeFilter.MatchingResult;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Subtree filter of notifications compiled from its XML form, so that it can be applied to many notifications
+ * without walking the filter element again. Filtering gives the same results as
+ * {@link SubtreeFilter#applySubtreeNotificationFilter(XmlElement, Document)}, but the notification is left intact,
+ * so a single notification can be filtered by several filters concurrently.
+ *
+ * <p>
+ * Filters are compared structurally, two filters are equal if they select the same content from any notification.
+ */
+public final class SubtreeNotificationFilter {
+    private final List<FilterNode> roots;
+    private final int hashCode;
+
+    private SubtreeNotificationFilter(final List<FilterNode> roots) {
+        this.roots = roots;
+        this.hashCode = roots.hashCode();
+    }
+
+    /**
+     * Compile a filter element of a create-subscription request.
+     *
+     * @param filter filter element
+     * @return compiled filter, absent if the filter is not a subtree filter and does not filter anything
+     * @throws DocumentedException if the filter cannot be parsed
+     */
+    public static Optional<SubtreeNotificationFilter> compile(final XmlElement filter) throws DocumentedException {
+        if (!SubtreeFilter.isSupported(filter)) {
+            return Optional.absent();
+        }
+        return Optional.of(new SubtreeNotificationFilter(compileChildren(filter)));
+    }
+
+    /**
+     * Filter notification content.
+     *
+     * @param notification notification document, including the event time
+     * @return document containing filtered notification content without the event time, absent if the filter
+     *         does not match the notification
+     * @throws DocumentedException if the notification cannot be filtered
+     */
+    public Optional<Document> apply(final Document notification) throws DocumentedException {
+        final Element content = findContent(notification.getDocumentElement());
+        final Document result = XmlUtil.newDocument();
+        final Element dataDst = (Element) result.importNode(notification.getDocumentElement(), false);
+        for (final FilterNode root : roots) {
+            root.addSubtree(content, dataDst);
+        }
+        if (dataDst.getFirstChild() == null) {
+            return Optional.absent();
+        }
+        result.appendChild(dataDst.getFirstChild());
+        return Optional.of(result);
+    }
+
+    private static Element findContent(final Element notification) throws DocumentedException {
+        for (final Element child : childElements(notification)) {
+            if (!XmlNetconfConstants.EVENT_TIME.equals(child.getLocalName())
+                    || !XmlNetconfConstants.URN_IETF_PARAMS_NETCONF_CAPABILITY_NOTIFICATION_1_0.equals(
+                            child.getNamespaceURI())) {
+                return child;
+            }
+        }
+        throw new DocumentedException("Notification " + XmlUtil.toString(notification) + " has no content",
+                DocumentedException.ErrorType.APPLICATION,
+                DocumentedException.ErrorTag.OPERATION_FAILED,
+                DocumentedException.ErrorSeverity.ERROR);
+    }
+
+    private static List<FilterNode> compileChildren(final XmlElement filter) throws DocumentedException {
+        final ImmutableList.Builder<FilterNode> builder = ImmutableList.builder();
+        for (final XmlElement child : filter.getChildElements()) {
+            builder.add(new FilterNode(child));
+        }
+        return builder.build();
+    }
+
+    private static List<Element> childElements(final Element element) {
+        final List<Element> children = new ArrayList<>();
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element) {
+                children.add((Element) child);
+            }
+        }
+        return children;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj || obj instanceof SubtreeNotificationFilter
+                && roots.equals(((SubtreeNotificationFilter) obj).roots);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "SubtreeNotificationFilter" + roots;
+    }
+
+    /**
+     * Single element of the filter, mirrors matching done by {@link SubtreeFilter}.
+     */
+    private static final class FilterNode {
+        private final String name;
+        private final Optional<String> namespace;
+        private final Optional<String> content;
+        // Namespace and local part of the content, if the content is a prefixed identifier
+        private final Optional<Map.Entry<String, String>> prefixedContent;
+        private final ImmutableSet<AttributeMatch> attributes;
+        private final List<FilterNode> children;
+
+        FilterNode(final XmlElement element) throws DocumentedException {
+            name = element.getName();
+            namespace = element.getNamespaceOptionally();
+            content = element.getOnlyTextContentOptionally();
+            prefixedContent = content.isPresent() ? resolvePrefixedContent(element) : Optional.absent();
+
+            final ImmutableSet.Builder<AttributeMatch> attributesBuilder = ImmutableSet.builder();
+            for (final Attr attr : element.getAttributes().values()) {
+                // ignore namespace declarations
+                if (!XmlUtil.XMLNS_URI.equals(attr.getNamespaceURI())) {
+                    attributesBuilder.add(new AttributeMatch(attr));
+                }
+            }
+            attributes = attributesBuilder.build();
+            children = compileChildren(element);
+        }
+
+        private static Optional<Map.Entry<String, String>> resolvePrefixedContent(final XmlElement element)
+                throws DocumentedException {
+            final Map.Entry<String, String> prefixToNamespace;
+            try {
+                prefixToNamespace = element.findNamespaceOfTextContent();
+            } catch (final IllegalArgumentException e) {
+                // not a prefix
+                return Optional.absent();
+            }
+
+            final String prefix = prefixToNamespace.getKey();
+            if (prefix.equals(XmlElement.DEFAULT_NAMESPACE_PREFIX)) {
+                return Optional.absent();
+            }
+            final String unprefixed = element.getTextContent().substring(prefix.length() + 1);
+            return Optional.of(Maps.immutableEntry(prefixToNamespace.getValue(), unprefixed));
+        }
+
+        MatchingResult addSubtree(final Element src, final Element dstParent) throws DocumentedException {
+            final MatchingResult matches = matches(src);
+            if (matches == MatchingResult.NO_MATCH || matches == MatchingResult.CONTENT_MISMATCH) {
+                return matches;
+            }
+
+            final Document document = dstParent.getOwnerDocument();
+            final boolean filterHasChildren = !children.isEmpty();
+            // copy to depth if this is leaf of filter tree
+            Element copied = (Element) document.importNode(src, !filterHasChildren);
+            boolean shouldAppend = !filterHasChildren;
+            if (filterHasChildren) {
+                int numberOfTextMatchingChildren = 0;
+                for (final Element srcChild : childElements(src)) {
+                    for (final FilterNode child : children) {
+                        final MatchingResult childMatch = child.addSubtree(srcChild, copied);
+                        if (childMatch == MatchingResult.CONTENT_MISMATCH) {
+                            return MatchingResult.NO_MATCH;
+                        }
+                        if (childMatch == MatchingResult.CONTENT_MATCH) {
+                            numberOfTextMatchingChildren++;
+                        }
+                        shouldAppend |= childMatch != MatchingResult.NO_MATCH;
+                    }
+                }
+                // if only text matching child filters are specified, copy the whole parent
+                if (numberOfTextMatchingChildren == children.size()) {
+                    copied = (Element) document.importNode(src, true);
+                }
+            }
+            if (shouldAppend) {
+                dstParent.appendChild(copied);
+            }
+            return matches;
+        }
+
+        private MatchingResult matches(final Element src) throws DocumentedException {
+            final XmlElement srcElement = XmlElement.fromDomElement(src);
+            if (!name.equals(srcElement.getName()) || !namespace.equals(srcElement.getNamespaceOptionally())) {
+                return MatchingResult.NO_MATCH;
+            }
+
+            if (content.isPresent()) {
+                return content.equals(srcElement.getOnlyTextContentOptionally()) || prefixedContentMatches(srcElement)
+                        ? MatchingResult.CONTENT_MATCH : MatchingResult.CONTENT_MISMATCH;
+            }
+
+            for (final AttributeMatch attribute : attributes) {
+                if (!attribute.matches(src)) {
+                    return MatchingResult.NO_MATCH;
+                }
+            }
+            return MatchingResult.TAG_MATCH;
+        }
+
+        private boolean prefixedContentMatches(final XmlElement src) throws DocumentedException {
+            if (!prefixedContent.isPresent()) {
+                return false;
+            }
+
+            final Map.Entry<String, String> prefixToNamespaceOfSrc;
+            try {
+                prefixToNamespaceOfSrc = src.findNamespaceOfTextContent();
+            } catch (final IllegalArgumentException e) {
+                return false;
+            }
+            return prefixedContent.get().getKey().equals(prefixToNamespaceOfSrc.getValue())
+                    && prefixedContent.get().getValue().equals(
+                            src.getTextContent().substring(prefixToNamespaceOfSrc.getKey().length() + 1));
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof FilterNode)) {
+                return false;
+            }
+            final FilterNode other = (FilterNode) obj;
+            return name.equals(other.name) && namespace.equals(other.namespace) && content.equals(other.content)
+                    && prefixedContent.equals(other.prefixedContent) && attributes.equals(other.attributes)
+                    && children.equals(other.children);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, namespace, content, prefixedContent, attributes, children);
+        }
+
+        @Override
+        public String toString() {
+            return namespace.isPresent() ? "{" + namespace.get() + "}" + name + children : name + children;
+        }
+    }
+
+    private static final class AttributeMatch {
+        private final String localName;
+        private final String namespace;
+        private final String value;
+
+        AttributeMatch(final Attr attr) {
+            this.localName = attr.getLocalName();
+            this.namespace = attr.getNamespaceURI();
+            this.value = attr.getValue();
+        }
+
+        boolean matches(final Element src) {
+            return value.equals(XmlElement.fromDomElement(src).getAttribute(localName, namespace));
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof AttributeMatch)) {
+                return false;
+            }
+            final AttributeMatch other = (AttributeMatch) obj;
+            return Objects.equals(localName, other.localName) && Objects.equals(namespace, other.namespace)
+                    && value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(localName, namespace, value);
+        }
+    }
+}
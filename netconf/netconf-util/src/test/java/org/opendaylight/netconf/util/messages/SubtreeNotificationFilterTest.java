@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.util.messages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Optional;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.custommonkey.xmlunit.Diff;
+import org.custommonkey.xmlunit.XMLUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.opendaylight.controller.config.util.xml.XmlElement;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+@RunWith(value = Parameterized.class)
+public class SubtreeNotificationFilterTest {
+
+    private final int directoryIndex;
+
+    @Parameters
+    public static Collection<Object[]> data() {
+        List<Object[]> result = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            result.add(new Object[]{i});
+        }
+        return result;
+    }
+
+    public SubtreeNotificationFilterTest(final int directoryIndex) {
+        this.directoryIndex = directoryIndex;
+    }
+
+    @Before
+    public void setUp() {
+        XMLUnit.setIgnoreWhitespace(true);
+    }
+
+    @Test
+    public void testFilterNotification() throws Exception {
+        final XmlElement filterElement = XmlElement.fromDomDocument(getDocument("filter.xml"));
+        final Document preFilterDocument = getDocument("pre-filter.xml");
+        final String preFilter = XmlUtil.toString(preFilterDocument);
+
+        // Compiled filter has to give the same result as the generic one
+        final Optional<Document> expected = SubtreeFilter.applySubtreeNotificationFilter(filterElement,
+                getDocument("pre-filter.xml"));
+        final Optional<SubtreeNotificationFilter> filter = SubtreeNotificationFilter.compile(filterElement);
+        if (!filter.isPresent()) {
+            assertTrue(expected.isPresent());
+            return;
+        }
+
+        final Optional<Document> actual = filter.get().apply(preFilterDocument);
+        assertEquals(expected.isPresent(), actual.isPresent());
+        if (actual.isPresent()) {
+            final Diff diff = XMLUnit.compareXML(expected.get(), actual.get());
+            assertTrue(diff.toString(), diff.similar());
+        }
+        // Notification is not modified by filtering
+        assertEquals(preFilter, XmlUtil.toString(preFilterDocument));
+    }
+
+    @Test
+    public void testFilterEquality() throws Exception {
+        final Optional<SubtreeNotificationFilter> filter =
+                SubtreeNotificationFilter.compile(XmlElement.fromDomDocument(getDocument("filter.xml")));
+        final Optional<SubtreeNotificationFilter> same =
+                SubtreeNotificationFilter.compile(XmlElement.fromDomDocument(getDocument("filter.xml")));
+        assertEquals(filter, same);
+        if (filter.isPresent()) {
+            assertEquals(filter.get().hashCode(), same.get().hashCode());
+            final Optional<SubtreeNotificationFilter> other = SubtreeNotificationFilter.compile(
+                    XmlElement.fromDomDocument(XmlUtil.readXmlToDocument(
+                            "<filter xmlns=\"urn:ietf:params:xml:ns:netconf:notification:1.0\" type=\"subtree\">"
+                                    + "<other xmlns=\"urn:test\"/></filter>")));
+            assertNotEquals(filter, other);
+        } else {
+            assertFalse(same.isPresent());
+        }
+    }
+
+    private Document getDocument(final String fileName) throws SAXException, IOException {
+        return XmlUtil.readXmlToDocument(getClass().getResourceAsStream(
+                "/subtree/notification/" + directoryIndex + "/" + fileName));
+    }
+}
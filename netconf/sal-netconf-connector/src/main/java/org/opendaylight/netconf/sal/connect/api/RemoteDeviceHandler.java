@@ -7,8 +7,13 @@
  */
 package org.opendaylight.netconf.sal.connect.api;
 
+import java.util.Set;
+import java.util.function.Consumer;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.NotificationStatistics;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.SchemaSetupStatus;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 public interface RemoteDeviceHandler<PREF> extends AutoCloseable {
@@ -22,5 +27,36 @@ public interface RemoteDeviceHandler<PREF> extends AutoCloseable {
 
     void onNotification(DOMNotification domNotification);
 
+    /**
+     * Set the listener to be informed about types of notifications, which have a subscriber on the device's
+     * mountpoint. The listener is invoked with the current set right away and then each time the set changes.
+     * Handlers which do not track subscriptions do not need to invoke the listener at all.
+     *
+     * @param listener listener accepting the set of subscribed notification types
+     */
+    default void setNotificationSubscriptionListener(final Consumer<Set<QName>> listener) {
+        // Subscriptions are not tracked by default
+    }
+
+    /**
+     * Publish statistics of notifications received from the device. Invoked periodically while notifications are
+     * being delivered.
+     *
+     * @param statistics current notification statistics
+     */
+    default void onNotificationStatistics(final NotificationStatistics statistics) {
+        // Statistics are not published by default
+    }
+
+    /**
+     * Publish progress of the schema setup of the device. Invoked when the setup enters the schema setup queue and
+     * each time its position in the queue changes.
+     *
+     * @param status current schema setup status
+     */
+    default void onSchemaSetupStatus(final SchemaSetupStatus status) {
+        // Schema setup progress is not published by default
+    }
+
     void close();
 }
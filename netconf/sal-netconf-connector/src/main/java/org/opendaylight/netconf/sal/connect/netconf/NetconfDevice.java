@@ -11,6 +11,7 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicates;
 import com.google.common.collect.Collections2;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.CheckedFuture;
@@ -27,6 +28,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
@@ -51,6 +53,7 @@ import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.NetconfMessag
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.notifications.rev120206.NetconfCapabilityChange;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.NotificationOverflowPolicy;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.available.capabilities.AvailableCapabilityBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.unavailable.capabilities.UnavailableCapability;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -80,6 +83,11 @@ public class NetconfDevice
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfDevice.class);
 
+    /**
+     * Notifications which are always parsed when reconnecting on changed schemas, even without a subscriber.
+     */
+    private static final Set<QName> CAPABILITY_CHANGE = ImmutableSet.of(NetconfCapabilityChange.QNAME);
+
     protected final RemoteDeviceId id;
     private final boolean reconnectOnSchemasChange;
 
@@ -90,6 +98,8 @@ public class NetconfDevice
     protected final SchemaRepository schemaRepository;
     private final NetconfDeviceSchemasResolver stateSchemasResolver;
     private final NotificationHandler notificationHandler;
+    private final SchemaSetupScheduler schemaSetupScheduler;
+    private final boolean critical;
     protected final List<SchemaSourceRegistration<? extends SchemaSourceRepresentation>> sourceRegistrations =
             new ArrayList<>();
     @GuardedBy("this")
@@ -115,6 +125,17 @@ public class NetconfDevice
     public NetconfDevice(final SchemaResourcesDTO schemaResourcesDTO, final RemoteDeviceId id,
                          final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
                          final ExecutorService globalProcessingExecutor, final boolean reconnectOnSchemasChange) {
+        this(schemaResourcesDTO, id, salFacade, globalProcessingExecutor, reconnectOnSchemasChange,
+                SchemaSetupScheduler.unbounded(globalProcessingExecutor), false,
+                NotificationHandler.DEFAULT_BUFFER_SIZE, NotificationHandler.DEFAULT_OVERFLOW_POLICY);
+    }
+
+    public NetconfDevice(final SchemaResourcesDTO schemaResourcesDTO, final RemoteDeviceId id,
+                         final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
+                         final ExecutorService globalProcessingExecutor, final boolean reconnectOnSchemasChange,
+                         final SchemaSetupScheduler schemaSetupScheduler, final boolean critical,
+                         final int notificationBufferSize,
+                         final NotificationOverflowPolicy notificationOverflowPolicy) {
         this.id = id;
         this.reconnectOnSchemasChange = reconnectOnSchemasChange;
         this.schemaRegistry = schemaResourcesDTO.getSchemaRegistry();
@@ -123,7 +144,10 @@ public class NetconfDevice
         this.salFacade = salFacade;
         this.stateSchemasResolver = schemaResourcesDTO.getStateSchemasResolver();
         this.processingExecutor = MoreExecutors.listeningDecorator(globalProcessingExecutor);
-        this.notificationHandler = new NotificationHandler(salFacade, id);
+        this.notificationHandler = new NotificationHandler(salFacade, id, globalProcessingExecutor,
+                notificationBufferSize, notificationOverflowPolicy);
+        this.schemaSetupScheduler = Preconditions.checkNotNull(schemaSetupScheduler);
+        this.critical = critical;
     }
 
     @Override
@@ -136,11 +160,13 @@ public class NetconfDevice
         // http://netty.io/wiki/thread-model.html
         setConnected(true);
         LOG.debug("{}: Session to remote device established with {}", id, remoteSessionCapabilities);
+        notificationHandler.onRemoteSessionUp(listener::setReadsSuspended);
 
         final NetconfDeviceRpc initRpc =
                 getRpcForInitialization(listener, remoteSessionCapabilities.isNotificationsSupported());
         final DeviceSourcesResolver task =
                 new DeviceSourcesResolver(remoteSessionCapabilities, id, stateSchemasResolver, initRpc);
+        final long resolutionStart = System.nanoTime();
         final ListenableFuture<DeviceSources> sourceResolverFuture = processingExecutor.submit(task);
 
         if (shouldListenOnSchemaChange(remoteSessionCapabilities)) {
@@ -155,7 +181,13 @@ public class NetconfDevice
             }
 
             private void setUpSchema(final DeviceSources result) {
-                processingExecutor.submit(new SchemaSetup(result, remoteSessionCapabilities, listener));
+                final long resolutionMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - resolutionStart);
+                final NetconfDeviceCapabilities capabilities = remoteSessionCapabilities.getNetconfDeviceCapabilities();
+                schemaSetupScheduler.submit(id, critical, result.getRequiredSourcesQName(),
+                        new SchemaSetup(result, remoteSessionCapabilities, listener, resolutionMillis), position -> {
+                            capabilities.setSchemaSetupQueuePosition(position);
+                            salFacade.onSchemaSetupStatus(capabilities.getSchemaSetupStatus());
+                        });
             }
 
             @Override
@@ -222,11 +254,13 @@ public class NetconfDevice
             final BaseSchema baseSchema =
                 remoteSessionCapabilities.isNotificationsSupported()
                         ? BaseSchema.BASE_NETCONF_CTX_WITH_NOTIFICATIONS : BaseSchema.BASE_NETCONF_CTX;
-            messageTransformer = new NetconfMessageTransformer(result, true, baseSchema);
+            final NetconfMessageTransformer transformer = new NetconfMessageTransformer(result, true, baseSchema);
 
-            updateTransformer(messageTransformer);
+            updateTransformer(transformer);
             // salFacade.onDeviceConnected has to be called before the notification handler is initialized
             salFacade.onDeviceConnected(result, remoteSessionCapabilities, deviceRpc);
+            salFacade.setNotificationSubscriptionListener(subscribed -> transformer.setSubscribedNotifications(
+                    reconnectOnSchemasChange ? Sets.union(subscribed, CAPABILITY_CHANGE) : subscribed));
             notificationHandler.onRemoteSchemaUp(messageTransformer);
 
             LOG.info("{}: Netconf connector initialized successfully", id);
@@ -291,6 +325,24 @@ public class NetconfDevice
         notificationHandler.handleNotification(notification);
     }
 
+    /**
+     * Return number of notifications received from the device and passed to sal facade.
+     *
+     * @return number of delivered notifications
+     */
+    public long getDeliveredNotifications() {
+        return notificationHandler.getDeliveredNotifications();
+    }
+
+    /**
+     * Return number of notifications received from the device and dropped due to a full notification buffer.
+     *
+     * @return number of dropped notifications
+     */
+    public long getDroppedNotifications() {
+        return notificationHandler.getDroppedNotifications();
+    }
+
     /**
      * Just a transfer object containing schema related dependencies. Injected in constructor.
      */
@@ -444,17 +496,25 @@ public class NetconfDevice
         private final NetconfSessionPreferences remoteSessionCapabilities;
         private final RemoteDeviceCommunicator<NetconfMessage> listener;
         private final NetconfDeviceCapabilities capabilities;
+        private final long resolutionMillis;
+        private final long submitted;
+        private long started;
 
         SchemaSetup(final DeviceSources deviceSources, final NetconfSessionPreferences remoteSessionCapabilities,
-                           final RemoteDeviceCommunicator<NetconfMessage> listener) {
+                           final RemoteDeviceCommunicator<NetconfMessage> listener, final long resolutionMillis) {
             this.deviceSources = deviceSources;
             this.remoteSessionCapabilities = remoteSessionCapabilities;
             this.listener = listener;
             this.capabilities = remoteSessionCapabilities.getNetconfDeviceCapabilities();
+            this.resolutionMillis = resolutionMillis;
+            this.submitted = System.nanoTime();
         }
 
         @Override
         public void run() {
+            started = System.nanoTime();
+            LOG.debug("{}: Schema setup started after waiting {} ms in queue", id,
+                    TimeUnit.NANOSECONDS.toMillis(started - submitted));
 
             final Collection<SourceIdentifier> requiredSources = deviceSources.getRequiredSources();
             final Collection<SourceIdentifier> missingSources = filterMissingSources(requiredSources);
@@ -491,6 +551,11 @@ public class NetconfDevice
                             schemaContextFactory.createSchemaContext(requiredSources);
                     final SchemaContext result = schemaBuilderFuture.checkedGet();
                     LOG.debug("{}: Schema context built successfully from {}", id, requiredSources);
+                    final long assembled = System.nanoTime();
+                    capabilities.setSchemaSetupDurations(resolutionMillis,
+                            TimeUnit.NANOSECONDS.toMillis(started - submitted),
+                            TimeUnit.NANOSECONDS.toMillis(assembled - started));
+                    schemaSetupScheduler.moduleSetAssembled(deviceSources.getRequiredSourcesQName());
                     final Collection<QName> filteredQNames = Sets.difference(deviceSources.getRequiredSourcesQName(),
                             capabilities.getUnresolvedCapabilites().keySet());
                     capabilities.addCapabilities(filteredQNames.stream().map(entry -> new AvailableCapabilityBuilder()
@@ -13,6 +13,7 @@ import java.util.concurrent.ExecutorService;
 import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.NotificationOverflowPolicy;
 
 public class NetconfDeviceBuilder {
 
@@ -21,6 +22,10 @@ public class NetconfDeviceBuilder {
     private RemoteDeviceId id;
     private RemoteDeviceHandler<NetconfSessionPreferences> salFacade;
     private ExecutorService globalProcessingExecutor;
+    private SchemaSetupScheduler schemaSetupScheduler;
+    private boolean critical;
+    private int notificationBufferSize = NotificationHandler.DEFAULT_BUFFER_SIZE;
+    private NotificationOverflowPolicy notificationOverflowPolicy = NotificationHandler.DEFAULT_OVERFLOW_POLICY;
 
     public NetconfDeviceBuilder() {
     }
@@ -50,9 +55,33 @@ public class NetconfDeviceBuilder {
         return this;
     }
 
+    public NetconfDeviceBuilder setSchemaSetupScheduler(SchemaSetupScheduler schemaSetupScheduler) {
+        this.schemaSetupScheduler = schemaSetupScheduler;
+        return this;
+    }
+
+    public NetconfDeviceBuilder setCritical(boolean critical) {
+        this.critical = critical;
+        return this;
+    }
+
+    public NetconfDeviceBuilder setNotificationBufferSize(int notificationBufferSize) {
+        this.notificationBufferSize = notificationBufferSize;
+        return this;
+    }
+
+    public NetconfDeviceBuilder setNotificationOverflowPolicy(NotificationOverflowPolicy notificationOverflowPolicy) {
+        this.notificationOverflowPolicy = notificationOverflowPolicy;
+        return this;
+    }
+
     public NetconfDevice build() {
         validation();
-        return new NetconfDevice(schemaResourcesDTO, id, salFacade, globalProcessingExecutor, reconnectOnSchemasChange);
+        return new NetconfDevice(schemaResourcesDTO, id, salFacade, globalProcessingExecutor, reconnectOnSchemasChange,
+                schemaSetupScheduler != null ? schemaSetupScheduler
+                        : SchemaSetupScheduler.unbounded(globalProcessingExecutor), critical,
+                notificationBufferSize, notificationOverflowPolicy != null ? notificationOverflowPolicy
+                        : NotificationHandler.DEFAULT_OVERFLOW_POLICY);
     }
 
     private void validation() {
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.NotificationOverflowPolicy;
+
+/**
+ * Bounded buffer of notifications received from a single device. What happens once the buffer is full is decided
+ * by its {@link NotificationOverflowPolicy}. Notifications are taken out of the buffer in batches.
+ *
+ * <p>
+ * The {@link NotificationOverflowPolicy#Block} policy never blocks the caller, which is usually the event loop
+ * of the device session. Instead, reading from the device is suspended through {@link ReadControl} once the buffer
+ * fills up and resumed once it is drained below its capacity.
+ *
+ * @param <T> notification type
+ */
+@ThreadSafe
+final class NotificationBuffer<T> {
+
+    /**
+     * Suspends and resumes reading from the device.
+     */
+    interface ReadControl {
+
+        void setReadsSuspended(boolean suspended);
+    }
+
+    private final Lock lock = new ReentrantLock();
+    private final int capacity;
+    private final NotificationOverflowPolicy policy;
+    private final ReadControl readControl;
+
+    @GuardedBy("lock")
+    private final ArrayDeque<T> buffer;
+
+    @GuardedBy("lock")
+    private long dropped;
+
+    @GuardedBy("lock")
+    private boolean readsSuspended;
+
+    NotificationBuffer(final int capacity, final NotificationOverflowPolicy policy, final ReadControl readControl) {
+        Preconditions.checkArgument(capacity > 0, "Buffer capacity has to be positive");
+        this.capacity = capacity;
+        this.policy = Preconditions.checkNotNull(policy);
+        this.readControl = Preconditions.checkNotNull(readControl);
+        this.buffer = new ArrayDeque<>(Math.min(capacity, 1024));
+    }
+
+    /**
+     * Add a notification to the buffer. Unbounded additions are used to cache notifications until the remote schema
+     * is up, they are never dropped and never suspend reading, since the schema is downloaded over the same session.
+     * Bounded additions honor the overflow policy.
+     *
+     * @param notification notification to add
+     * @param bounded true if the capacity of the buffer applies
+     * @return false if a notification was dropped to honor the capacity
+     */
+    boolean offer(final T notification, final boolean bounded) {
+        lock.lock();
+        try {
+            if (bounded && buffer.size() >= capacity) {
+                switch (policy) {
+                    case DropOldest:
+                        buffer.poll();
+                        buffer.add(notification);
+                        dropped++;
+                        return false;
+                    case Block:
+                        // The notification was already read, keep it. Reads are suspended at this point already,
+                        // unless the buffer was filled by unbounded additions.
+                        break;
+                    case DropNewest:
+                    default:
+                        dropped++;
+                        return false;
+                }
+            }
+
+            buffer.add(notification);
+            if (bounded && policy == NotificationOverflowPolicy.Block && buffer.size() >= capacity
+                    && !readsSuspended) {
+                readsSuspended = true;
+                readControl.setReadsSuspended(true);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take at most maxBatch notifications out of the buffer. Reading from the device is resumed once the buffer
+     * is drained below its capacity.
+     *
+     * @param maxBatch maximum number of notifications to take
+     * @return notifications in the order they were received, empty if there were none
+     */
+    List<T> poll(final int maxBatch) {
+        lock.lock();
+        try {
+            if (buffer.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            final List<T> batch = new ArrayList<>(Math.min(maxBatch, buffer.size()));
+            while (batch.size() < maxBatch && !buffer.isEmpty()) {
+                batch.add(buffer.poll());
+            }
+            if (buffer.size() < capacity) {
+                resumeReads();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discard all buffered notifications and resume reading from the device.
+     */
+    void clear() {
+        lock.lock();
+        try {
+            buffer.clear();
+            resumeReads();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @GuardedBy("lock")
+    private void resumeReads() {
+        if (readsSuspended) {
+            readsSuspended = false;
+            readControl.setReadsSuspended(false);
+        }
+    }
+
+    boolean isEmpty() {
+        lock.lock();
+        try {
+            return buffer.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getDropped() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -9,85 +9,214 @@ package org.opendaylight.netconf.sal.connect.netconf;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
-import java.util.LinkedList;
+import java.math.BigInteger;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.sal.connect.api.MessageTransformer;
 import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.NotificationOverflowPolicy;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.NotificationStatisticsBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Handles incoming notifications. Either caches them(until onRemoteSchemaUp is called) or passes to sal Facade.
+ * Handles incoming notifications. Received notifications are put into a bounded buffer, which is drained in batches
+ * on the processing executor and passed to sal Facade once onRemoteSchemaUp is called. Until then, notifications
+ * are only cached. Delivery statistics are published to sal Facade periodically while notifications are delivered.
  */
 final class NotificationHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(NotificationHandler.class);
 
+    /**
+     * Maximum number of notifications delivered by a single executor task.
+     */
+    private static final int MAX_BATCH = 64;
+
+    /**
+     * Minimum interval between two publications of delivery statistics.
+     */
+    private static final long STATISTICS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    static final int DEFAULT_BUFFER_SIZE = 1024;
+    static final NotificationOverflowPolicy DEFAULT_OVERFLOW_POLICY = NotificationOverflowPolicy.DropOldest;
+
     private final RemoteDeviceHandler<?> salFacade;
-    private final List<NetconfMessage> queue = new LinkedList<>();
+    private final NotificationBuffer<NetconfMessage> buffer;
     private final RemoteDeviceId id;
-    private boolean passNotifications = false;
+    private final Executor executor;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicBoolean overflowing = new AtomicBoolean();
+    private final AtomicLong delivered = new AtomicLong();
+    private volatile boolean passNotifications = false;
+    private volatile NotificationBuffer.ReadControl sessionReads;
+    private volatile long statisticsPublished;
 
     private NotificationFilter filter;
     private MessageTransformer<NetconfMessage> messageTransformer;
 
-    NotificationHandler(final RemoteDeviceHandler<?> salFacade, final RemoteDeviceId id) {
+    NotificationHandler(final RemoteDeviceHandler<?> salFacade, final RemoteDeviceId id, final Executor executor,
+            final int bufferSize, final NotificationOverflowPolicy overflowPolicy) {
         this.salFacade = Preconditions.checkNotNull(salFacade);
         this.id = Preconditions.checkNotNull(id);
+        this.executor = Preconditions.checkNotNull(executor);
+        this.buffer = new NotificationBuffer<>(bufferSize, overflowPolicy, this::setReadsSuspended);
     }
 
-    synchronized void handleNotification(final NetconfMessage notification) {
-        if (passNotifications) {
-            passNotification(transformNotification(notification));
-        } else {
-            queueNotification(notification);
+    /**
+     * Set the control of reads from the session notifications are received on. Used by the blocking overflow
+     * policy to push back on the device.
+     *
+     * @param sessionReads read control of the current session
+     */
+    void onRemoteSessionUp(final NotificationBuffer.ReadControl sessionReads) {
+        this.sessionReads = Preconditions.checkNotNull(sessionReads);
+    }
+
+    private void setReadsSuspended(final boolean suspended) {
+        final NotificationBuffer.ReadControl reads = sessionReads;
+        if (reads != null) {
+            LOG.debug("{}: {} reading from device", id, suspended ? "Suspending" : "Resuming");
+            reads.setReadsSuspended(suspended);
+        }
+    }
+
+    /**
+     * Buffer a notification received from the device. Notifications received before the remote schema is up are
+     * cached without limit, the overflow policy applies only to notifications received afterwards.
+     *
+     * @param notification received notification
+     */
+    void handleNotification(final NetconfMessage notification) {
+        final boolean deliver = passNotifications;
+        if (!deliver) {
+            LOG.debug("{}: Caching notification {}, remote schema not yet fully built", id, notification);
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("{}: Caching notification {}", id, XmlUtil.toString(notification.getDocument()));
+            }
+        }
+
+        if (!buffer.offer(notification, deliver)) {
+            if (overflowing.compareAndSet(false, true)) {
+                LOG.warn("{}: Notification buffer is full, dropping notifications ({} dropped so far)", id,
+                        buffer.getDropped());
+            } else {
+                LOG.debug("{}: Notification buffer is full, dropping notification", id);
+            }
+        }
+
+        if (deliver) {
+            scheduleDrain();
         }
     }
 
     /**
-     * Forward all cached notifications and pass all notifications from this point directly to sal facade.
+     * Forward all cached notifications and pass all notifications from this point to sal facade.
      * @param messageTransformer Message transformer
      */
     synchronized void onRemoteSchemaUp(final MessageTransformer<NetconfMessage> messageTransformer) {
         this.messageTransformer = Preconditions.checkNotNull(messageTransformer);
 
         passNotifications = true;
+        publishStatistics();
+        scheduleDrain();
+    }
 
-        for (final NetconfMessage cachedNotification : queue) {
-            passNotification(transformNotification(cachedNotification));
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (final RejectedExecutionException e) {
+                LOG.warn("{}: Notification delivery rejected by executor", id, e);
+                drainScheduled.set(false);
+            }
         }
-
-        queue.clear();
     }
 
-    private DOMNotification transformNotification(final NetconfMessage cachedNotification) {
-        final DOMNotification parsedNotification = messageTransformer.toNotification(cachedNotification);
-        Preconditions.checkNotNull(
-                parsedNotification, "%s: Unable to parse received notification: %s", id, cachedNotification);
-        return parsedNotification;
-    }
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void drain() {
+        final MessageTransformer<NetconfMessage> transformer;
+        final NotificationFilter currentFilter;
+        synchronized (this) {
+            transformer = messageTransformer;
+            currentFilter = filter;
+        }
 
-    private void queueNotification(final NetconfMessage notification) {
-        Preconditions.checkState(!passNotifications);
+        if (transformer != null) {
+            final List<NetconfMessage> batch = buffer.poll(MAX_BATCH);
+            for (final NetconfMessage notification : batch) {
+                try {
+                    final DOMNotification parsedNotification = transformer.toNotification(notification);
+                    if (parsedNotification == null) {
+                        LOG.trace("{}: Notification {} has no subscribers, dropping it", id, notification);
+                        continue;
+                    }
+                    if (passNotification(parsedNotification, currentFilter)) {
+                        delivered.incrementAndGet();
+                    }
+                } catch (final RuntimeException e) {
+                    LOG.warn("{}: Failed to deliver notification {}", id, notification, e);
+                }
+            }
+        }
 
-        LOG.debug("{}: Caching notification {}, remote schema not yet fully built", id, notification);
-        if (LOG.isTraceEnabled()) {
-            LOG.trace("{}: Caching notification {}", id, XmlUtil.toString(notification.getDocument()));
+        drainScheduled.set(false);
+        final boolean overflowEnded = buffer.isEmpty() && overflowing.getAndSet(false);
+        if (transformer != null
+                && (overflowEnded || System.nanoTime() - statisticsPublished >= STATISTICS_INTERVAL_NANOS)) {
+            publishStatistics();
         }
 
-        queue.add(notification);
+        if (!buffer.isEmpty() && transformer != null) {
+            // Continue in a new task, so that a chatty device does not monopolize the executor
+            scheduleDrain();
+        }
     }
 
-    private synchronized void passNotification(final DOMNotification parsedNotification) {
+    private boolean passNotification(final DOMNotification parsedNotification,
+            final NotificationFilter currentFilter) {
+        if (currentFilter != null && !currentFilter.filterNotification(parsedNotification).isPresent()) {
+            LOG.trace("{}: Notification {} filtered out", id, parsedNotification);
+            return false;
+        }
+
         LOG.debug("{}: Forwarding notification {}", id, parsedNotification);
+        salFacade.onNotification(parsedNotification);
+        return true;
+    }
 
-        if (filter == null || filter.filterNotification(parsedNotification).isPresent()) {
-            salFacade.onNotification(parsedNotification);
-        }
+    private void publishStatistics() {
+        statisticsPublished = System.nanoTime();
+        salFacade.onNotificationStatistics(new NotificationStatisticsBuilder()
+                .setDelivered(BigInteger.valueOf(delivered.get()))
+                .setDropped(BigInteger.valueOf(buffer.getDropped()))
+                .build());
+    }
+
+    /**
+     * Return number of notifications passed to sal facade.
+     *
+     * @return number of delivered notifications
+     */
+    long getDeliveredNotifications() {
+        return delivered.get();
+    }
+
+    /**
+     * Return number of notifications dropped due to a full buffer.
+     *
+     * @return number of dropped notifications
+     */
+    long getDroppedNotifications() {
+        return buffer.getDropped();
     }
 
     synchronized void addNotificationFilter(final NotificationFilter filter) {
@@ -95,8 +224,8 @@ final class NotificationHandler {
     }
 
     synchronized void onRemoteSchemaDown() {
-        queue.clear();
         passNotifications = false;
+        buffer.clear();
         messageTransformer = null;
     }
 
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Admission-controlled scheduler for schema context setup of mounting devices. At most maxConcurrentSetups
+ * setups run on the underlying executor at any time, the rest is kept in a priority queue. Setups of critical
+ * devices go first, followed by setups of devices whose module set was already successfully assembled before
+ * (and therefore is likely to be cached by the schema repository). Remaining setups run in submission order.
+ * The submitter of a setup is told its position in the queue when it enters the queue and each time it moves.
+ *
+ * One scheduler is meant to be shared by all devices of a topology, so that a single huge device cannot hold up
+ * the others behind it.
+ */
+@ThreadSafe
+public final class SchemaSetupScheduler {
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaSetupScheduler.class);
+
+    /**
+     * Number of distinct module sets remembered as already assembled.
+     */
+    private static final int MAX_KNOWN_MODULE_SETS = 1024;
+
+    /**
+     * Delay before setups rejected by the executor are submitted again.
+     */
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private static final Comparator<QueuedSetup> SETUP_ORDER = Comparator
+            .comparing((QueuedSetup setup) -> !setup.critical)
+            .thenComparing(setup -> !setup.knownModuleSet)
+            .thenComparingLong(setup -> setup.sequence);
+
+    private final Executor executor;
+    private final ScheduledExecutorService retryExecutor;
+    private final int maxConcurrentSetups;
+
+    @GuardedBy("this")
+    private final PriorityQueue<QueuedSetup> queue = new PriorityQueue<>(SETUP_ORDER);
+
+    @GuardedBy("this")
+    private final Set<Set<QName>> knownModuleSets = Collections.newSetFromMap(
+        new LinkedHashMap<Set<QName>, Boolean>() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Set<QName>, Boolean> eldest) {
+                return size() > MAX_KNOWN_MODULE_SETS;
+            }
+        });
+
+    @GuardedBy("this")
+    private int runningSetups;
+
+    @GuardedBy("this")
+    private long sequence;
+
+    @GuardedBy("this")
+    private boolean retryScheduled;
+
+    public SchemaSetupScheduler(final Executor executor, final int maxConcurrentSetups) {
+        this(executor, maxConcurrentSetups, DefaultRetryExecutor.INSTANCE);
+    }
+
+    /**
+     * Create a new scheduler.
+     *
+     * @param executor executor running the setups
+     * @param maxConcurrentSetups maximum number of setups running at the same time
+     * @param retryExecutor executor used to submit setups rejected by the executor again
+     */
+    public SchemaSetupScheduler(final Executor executor, final int maxConcurrentSetups,
+            final ScheduledExecutorService retryExecutor) {
+        Preconditions.checkArgument(maxConcurrentSetups > 0, "Concurrency cap has to be positive");
+        this.executor = Preconditions.checkNotNull(executor);
+        this.maxConcurrentSetups = maxConcurrentSetups;
+        this.retryExecutor = Preconditions.checkNotNull(retryExecutor);
+    }
+
+    /**
+     * Create a scheduler which does not limit concurrency, e.g. behaves as a plain executor.
+     *
+     * @param executor executor running the setups
+     * @return a new scheduler
+     */
+    public static SchemaSetupScheduler unbounded(final Executor executor) {
+        return new SchemaSetupScheduler(executor, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Submit a schema setup.
+     *
+     * @param id device identifier
+     * @param critical true if the device was flagged as critical by the operator
+     * @param moduleSet set of modules the schema context is going to be assembled from
+     * @param setup the setup itself
+     * @param positionListener told the 1-based position of the setup in the queue when it enters the queue and each
+     *                         time it moves, and 0 once the setup starts. Invoked without any lock held, it should
+     *                         not block.
+     * @return 1-based position of the setup in the queue, or 0 if it was started right away
+     */
+    public int submit(final RemoteDeviceId id, final boolean critical, final Set<QName> moduleSet,
+            final Runnable setup, final IntConsumer positionListener) {
+        final QueuedSetup queued;
+        synchronized (this) {
+            queued = new QueuedSetup(id, critical, knownModuleSets.contains(moduleSet), sequence++, setup,
+                positionListener);
+            queue.add(queued);
+        }
+
+        drain();
+        final int position;
+        synchronized (this) {
+            position = queued.position;
+        }
+        LOG.debug("{}: Schema setup queued at position {}", id, position);
+        return position;
+    }
+
+    /**
+     * Record a module set which was successfully assembled into a schema context. Subsequent setups of the same
+     * module set are prioritized.
+     *
+     * @param moduleSet set of modules
+     */
+    public synchronized void moduleSetAssembled(final Set<QName> moduleSet) {
+        knownModuleSets.add(ImmutableSet.copyOf(moduleSet));
+    }
+
+    public int getMaxConcurrentSetups() {
+        return maxConcurrentSetups;
+    }
+
+    public synchronized int getRunningSetups() {
+        return runningSetups;
+    }
+
+    public synchronized int getQueuedSetups() {
+        return queue.size();
+    }
+
+    private void drain() {
+        while (true) {
+            final QueuedSetup next;
+            synchronized (this) {
+                if (runningSetups >= maxConcurrentSetups || queue.isEmpty()) {
+                    break;
+                }
+                next = queue.poll();
+                runningSetups++;
+                next.position = 0;
+            }
+
+            next.notifyPosition(0);
+            try {
+                executor.execute(() -> run(next));
+            } catch (final RejectedExecutionException e) {
+                LOG.warn("{}: Schema setup rejected by executor, retrying in {}ms", next.id, RETRY_DELAY_MILLIS, e);
+                synchronized (this) {
+                    runningSetups--;
+                    queue.add(next);
+                }
+                scheduleRetry();
+                break;
+            }
+        }
+
+        final List<Runnable> moves;
+        synchronized (this) {
+            moves = updatePositions();
+        }
+        moves.forEach(Runnable::run);
+    }
+
+    @GuardedBy("this")
+    private List<Runnable> updatePositions() {
+        final List<QueuedSetup> ordered = new ArrayList<>(queue);
+        ordered.sort(SETUP_ORDER);
+        final List<Runnable> moves = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            final QueuedSetup queued = ordered.get(i);
+            final int position = i + 1;
+            if (queued.position != position) {
+                queued.position = position;
+                moves.add(() -> queued.notifyPosition(position));
+            }
+        }
+        return moves;
+    }
+
+    private void scheduleRetry() {
+        synchronized (this) {
+            if (retryScheduled) {
+                return;
+            }
+            retryScheduled = true;
+        }
+
+        try {
+            retryExecutor.schedule(() -> {
+                synchronized (this) {
+                    retryScheduled = false;
+                }
+                drain();
+            }, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (final RejectedExecutionException e) {
+            LOG.warn("Retry of rejected schema setups rejected as well, retrying once another setup finishes", e);
+            synchronized (this) {
+                retryScheduled = false;
+            }
+        }
+    }
+
+    private void run(final QueuedSetup queued) {
+        try {
+            queued.setup.run();
+        } finally {
+            synchronized (this) {
+                runningSetups--;
+            }
+            drain();
+        }
+    }
+
+    private static final class QueuedSetup {
+        private final RemoteDeviceId id;
+        private final boolean critical;
+        private final boolean knownModuleSet;
+        private final long sequence;
+        private final Runnable setup;
+        private final IntConsumer positionListener;
+
+        // Last position the listener was told, -1 before the first one, guarded by the scheduler
+        private int position = -1;
+
+        QueuedSetup(final RemoteDeviceId id, final boolean critical, final boolean knownModuleSet,
+                final long sequence, final Runnable setup, final IntConsumer positionListener) {
+            this.id = id;
+            this.critical = critical;
+            this.knownModuleSet = knownModuleSet;
+            this.sequence = sequence;
+            this.setup = setup;
+            this.positionListener = positionListener;
+        }
+
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        void notifyPosition(final int newPosition) {
+            try {
+                positionListener.accept(newPosition);
+            } catch (final RuntimeException e) {
+                LOG.warn("{}: Failed to report schema setup queue position {}", id, newPosition, e);
+            }
+        }
+    }
+
+    // Shared by schedulers created without a retry executor, its thread is started by the first retry
+    private static final class DefaultRetryExecutor {
+        static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("schema-setup-retry-%d").setDaemon(true).build());
+    }
+}
@@ -13,6 +13,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.SchemaSetupStatus;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.SchemaSetupStatusBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.available.capabilities.AvailableCapability;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.unavailable.capabilities.UnavailableCapability.FailureReason;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -21,6 +23,7 @@ public final class NetconfDeviceCapabilities {
     private final Map<QName, FailureReason> unresolvedCapabilites;
     private final Set<AvailableCapability>  resolvedCapabilities;
     private final Set<AvailableCapability> nonModuleBasedCapabilities;
+    private volatile SchemaSetupStatus schemaSetupStatus;
 
     public NetconfDeviceCapabilities() {
         this.unresolvedCapabilites = new HashMap<>();
@@ -58,4 +61,23 @@ public final class NetconfDeviceCapabilities {
         return resolvedCapabilities;
     }
 
+    public synchronized void setSchemaSetupQueuePosition(final long queuePosition) {
+        schemaSetupStatus = new SchemaSetupStatusBuilder(getSchemaSetupStatus()).setQueuePosition(queuePosition)
+                .build();
+    }
+
+    public synchronized void setSchemaSetupDurations(final long sourcesResolutionMillis, final long queueWaitMillis,
+            final long schemaAssemblyMillis) {
+        schemaSetupStatus = new SchemaSetupStatusBuilder(getSchemaSetupStatus())
+                .setSourcesResolutionMillis(sourcesResolutionMillis)
+                .setQueueWaitMillis(queueWaitMillis)
+                .setSchemaAssemblyMillis(schemaAssemblyMillis)
+                .build();
+    }
+
+    public SchemaSetupStatus getSchemaSetupStatus() {
+        final SchemaSetupStatus status = schemaSetupStatus;
+        return status != null ? status : new SchemaSetupStatusBuilder().build();
+    }
+
 }
@@ -10,8 +10,10 @@ package org.opendaylight.netconf.sal.connect.netconf.listener;
 import com.google.common.base.Optional;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import io.netty.util.concurrent.Future;
 import java.util.ArrayDeque;
@@ -20,6 +22,8 @@ import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import org.opendaylight.controller.config.util.xml.XmlElement;
@@ -59,7 +63,15 @@ public class NetconfDeviceCommunicator
     private final int concurentRpcMsgs;
 
     private final Queue<Request> requests = new ArrayDeque<>();
-    private NetconfClientSession session;
+    private volatile NetconfClientSession session;
+
+    private volatile NetconfSessionPool sessionPool;
+    private volatile boolean sessionUp;
+    private volatile int pendingRequests;
+    private final AtomicLong totalRequests = new AtomicLong();
+    // Writes and locks of a pooled session, reads are kept on the session while any of them is outstanding
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final AtomicInteger heldLocks = new AtomicInteger();
 
     private Future<?> initFuture;
     private final SettableFuture<NetconfDeviceCapabilities> firstConnectionFuture;
@@ -107,6 +119,7 @@ public class NetconfDeviceCommunicator
         try {
             LOG.debug("{}: Session established", id);
             this.session = session;
+            this.sessionUp = true;
 
             NetconfSessionPreferences netconfSessionPreferences =
                                              NetconfSessionPreferences.fromNetconfSession(session);
@@ -157,7 +170,7 @@ public class NetconfDeviceCommunicator
             if (!future.isSuccess() && !future.isCancelled()) {
                 LOG.debug("{}: Connection failed", id, future.cause());
                 NetconfDeviceCommunicator.this.remoteDevice.onRemoteSessionFailed(future.cause());
-                if (firstConnectionFuture.isDone()) {
+                if (!firstConnectionFuture.isDone()) {
                     firstConnectionFuture.setException(future.cause());
                 }
             }
@@ -182,6 +195,7 @@ public class NetconfDeviceCommunicator
         try {
             if (session != null) {
                 session = null;
+                sessionUp = false;
                 /*
                  * Walk all requests, check if they have been executing
                  * or cancelled and remove them from the queue.
@@ -198,6 +212,9 @@ public class NetconfDeviceCommunicator
                     }
                 }
 
+                pendingRequests = requests.size();
+                // Locks are released by the device once the session is gone
+                heldLocks.set(0);
                 remoteDevice.onRemoteSessionDown();
             }
         } finally {
@@ -276,6 +293,7 @@ public class NetconfDeviceCommunicator
             request = requests.peek();
             if (request != null && request.future.isUncancellable()) {
                 requests.poll();
+                pendingRequests = requests.size();
                 // we have just removed one request from the queue
                 // we can also release one permit
                 if (semaphore != null) {
@@ -342,6 +360,16 @@ public class NetconfDeviceCommunicator
 
     @Override
     public ListenableFuture<RpcResult<NetconfMessage>> sendRequest(final NetconfMessage message, final QName rpc) {
+        final NetconfSessionPool pool = sessionPool;
+        final boolean readOnly = pool != null && NetconfSessionPool.isReadOnly(rpc, message);
+        if (readOnly) {
+            final NetconfDeviceCommunicator selected = pool.select();
+            if (selected != this) {
+                LOG.trace("{}: Executing {} on a secondary session", id, rpc);
+                return selected.sendRequest(message, rpc);
+            }
+        }
+
         sessionLock.lock();
 
         if (semaphore != null && !semaphore.tryAcquire()) {
@@ -355,12 +383,46 @@ public class NetconfDeviceCommunicator
         }
 
         try {
-            return sendRequestWithLock(message, rpc);
+            final ListenableFuture<RpcResult<NetconfMessage>> result = sendRequestWithLock(message, rpc);
+            if (pool != null && !readOnly) {
+                trackWrite(rpc, result);
+            }
+            return result;
         } finally {
             sessionLock.unlock();
         }
     }
 
+    /**
+     * Track a request of a pooled session which may change the data or lock them. A lock is held from a successful
+     * reply to lock until unlock completes.
+     */
+    private void trackWrite(final QName rpc, final ListenableFuture<RpcResult<NetconfMessage>> result) {
+        pendingWrites.incrementAndGet();
+        final boolean lock = NetconfMessageTransformUtil.NETCONF_LOCK_QNAME.getLocalName().equals(rpc.getLocalName());
+        final boolean unlock =
+                NetconfMessageTransformUtil.NETCONF_UNLOCK_QNAME.getLocalName().equals(rpc.getLocalName());
+        Futures.addCallback(result, new FutureCallback<RpcResult<NetconfMessage>>() {
+            @Override
+            public void onSuccess(final RpcResult<NetconfMessage> reply) {
+                if (lock && reply.isSuccessful()) {
+                    heldLocks.incrementAndGet();
+                } else if (unlock) {
+                    heldLocks.updateAndGet(locks -> Math.max(locks - 1, 0));
+                }
+                pendingWrites.decrementAndGet();
+            }
+
+            @Override
+            public void onFailure(final Throwable throwable) {
+                if (unlock) {
+                    heldLocks.updateAndGet(locks -> Math.max(locks - 1, 0));
+                }
+                pendingWrites.decrementAndGet();
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
     private ListenableFuture<RpcResult<NetconfMessage>> sendRequestWithLock(final NetconfMessage message,
                                                                             final QName rpc) {
         if (LOG.isTraceEnabled()) {
@@ -375,6 +437,8 @@ public class NetconfDeviceCommunicator
 
         final Request req = new Request(new UncancellableFuture<>(true), message);
         requests.add(req);
+        pendingRequests = requests.size();
+        totalRequests.incrementAndGet();
 
         session.sendMessage(req.request).addListener(future -> {
             if (!future.isSuccess()) {
@@ -398,6 +462,50 @@ public class NetconfDeviceCommunicator
         return req.future;
     }
 
+    void setSessionPool(final NetconfSessionPool sessionPool) {
+        this.sessionPool = sessionPool;
+    }
+
+    boolean isSessionUp() {
+        return sessionUp;
+    }
+
+    /**
+     * Check whether a request changing the data is waiting for a reply, or a lock is held by this session. Tracked
+     * for the primary session of a pool only.
+     *
+     * @return true if reads have to be executed by this session to observe its writes
+     */
+    boolean hasPendingWrites() {
+        return pendingWrites.get() > 0 || heldLocks.get() > 0;
+    }
+
+    int getPendingRequests() {
+        return pendingRequests;
+    }
+
+    /**
+     * Suspend or resume reading messages from the current session. Does not block, so it can be used to push back
+     * on the device from any thread, including the event loop of the session.
+     *
+     * @param suspended true to stop reading from the session
+     */
+    public void setReadsSuspended(final boolean suspended) {
+        final NetconfClientSession current = session;
+        if (current != null) {
+            current.setAutoRead(!suspended);
+        }
+    }
+
+    /**
+     * Return number of requests sent through this session since it was created.
+     *
+     * @return total number of requests
+     */
+    public long getTotalRequests() {
+        return totalRequests.get();
+    }
+
     private void processNotification(final NetconfMessage notification) {
         if (LOG.isTraceEnabled()) {
             LOG.trace("{}: Notification received: {}", id, notification);
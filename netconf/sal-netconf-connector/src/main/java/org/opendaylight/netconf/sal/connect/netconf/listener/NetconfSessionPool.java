@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.listener;
+
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_FILTER_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_GET_CONFIG_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_RPC_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_RUNNING_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_SOURCE_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_TYPE_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_URI;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.sal.connect.api.RemoteDevice;
+import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.SessionPool;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.SessionPoolBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.session.pool.Session;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.session.pool.SessionBuilder;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Pool of NETCONF sessions opened to a single device. The primary session is the one the device is mounted from,
+ * the secondary sessions only execute read-only operations (get and get-config of the running datastore), which
+ * the primary session hands over to the least loaded session of the pool. Locking, candidate and any other
+ * operations stay pinned to the primary session, as do reads while any of them is outstanding, so that the reads
+ * observe them.
+ */
+public final class NetconfSessionPool implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(NetconfSessionPool.class);
+
+    private static final String SUBTREE = "subtree";
+    private static final AtomicLong KEEPALIVE_MESSAGE_ID = new AtomicLong();
+
+    private final NetconfDeviceCommunicator primary;
+    private final List<NetconfDeviceCommunicator> secondaries;
+    private final List<SecondarySession> secondaryDevices;
+
+    private volatile ScheduledFuture<?> keepalives;
+
+    private NetconfSessionPool(final NetconfDeviceCommunicator primary,
+            final List<NetconfDeviceCommunicator> secondaries, final List<SecondarySession> secondaryDevices) {
+        this.primary = primary;
+        this.secondaries = secondaries;
+        this.secondaryDevices = secondaryDevices;
+    }
+
+    /**
+     * Create a pool around a primary session. The secondary sessions are created, but not connected. They have to
+     * be connected by the caller, see {@link #getSecondarySessions()}.
+     *
+     * @param primary primary session
+     * @param size total number of sessions, including the primary one
+     * @param userPreferences capabilities overridden by the user
+     * @param rpcMessageLimit concurrent rpc limit of each session
+     * @return a new pool
+     */
+    public static NetconfSessionPool create(final NetconfDeviceCommunicator primary, final int size,
+            final Optional<UserPreferences> userPreferences, final int rpcMessageLimit) {
+        Preconditions.checkArgument(size > 1, "Session pool has to have at least 2 sessions");
+
+        final List<NetconfDeviceCommunicator> secondaries = new ArrayList<>(size - 1);
+        final List<SecondarySession> devices = new ArrayList<>(size - 1);
+        for (int i = 1; i < size; ++i) {
+            final SecondarySession device = new SecondarySession(primary.id, i);
+            devices.add(device);
+            secondaries.add(userPreferences.isPresent()
+                    ? new NetconfDeviceCommunicator(primary.id, device, userPreferences.get(), rpcMessageLimit)
+                    : new NetconfDeviceCommunicator(primary.id, device, rpcMessageLimit));
+        }
+
+        final NetconfSessionPool pool = new NetconfSessionPool(primary, ImmutableList.copyOf(secondaries),
+                ImmutableList.copyOf(devices));
+        primary.setSessionPool(pool);
+        return pool;
+    }
+
+    public RemoteDeviceId getId() {
+        return primary.id;
+    }
+
+    /**
+     * Return secondary sessions, which are to be connected by the caller.
+     *
+     * @return secondary sessions
+     */
+    public List<NetconfDeviceCommunicator> getSecondarySessions() {
+        return secondaries;
+    }
+
+    /**
+     * Report failure of the initial connection of a secondary session, as returned by
+     * {@link NetconfDeviceCommunicator#initializeRemoteConnection}.
+     *
+     * @param secondary secondary session
+     * @param connection future completed once the session is connected for the first time
+     */
+    public void trackConnection(final NetconfDeviceCommunicator secondary,
+            final ListenableFuture<NetconfDeviceCapabilities> connection) {
+        final SecondarySession device = secondaryDevices.get(secondaries.indexOf(secondary));
+        Futures.addCallback(connection, new FutureCallback<NetconfDeviceCapabilities>() {
+            @Override
+            public void onSuccess(final NetconfDeviceCapabilities result) {
+                LOG.debug("{}: Secondary session {} connected", getId(), device.index);
+            }
+
+            @Override
+            public void onFailure(final Throwable throwable) {
+                LOG.warn("{}: Secondary session {} failed to connect", getId(), device.index, throwable);
+                device.connectionError = String.valueOf(throwable);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Start sending keepalives over the secondary sessions. A session which does not reply to its keepalive before
+     * the next one is due is disconnected, so that it is reconnected.
+     *
+     * @param executor executor to schedule keepalives on
+     * @param delaySeconds delay between keepalives
+     */
+    public void startKeepalives(final ScheduledExecutorService executor, final long delaySeconds) {
+        Preconditions.checkArgument(delaySeconds > 0, "Keepalive delay has to be positive");
+        keepalives = executor.scheduleWithFixedDelay(this::sendKeepalives, delaySeconds, delaySeconds,
+                TimeUnit.SECONDS);
+    }
+
+    private void sendKeepalives() {
+        for (int i = 0; i < secondaries.size(); ++i) {
+            final NetconfDeviceCommunicator secondary = secondaries.get(i);
+            final SecondarySession device = secondaryDevices.get(i);
+            final ListenableFuture<?> previous = device.keepalive;
+            if (previous != null && !previous.isDone()) {
+                LOG.warn("{}: Keepalive of secondary session {} timed out, reconnecting", getId(), device.index);
+                previous.cancel(false);
+                device.keepalive = null;
+                secondary.disconnect();
+            } else if (secondary.isSessionUp()) {
+                LOG.trace("{}: Sending keepalive over secondary session {}", getId(), device.index);
+                device.keepalive = secondary.sendRequest(keepaliveMessage(), NETCONF_GET_CONFIG_QNAME);
+            }
+        }
+    }
+
+    private static NetconfMessage keepaliveMessage() {
+        final Document document = XmlUtil.newDocument();
+        final Element rpc = document.createElementNS(NETCONF_URI.toString(), NETCONF_RPC_QNAME.getLocalName());
+        rpc.setAttribute(XmlNetconfConstants.MESSAGE_ID, "keepalive-" + KEEPALIVE_MESSAGE_ID.incrementAndGet());
+        final Element getConfig = document.createElementNS(NETCONF_URI.toString(),
+                NETCONF_GET_CONFIG_QNAME.getLocalName());
+        final Element source = document.createElementNS(NETCONF_URI.toString(), NETCONF_SOURCE_QNAME.getLocalName());
+        source.appendChild(document.createElementNS(NETCONF_URI.toString(), NETCONF_RUNNING_QNAME.getLocalName()));
+        getConfig.appendChild(source);
+        // Empty filter selects no data
+        final Element filter = document.createElementNS(NETCONF_URI.toString(), NETCONF_FILTER_QNAME.getLocalName());
+        filter.setAttribute(NETCONF_TYPE_QNAME.getLocalName(), SUBTREE);
+        getConfig.appendChild(filter);
+        rpc.appendChild(getConfig);
+        document.appendChild(rpc);
+        return new NetconfMessage(document);
+    }
+
+    /**
+     * Return current utilization of the pool.
+     *
+     * @return session pool status
+     */
+    public SessionPool getStatus() {
+        final List<Session> sessions = new ArrayList<>(secondaries.size() + 1);
+        sessions.add(sessionStatus(0, primary).build());
+        for (int i = 0; i < secondaries.size(); ++i) {
+            sessions.add(sessionStatus(i + 1, secondaries.get(i))
+                    .setConnectionError(secondaryDevices.get(i).connectionError).build());
+        }
+        return new SessionPoolBuilder().setSize(sessions.size()).setSession(sessions).build();
+    }
+
+    private static SessionBuilder sessionStatus(final int index, final NetconfDeviceCommunicator session) {
+        return new SessionBuilder()
+                .setSessionIndex(index)
+                .setConnected(session.isSessionUp())
+                .setPendingRequests((long) session.getPendingRequests())
+                .setTotalRequests(BigInteger.valueOf(session.getTotalRequests()));
+    }
+
+    /**
+     * Select the session to execute a read-only operation. Primary session is selected while it has a write or lock
+     * outstanding, otherwise it is preferred if it is not loaded more than any other connected session.
+     *
+     * @return selected session
+     */
+    NetconfDeviceCommunicator select() {
+        if (primary.isSessionUp() && primary.hasPendingWrites()) {
+            return primary;
+        }
+
+        NetconfDeviceCommunicator selected = primary;
+        int selectedPending = primary.isSessionUp() ? primary.getPendingRequests() : Integer.MAX_VALUE;
+        for (final NetconfDeviceCommunicator secondary : secondaries) {
+            if (secondary.isSessionUp()) {
+                final int pending = secondary.getPendingRequests();
+                if (pending < selectedPending) {
+                    selected = secondary;
+                    selectedPending = pending;
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Check whether an operation can be executed by any session of the pool.
+     *
+     * @param rpc operation
+     * @param message operation request
+     * @return true for get and get-config of the running datastore
+     */
+    static boolean isReadOnly(final QName rpc, final NetconfMessage message) {
+        if (!NetconfMessageTransformUtil.isDataRetrievalOperation(rpc)) {
+            return false;
+        }
+        if (!NETCONF_GET_CONFIG_QNAME.getLocalName().equals(rpc.getLocalName())) {
+            return true;
+        }
+
+        final Node source = message.getDocument()
+                .getElementsByTagNameNS(NETCONF_URI.toString(), NETCONF_SOURCE_QNAME.getLocalName()).item(0);
+        if (source == null) {
+            return false;
+        }
+        for (Node child = source.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element) {
+                return NETCONF_RUNNING_QNAME.getLocalName().equals(child.getLocalName());
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        final ScheduledFuture<?> current = keepalives;
+        if (current != null) {
+            current.cancel(false);
+        }
+        for (final NetconfDeviceCommunicator secondary : secondaries) {
+            secondary.close();
+        }
+    }
+
+    /**
+     * Device attached to a secondary session. Secondary sessions are not used for anything but executing
+     * read-only operations, so it only logs the session state.
+     */
+    private static final class SecondarySession
+            implements RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> {
+        private final RemoteDeviceId id;
+        private final int index;
+        // Last failure to connect, reported in the pool status until the session comes up
+        private volatile String connectionError;
+        // Accessed by the keepalive task only
+        private ListenableFuture<?> keepalive;
+
+        SecondarySession(final RemoteDeviceId id, final int index) {
+            this.id = id;
+            this.index = index;
+        }
+
+        @Override
+        public void onRemoteSessionUp(final NetconfSessionPreferences remoteSessionCapabilities,
+                final NetconfDeviceCommunicator listener) {
+            LOG.debug("{}: Secondary session {} up", id, index);
+            connectionError = null;
+        }
+
+        @Override
+        public void onRemoteSessionDown() {
+            LOG.debug("{}: Secondary session {} down", id, index);
+        }
+
+        @Override
+        public void onRemoteSessionFailed(final Throwable throwable) {
+            LOG.warn("{}: Secondary session {} failed", id, index, throwable);
+            connectionError = String.valueOf(throwable);
+        }
+
+        @Override
+        public void onNotification(final NetconfMessage notification) {
+            LOG.debug("{}: Ignoring notification received on secondary session {}", id, index);
+        }
+    }
+}
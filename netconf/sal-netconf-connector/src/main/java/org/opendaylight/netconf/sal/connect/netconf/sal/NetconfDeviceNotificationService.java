@@ -9,14 +9,18 @@
 package org.opendaylight.netconf.sal.connect.netconf.sal;
 
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import java.util.Collection;
+import java.util.Set;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationService;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +30,7 @@ public class NetconfDeviceNotificationService implements DOMNotificationService
     private static final Logger LOG = LoggerFactory.getLogger(NetconfDeviceNotificationService.class);
 
     private final Multimap<SchemaPath, DOMNotificationListener> listeners = HashMultimap.create();
+    private Consumer<Set<QName>> subscriptionListener;
 
     // Notification publish is very simple and hijacks the thread of the caller
     // TODO shouldnt we reuse the implementation for notification router from sal-broker-impl ?
@@ -47,12 +52,16 @@ public class NetconfDeviceNotificationService implements DOMNotificationService
         for (final SchemaPath type : types) {
             listeners.put(type, listener);
         }
+        publishSubscriptions();
 
         return new ListenerRegistration<T>() {
             @Override
             public void close() {
-                for (final SchemaPath type : types) {
-                    listeners.remove(type, listener);
+                synchronized (NetconfDeviceNotificationService.this) {
+                    for (final SchemaPath type : types) {
+                        listeners.remove(type, listener);
+                    }
+                    publishSubscriptions();
                 }
             }
 
@@ -68,4 +77,22 @@ public class NetconfDeviceNotificationService implements DOMNotificationService
             @Nonnull final T listener, final SchemaPath... types) {
         return registerNotificationListener(listener, Lists.newArrayList(types));
     }
+
+    /**
+     * Set the listener to be informed about types of notifications, which currently have a listener registered.
+     * The listener is invoked with the current set right away.
+     *
+     * @param subscriptionListener listener accepting the set of subscribed notification types
+     */
+    public synchronized void setSubscriptionListener(final Consumer<Set<QName>> subscriptionListener) {
+        this.subscriptionListener = subscriptionListener;
+        publishSubscriptions();
+    }
+
+    private void publishSubscriptions() {
+        if (subscriptionListener != null) {
+            subscriptionListener.accept(ImmutableSet.copyOf(
+                    listeners.keySet().stream().map(SchemaPath::getLastComponent).iterator()));
+        }
+    }
 }
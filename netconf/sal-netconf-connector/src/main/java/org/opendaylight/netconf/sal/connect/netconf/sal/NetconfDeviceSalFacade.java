@@ -10,6 +10,8 @@ package org.opendaylight.netconf.sal.connect.netconf.sal;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMMountPointService;
@@ -19,6 +21,9 @@ import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCapabilities;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.NotificationStatistics;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.SchemaSetupStatus;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +53,21 @@ public final class NetconfDeviceSalFacade implements AutoCloseable, RemoteDevice
         salProvider.getMountInstance().publish(domNotification);
     }
 
+    @Override
+    public synchronized void setNotificationSubscriptionListener(final Consumer<Set<QName>> listener) {
+        salProvider.getMountInstance().setNotificationSubscriptionListener(listener);
+    }
+
+    @Override
+    public synchronized void onNotificationStatistics(final NotificationStatistics statistics) {
+        salProvider.getTopologyDatastoreAdapter().updateNotificationStatistics(statistics);
+    }
+
+    @Override
+    public synchronized void onSchemaSetupStatus(final SchemaSetupStatus status) {
+        salProvider.getTopologyDatastoreAdapter().updateSchemaSetupStatus(status);
+    }
+
     @Override
     public synchronized void onDeviceConnected(final SchemaContext schemaContext,
                                                final NetconfSessionPreferences netconfSessionPreferences,
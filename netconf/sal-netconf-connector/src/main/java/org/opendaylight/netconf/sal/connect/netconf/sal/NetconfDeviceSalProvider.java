@@ -8,6 +8,8 @@
 package org.opendaylight.netconf.sal.connect.netconf.sal;
 
 import com.google.common.base.Preconditions;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.opendaylight.controller.md.sal.binding.api.BindingTransactionChain;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncTransaction;
@@ -21,6 +23,7 @@ import org.opendaylight.controller.md.sal.dom.api.DOMNotificationService;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yangtools.concepts.ObjectRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -106,6 +109,7 @@ public class NetconfDeviceSalProvider implements AutoCloseable {
         private final DOMMountPointService mountService;
         private final RemoteDeviceId id;
         private NetconfDeviceNotificationService notificationService;
+        private Consumer<Set<QName>> subscriptionListener;
 
         private ObjectRegistration<DOMMountPoint> topologyRegistration;
 
@@ -128,6 +132,9 @@ public class NetconfDeviceSalProvider implements AutoCloseable {
             mountBuilder.addService(DOMRpcService.class, rpc);
             mountBuilder.addService(DOMNotificationService.class, notificationService);
             this.notificationService = notificationService;
+            if (subscriptionListener != null) {
+                notificationService.setSubscriptionListener(subscriptionListener);
+            }
 
             topologyRegistration = mountBuilder.register();
             LOG.debug("{}: TOPOLOGY Mountpoint exposed into MD-SAL {}", id, topologyRegistration);
@@ -162,6 +169,13 @@ public class NetconfDeviceSalProvider implements AutoCloseable {
                     domNotification);
             notificationService.publishNotification(domNotification);
         }
+
+        public synchronized void setNotificationSubscriptionListener(final Consumer<Set<QName>> listener) {
+            this.subscriptionListener = listener;
+            if (notificationService != null) {
+                notificationService.setSubscriptionListener(listener);
+            }
+        }
     }
 
 }
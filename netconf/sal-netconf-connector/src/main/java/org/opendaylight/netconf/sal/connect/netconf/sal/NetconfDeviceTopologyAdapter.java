@@ -30,6 +30,8 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev15
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionStatus.ConnectionStatus;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.AvailableCapabilitiesBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.ClusteredConnectionStatusBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.NotificationStatistics;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.SchemaSetupStatus;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.UnavailableCapabilities;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.UnavailableCapabilitiesBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.available.capabilities.AvailableCapability;
@@ -149,6 +151,22 @@ public final class NetconfDeviceTopologyAdapter implements AutoCloseable {
         commitTransaction(writeTx, "update-failed-device");
     }
 
+    public void updateNotificationStatistics(final NotificationStatistics statistics) {
+        final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
+        writeTx.merge(LogicalDatastoreType.OPERATIONAL, id.getTopologyBindingPath().augmentation(NetconfNode.class)
+                .child(NotificationStatistics.class), statistics, true);
+
+        commitTransaction(writeTx, "update-notification-statistics");
+    }
+
+    public void updateSchemaSetupStatus(final SchemaSetupStatus status) {
+        final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
+        writeTx.merge(LogicalDatastoreType.OPERATIONAL, id.getTopologyBindingPath().augmentation(NetconfNode.class)
+                .child(SchemaSetupStatus.class), status, true);
+
+        commitTransaction(writeTx, "update-schema-setup-status");
+    }
+
     private NetconfNode buildDataForNetconfNode(final boolean up, final NetconfDeviceCapabilities capabilities) {
         List<AvailableCapability> capabilityList = new ArrayList<>();
         capabilityList.addAll(capabilities.getNonModuleBasedCapabilities());
@@ -162,7 +180,8 @@ public final class NetconfDeviceTopologyAdapter implements AutoCloseable {
                 .setPort(new PortNumber(id.getAddress().getPort()))
                 .setConnectionStatus(up ? ConnectionStatus.Connected : ConnectionStatus.Connecting)
                 .setAvailableCapabilities(avCapabalitiesBuilder.build())
-                .setUnavailableCapabilities(unavailableCapabilities(capabilities.getUnresolvedCapabilites()));
+                .setUnavailableCapabilities(unavailableCapabilities(capabilities.getUnresolvedCapabilites()))
+                .setSchemaSetupStatus(capabilities.getSchemaSetupStatus());
 
         return netconfNodeBuilder.build();
     }
@@ -181,6 +200,7 @@ public final class NetconfDeviceTopologyAdapter implements AutoCloseable {
                 .setConnectionStatus(up ? ConnectionStatus.Connected : ConnectionStatus.Connecting)
                 .setAvailableCapabilities(avCapabalitiesBuilder.build())
                 .setUnavailableCapabilities(unavailableCapabilities(capabilities.getUnresolvedCapabilites()))
+                .setSchemaSetupStatus(capabilities.getSchemaSetupStatus())
                 .setClusteredConnectionStatus(
                         new ClusteredConnectionStatusBuilder().setNetconfMasterNode(masterNodeAddress).build());
 
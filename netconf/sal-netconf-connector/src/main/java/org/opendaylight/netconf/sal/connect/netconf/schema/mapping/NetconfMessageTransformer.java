@@ -7,11 +7,13 @@
  */
 package org.opendaylight.netconf.sal.connect.netconf.schema.mapping;
 
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.EVENT_TIME;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.IETF_NETCONF_NOTIFICATIONS;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_URI;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.toPath;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
@@ -21,7 +23,10 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
@@ -54,6 +59,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 
 public class NetconfMessageTransformer implements MessageTransformer<NetconfMessage> {
 
@@ -66,6 +72,12 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
     private final Multimap<QName, NotificationDefinition> mappedNotifications;
 
     private final boolean strictParsing;
+    private final AtomicLong unsubscribedNotifications = new AtomicLong();
+
+    /**
+     * Types of notifications, which have a subscriber, without revision. Null if all notifications are parsed.
+     */
+    private volatile Set<QName> subscribedNotifications;
 
     public NetconfMessageTransformer(final SchemaContext schemaContext, final boolean strictParsing) {
         this(schemaContext, strictParsing, BaseSchema.BASE_NETCONF_CTX);
@@ -82,9 +94,45 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
         this.strictParsing = strictParsing;
     }
 
+    /**
+     * Set types of notifications, which have a subscriber. Notifications of other types are only counted and
+     * dropped, without being parsed.
+     *
+     * @param subscribed subscribed notification types, null if all notifications should be parsed
+     */
+    public void setSubscribedNotifications(@Nullable final Set<QName> subscribed) {
+        subscribedNotifications = subscribed == null ? null
+                : ImmutableSet.copyOf(subscribed.stream().map(QName::withoutRevision).iterator());
+    }
+
+    /**
+     * Return number of notifications dropped, because there was no subscriber for them.
+     *
+     * @return number of dropped notifications
+     */
+    public long getUnsubscribedNotifications() {
+        return unsubscribedNotifications.get();
+    }
+
+    /**
+     * Transform a notification. If subscribed notifications were set, notifications of other types are not parsed.
+     *
+     * @param message notification message
+     * @return parsed notification, or null if nobody is subscribed to the notification
+     */
     @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
     public synchronized DOMNotification toNotification(final NetconfMessage message) {
+        final Set<QName> subscribed = subscribedNotifications;
+        if (subscribed != null) {
+            final QName type = peekNotificationType(message);
+            if (type != null && !subscribed.contains(type)) {
+                unsubscribedNotifications.incrementAndGet();
+                LOG.trace("Dropping notification {}, there is no subscriber for it", type);
+                return null;
+            }
+        }
+
         final Map.Entry<Date, XmlElement> stripped = NetconfMessageTransformUtil.stripNotification(message);
         final QName notificationNoRev;
         try {
@@ -119,6 +167,21 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
         return new NetconfDeviceNotification(content, stripped.getKey());
     }
 
+    /**
+     * Find out notification type from the notification's root element, without parsing it or its event time.
+     */
+    @Nullable
+    private static QName peekNotificationType(final NetconfMessage message) {
+        for (Node child = message.getDocument().getDocumentElement().getFirstChild(); child != null;
+                child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE && child.getNamespaceURI() != null
+                    && !EVENT_TIME.equals(child.getLocalName())) {
+                return QName.create(child.getNamespaceURI(), child.getLocalName());
+            }
+        }
+        return null;
+    }
+
     private static NotificationDefinition getMostRecentNotification(
             final Collection<NotificationDefinition> notificationDefinitions) {
         Comparator<NotificationDefinition> cmp = (o1, o2) ->
@@ -10,8 +10,10 @@ package org.opendaylight.netconf.sal.connect.netconf;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -25,6 +27,7 @@ import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.NetconfMessageTransformer;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -85,4 +88,20 @@ public class NetconfToNotificationTest {
         assertEquals(NetconfNotification.RFC3339_DATE_PARSER.apply("2015-10-23T09:42:27.67175+00:00"),
                 ((DOMEvent) domNotification).getEventTime());
     }
+
+    @Test
+    public void testUnsubscribedNotification() throws Exception {
+        final SchemaContext schemaContext = getNotificationSchemaContext(getClass(), false);
+        messageTransformer = new NetconfMessageTransformer(schemaContext, true);
+
+        messageTransformer.setSubscribedNotifications(ImmutableSet.of(QName.create("urn:other", "other")));
+        assertNull(messageTransformer.toNotification(userNotification));
+        assertEquals(1, messageTransformer.getUnsubscribedNotifications());
+
+        messageTransformer.setSubscribedNotifications(ImmutableSet.of(
+                QName.create("org:opendaylight:notification:test:ns:yang:user-notification", "2014-07-08",
+                        "user-visited-page")));
+        assertNotNull(messageTransformer.toNotification(userNotification));
+        assertEquals(1, messageTransformer.getUnsubscribedNotifications());
+    }
 }
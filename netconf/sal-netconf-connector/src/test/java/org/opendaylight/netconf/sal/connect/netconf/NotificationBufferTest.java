@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.NotificationOverflowPolicy;
+
+public class NotificationBufferTest {
+
+    @Test
+    public void testDropOldest() {
+        final NotificationBuffer<String> buffer = fill(NotificationOverflowPolicy.DropOldest);
+        assertFalse(buffer.offer("c", true));
+        assertEquals(1, buffer.getDropped());
+        assertEquals(ImmutableList.of("b", "c"), buffer.poll(10));
+    }
+
+    @Test
+    public void testDropNewest() {
+        final NotificationBuffer<String> buffer = fill(NotificationOverflowPolicy.DropNewest);
+        assertFalse(buffer.offer("c", true));
+        assertEquals(1, buffer.getDropped());
+        assertEquals(ImmutableList.of("a", "b"), buffer.poll(10));
+    }
+
+    @Test
+    public void testBatching() {
+        final NotificationBuffer<String> buffer = fill(NotificationOverflowPolicy.DropNewest);
+        assertEquals(ImmutableList.of("a"), buffer.poll(1));
+        assertEquals(ImmutableList.of("b"), buffer.poll(1));
+        assertTrue(buffer.isEmpty());
+        assertTrue(buffer.poll(1).isEmpty());
+    }
+
+    @Test
+    public void testBlock() {
+        final List<Boolean> suspensions = new ArrayList<>();
+        final NotificationBuffer<String> buffer =
+                new NotificationBuffer<>(2, NotificationOverflowPolicy.Block, suspensions::add);
+        assertTrue(buffer.offer("a", true));
+        assertTrue(suspensions.isEmpty());
+        assertTrue(buffer.offer("b", true));
+        assertEquals(ImmutableList.of(true), suspensions);
+
+        // Notifications read before the suspension took effect are kept
+        assertTrue(buffer.offer("c", true));
+        assertEquals(ImmutableList.of(true), suspensions);
+        assertEquals(0, buffer.getDropped());
+
+        assertEquals(ImmutableList.of("a"), buffer.poll(1));
+        assertEquals(ImmutableList.of(true), suspensions);
+        assertEquals(ImmutableList.of("b"), buffer.poll(1));
+        assertEquals(ImmutableList.of(true, false), suspensions);
+        assertEquals(ImmutableList.of("c"), buffer.poll(10));
+        assertEquals(ImmutableList.of(true, false), suspensions);
+    }
+
+    @Test
+    public void testClearResumesReads() {
+        final List<Boolean> suspensions = new ArrayList<>();
+        final NotificationBuffer<String> buffer =
+                new NotificationBuffer<>(1, NotificationOverflowPolicy.Block, suspensions::add);
+        assertTrue(buffer.offer("a", true));
+        buffer.clear();
+        assertEquals(ImmutableList.of(true, false), suspensions);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void testUnbounded() {
+        final List<Boolean> suspensions = new ArrayList<>();
+        final NotificationBuffer<String> buffer =
+                new NotificationBuffer<>(1, NotificationOverflowPolicy.Block, suspensions::add);
+        assertTrue(buffer.offer("a", false));
+        assertTrue(buffer.offer("b", false));
+        assertTrue(buffer.offer("c", false));
+        assertTrue(suspensions.isEmpty());
+        assertEquals(0, buffer.getDropped());
+        assertEquals(ImmutableList.of("a", "b", "c"), buffer.poll(10));
+    }
+
+    private static NotificationBuffer<String> fill(final NotificationOverflowPolicy policy) {
+        final NotificationBuffer<String> buffer = new NotificationBuffer<>(2, policy, suspended -> { });
+        assertTrue(buffer.offer("a", true));
+        assertTrue(buffer.offer("b", true));
+        return buffer;
+    }
+}
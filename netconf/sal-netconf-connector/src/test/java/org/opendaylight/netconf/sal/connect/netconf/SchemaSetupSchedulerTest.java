@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yangtools.yang.common.QName;
+
+public class SchemaSetupSchedulerTest {
+
+    private static final Set<QName> SMALL_SET = ImmutableSet.of(QName.create("urn:small", "2017-01-01", "small"));
+    private static final Set<QName> HUGE_SET = ImmutableSet.of(QName.create("urn:huge", "2017-01-01", "huge"));
+
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+    private final List<String> executed = new ArrayList<>();
+    private final Map<String, List<Integer>> positions = new HashMap<>();
+    private final ScheduledExecutorService retryExecutor = mock(ScheduledExecutorService.class);
+    private SchemaSetupScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new SchemaSetupScheduler(pending::add, 1, retryExecutor);
+    }
+
+    @Test
+    public void testConcurrencyCapAndKnownModuleSet() {
+        assertEquals(0, submit("first", false, HUGE_SET));
+        assertEquals(1, submit("normal", false, HUGE_SET));
+        scheduler.moduleSetAssembled(SMALL_SET);
+        assertEquals(1, submit("known", false, SMALL_SET));
+
+        assertEquals(1, scheduler.getRunningSetups());
+        assertEquals(2, scheduler.getQueuedSetups());
+        // The known module set overtook the normal setup, which was told it moved
+        assertEquals(ImmutableList.of(0), positions.get("first"));
+        assertEquals(ImmutableList.of(1, 2), positions.get("normal"));
+        assertEquals(ImmutableList.of(1), positions.get("known"));
+
+        runAll();
+        assertEquals(ImmutableList.of("first", "known", "normal"), executed);
+        assertEquals(0, scheduler.getRunningSetups());
+        assertEquals(0, scheduler.getQueuedSetups());
+        assertEquals(ImmutableList.of(1, 2, 1, 0), positions.get("normal"));
+        assertEquals(ImmutableList.of(1, 0), positions.get("known"));
+    }
+
+    @Test
+    public void testCriticalFirst() {
+        submit("first", false, HUGE_SET);
+        submit("normal", false, HUGE_SET);
+        assertEquals(1, submit("critical", true, HUGE_SET));
+        assertEquals(ImmutableList.of(1, 2), positions.get("normal"));
+
+        runAll();
+        assertEquals(ImmutableList.of("first", "critical", "normal"), executed);
+    }
+
+    @Test
+    public void testRetryRejected() {
+        final AtomicBoolean reject = new AtomicBoolean(true);
+        scheduler = new SchemaSetupScheduler(command -> {
+            if (reject.getAndSet(false)) {
+                throw new RejectedExecutionException("busy");
+            }
+            pending.add(command);
+        }, 1, retryExecutor);
+
+        // Rejected setup returns to the queue and is submitted again by the retry
+        assertEquals(1, submit("rejected", false, HUGE_SET));
+        assertEquals(0, scheduler.getRunningSetups());
+        final ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        verify(retryExecutor).schedule(retry.capture(), eq(1000L), eq(TimeUnit.MILLISECONDS));
+
+        retry.getValue().run();
+        assertEquals(1, scheduler.getRunningSetups());
+        runAll();
+        assertEquals(ImmutableList.of("rejected"), executed);
+        assertEquals(ImmutableList.of(0, 1, 0), positions.get("rejected"));
+    }
+
+    private int submit(final String name, final boolean critical, final Set<QName> moduleSet) {
+        return scheduler.submit(id(name), critical, moduleSet, () -> executed.add(name),
+            position -> positions.computeIfAbsent(name, key -> new ArrayList<>()).add(position));
+    }
+
+    private void runAll() {
+        while (!pending.isEmpty()) {
+            pending.poll().run();
+        }
+    }
+
+    private static RemoteDeviceId id(final String name) {
+        return new RemoteDeviceId(name, new InetSocketAddress("localhost", 22));
+    }
+}
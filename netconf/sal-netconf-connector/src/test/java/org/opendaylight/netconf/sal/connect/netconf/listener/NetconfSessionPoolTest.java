@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.netconf.sal.connect.netconf.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_EDIT_CONFIG_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_GET_CONFIG_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_GET_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_LOCK_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_UNLOCK_QNAME;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import io.netty.channel.ChannelFuture;
+import io.netty.util.concurrent.GenericFutureListener;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.client.NetconfClientSession;
+import org.opendaylight.netconf.sal.connect.api.RemoteDevice;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+
+public class NetconfSessionPoolTest {
+
+    private static final String GET_ID = "m-1";
+    private static final String GET = "<rpc xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"m-1\">"
+            + "<get/></rpc>";
+    private static final String GET_CONFIG_RUNNING_ID = "m-2";
+    private static final String GET_CONFIG_RUNNING =
+            "<rpc xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"m-2\">"
+            + "<get-config><source><running/></source></get-config></rpc>";
+    private static final String GET_CONFIG_CANDIDATE =
+            "<rpc xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"m-3\">"
+            + "<get-config><source><candidate/></source></get-config></rpc>";
+    private static final String EDIT_CONFIG_ID = "m-4";
+    private static final String EDIT_CONFIG =
+            "<rpc xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"m-4\">"
+            + "<edit-config><target><running/></target><config/></edit-config></rpc>";
+    private static final String LOCK_ID = "m-5";
+    private static final String LOCK = "<rpc xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"m-5\">"
+            + "<lock><target><running/></target></lock></rpc>";
+    private static final String UNLOCK_ID = "m-6";
+    private static final String UNLOCK = "<rpc xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"m-6\">"
+            + "<unlock><target><running/></target></unlock></rpc>";
+
+    private NetconfDeviceCommunicator primary;
+    private NetconfSessionPool pool;
+    private NetconfClientSession primarySession;
+    private NetconfClientSession secondarySession;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        final RemoteDeviceId id = new RemoteDeviceId("test", new InetSocketAddress("localhost", 22));
+        primary = new NetconfDeviceCommunicator(id, mock(RemoteDevice.class), 0);
+        pool = NetconfSessionPool.create(primary, 3, Optional.absent(), 0);
+
+        primarySession = mockSession();
+        secondarySession = mockSession();
+        primary.onSessionUp(primarySession);
+        pool.getSecondarySessions().get(0).onSessionUp(secondarySession);
+    }
+
+    @Test
+    public void testIsReadOnly() throws Exception {
+        assertTrue(NetconfSessionPool.isReadOnly(NETCONF_GET_QNAME, message(GET)));
+        assertTrue(NetconfSessionPool.isReadOnly(NETCONF_GET_CONFIG_QNAME, message(GET_CONFIG_RUNNING)));
+        assertFalse(NetconfSessionPool.isReadOnly(NETCONF_GET_CONFIG_QNAME, message(GET_CONFIG_CANDIDATE)));
+        assertFalse(NetconfSessionPool.isReadOnly(NETCONF_EDIT_CONFIG_QNAME, message(GET)));
+    }
+
+    @Test
+    public void testLoadBalancing() throws Exception {
+        // Both sessions are idle, primary is preferred
+        final NetconfMessage first = message(GET);
+        primary.sendRequest(first, NETCONF_GET_QNAME);
+        verify(primarySession).sendMessage(first);
+
+        // Primary has a pending request, the idle secondary takes over
+        final NetconfMessage second = message(GET_CONFIG_RUNNING);
+        primary.sendRequest(second, NETCONF_GET_CONFIG_QNAME);
+        verify(secondarySession).sendMessage(second);
+        verify(primarySession, never()).sendMessage(second);
+
+        // Candidate operations stay on primary
+        final NetconfMessage third = message(GET_CONFIG_CANDIDATE);
+        primary.sendRequest(third, NETCONF_GET_CONFIG_QNAME);
+        verify(primarySession).sendMessage(third);
+
+        final List<NetconfDeviceCommunicator> secondaries = pool.getSecondarySessions();
+        assertEquals(2, primary.getPendingRequests());
+        assertEquals(1, secondaries.get(0).getPendingRequests());
+        assertEquals(3, pool.getStatus().getSize().intValue());
+        assertEquals(Boolean.FALSE, pool.getStatus().getSession().get(2).isConnected());
+        assertEquals(2L, pool.getStatus().getSession().get(0).getTotalRequests().longValue());
+    }
+
+    @Test
+    public void testReadsFollowPendingWrite() throws Exception {
+        final NetconfMessage edit = message(EDIT_CONFIG);
+        primary.sendRequest(edit, NETCONF_EDIT_CONFIG_QNAME);
+        verify(primarySession).sendMessage(edit);
+
+        // Secondary session is idle, but the read has to observe the edit
+        final NetconfMessage get = message(GET);
+        primary.sendRequest(get, NETCONF_GET_QNAME);
+        verify(primarySession).sendMessage(get);
+
+        primary.onMessage(primarySession, message(reply(EDIT_CONFIG_ID)));
+        final NetconfMessage getConfig = message(GET_CONFIG_RUNNING);
+        primary.sendRequest(getConfig, NETCONF_GET_CONFIG_QNAME);
+        verify(secondarySession).sendMessage(getConfig);
+    }
+
+    @Test
+    public void testReadsFollowLock() throws Exception {
+        primary.sendRequest(message(LOCK), NETCONF_LOCK_QNAME);
+        primary.onMessage(primarySession, message(reply(LOCK_ID)));
+        final NetconfMessage get = message(GET);
+        primary.sendRequest(get, NETCONF_GET_QNAME);
+        verify(primarySession).sendMessage(get);
+
+        // Primary is busy, but holds the lock
+        final NetconfMessage getConfig = message(GET_CONFIG_RUNNING);
+        primary.sendRequest(getConfig, NETCONF_GET_CONFIG_QNAME);
+        verify(primarySession).sendMessage(getConfig);
+
+        primary.sendRequest(message(UNLOCK), NETCONF_UNLOCK_QNAME);
+        primary.onMessage(primarySession, message(reply(GET_ID)));
+        primary.onMessage(primarySession, message(reply(GET_CONFIG_RUNNING_ID)));
+        primary.onMessage(primarySession, message(reply(UNLOCK_ID)));
+        primary.sendRequest(message(GET), NETCONF_GET_QNAME);
+        final NetconfMessage afterUnlock = message(GET_CONFIG_RUNNING);
+        primary.sendRequest(afterUnlock, NETCONF_GET_CONFIG_QNAME);
+        verify(secondarySession).sendMessage(afterUnlock);
+    }
+
+    @Test
+    public void testKeepalive() throws Exception {
+        final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        final ArgumentCaptor<Runnable> keepalive = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(mock(ScheduledFuture.class)).when(executor).scheduleWithFixedDelay(keepalive.capture(), anyLong(),
+                anyLong(), any(TimeUnit.class));
+        pool.startKeepalives(executor, 10);
+
+        keepalive.getValue().run();
+        verify(secondarySession).sendMessage(any(NetconfMessage.class));
+
+        // No reply before the next keepalive, the session is reconnected
+        keepalive.getValue().run();
+        verify(secondarySession).close();
+    }
+
+    @Test
+    public void testConnectionFailure() throws Exception {
+        final NetconfDeviceCommunicator secondary = pool.getSecondarySessions().get(1);
+        pool.trackConnection(secondary, Futures.immediateFailedFuture(new IllegalStateException("refused")));
+        assertEquals("java.lang.IllegalStateException: refused",
+                pool.getStatus().getSession().get(2).getConnectionError());
+        assertNull(pool.getStatus().getSession().get(1).getConnectionError());
+    }
+
+    private static String reply(final String messageId) {
+        return "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"" + messageId
+                + "\"><ok/></rpc-reply>";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NetconfClientSession mockSession() {
+        final NetconfClientSession session = mock(NetconfClientSession.class);
+        doReturn(Collections.<String>emptySet()).when(session).getServerCapabilities();
+
+        final ChannelFuture channelFuture = mock(ChannelFuture.class);
+        doReturn(channelFuture).when(channelFuture).addListener(any(GenericFutureListener.class));
+        doReturn(channelFuture).when(session).sendMessage(any(NetconfMessage.class));
+        return session;
+    }
+
+    private static NetconfMessage message(final String xml) throws Exception {
+        return new NetconfMessage(XmlUtil.readXmlToDocument(xml));
+    }
+}
@@ -13,7 +13,11 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.google.common.collect.ImmutableSet;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -36,6 +40,8 @@ public class NetconfDeviceNotificationServiceTest {
     @Mock
     private DOMNotification notification2;
 
+    private SchemaPath path1;
+    private SchemaPath path2;
     private NetconfDeviceNotificationService service;
     private ListenerRegistration<DOMNotificationListener> registration;
 
@@ -43,8 +49,8 @@ public class NetconfDeviceNotificationServiceTest {
     @Before
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
-        final SchemaPath path1 = SchemaPath.create(true, new QName(new URI("namespace1"), "path1"));
-        final SchemaPath path2 = SchemaPath.create(true, new QName(new URI("namespace2"), "path2"));
+        path1 = SchemaPath.create(true, new QName(new URI("namespace1"), "path1"));
+        path2 = SchemaPath.create(true, new QName(new URI("namespace2"), "path2"));
         service = new NetconfDeviceNotificationService();
         service.registerNotificationListener(listener1, path1);
         registration = service.registerNotificationListener(listener2, path2);
@@ -74,4 +80,14 @@ public class NetconfDeviceNotificationServiceTest {
         service.publishNotification(notification2);
         verify(listener2, times(1)).onNotification(notification2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSubscriptionListener() throws Exception {
+        final List<Set<QName>> published = new ArrayList<>();
+        service.setSubscriptionListener(published::add);
+        Assert.assertEquals(ImmutableSet.of(path1.getLastComponent(), path2.getLastComponent()), published.get(0));
+
+        registration.close();
+        Assert.assertEquals(ImmutableSet.of(path1.getLastComponent()), published.get(1));
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.framework;
+
+import com.google.common.base.Preconditions;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connect scheduler shared by all strategies created through {@link ScheduledReconnectStrategyFactory}s.
+ *
+ * Each connection attempt requested from the scheduler is first delayed by a random jitter, so that attempts which
+ * were triggered by the same event (controller restart, network flap) do not run in lockstep. It is then admitted
+ * through a token bucket, which caps the rate at which new attempts are started, and through a concurrency cap,
+ * which limits the number of attempts that were started and have not been resolved yet. An admitted attempt holds
+ * its slot until {@link #release()} is invoked.
+ *
+ * The concurrency cap can be adjusted at runtime. All counters are exposed through getters for monitoring.
+ */
+@ThreadSafe
+public final class ConnectScheduler {
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectScheduler.class);
+
+    private final EventExecutor executor;
+    private final double connectsPerSecond;
+    private final int burst;
+    private final long maxJitterMillis;
+
+    @GuardedBy("this")
+    private final Queue<Promise<Void>> waiters = new ArrayDeque<>();
+
+    @GuardedBy("this")
+    private int maxConcurrentConnects;
+
+    @GuardedBy("this")
+    private int activeConnects;
+
+    @GuardedBy("this")
+    private long grantedConnects;
+
+    @GuardedBy("this")
+    private double tokens;
+
+    @GuardedBy("this")
+    private long lastRefill;
+
+    @GuardedBy("this")
+    private boolean refillScheduled;
+
+    /**
+     * Create a new scheduler.
+     *
+     * @param executor executor used for timers and for completing returned futures
+     * @param maxConcurrentConnects maximum number of admitted attempts which were not released yet
+     * @param connectsPerSecond rate at which new attempts are admitted, 0 for no rate limit
+     * @param burst number of attempts which can be admitted at once when the bucket is full
+     * @param maxJitterMillis upper bound of the random delay added to each attempt, 0 for no jitter
+     */
+    public ConnectScheduler(final EventExecutor executor, final int maxConcurrentConnects,
+            final double connectsPerSecond, final int burst, final long maxJitterMillis) {
+        Preconditions.checkArgument(maxConcurrentConnects > 0, "Concurrency cap has to be positive");
+        Preconditions.checkArgument(connectsPerSecond >= 0, "Connect rate cannot be negative");
+        Preconditions.checkArgument(burst > 0, "Burst size has to be positive");
+        Preconditions.checkArgument(maxJitterMillis >= 0, "Jitter cannot be negative");
+        this.executor = Preconditions.checkNotNull(executor);
+        this.maxConcurrentConnects = maxConcurrentConnects;
+        this.connectsPerSecond = connectsPerSecond;
+        this.burst = burst;
+        this.maxJitterMillis = maxJitterMillis;
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Request admission of a connection attempt. The returned future completes successfully once the requested
+     * delay plus a random jitter has elapsed and the attempt was admitted. The caller is then responsible for
+     * invoking {@link #release()} once the attempt is resolved. Cancelling the future withdraws the request.
+     *
+     * @param delayMillis minimum delay before the attempt, in milliseconds
+     * @return a future tracking the admission
+     */
+    public Future<Void> schedule(final long delayMillis) {
+        Preconditions.checkArgument(delayMillis >= 0);
+        final Promise<Void> promise = executor.newPromise();
+        promise.addListener(future -> {
+            if (future.isCancelled()) {
+                synchronized (ConnectScheduler.this) {
+                    waiters.remove(promise);
+                }
+            }
+        });
+
+        final long delay = delayMillis + (maxJitterMillis == 0 ? 0
+                : ThreadLocalRandom.current().nextLong(maxJitterMillis + 1));
+        LOG.trace("Scheduling connect attempt {} in {} milliseconds", promise, delay);
+        if (delay == 0) {
+            enqueue(promise);
+        } else {
+            executor.schedule(() -> enqueue(promise), delay, TimeUnit.MILLISECONDS);
+        }
+        return promise;
+    }
+
+    /**
+     * Release a slot held by a previously admitted attempt.
+     */
+    public void release() {
+        synchronized (this) {
+            Preconditions.checkState(activeConnects > 0, "No connect attempt is active");
+            activeConnects--;
+        }
+        dispatch();
+    }
+
+    public synchronized int getMaxConcurrentConnects() {
+        return maxConcurrentConnects;
+    }
+
+    /**
+     * Adjust the concurrency cap. Attempts which are already admitted are not affected.
+     *
+     * @param maxConcurrentConnects new concurrency cap
+     */
+    public void setMaxConcurrentConnects(final int maxConcurrentConnects) {
+        Preconditions.checkArgument(maxConcurrentConnects > 0, "Concurrency cap has to be positive");
+        synchronized (this) {
+            LOG.debug("Changing concurrency cap from {} to {}", this.maxConcurrentConnects, maxConcurrentConnects);
+            this.maxConcurrentConnects = maxConcurrentConnects;
+        }
+        dispatch();
+    }
+
+    public synchronized int getActiveConnects() {
+        return activeConnects;
+    }
+
+    public synchronized int getPendingConnects() {
+        return waiters.size();
+    }
+
+    public synchronized long getGrantedConnects() {
+        return grantedConnects;
+    }
+
+    public double getConnectsPerSecond() {
+        return connectsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public long getMaxJitterMillis() {
+        return maxJitterMillis;
+    }
+
+    EventExecutor getExecutor() {
+        return executor;
+    }
+
+    private void enqueue(final Promise<Void> promise) {
+        synchronized (this) {
+            if (promise.isDone()) {
+                return;
+            }
+            waiters.add(promise);
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        final List<Promise<Void>> admitted = new ArrayList<>();
+        synchronized (this) {
+            refill();
+            while (!waiters.isEmpty() && activeConnects < maxConcurrentConnects && tokens >= 1) {
+                final Promise<Void> next = waiters.poll();
+                if (next.setUncancellable()) {
+                    tokens -= 1;
+                    activeConnects++;
+                    grantedConnects++;
+                    admitted.add(next);
+                }
+            }
+
+            if (!waiters.isEmpty() && activeConnects < maxConcurrentConnects && !refillScheduled) {
+                // We are out of tokens, come back once the next one is available
+                final long waitMillis = Math.max(1, (long) Math.ceil((1 - tokens) * 1000 / connectsPerSecond));
+                refillScheduled = true;
+                executor.schedule(() -> {
+                    synchronized (ConnectScheduler.this) {
+                        refillScheduled = false;
+                    }
+                    dispatch();
+                }, waitMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        // Complete the futures outside of the lock, as their listeners start connecting right away
+        for (final Promise<Void> promise : admitted) {
+            LOG.trace("Admitted connect attempt {}", promise);
+            promise.setSuccess(null);
+        }
+    }
+
+    @GuardedBy("this")
+    private void refill() {
+        if (connectsPerSecond == 0) {
+            tokens = burst;
+            return;
+        }
+
+        final long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefill) * connectsPerSecond / TimeUnit.SECONDS.toNanos(1));
+        lastRefill = now;
+    }
+}
@@ -43,6 +43,31 @@ final class ReconnectPromise<S extends ProtocolSession<?>, L extends SessionList
     synchronized void connect() {
         final ReconnectStrategy cs = this.strategyFactory.createReconnectStrategy();
 
+        if (cs instanceof ScheduledReconnectStrategy) {
+            // Initial attempts need to be admitted by the shared scheduler, too, otherwise all sessions dropped by
+            // a network flap would reconnect at once
+            pending = ((ScheduledReconnectStrategy) cs).scheduleInitialConnect();
+            pending.addListener((GenericFutureListener<Future<Object>>) future -> {
+                if (future.isSuccess()) {
+                    connect(cs);
+                } else if (!future.isCancelled() && !ReconnectPromise.this.isDone()) {
+                    ReconnectPromise.this.setFailure(future.cause());
+                }
+            });
+            return;
+        }
+
+        connect(cs);
+    }
+
+    private synchronized void connect(final ReconnectStrategy cs) {
+        if (isCancelled()) {
+            if (cs instanceof ScheduledReconnectStrategy) {
+                ((ScheduledReconnectStrategy) cs).releaseSlot();
+            }
+            return;
+        }
+
         // Set up a client with pre-configured bootstrap, but add a closed channel handler into the pipeline to support reconnect attempts
         pending = this.dispatcher.createClient(this.address, cs, b, (channel, promise) -> {
             initializer.initializeChannel(channel, promise);
@@ -54,8 +79,13 @@ final class ReconnectPromise<S extends ProtocolSession<?>, L extends SessionList
         });
 
         pending.addListener((GenericFutureListener<Future<Object>>) future -> {
-            if (!future.isSuccess() && !ReconnectPromise.this.isDone()) {
-                ReconnectPromise.this.setFailure(future.cause());
+            if (!future.isSuccess()) {
+                if (cs instanceof ScheduledReconnectStrategy) {
+                    ((ScheduledReconnectStrategy) cs).releaseSlot();
+                }
+                if (!ReconnectPromise.this.isDone()) {
+                    ReconnectPromise.this.setFailure(future.cause());
+                }
             }
         });
     }
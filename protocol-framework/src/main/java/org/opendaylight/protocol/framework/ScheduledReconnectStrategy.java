@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.framework;
+
+import com.google.common.base.Preconditions;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import java.util.concurrent.CancellationException;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Reconnect strategy which lets its delegate decide whether and when to reconnect, and then has the attempt
+ * admitted by a shared {@link ConnectScheduler}. The admission slot is held until the attempt is resolved, e.g.
+ * until {@link #reconnectSuccessful()} or the next {@link #scheduleReconnect(Throwable)} is invoked.
+ */
+@Deprecated
+@ThreadSafe
+final class ScheduledReconnectStrategy implements ReconnectStrategy {
+    private final ReconnectStrategy delegate;
+    private final ConnectScheduler scheduler;
+
+    @GuardedBy("this")
+    private Future<?> pending;
+
+    @GuardedBy("this")
+    private boolean holdsSlot;
+
+    ScheduledReconnectStrategy(final ReconnectStrategy delegate, final ConnectScheduler scheduler) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+        this.scheduler = Preconditions.checkNotNull(scheduler);
+    }
+
+    @Override
+    public int getConnectTimeout() throws Exception {
+        return delegate.getConnectTimeout();
+    }
+
+    @Override
+    public Future<Void> scheduleReconnect(final Throwable cause) {
+        releaseSlot();
+        return admit(delegate.scheduleReconnect(cause));
+    }
+
+    @Override
+    public void reconnectSuccessful() {
+        releaseSlot();
+        delegate.reconnectSuccessful();
+    }
+
+    /**
+     * Schedule the very first connection attempt, which is not subject to the delegate's back-off.
+     *
+     * @return a future tracking the admission
+     */
+    Future<Void> scheduleInitialConnect() {
+        return admit(scheduler.getExecutor().newSucceededFuture(null));
+    }
+
+    /**
+     * Release the admission slot, if this strategy holds one. This method is idempotent.
+     */
+    void releaseSlot() {
+        synchronized (this) {
+            if (!holdsSlot) {
+                return;
+            }
+            holdsSlot = false;
+        }
+        scheduler.release();
+    }
+
+    private Future<Void> admit(final Future<Void> backoff) {
+        final Promise<Void> ret = scheduler.getExecutor().newPromise();
+        synchronized (this) {
+            pending = backoff;
+        }
+
+        backoff.addListener(backoffFuture -> {
+            if (!backoffFuture.isSuccess()) {
+                ret.tryFailure(backoffFuture.isCancelled() ? new CancellationException() : backoffFuture.cause());
+                return;
+            }
+
+            final Future<Void> slot = scheduler.schedule(0);
+            synchronized (ScheduledReconnectStrategy.this) {
+                pending = slot;
+            }
+            slot.addListener(slotFuture -> {
+                if (!slotFuture.isSuccess()) {
+                    ret.tryFailure(slotFuture.isCancelled() ? new CancellationException() : slotFuture.cause());
+                    return;
+                }
+
+                synchronized (ScheduledReconnectStrategy.this) {
+                    holdsSlot = true;
+                }
+                if (!ret.trySuccess(null)) {
+                    // The caller has lost interest in the meantime
+                    releaseSlot();
+                }
+            });
+        });
+
+        ret.addListener(future -> {
+            if (future.isCancelled()) {
+                final Future<?> toCancel;
+                synchronized (ScheduledReconnectStrategy.this) {
+                    toCancel = pending;
+                }
+                toCancel.cancel(false);
+            }
+        });
+        return ret;
+    }
+}
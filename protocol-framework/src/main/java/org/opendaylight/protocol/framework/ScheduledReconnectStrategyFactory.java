@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.framework;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * ReconnectStrategyFactory which decorates strategies created by another factory, such that all their connection
+ * attempts are jittered and admitted through a shared {@link ConnectScheduler}. A single scheduler is meant to be
+ * shared by all factories of a topology, so that the total connect rate and concurrency stay bounded no matter how
+ * many devices are reconnecting.
+ */
+@Deprecated
+public final class ScheduledReconnectStrategyFactory implements ReconnectStrategyFactory {
+    private final ReconnectStrategyFactory delegate;
+    private final ConnectScheduler scheduler;
+
+    public ScheduledReconnectStrategyFactory(final ReconnectStrategyFactory delegate,
+            final ConnectScheduler scheduler) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+        this.scheduler = Preconditions.checkNotNull(scheduler);
+    }
+
+    @Override
+    public ReconnectStrategy createReconnectStrategy() {
+        return new ScheduledReconnectStrategy(delegate.createReconnectStrategy(), scheduler);
+    }
+
+    public ConnectScheduler getScheduler() {
+        return scheduler;
+    }
+}
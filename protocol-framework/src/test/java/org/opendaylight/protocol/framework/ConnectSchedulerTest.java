@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.protocol.framework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class ConnectSchedulerTest {
+
+    @Test
+    public void testConcurrencyCap() throws Exception {
+        final ConnectScheduler scheduler = new ConnectScheduler(GlobalEventExecutor.INSTANCE, 2, 0, 1, 0);
+
+        final Future<Void> first = scheduler.schedule(0);
+        final Future<Void> second = scheduler.schedule(0);
+        final Future<Void> third = scheduler.schedule(0);
+
+        assertTrue(first.isSuccess());
+        assertTrue(second.isSuccess());
+        assertFalse(third.isDone());
+        assertEquals(2, scheduler.getActiveConnects());
+        assertEquals(1, scheduler.getPendingConnects());
+
+        scheduler.release();
+        assertTrue(third.isSuccess());
+        assertEquals(2, scheduler.getActiveConnects());
+        assertEquals(0, scheduler.getPendingConnects());
+        assertEquals(3, scheduler.getGrantedConnects());
+    }
+
+    @Test
+    public void testCancelledRequestIsNotAdmitted() throws Exception {
+        final ConnectScheduler scheduler = new ConnectScheduler(GlobalEventExecutor.INSTANCE, 1, 0, 1, 0);
+
+        assertTrue(scheduler.schedule(0).isSuccess());
+        final Future<Void> cancelled = scheduler.schedule(0);
+        final Future<Void> waiting = scheduler.schedule(0);
+        assertTrue(cancelled.cancel(false));
+
+        scheduler.release();
+        assertTrue(waiting.isSuccess());
+        assertEquals(1, scheduler.getActiveConnects());
+        assertEquals(2, scheduler.getGrantedConnects());
+    }
+
+    @Test
+    public void testRateLimit() throws Exception {
+        final ConnectScheduler scheduler = new ConnectScheduler(GlobalEventExecutor.INSTANCE, 10, 20, 1, 0);
+
+        assertTrue(scheduler.schedule(0).isSuccess());
+        final Future<Void> limited = scheduler.schedule(0);
+        assertFalse(limited.isDone());
+        assertTrue(limited.await(5, TimeUnit.SECONDS));
+        assertTrue(limited.isSuccess());
+    }
+
+    @Test
+    public void testStrategyReleasesSlot() throws Exception {
+        final ConnectScheduler scheduler = new ConnectScheduler(GlobalEventExecutor.INSTANCE, 1, 0, 1, 0);
+        final ReconnectStrategy delegate = mock(ReconnectStrategy.class);
+        doReturn(GlobalEventExecutor.INSTANCE.newSucceededFuture(null)).when(delegate).scheduleReconnect(null);
+
+        final ReconnectStrategy strategy =
+                new ScheduledReconnectStrategyFactory(() -> delegate, scheduler).createReconnectStrategy();
+        final Future<Void> attempt = strategy.scheduleReconnect(null);
+        assertTrue(attempt.await(5, TimeUnit.SECONDS));
+        assertTrue(attempt.isSuccess());
+        assertEquals(1, scheduler.getActiveConnects());
+
+        strategy.reconnectSuccessful();
+        verify(delegate).reconnectSuccessful();
+        assertEquals(0, scheduler.getActiveConnects());
+    }
+}